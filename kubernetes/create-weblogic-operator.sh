@@ -354,6 +354,7 @@ function createYamlFiles {
   cp ${oprInput} ${oprOutput}
   sed -i -e "s|%NAMESPACE%|$namespace|g" ${oprOutput}
   sed -i -e "s|%TARGET_NAMESPACES%|$targetNamespaces|g" ${oprOutput}
+  sed -i -e "s|%WATCH_ALL_NAMESPACES%|${watchAllNamespaces:-false}|g" ${oprOutput}
   sed -i -e "s|%ACCOUNT_NAME%|$serviceAccount|g" ${oprOutput}
   sed -i -e "s|%IMAGE%|$image|g" ${oprOutput}
   sed -i -e "s|%IMAGE_PULL_POLICY%|$imagePullPolicy|g" ${oprOutput}
@@ -378,7 +379,11 @@ function createYamlFiles {
   clusterRoleBinding="${namespace}-operator-rolebinding"
 
   echo Running the rbac customization script
-  ${genSecPolicyScript} ${serviceAccount} ${namespace} "${targetNamespaces}" -o ${rbacFile}
+  if [ "${watchAllNamespaces}" = true ]; then
+    ${genSecPolicyScript} ${serviceAccount} ${namespace} "${targetNamespaces}" -o ${rbacFile} --watch-all-namespaces
+  else
+    ${genSecPolicyScript} ${serviceAccount} ${namespace} "${targetNamespaces}" -o ${rbacFile}
+  fi
 
   # Create the ELK related files if the option is enabled
   ELK_PV="elk-pv-${namespace}"
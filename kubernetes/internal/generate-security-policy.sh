@@ -8,6 +8,7 @@ usage()
 {
         echo "Usage: $1 {account-name} {namespace} {targetNamespaces} [OPTIONS]"
         echo "OPTIONS: -o <output_file> | --output=<output_file>"
+        echo "         -w | --watch-all-namespaces  allow the operator to watch pods and services in all namespaces"
         echo "for example:"
         echo "$1 weblogic-operator-account weblogic-operator-namespace default -o /home/kubernetes/security_example.yaml"
 }
@@ -44,14 +45,19 @@ else
     shift
 fi
 
-if [ "$1" = "-o" ] ; then
-        shift
-        SCRIPT="$1"
-elif [[ "$1" = "--output="* ]] ; then
-        SCRIPT=`echo "$1" | cut -d \= -f 2`
-else
-        SCRIPT=$SCRIPT_DEFAULT
-fi
+SCRIPT=$SCRIPT_DEFAULT
+WATCH_ALL_NAMESPACES=false
+while [ "$1" != "" ] ; do
+    if [ "$1" = "-o" ] ; then
+            shift
+            SCRIPT="$1"
+    elif [[ "$1" = "--output="* ]] ; then
+            SCRIPT=`echo "$1" | cut -d \= -f 2`
+    elif [ "$1" = "-w" ] || [ "$1" = "--watch-all-namespaces" ] ; then
+            WATCH_ALL_NAMESPACES=true
+    fi
+    shift
+done
 
 #
 # Create namespace and service account
@@ -98,10 +104,22 @@ rules:
   verbs: ["get", "list", "watch", "update", "patch"]
 - apiGroups: ["weblogic.oracle"]
   resources: ["domains/status"]
-  verbs: ["update"]
+  verbs: ["update", "patch"]
 - apiGroups: ["extensions"]
   resources: ["ingresses"]
   verbs: ["get", "list", "watch", "create", "update", "patch", "delete", "deletecollection"]
+EOF
+
+if [ "${WATCH_ALL_NAMESPACES}" = true ] ; then
+    # The operator watches pods and services in all namespaces and ignores those outside of the target namespaces
+    cat >> ${SCRIPT}  <<EOF
+- apiGroups: [""]
+  resources: ["pods", "services"]
+  verbs: ["list", "watch"]
+EOF
+fi
+
+cat >> ${SCRIPT}  <<EOF
 ---
 kind: ClusterRole
 apiVersion: rbac.authorization.k8s.io/v1beta1
@@ -219,3 +237,7 @@ EOF
 echo "Create the WebLogic Operator Security configuration using kubectl as follows: kubectl create -f ${SCRIPT}"
 #
 echo "Ensure you start the API server with the --authorization-mode=RBAC option."
+#
+if [ "${WATCH_ALL_NAMESPACES}" = true ] ; then
+  echo "Before adding a namespace to the operator's target namespaces, create the weblogic-operator-rolebinding RoleBinding in it, as generated above for each target namespace."
+fi
@@ -38,6 +38,9 @@ public class ClusterStartup {
   @SerializedName("replicas")
   private Integer replicas = null;
 
+  @SerializedName("maxUnavailable")
+  private String maxUnavailable = null;
+
   @SerializedName("env")
   private List<io.kubernetes.client.models.V1EnvVar> env = null;
 
@@ -100,6 +103,28 @@ public class ClusterStartup {
     this.replicas = replicas;
   }
 
+  public ClusterStartup maxUnavailable(String maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+    return this;
+  }
+
+  /**
+   * MaxUnavailable is the maximum number of managed servers in this cluster that
+   * may be unavailable while the operator restarts the servers of the cluster, as
+   * a number or as a percentage of the servers of the cluster that are ready, such
+   * as 2 or 25%. Defaults to 25%.
+   * 
+   * @return maxUnavailable
+   **/
+  @ApiModelProperty(value = "MaxUnavailable is the maximum number of managed servers in this cluster that may be unavailable while the operator restarts the servers of the cluster, as a number or as a percentage of the servers of the cluster that are ready, such as 2 or 25%. Defaults to 25%.")
+  public String getMaxUnavailable() {
+    return maxUnavailable;
+  }
+
+  public void setMaxUnavailable(String maxUnavailable) {
+    this.maxUnavailable = maxUnavailable;
+  }
+
   public ClusterStartup env(List<io.kubernetes.client.models.V1EnvVar> env) {
     this.env = env;
     return this;
@@ -139,12 +164,13 @@ public class ClusterStartup {
     return Objects.equals(this.desiredState, oracleKubernetesWeblogicDomainV1ClusterStartup.desiredState)
         && Objects.equals(this.clusterName, oracleKubernetesWeblogicDomainV1ClusterStartup.clusterName)
         && Objects.equals(this.replicas, oracleKubernetesWeblogicDomainV1ClusterStartup.replicas)
+        && Objects.equals(this.maxUnavailable, oracleKubernetesWeblogicDomainV1ClusterStartup.maxUnavailable)
         && Objects.equals(this.env, oracleKubernetesWeblogicDomainV1ClusterStartup.env);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(desiredState, clusterName, replicas, env);
+    return Objects.hash(desiredState, clusterName, replicas, maxUnavailable, env);
   }
 
   @Override
@@ -155,6 +181,7 @@ public class ClusterStartup {
     sb.append("    desiredState: ").append(toIndentedString(desiredState)).append("\n");
     sb.append("    clusterName: ").append(toIndentedString(clusterName)).append("\n");
     sb.append("    replicas: ").append(toIndentedString(replicas)).append("\n");
+    sb.append("    maxUnavailable: ").append(toIndentedString(maxUnavailable)).append("\n");
     sb.append("    env: ").append(toIndentedString(env)).append("\n");
     sb.append("}");
     return sb.toString();
@@ -0,0 +1,102 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many steps per second a fiber can run.  Run with the "benchmarks" profile:
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FiberBenchmark {
+  private static final int STEPS = 1000;
+
+  private Engine engine;
+  private Step stepline;
+
+  @Setup
+  public void setup() {
+    engine = new Engine("FiberBenchmark");
+    Step step = null;
+    for (int i = 0; i < STEPS; i++) {
+      step = new NextStep(step);
+    }
+    stepline = step;
+  }
+
+  /**
+   * Runs a fiber through a stepline in which each step invokes the next
+   * @throws InterruptedException if interrupted
+   * @throws ExecutionException if the fiber fails
+   */
+  @Benchmark
+  @OperationsPerInvocation(STEPS)
+  public void steps() throws InterruptedException, ExecutionException {
+    Fiber f = engine.createFiber();
+    f.start(stepline, new Packet(), null);
+    f.get();
+  }
+
+  /**
+   * Runs a fiber through a stepline in which each step suspends and is immediately resumed
+   * @throws InterruptedException if interrupted
+   * @throws ExecutionException if the fiber fails
+   */
+  @Benchmark
+  @OperationsPerInvocation(STEPS)
+  public void suspendedSteps() throws InterruptedException, ExecutionException {
+    Fiber f = engine.createFiber();
+    f.start(new SuspendStep(STEPS), new Packet(), null);
+    f.get();
+  }
+
+  private static class NextStep extends Step {
+    NextStep(Step next) {
+      super(next);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doNext(packet);
+    }
+  }
+
+  private static class SuspendStep extends Step {
+    private final int remaining;
+
+    SuspendStep(int remaining) {
+      super(null);
+      this.remaining = remaining;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (remaining <= 1) {
+        return doEnd(packet);
+      }
+      return doSuspend(new SuspendStep(remaining - 1), fiber -> fiber.resume(packet));
+    }
+  }
+}
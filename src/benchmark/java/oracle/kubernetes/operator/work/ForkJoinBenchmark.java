@@ -0,0 +1,89 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oracle.kubernetes.operator.work.Step.StepAndPacket;
+
+/**
+ * Measures the cost of {@link Step#doForkJoin} as the number of child fibers grows.  Each child
+ * gets its own clone of the packet, as when a step starts one fiber per managed server.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForkJoinBenchmark {
+  @Param({ "10", "100", "1000" })
+  public int children;
+
+  private Engine engine;
+  private Step stepline;
+
+  @Setup
+  public void setup() {
+    engine = new Engine("ForkJoinBenchmark");
+    stepline = new ForkStep(children);
+  }
+
+  /**
+   * Forks the children and waits for all of them to complete
+   * @throws InterruptedException if interrupted
+   * @throws ExecutionException if the fiber fails
+   */
+  @Benchmark
+  public void forkJoin() throws InterruptedException, ExecutionException {
+    Fiber f = engine.createFiber();
+    f.start(stepline, new Packet(), null);
+    f.get();
+  }
+
+  private static class ForkStep extends Step {
+    private final int children;
+    private final Step child = new ChildStep();
+
+    ForkStep(int children) {
+      super(null);
+      this.children = children;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      Collection<StepAndPacket> startDetails = new ArrayList<>(children);
+      for (int i = 0; i < children; i++) {
+        startDetails.add(new StepAndPacket(child, packet.clone()));
+      }
+      return doForkJoin(next, packet, startDetails);
+    }
+  }
+
+  private static class ChildStep extends Step {
+    ChildStep() {
+      super(null);
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      return doNext(packet);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Packet#clone()} and {@link Packet#getSPI(Class)} as the number of registered
+ * components grows.  Only one component provides the SPI that is looked up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PacketBenchmark {
+  private static final int VALUES = 20;
+
+  @Param({ "1", "10", "100" })
+  public int components;
+
+  private Packet packet;
+
+  @Setup
+  public void setup() {
+    packet = new Packet();
+    for (int i = 0; i < VALUES; i++) {
+      packet.put("value-" + i, i);
+    }
+    for (int i = 1; i < components; i++) {
+      packet.getComponents().put("component-" + i, Component.createFor(Long.valueOf(i)));
+    }
+    packet.getComponents().put("spi", Component.createFor(new Spi()));
+  }
+
+  @Benchmark
+  public Packet cloned() {
+    return packet.clone();
+  }
+
+  @Benchmark
+  public Packet clonedAndWritten() {
+    Packet p = packet.clone();
+    p.put("value-0", -1);
+    return p;
+  }
+
+  @Benchmark
+  public Spi getSPI() {
+    return packet.getSPI(Spi.class);
+  }
+
+  @Benchmark
+  public Object getMissingSPI() {
+    return packet.getSPI(Missing.class);
+  }
+
+  static class Spi {
+  }
+
+  static class Missing {
+  }
+}
@@ -0,0 +1,71 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of a {@link Step#doSuspend} / {@link Fiber#resume(Packet)} round trip when
+ * the fiber is resumed from another thread, as it is when an asynchronous call completes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SuspendResumeBenchmark {
+  private static final int ROUND_TRIPS = 100;
+
+  private Engine engine;
+
+  @Setup
+  public void setup() {
+    engine = new Engine("SuspendResumeBenchmark");
+  }
+
+  /**
+   * Runs a fiber that suspends and is resumed by the engine's timer threads
+   * @throws InterruptedException if interrupted
+   * @throws ExecutionException if the fiber fails
+   */
+  @Benchmark
+  @OperationsPerInvocation(ROUND_TRIPS)
+  public void roundTrip() throws InterruptedException, ExecutionException {
+    Fiber f = engine.createFiber();
+    f.start(new SuspendStep(ROUND_TRIPS), new Packet(), null);
+    f.get();
+  }
+
+  private static class SuspendStep extends Step {
+    private final int remaining;
+
+    SuspendStep(int remaining) {
+      super(null);
+      this.remaining = remaining;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      if (remaining <= 0) {
+        return doEnd(packet);
+      }
+      return doSuspend(new SuspendStep(remaining - 1),
+          fiber -> fiber.owner.getExecutor().execute(() -> fiber.resume(packet)));
+    }
+  }
+}
@@ -5,10 +5,17 @@ package oracle.kubernetes.operator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.joda.time.DateTime;
 
@@ -19,6 +26,7 @@ import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainCondition;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+import oracle.kubernetes.operator.helpers.ApiRateLimiter;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo.ServerStartupInfo;
@@ -36,24 +44,37 @@ import oracle.kubernetes.operator.work.Step;
 /**
  * Updates for status of Domain.  This class has two modes: 1) Watching for Pod state changes by listening to events from {@link PodWatcher}
  * and 2) Factory for {@link Step}s that the main processing flow can use to explicitly set the condition to Progressing or Failed.
- * 
+ *
+ * The new status is computed from a copy of the last known status of the domain and only the
+ * fields that changed are written, as a JSON patch to the status subresource.  No request is made
+ * when nothing changed.  Pod state changes are collected for a short window before the status is
+ * computed, so that a burst of changes results in a single update.
  */
 public class DomainStatusUpdater implements PodStateListener {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  
+
   private static final String AVAILABLE_TYPE = "Available";
   private static final String PROGRESSING_TYPE = "Progressing";
   private static final String FAILED_TYPE = "Failed";
-  
+
+  private static final String ROLLING_REASON = "RollingRestart";
+
   private static final String TRUE = "True";
   private static final String FALSE = "False";
   private static final String UNKNOWN = "Unknown";
-  
+
+  // time to collect pod state changes before updating the status - default is 1000
+  private static final int DEBOUNCE_MS = Integer.getInteger("status.update.debounce.ms", 1000);
+
+  // cleared if the domain custom resource definition does not enable the status subresource
+  private static final AtomicBoolean isStatusSubresourceEnabled = new AtomicBoolean(true);
+
   private final Engine engine;
   private final DomainPresenceInfo info;
-  
+
   private final ReentrantLock lock = new ReentrantLock();
   private Fiber fiber = null;
+  private boolean isScheduled = false;
   private State state = null;
 
   /**
@@ -66,259 +87,153 @@ public class DomainStatusUpdater implements PodStateListener {
     this.engine = engine;
     this.info = info;
   }
-  
+
   private static class State {
     private final Map<String, Boolean> knownReadyState;
     private final Map<String, V1PodStatus> failedPods;
-    
+
     private State(Map<String, Boolean> knownReadyState, Map<String, V1PodStatus> failedPods) {
       this.knownReadyState = knownReadyState;
       this.failedPods = failedPods;
     }
   }
-  
+
   @Override
   public void onStateChange(Map<String, Boolean> knownReadyState, Map<String, V1PodStatus> failedPods) {
     lock.lock();
     try {
-      if (fiber == null) {
-        fiber = engine.createFiber();
-        fiber.start(new StatusUpdateStep(knownReadyState, failedPods, null), new Packet(), new CompletionCallback() {
-          @Override
-          public void onCompletion(Packet packet) {
-            lock.lock();
-            try {
-              fiber = null;
-              State s = state;
-              state = null;
-              if (s != null) {
-                onStateChange(s.knownReadyState, s.failedPods);
-              }
-            } finally {
-              lock.unlock();
-            }
-          }
+      // only the latest state matters
+      state = new State(knownReadyState, failedPods);
+      scheduleUpdate();
+    } finally {
+      lock.unlock();
+    }
+  }
 
-          @Override
-          public void onThrowable(Packet packet, Throwable throwable) {
-            LOGGER.severe(MessageKeys.EXCEPTION, throwable);
-            onCompletion(packet);
-          }
-        });
+  // called with the lock held
+  private void scheduleUpdate() {
+    if (fiber == null && !isScheduled) {
+      isScheduled = true;
+      engine.getExecutor().schedule(this::startUpdate, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+  }
 
-      } else {
-        state = new State(knownReadyState, failedPods);
+  private void startUpdate() {
+    lock.lock();
+    try {
+      isScheduled = false;
+      State s = state;
+      state = null;
+      if (s == null) {
+        return;
       }
+      fiber = engine.createFiber();
+      fiber.start(new StatusUpdateStep(s.knownReadyState, s.failedPods, null), new Packet(), new CompletionCallback() {
+        @Override
+        public void onCompletion(Packet packet) {
+          lock.lock();
+          try {
+            fiber = null;
+            if (state != null) {
+              scheduleUpdate();
+            }
+          } finally {
+            lock.unlock();
+          }
+        }
+
+        @Override
+        public void onThrowable(Packet packet, Throwable throwable) {
+          LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+          onCompletion(packet);
+        }
+      });
     } finally {
       lock.unlock();
     }
   }
-  
+
   private class StatusUpdateStep extends Step {
     private final Map<String, Boolean> knownReadyState;
     private final Map<String, V1PodStatus> failedPods;
-    
+
     public StatusUpdateStep(Map<String, Boolean> knownReadyState, Map<String, V1PodStatus> failedPods, Step next) {
       super(next);
       this.knownReadyState = knownReadyState;
       this.failedPods = failedPods;
     }
-    
+
     @Override
     public NextAction apply(Packet packet) {
       LOGGER.entering();
-      
+
       DateTime now = DateTime.now();
       Domain dom = info.getDomain();
-      V1ObjectMeta meta = dom.getMetadata();
       DomainSpec spec = dom.getSpec();
-      DomainStatus status = dom.getStatus();
-      if (status == null) {
-        // If this is the first time, create status
-        status = new DomainStatus();
-        status.setStartTime(now);
-        dom.setStatus(status);
-      }
-  
+      DomainStatus status = copyStatus(dom.getStatus(), now);
+
       // Based on the servers we intend to start and the current Pods known to be Ready or Failed,
-      // we will build the list of available & unavailable servers and clusters
-      List<String> availableServers = new ArrayList<>();
-      List<String> unavailableServers = new ArrayList<>();
-      List<String> availableClusters = new ArrayList<>();
-      List<String> unavailableClusters = new ArrayList<>();
-      
+      // we will build the sets of available & unavailable servers and clusters
+      Set<String> availableServers = new TreeSet<>();
+      Set<String> unavailableServers = new TreeSet<>();
+      Set<String> availableClusters = new TreeSet<>();
+      Set<String> unavailableClusters = new TreeSet<>();
+
       // Known ready servers are available
       for (Map.Entry<String, Boolean> entry : knownReadyState.entrySet()) {
         if (Boolean.TRUE.equals(entry.getValue())) {
           availableServers.add(entry.getKey());
         }
       }
-      
+
       String asName = spec.getAsName();
-      if (asName != null) {
-        if (Boolean.TRUE.equals(knownReadyState.get(asName))) {
-          if (!availableServers.contains(asName)) {
-            availableServers.add(asName);
-          }
-        } else {
-          unavailableServers.add(asName);
-        }
+      if (asName != null && !Boolean.TRUE.equals(knownReadyState.get(asName))) {
+        unavailableServers.add(asName);
       }
-      
-      // Iterate over servers we current intend to start (actual start has already begun asynchronously)
+
+      // Iterate over servers we current intend to start (actual start has already begun asynchronously).
+      // A cluster is available when it has a ready server and no server that is not ready.
       Collection<ServerStartupInfo> ssic = info.getServerStartupInfo();
       if (ssic != null) {
         for (ServerStartupInfo ssi : ssic) {
           String serverName = ssi.serverConfig.getName();
+          String clusterName = ssi.clusterConfig != null ? ssi.clusterConfig.getClusterName() : null;
           if (Boolean.TRUE.equals(knownReadyState.get(serverName))) {
-            if (!availableServers.contains(serverName)) {
-              availableServers.add(serverName);
-            }
-            if (ssi.clusterConfig != null) {
-              String clusterName = ssi.clusterConfig.getClusterName();
-              if (!availableClusters.contains(clusterName)) {
-                availableClusters.add(clusterName);
-              }
+            availableServers.add(serverName);
+            if (clusterName != null) {
+              availableClusters.add(clusterName);
             }
           } else {
             unavailableServers.add(serverName);
-            if (ssi.clusterConfig != null) {
-              String clusterName = ssi.clusterConfig.getClusterName();
-              if (!unavailableClusters.contains(clusterName)) {
-                unavailableClusters.add(clusterName);
-              }
-              if (availableClusters.contains(clusterName)) {
-                availableClusters.remove(clusterName);
-              }
+            if (clusterName != null) {
+              unavailableClusters.add(clusterName);
             }
           }
         }
       }
-      
-      status.setAvailableServers(availableServers);
-      status.setUnavailableServers(unavailableServers);
-      status.setAvailableClusters(availableClusters);
-      status.setUnavailableClusters(unavailableClusters);
-      
+      availableClusters.removeAll(unavailableClusters);
+
+      status.setAvailableServers(new ArrayList<>(availableServers));
+      status.setUnavailableServers(new ArrayList<>(unavailableServers));
+      status.setAvailableClusters(new ArrayList<>(availableClusters));
+      status.setUnavailableClusters(new ArrayList<>(unavailableClusters));
+
       // Now, we'll build the conditions.
       // Possible condition types are Progressing, Available, and Failed
       // Each condition is either True, False, or Unknown
-      List<DomainCondition> conditions = status.getConditions();
-      if (conditions == null) {
-        conditions = new ArrayList<>();
-        status.setConditions(conditions);
-      }
-      
       if (failedPods != null && !failedPods.isEmpty()) {
         // If we have failed pods, then the domain status is Failed
-        ListIterator<DomainCondition> it = conditions.listIterator();
-        boolean foundFailed = false;
-        while (it.hasNext()) {
-          DomainCondition dc = it.next();
-          switch (dc.getType()) {
-          case FAILED_TYPE:
-            foundFailed = true;
-            if (!TRUE.equals(dc.getStatus())) {
-              dc.setStatus(TRUE);
-              dc.setReason("PodFailed");
-              dc.setLastTransitionTime(now);
-            }
-            break;
-          case PROGRESSING_TYPE:
-          case AVAILABLE_TYPE:
-          default:
-            it.remove();
-          }
-        }
-        if (!foundFailed) {
-          DomainCondition dc = new DomainCondition();
-          dc.setType(FAILED_TYPE);
-          dc.setStatus(TRUE);
-          dc.setReason("PodFailed");
-          dc.setLastTransitionTime(now);
-          conditions.add(dc);
-        }
+        setCondition(status, FAILED_TYPE, "PodFailed", null, false, now);
       } else if (ssic != null && !availableServers.isEmpty() && unavailableServers.isEmpty() && unavailableClusters.isEmpty()) {
         // Next see if we have available servers, but no unavailable servers or clusters -- if so, we are Available=True
-        ListIterator<DomainCondition> it = conditions.listIterator();
-        boolean foundAvailable = false;
-        while (it.hasNext()) {
-          DomainCondition dc = it.next();
-          switch (dc.getType()) {
-          case AVAILABLE_TYPE:
-            foundAvailable = true;
-            if (!TRUE.equals(dc.getStatus())) {
-              dc.setStatus(TRUE);
-              dc.setReason("ServersReady");
-              dc.setLastTransitionTime(now);
-            }
-            break;
-          case PROGRESSING_TYPE:
-          case FAILED_TYPE:
-          default:
-            it.remove();
-          }
-        }
-        if (!foundAvailable) {
-          DomainCondition dc = new DomainCondition();
-          dc.setType(AVAILABLE_TYPE);
-          dc.setStatus(TRUE);
-          dc.setReason("ServersReady");
-          dc.setLastTransitionTime(now);
-          conditions.add(dc);
-        }
+        setCondition(status, AVAILABLE_TYPE, "ServersReady", null, false, now);
       } else {
         // Else, we are Progressing
-        ListIterator<DomainCondition> it = conditions.listIterator();
-        boolean foundProgressing = false;
-        while (it.hasNext()) {
-          DomainCondition dc = it.next();
-          switch (dc.getType()) {
-          case PROGRESSING_TYPE:
-            foundProgressing = true;
-            if (!TRUE.equals(dc.getStatus())) {
-              dc.setStatus(TRUE);
-              dc.setReason(availableServers.isEmpty() ? "AdminServerStarting" : "ManagedServersStarting");
-              dc.setLastTransitionTime(now);
-            }
-            break;
-          case AVAILABLE_TYPE:
-          case FAILED_TYPE:
-          default:
-            it.remove();
-          }
-        }
-        if (!foundProgressing) {
-          DomainCondition dc = new DomainCondition();
-          dc.setType(PROGRESSING_TYPE);
-          dc.setStatus(TRUE);
-          dc.setReason(availableServers.isEmpty() ? "AdminServerStarting" : "ManagedServersStarting");
-          dc.setLastTransitionTime(now);
-          conditions.add(dc);
-        }
+        setCondition(status, PROGRESSING_TYPE, availableServers.isEmpty() ? "AdminServerStarting" : "ManagedServersStarting", null, false, now);
       }
-  
-      LOGGER.info(MessageKeys.DOMAIN_STATUS, spec.getDomainUID(), availableServers, availableClusters, unavailableServers, unavailableClusters, conditions);
-      Step s = CallBuilder.create().replaceDomainAsync(meta.getName(), meta.getNamespace(), dom, new ResponseStep<Domain>(null) {
-        @Override
-        public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          if (statusCode == CallBuilder.NOT_FOUND || statusCode == CallBuilder.CONFLICT) {
-            return doNext(packet); // Just ignore update
-          }
-          return super.onFailure(packet, e, statusCode, responseHeaders);
-        }
-        
-        @Override
-        public NextAction onSuccess(Packet packet, Domain result, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          info.setDomain(result);
-          return doNext(packet);
-        }
-      });
-      
+
       LOGGER.exiting();
-      return doNext(s, packet);
+      return doNext(createUpdateStatusStep(info, status, next), packet);
     }
   }
 
@@ -331,10 +246,10 @@ public class DomainStatusUpdater implements PodStateListener {
   public static Step createProgressingStep(Step next, boolean isPreserveAvailable) {
     return new ProgressingHookStep(next, isPreserveAvailable);
   }
-  
+
   private static class ProgressingHookStep extends Step {
     private final boolean isPreserveAvailable;
-    
+
     private ProgressingHookStep(Step next, boolean isPreserveAvailable) {
       super(next);
       this.isPreserveAvailable = isPreserveAvailable;
@@ -355,11 +270,11 @@ public class DomainStatusUpdater implements PodStateListener {
           LOGGER.severe(MessageKeys.EXCEPTION, throwable);
         }
       });
-      
+
       return doNext(packet);
     }
   }
-  
+
   private static class ProgressingStep extends Step {
     private final boolean isPreserveAvailable;
 
@@ -371,74 +286,214 @@ public class DomainStatusUpdater implements PodStateListener {
     @Override
     public NextAction apply(Packet packet) {
       LOGGER.entering();
-      
+
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-      
-      Domain dom = info.getDomain();
-      V1ObjectMeta meta = dom.getMetadata();
-      DomainStatus status = dom.getStatus();
-      if (status == null) {
-        status = new DomainStatus();
-        status.setStartTime(now);
-        dom.setStatus(status);
+
+      DomainStatus status = copyStatus(info.getDomain().getStatus(), now);
+      setCondition(status, PROGRESSING_TYPE, null, null, isPreserveAvailable, now);
+
+      LOGGER.exiting();
+      return doNext(createUpdateStatusStep(info, status, next), packet);
+    }
+  }
+
+  /**
+   * Creates the reporter of the progress of a rolling restart, which reports the progress as the reason and
+   * message of the Domain status.
+   * @param message Supplier of the progress message, which supplies null when the rolling restart is complete
+   * @return Reporter
+   */
+  public static RollingProgressReporter createRollingProgressReporter(Supplier<String> message) {
+    return new RollingProgressReporter(message);
+  }
+
+  /**
+   * Reports the progress of a rolling restart.  Reports are collected for a short window and written
+   * in the background by one update at a time; each update reads the message when it is made, so that
+   * only the latest progress is written.  The final report waits for any update in progress, so that
+   * it is always written last.
+   */
+  public static class RollingProgressReporter {
+    private final Supplier<String> message;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Fiber fiber = null;
+    private boolean isScheduled = false;
+    private boolean isComplete = false;
+    private Packet pending = null;
+    private Runnable onIdle = null;
+
+    private RollingProgressReporter(Supplier<String> message) {
+      this.message = message;
+    }
+
+    /**
+     * Asynchronous step to report the current progress in the background
+     * @param next Next step
+     * @return Step
+     */
+    public Step createReportStep(Step next) {
+      return new RollingProgressHookStep(this, next);
+    }
+
+    /**
+     * Asynchronous step to write the final progress, once any update in progress completes.  Later reports are ignored.
+     * @param next Next step
+     * @return Step
+     */
+    public Step createCompleteStep(Step next) {
+      return new RollingProgressCompleteStep(this, next);
+    }
+
+    private void report(Engine engine, Packet packet) {
+      lock.lock();
+      try {
+        if (isComplete) {
+          return;
+        }
+        // only the latest packet matters, as the message is read when the status is updated
+        pending = packet;
+        scheduleUpdate(engine);
+      } finally {
+        lock.unlock();
       }
-      
-      List<DomainCondition> conditions = status.getConditions();
-      if (conditions == null) {
-        conditions = new ArrayList<>();
-        status.setConditions(conditions);
+    }
+
+    // called with the lock held
+    private void scheduleUpdate(Engine engine) {
+      if (fiber == null && !isScheduled) {
+        isScheduled = true;
+        engine.getExecutor().schedule(() -> startUpdate(engine), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
       }
+    }
 
-      ListIterator<DomainCondition> it = conditions.listIterator();
-      boolean foundProgressing = false;
-      while (it.hasNext()) {
-        DomainCondition dc = it.next();
-        switch (dc.getType()) {
-        case PROGRESSING_TYPE:
-          foundProgressing = true;
-          if (!TRUE.equals(dc.getStatus())) {
-            dc.setStatus(TRUE);
-            dc.setLastTransitionTime(now);
+    private void startUpdate(Engine engine) {
+      lock.lock();
+      try {
+        isScheduled = false;
+        Packet p = pending;
+        pending = null;
+        if (p == null || isComplete) {
+          return;
+        }
+        fiber = engine.createFiber();
+        fiber.start(new RollingProgressStep(message, null), p, new CompletionCallback() {
+          @Override
+          public void onCompletion(Packet packet) {
+            Runnable r;
+            lock.lock();
+            try {
+              fiber = null;
+              r = onIdle;
+              onIdle = null;
+              if (!isComplete && pending != null) {
+                scheduleUpdate(engine);
+              }
+            } finally {
+              lock.unlock();
+            }
+            if (r != null) {
+              r.run();
+            }
           }
-          break;
-        case AVAILABLE_TYPE:
-          if (isPreserveAvailable) {
-            break;
+
+          @Override
+          public void onThrowable(Packet packet, Throwable throwable) {
+            LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+            onCompletion(packet);
           }
-        case FAILED_TYPE:
-        default:
-          it.remove();
-        }
+        });
+      } finally {
+        lock.unlock();
       }
-      if (!foundProgressing) {
-        DomainCondition dc = new DomainCondition();
-        dc.setType(PROGRESSING_TYPE);
-        dc.setStatus(TRUE);
-        dc.setLastTransitionTime(now);
-        conditions.add(dc);
+    }
+  }
+
+  private static class RollingProgressHookStep extends Step {
+    private final RollingProgressReporter reporter;
+
+    private RollingProgressHookStep(RollingProgressReporter reporter, Step next) {
+      super(next);
+      this.reporter = reporter;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      Packet p = new Packet();
+      p.getComponents().putAll(packet.getComponents());
+      reporter.report(Fiber.current().owner, p);
+
+      return doNext(packet);
+    }
+  }
+
+  private static class RollingProgressCompleteStep extends Step {
+    private final RollingProgressReporter reporter;
+
+    private RollingProgressCompleteStep(RollingProgressReporter reporter, Step next) {
+      super(next);
+      this.reporter = reporter;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      Step write = new RollingProgressStep(reporter.message, next);
+      reporter.lock.lock();
+      try {
+        reporter.isComplete = true;
+        reporter.pending = null;
+        if (reporter.fiber == null) {
+          return doNext(write, packet);
+        }
+      } finally {
+        reporter.lock.unlock();
       }
 
-      LOGGER.info(MessageKeys.DOMAIN_STATUS, dom.getSpec().getDomainUID(), status.getAvailableServers(), status.getAvailableClusters(), status.getUnavailableServers(), status.getUnavailableClusters(), conditions);
-      LOGGER.exiting();
-      
-      return doNext(CallBuilder.create().replaceDomainAsync(meta.getName(), meta.getNamespace(), dom, new ResponseStep<Domain>(next) {
-        @Override
-        public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          if (statusCode == CallBuilder.NOT_FOUND || statusCode == CallBuilder.CONFLICT) {
-            return doNext(packet); // Just ignore update
+      return doSuspend(write, (fiber) -> {
+        boolean isIdle;
+        reporter.lock.lock();
+        try {
+          isIdle = reporter.fiber == null;
+          if (!isIdle) {
+            reporter.onIdle = () -> fiber.resume(packet);
           }
-          return super.onFailure(packet, e, statusCode, responseHeaders);
+        } finally {
+          reporter.lock.unlock();
         }
-        
-        @Override
-        public NextAction onSuccess(Packet packet, Domain result, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          info.setDomain(result);
-          return doNext(packet);
+        if (isIdle) {
+          fiber.resume(packet);
         }
-      }), packet);
+      });
+    }
+  }
+
+  private static class RollingProgressStep extends Step {
+    private final Supplier<String> message;
+
+    private RollingProgressStep(Supplier<String> message, Step next) {
+      super(next);
+      this.message = message;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      LOGGER.entering();
+
+      DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+
+      DomainStatus status = copyStatus(info.getDomain().getStatus(), DateTime.now());
+      String m = message.get();
+      if (m != null) {
+        status.setReason(ROLLING_REASON);
+        status.setMessage(m);
+      } else if (ROLLING_REASON.equals(status.getReason())) {
+        status.setReason(null);
+        status.setMessage(null);
+      }
+
+      LOGGER.exiting();
+      return doNext(createUpdateStatusStep(info, status, next), packet);
     }
   }
 
@@ -451,10 +506,10 @@ public class DomainStatusUpdater implements PodStateListener {
   public static Step createFailedStep(Throwable throwable, Step next) {
     return new FailedHookStep(throwable, next);
   }
-  
+
   private static class FailedHookStep extends Step {
     private final Throwable throwable;
-    
+
     private FailedHookStep(Throwable throwable, Step next) {
       super(next);
       this.throwable = throwable;
@@ -475,11 +530,11 @@ public class DomainStatusUpdater implements PodStateListener {
           LOGGER.severe(MessageKeys.EXCEPTION, throwable);
         }
       });
-      
+
       return doNext(packet);
     }
   }
-  
+
   private static class FailedStep extends Step {
     private final Throwable throwable;
 
@@ -491,75 +546,235 @@ public class DomainStatusUpdater implements PodStateListener {
     @Override
     public NextAction apply(Packet packet) {
       LOGGER.entering();
-      
+
       DateTime now = DateTime.now();
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-      
-      Domain dom = info.getDomain();
-      V1ObjectMeta meta = dom.getMetadata();
-      DomainStatus status = dom.getStatus();
-      if (status == null) {
-        status = new DomainStatus();
-        status.setStartTime(now);
-        dom.setStatus(status);
-      }
-      
-      List<DomainCondition> conditions = status.getConditions();
-      if (conditions == null) {
-        conditions = new ArrayList<>();
-        status.setConditions(conditions);
+
+      DomainStatus status = copyStatus(info.getDomain().getStatus(), now);
+      setCondition(status, FAILED_TYPE, "Exception", throwable.getMessage(), false, now);
+
+      LOGGER.exiting();
+      return doNext(createUpdateStatusStep(info, status, next), packet);
+    }
+  }
+
+  /**
+   * Copies a status so that changes can be compared with the original
+   * @param status Status, or null if the domain has no status yet
+   * @param now Start time for a new status
+   * @return Copy of the status
+   */
+  static DomainStatus copyStatus(DomainStatus status, DateTime now) {
+    DomainStatus copy = new DomainStatus();
+    if (status == null) {
+      // If this is the first time, create status
+      copy.setStartTime(now);
+      copy.setConditions(new ArrayList<>());
+      return copy;
+    }
+    copy.setStartTime(status.getStartTime());
+    copy.setMessage(status.getMessage());
+    copy.setReason(status.getReason());
+    copy.setAvailableServers(copyList(status.getAvailableServers()));
+    copy.setUnavailableServers(copyList(status.getUnavailableServers()));
+    copy.setAvailableClusters(copyList(status.getAvailableClusters()));
+    copy.setUnavailableClusters(copyList(status.getUnavailableClusters()));
+    List<DomainCondition> conditions = new ArrayList<>();
+    if (status.getConditions() != null) {
+      for (DomainCondition dc : status.getConditions()) {
+        conditions.add(new DomainCondition()
+            .type(dc.getType()).status(dc.getStatus()).reason(dc.getReason()).message(dc.getMessage())
+            .lastProbeTime(dc.getLastProbeTime()).lastTransitionTime(dc.getLastTransitionTime()));
       }
+    }
+    copy.setConditions(conditions);
+    return copy;
+  }
+
+  private static List<String> copyList(List<String> list) {
+    return list != null ? new ArrayList<>(list) : null;
+  }
+
+  /**
+   * Sets a condition to True and removes the other conditions.  The reason, message and transition
+   * time of a condition that is already True are kept.
+   * @param status Status
+   * @param type Condition type
+   * @param reason Reason, or null
+   * @param message Message, or null
+   * @param isPreserveAvailable true, if an existing Available condition should be kept
+   * @param now Transition time
+   */
+  static void setCondition(DomainStatus status, String type, String reason, String message, boolean isPreserveAvailable, DateTime now) {
+    List<DomainCondition> conditions = status.getConditions();
+    if (conditions == null) {
+      conditions = new ArrayList<>();
+      status.setConditions(conditions);
+    }
 
-      ListIterator<DomainCondition> it = conditions.listIterator();
-      boolean foundFailed = false;
-      while (it.hasNext()) {
-        DomainCondition dc = it.next();
-        switch (dc.getType()) {
-        case FAILED_TYPE:
-          foundFailed = true;
-          if (!TRUE.equals(dc.getStatus())) {
-            dc.setStatus(TRUE);
-            dc.setReason("Exception");
-            dc.setMessage(throwable.getMessage());
-            dc.setLastTransitionTime(now);
+    ListIterator<DomainCondition> it = conditions.listIterator();
+    boolean found = false;
+    while (it.hasNext()) {
+      DomainCondition dc = it.next();
+      if (type.equals(dc.getType())) {
+        found = true;
+        if (!TRUE.equals(dc.getStatus())) {
+          dc.setStatus(TRUE);
+          if (reason != null) {
+            dc.setReason(reason);
           }
-          break;
-        case AVAILABLE_TYPE:
-        case PROGRESSING_TYPE:
-        default:
-          it.remove();
+          if (message != null) {
+            dc.setMessage(message);
+          }
+          dc.setLastTransitionTime(now);
         }
+      } else if (!(isPreserveAvailable && AVAILABLE_TYPE.equals(dc.getType()))) {
+        it.remove();
+      }
+    }
+    if (!found) {
+      DomainCondition dc = new DomainCondition();
+      dc.setType(type);
+      dc.setStatus(TRUE);
+      dc.setReason(reason);
+      dc.setMessage(message);
+      dc.setLastTransitionTime(now);
+      conditions.add(dc);
+    }
+  }
+
+  /**
+   * Creates the JSON patch that changes the current status to the updated status.  Lists of
+   * servers and clusters are compared as sets and conditions are compared ignoring their times.
+   * @param current Current status, or null if the domain has no status
+   * @param updated Updated status
+   * @return Patch operations, which are empty if nothing visible changed
+   */
+  static List<Map<String, Object>> createPatch(DomainStatus current, DomainStatus updated) {
+    List<Map<String, Object>> patch = new ArrayList<>();
+    if (current == null) {
+      patch.add(CallBuilder.jsonPatch("add", "/status", updated));
+      return patch;
+    }
+    // "add" replaces a member that exists
+    if (!Objects.equals(current.getStartTime(), updated.getStartTime())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/startTime", updated.getStartTime()));
+    }
+    if (!sameMembers(current.getAvailableServers(), updated.getAvailableServers())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/availableServers", updated.getAvailableServers()));
+    }
+    if (!sameMembers(current.getUnavailableServers(), updated.getUnavailableServers())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/unavailableServers", updated.getUnavailableServers()));
+    }
+    if (!sameMembers(current.getAvailableClusters(), updated.getAvailableClusters())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/availableClusters", updated.getAvailableClusters()));
+    }
+    if (!sameMembers(current.getUnavailableClusters(), updated.getUnavailableClusters())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/unavailableClusters", updated.getUnavailableClusters()));
+    }
+    if (!Objects.equals(current.getReason(), updated.getReason())) {
+      patch.add(updated.getReason() != null
+          ? CallBuilder.jsonPatch("add", "/status/reason", updated.getReason())
+          : CallBuilder.jsonPatch("remove", "/status/reason"));
+    }
+    if (!Objects.equals(current.getMessage(), updated.getMessage())) {
+      patch.add(updated.getMessage() != null
+          ? CallBuilder.jsonPatch("add", "/status/message", updated.getMessage())
+          : CallBuilder.jsonPatch("remove", "/status/message"));
+    }
+    if (!sameConditions(current.getConditions(), updated.getConditions())) {
+      patch.add(CallBuilder.jsonPatch("add", "/status/conditions", updated.getConditions()));
+    }
+    return patch;
+  }
+
+  private static boolean sameMembers(List<String> a, List<String> b) {
+    Set<String> setA = a != null ? new HashSet<>(a) : new HashSet<>();
+    Set<String> setB = b != null ? new HashSet<>(b) : new HashSet<>();
+    return setA.equals(setB);
+  }
+
+  private static boolean sameConditions(List<DomainCondition> a, List<DomainCondition> b) {
+    Set<String> setA = new HashSet<>();
+    if (a != null) {
+      for (DomainCondition dc : a) {
+        setA.add(toKey(dc));
       }
-      if (!foundFailed) {
-        DomainCondition dc = new DomainCondition();
-        dc.setType(FAILED_TYPE);
-        dc.setStatus(TRUE);
-        dc.setReason("Exception");
-        dc.setMessage(throwable.getMessage());
-        dc.setLastTransitionTime(now);
-        conditions.add(dc);
+    }
+    Set<String> setB = new HashSet<>();
+    if (b != null) {
+      for (DomainCondition dc : b) {
+        setB.add(toKey(dc));
       }
+    }
+    return setA.equals(setB);
+  }
 
-      LOGGER.info(MessageKeys.DOMAIN_STATUS, dom.getSpec().getDomainUID(), status.getAvailableServers(), status.getAvailableClusters(), status.getUnavailableServers(), status.getUnavailableClusters(), conditions);
-      LOGGER.exiting();
-      
-      return doNext(CallBuilder.create().replaceDomainAsync(meta.getName(), meta.getNamespace(), dom, new ResponseStep<Domain>(next) {
-        @Override
-        public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          if (statusCode == CallBuilder.NOT_FOUND || statusCode == CallBuilder.CONFLICT) {
-            return doNext(packet); // Just ignore update
-          }
-          return super.onFailure(packet, e, statusCode, responseHeaders);
-        }
-        
-        @Override
-        public NextAction onSuccess(Packet packet, Domain result, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          info.setDomain(result);
-          return doNext(packet);
-        }
-      }), packet);
+  private static String toKey(DomainCondition dc) {
+    return dc.getType() + "=" + dc.getStatus() + "/" + dc.getReason() + "/" + dc.getMessage();
+  }
+
+  private static Step createUpdateStatusStep(DomainPresenceInfo info, DomainStatus status, Step next) {
+    Domain dom = info.getDomain();
+    List<Map<String, Object>> patch = createPatch(dom.getStatus(), status);
+    if (patch.isEmpty()) {
+      // nothing visible changed
+      return next;
+    }
+
+    LOGGER.info(MessageKeys.DOMAIN_STATUS, dom.getSpec().getDomainUID(), status.getAvailableServers(), status.getAvailableClusters(),
+        status.getUnavailableServers(), status.getUnavailableClusters(), status.getConditions());
+    V1ObjectMeta meta = dom.getMetadata();
+    if (isStatusSubresourceEnabled.get()) {
+      return CallBuilder.create().patchDomainStatusAsync(meta.getName(), meta.getNamespace(), patch,
+          new UpdateStatusResponseStep(info, patch, true, next));
+    }
+    return createStatusOnlyCallBuilder().patchDomainAsync(meta.getName(), meta.getNamespace(), patch,
+        new UpdateStatusResponseStep(info, patch, false, next));
+  }
+
+  // patches of the domain that only write its status are outranked like other status writes
+  private static CallBuilder createStatusOnlyCallBuilder() {
+    return CallBuilder.create().with($ -> $.priority = ApiRateLimiter.Priority.LOW);
+  }
+
+  private static class UpdateStatusResponseStep extends ResponseStep<Domain> {
+    private final DomainPresenceInfo info;
+    private final List<Map<String, Object>> patch;
+    private final boolean isSubresource;
+
+    UpdateStatusResponseStep(DomainPresenceInfo info, List<Map<String, Object>> patch, boolean isSubresource, Step next) {
+      super(next);
+      this.info = info;
+      this.patch = patch;
+      this.isSubresource = isSubresource;
+    }
+
+    @Override
+    public NextAction onFailure(Packet packet, ApiException e, int statusCode,
+        Map<String, List<String>> responseHeaders) {
+      if (isSubresource && (statusCode == CallBuilder.NOT_FOUND || statusCode == CallBuilder.FORBIDDEN)) {
+        // either the domain is gone, its custom resource definition does not enable the status
+        // subresource, or the operator's role predates patching it; patching the domain itself
+        // tells these apart
+        V1ObjectMeta meta = info.getDomain().getMetadata();
+        return doNext(createStatusOnlyCallBuilder().patchDomainAsync(meta.getName(), meta.getNamespace(), patch,
+            new UpdateStatusResponseStep(info, patch, false, next)), packet);
+      }
+      if (statusCode == CallBuilder.NOT_FOUND || statusCode == CallBuilder.CONFLICT) {
+        return doNext(packet); // Just ignore update
+      }
+      return super.onFailure(packet, e, statusCode, responseHeaders);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, Domain result, int statusCode,
+        Map<String, List<String>> responseHeaders) {
+      if (!isSubresource) {
+        isStatusSubresourceEnabled.set(false);
+      }
+      info.setDomain(result);
+      return doNext(packet);
     }
   }
 }
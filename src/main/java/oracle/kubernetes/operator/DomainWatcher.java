@@ -3,14 +3,20 @@
 
 package oracle.kubernetes.operator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
-import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Call;
 import io.kubernetes.client.ApiException;
-import io.kubernetes.client.util.Watch;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
-import oracle.kubernetes.operator.helpers.ClientHelper;
-import oracle.kubernetes.operator.helpers.ClientHolder;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.watcher.WatchEvent;
+import oracle.kubernetes.operator.watcher.WatchEventDecoder;
 import oracle.kubernetes.operator.watcher.Watcher;
 import oracle.kubernetes.operator.watcher.Watching;
 import oracle.kubernetes.operator.watcher.WatchingEventDestination;
@@ -19,48 +25,57 @@ import oracle.kubernetes.operator.watcher.WatchingEventDestination;
  * This class handles Domain watching. It receives domain events and sends
  * them into the operator for processing.
  */
-public class DomainWatcher implements Runnable {
+public class DomainWatcher {
   private final String ns;
   private final String initialResourceVersion;
+  private final Predicate<String> namespaceFilter;
   private final WatchingEventDestination<Domain> destination;
   private final AtomicBoolean isStopping;
+  private Watcher<Domain> watcher;
   
   public static DomainWatcher create(String ns, String initialResourceVersion, WatchingEventDestination<Domain> destination, AtomicBoolean isStopping) {
-    DomainWatcher dlw = new DomainWatcher(ns, initialResourceVersion, destination, isStopping);
-    Thread thread = new Thread(dlw);
-    thread.setName("Thread-DomainWatcher-" + ns);
-    thread.setDaemon(true);
-    thread.start();
+    DomainWatcher dlw = new DomainWatcher(ns, null, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("DomainWatcher-" + ns, dlw.createWatcher());
     return dlw;
   }
 
-  private DomainWatcher(String ns, String initialResourceVersion, WatchingEventDestination<Domain> destination, AtomicBoolean isStopping) {
+  /**
+   * Factory for a DomainWatcher that watches all namespaces and only delivers events for
+   * domains in the namespaces accepted by the filter
+   * @param namespaceFilter Namespace filter
+   * @param initialResourceVersion Initial resource version or empty string
+   * @param destination Additional destination for accepted domain events
+   * @param isStopping Stop signal
+   * @return DomainWatcher for all namespaces
+   */
+  public static DomainWatcher createForAllNamespaces(Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<Domain> destination, AtomicBoolean isStopping) {
+    DomainWatcher dlw = new DomainWatcher(null, namespaceFilter, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("DomainWatcher-all-namespaces", dlw.createWatcher());
+    return dlw;
+  }
+
+  private DomainWatcher(String ns, Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<Domain> destination, AtomicBoolean isStopping) {
     this.ns = ns;
+    this.namespaceFilter = namespaceFilter;
     this.initialResourceVersion = initialResourceVersion;
     this.destination = destination;
     this.isStopping = isStopping;
   }
 
   /**
-   * Polling loop. Get the next Domain object event and process it.
+   * Stops watching.  A watch request in progress is canceled.
    */
-  @Override
-  public void run() {
-    ClientHelper helper = ClientHelper.getInstance();
-    ClientHolder client = helper.take();
-    try {
-      Watching<Domain> w = createWatching(client);
-      Watcher<Domain> watcher = new Watcher<Domain>(w, null, initialResourceVersion);
-      
-      // invoke watch on current Thread.  Won't return until watch stops
-      watcher.doWatch();
-      
-    } finally {
-      helper.recycle(client);
-    }
+  public void stop() {
+    watcher.stop();
+  }
+
+  private Watcher<Domain> createWatcher() {
+    return watcher = new Watcher<Domain>(createWatching(), null, initialResourceVersion,
+        new WatchEventDecoder<Domain>(WatchHub.getInstance().getJSON(), Domain.class, Domain::getMetadata),
+        WatchHub.getInstance().getDispatcher());
   }
   
-  protected Watching<Domain> createWatching(ClientHolder client) {
+  protected Watching<Domain> createWatching() {
     return new Watching<Domain>() {
 
       /**
@@ -68,26 +83,35 @@ public class DomainWatcher implements Runnable {
        * Watcher wrapper to issue repeated watch requests.
        * @param context user defined contact object or null
        * @param resourceVersion resource version to omit older events
-       * @return Watch object or null if the operation should end
+       * @param timeoutSeconds server side timeout for the watch request
+       * @return Unexecuted watch call
        * @throws ApiException if there is an API error.
        */
       @Override
-      public Watch<Domain> initiateWatch(Object context, String resourceVersion) throws ApiException {
-        return Watch.createWatch(client.getApiClient(),
-            client.callBuilder().with($ -> {
-              $.resourceVersion = resourceVersion;
-              $.timeoutSeconds = 2;
-              $.watch = true;
-            }).listDomainCall(ns),
-            new TypeToken<Watch.Response<Domain>>() {
-            }.getType());
+      public Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) throws ApiException {
+        CallBuilder builder = WatchHub.getInstance().getClient().callBuilder().with($ -> {
+          $.resourceVersion = resourceVersion;
+          $.timeoutSeconds = timeoutSeconds;
+          $.watch = true;
+        });
+        return ns != null ? builder.listDomainCall(ns) : builder.listDomainForAllNamespacesCall();
       }
 
       @Override
-      public void eventCallback(Watch.Response<Domain> item) {
+      public void eventCallback(WatchEvent<Domain> item) {
+        if (namespaceFilter != null && item.object != null
+            && !namespaceFilter.test(item.object.getMetadata().getNamespace())) {
+          // not in a target namespace
+          return;
+        }
         processEventCallback(item);
       }
 
+      @Override
+      public void onRelist() {
+        destination.onRelist();
+      }
+
       @Override
       public boolean isStopping() {
         return isStopping.get();
@@ -95,7 +119,31 @@ public class DomainWatcher implements Runnable {
     };
   }
   
-  public void processEventCallback(Watch.Response<Domain> item) {
+  public void processEventCallback(WatchEvent<Domain> item) {
     destination.eventCallback(item);
   }
+
+  /**
+   * Finds the known domains of a namespace that are missing from a fresh list of its domains.  After
+   * a relist, no DELETED events are delivered for domains deleted while the watch could not resume,
+   * so these domains must be deleted by the caller.
+   * @param known Domains known to the operator, in any namespace
+   * @param namespace Namespace that was listed
+   * @param listed Domains currently in the namespace
+   * @return Known domains of the namespace that no longer exist
+   */
+  public static List<Domain> findDeletedDomains(Collection<Domain> known, String namespace, Collection<Domain> listed) {
+    Set<String> listedUIDs = new HashSet<>();
+    for (Domain dom : listed) {
+      listedUIDs.add(dom.getSpec().getDomainUID());
+    }
+    List<Domain> deleted = new ArrayList<>();
+    for (Domain dom : known) {
+      if (dom != null && namespace.equals(dom.getMetadata().getNamespace())
+          && !listedUIDs.contains(dom.getSpec().getDomainUID())) {
+        deleted.add(dom);
+      }
+    }
+    return deleted;
+  }
 }
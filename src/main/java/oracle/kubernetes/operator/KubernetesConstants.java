@@ -16,4 +16,7 @@ public interface KubernetesConstants {
   public static final String CLASS_INGRESS = "kubernetes.io/ingress.class";
   public static final String CLASS_INGRESS_VALUE = "traefik";
 
+  public static final String DOMAIN_API_VERSION = "weblogic.oracle/v1";
+  public static final String KIND_DOMAIN = "Domain";
+
 }
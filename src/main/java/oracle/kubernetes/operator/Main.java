@@ -6,14 +6,15 @@ package oracle.kubernetes.operator;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.models.V1DeleteOptions;
@@ -28,44 +29,53 @@ import io.kubernetes.client.models.V1beta1CustomResourceDefinition;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionNames;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionSpec;
 import io.kubernetes.client.models.V1beta1Ingress;
-import io.kubernetes.client.models.V1beta1IngressList;
-import io.kubernetes.client.util.Watch;
 
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ClusterStartup;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainList;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ServerStartup;
+import oracle.kubernetes.operator.helpers.ApiRateLimiter;
 import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.ClientHelper;
 import oracle.kubernetes.operator.helpers.ClientHolder;
 import oracle.kubernetes.operator.helpers.ConfigMapHelper;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
 import oracle.kubernetes.operator.helpers.DomainPresenceInfo.ServerStartupInfo;
+import oracle.kubernetes.operator.helpers.DomainRegistry;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents;
 import oracle.kubernetes.operator.helpers.HealthCheckHelper;
 import oracle.kubernetes.operator.helpers.IngressHelper;
 import oracle.kubernetes.operator.helpers.PodHelper;
+import oracle.kubernetes.operator.helpers.ResourceCache;
 import oracle.kubernetes.operator.helpers.ResponseStep;
 import oracle.kubernetes.operator.helpers.RollingHelper;
 import oracle.kubernetes.operator.helpers.ServerKubernetesObjects;
 import oracle.kubernetes.operator.helpers.ServiceHelper;
+import oracle.kubernetes.operator.http.HttpClient;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
 import oracle.kubernetes.operator.rest.RestConfigImpl;
 import oracle.kubernetes.operator.rest.RestServer;
 import oracle.kubernetes.operator.wlsconfig.NetworkAccessPoint;
 import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
 import oracle.kubernetes.operator.wlsconfig.WlsConfigRetriever;
 import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
+import oracle.kubernetes.operator.wlsconfig.WlsDomainConfigCache;
 import oracle.kubernetes.operator.wlsconfig.WlsServerConfig;
+import oracle.kubernetes.operator.watcher.WatchEvent;
+import oracle.kubernetes.operator.watcher.WatchingEventDestination;
 import oracle.kubernetes.operator.work.Component;
 import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.EngineMetrics;
 import oracle.kubernetes.operator.work.Fiber;
 import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
 import oracle.kubernetes.operator.work.Fiber.ExitCallback;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.RateLimitedWorkQueue;
 import oracle.kubernetes.operator.work.Step;
 
 /**
@@ -81,14 +91,41 @@ public class Main {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
   private static final ConcurrentMap<String, Fiber> domainUpdaters = new ConcurrentHashMap<String, Fiber>();
   private static final ConcurrentMap<String, DomainPresenceInfo> domains = new ConcurrentHashMap<String, DomainPresenceInfo>();
+  // Completion callbacks of domain work queue items by the fiber processing them
+  private static final ConcurrentMap<Fiber, CompletionCallback> queuedWork = new ConcurrentHashMap<Fiber, CompletionCallback>();
   private static final AtomicBoolean stopping = new AtomicBoolean(false);
   private static RestServer restServer = null;
   private static Thread livenessThread = null;
-  private static Map<String, DomainWatcher> domainWatchers = new HashMap<>();
-  private static Map<String, PodWatcher> podWatchers = new HashMap<>();
+  private static Map<String, DomainWatcher> domainWatchers = new ConcurrentHashMap<>();
+  private static Map<String, PodWatcher> podWatchers = new ConcurrentHashMap<>();
+  private static Map<String, ServiceWatcher> serviceWatchers = new ConcurrentHashMap<>();
+  private static Map<String, IngressWatcher> ingressWatchers = new ConcurrentHashMap<>();
+  private static Map<String, ResourceCache> resourceCaches = new ConcurrentHashMap<>();
+  
+  // Set when domains, pods, services and ingresses are watched in all namespaces rather than per target namespace
+  private static DomainWatcher allNamespacesDomainWatcher = null;
+  private static PodWatcher allNamespacesPodWatcher = null;
+  private static ServiceWatcher allNamespacesServiceWatcher = null;
+  private static IngressWatcher allNamespacesIngressWatcher = null;
+  
+  // how often target namespaces are reread when watching all namespaces - default is 10s
+  private static final int TARGET_NAMESPACES_RELOAD_SECONDS = Integer.getInteger("target.namespaces.reload.seconds", 10);
   
   private static final Engine engine = new Engine("operator");
 
+  // delay to collect further events for a domain before processing it - default is 1s
+  private static final int DOMAIN_QUEUE_DELAY_MS = Integer.getInteger("domain.queue.delay.ms", 1000);
+  // initial and maximum delay before processing a domain again after a failure - defaults are 5s and 5m
+  private static final int DOMAIN_QUEUE_BACKOFF_MS = Integer.getInteger("domain.queue.backoff.ms", 5000);
+  private static final int DOMAIN_QUEUE_MAX_BACKOFF_MS = Integer.getInteger("domain.queue.max.backoff.ms", 300000);
+  // maximum number of domains processed at the same time - default is 10
+  private static final int DOMAIN_QUEUE_MAX_CONCURRENT = Integer.getInteger("domain.queue.max.concurrent", 10);
+  // time after which processing of a domain that has not completed is presumed stuck, no longer counts
+  // against the maximum and is replaced by newer changes to the domain - default is 5m
+  private static final int DOMAIN_QUEUE_PROCESSING_TIMEOUT_MS = Integer.getInteger("domain.queue.processing.timeout.ms", 300000);
+
+  private static RateLimitedWorkQueue<String, DomainWork> domainQueue = null;
+
   /**
    * Entry point
    *
@@ -108,15 +145,32 @@ public class Main {
       namespace = "default";
     }
 
-    Collection<String> targetNamespaces = getTargetNamespaces(namespace);
-
     ConfigMapHelper cmh = new ConfigMapHelper("/operator/config");
 
+    TargetNamespaces targets = new TargetNamespaces(cmh, namespace);
+    ApiRateLimiter.getInstance().reload(cmh);
+    Collection<String> targetNamespaces = targets.getNamespaces();
+    
+    String watchAllNamespaces = cmh.get("watchAllNamespaces");
+    boolean isWatchAllNamespaces = watchAllNamespaces != null && Boolean.parseBoolean(watchAllNamespaces.trim());
+
     String serviceAccountName = cmh.get("serviceaccount");
     if (serviceAccountName == null) {
       serviceAccountName = "default";
     }
     String principal = "system:serviceaccount:" + namespace + ":" + serviceAccountName;
+    
+    domainQueue = new RateLimitedWorkQueue<String, DomainWork>(engine.getExecutor(),
+        (domainUID, work, isRetry, callback) -> {
+          doCheckAndCreateDomainPresence(work.principal, work.dom, work.restartAdmin, work.restartServers,
+              work.restartClusters, isRetry, callback);
+        }, DOMAIN_QUEUE_DELAY_MS, DOMAIN_QUEUE_BACKOFF_MS, DOMAIN_QUEUE_MAX_BACKOFF_MS, DOMAIN_QUEUE_MAX_CONCURRENT,
+        DOMAIN_QUEUE_PROCESSING_TIMEOUT_MS, DomainWork::merge);
+
+    // REST requests use the domains and configuration known to domain processing
+    WlsDomainConfigCache.getInstance().setDomainPresenceLookup(domains::get);
+    DomainRegistry.getInstance().setSource(domains);
+    OperatorMetrics.getInstance().registerEngine(engine);
 
     LOGGER.info(MessageKeys.OP_CONFIG_NAMESPACE, namespace);
     StringBuilder tns = new StringBuilder();
@@ -156,57 +210,54 @@ public class Main {
         helper.recycle(client);
       }
 
+      // the caches exist before the watches that fill them start
+      for (String ns : targetNamespaces) {
+        resourceCaches.put(ns, new ResourceCache(ns));
+      }
+
+      if (isWatchAllNamespaces) {
+        // a single watch each for domains, pods, services and ingresses in all namespaces, filtered for the
+        // target namespaces.  The initial ADDED events of the domain watch take the place of listing domains.
+        LOGGER.info(MessageKeys.WATCHING_ALL_NAMESPACES);
+        allNamespacesPodWatcher = createAllNamespacesPodWatcher(targets);
+        allNamespacesServiceWatcher = createAllNamespacesServiceWatcher(targets);
+        allNamespacesIngressWatcher = createAllNamespacesIngressWatcher(targets);
+        allNamespacesDomainWatcher = createAllNamespacesDomainWatcher(principal, targets);
+      }
+
       // check for any existing CR's and add the watches on them
       // this would happen when the Domain was running BEFORE the Operator starts up
       LOGGER.info(MessageKeys.LISTING_DOMAINS);
       for (String ns : targetNamespaces) {
-        PodWatcher pw = createPodWatcher(ns);
-        podWatchers.put(ns, pw);
-        
-        Step domainList = CallBuilder.create().listDomainAsync(ns, new ResponseStep<DomainList>(null) {
-          @Override
-          public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-              Map<String, List<String>> responseHeaders) {
-            if (statusCode == CallBuilder.NOT_FOUND) {
-              return onSuccess(packet, null, statusCode, responseHeaders);
-            }
-            return super.onFailure(packet, e, statusCode, responseHeaders);
-          }
-
-          @Override
-          public NextAction onSuccess(Packet packet, DomainList result, int statusCode,
-              Map<String, List<String>> responseHeaders) {
-            if (result != null) {
-              for (Domain dom : result.getItems()) {
-                doCheckAndCreateDomainPresence(principal, dom);
-              }
-            }
-            
-            // main logic now happens in the watch handlers
-            domainWatchers.put(ns, createDomainWatcher(principal, ns, result != null ? result.getMetadata().getResourceVersion() : ""));
-            return doNext(packet);
-          }
-        });
-        
-        engine.createFiber().start(domainList, new Packet(), new CompletionCallback() {
-          @Override
-          public void onCompletion(Packet packet) {
-            // no-op
+        startNamespace(principal, ns, !isWatchAllNamespaces);
+      }
+      
+      if (isWatchAllNamespaces) {
+        // target namespaces can be changed without restarting the operator
+        engine.getExecutor().scheduleWithFixedDelay(() -> {
+          TargetNamespaces.Changes changes = targets.reload();
+          for (String ns : changes.getRemoved()) {
+            stopNamespace(ns);
           }
-
-          @Override
-          public void onThrowable(Packet packet, Throwable throwable) {
-            LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+          for (String ns : changes.getAdded()) {
+            startNamespace(principal, ns, true);
           }
-        }); 
+        }, TARGET_NAMESPACES_RELOAD_SECONDS, TARGET_NAMESPACES_RELOAD_SECONDS, TimeUnit.SECONDS);
       }
 
+      // the limits on Kubernetes API requests can be tuned without restarting the operator
+      engine.getExecutor().scheduleWithFixedDelay(() -> ApiRateLimiter.getInstance().reload(cmh),
+          TARGET_NAMESPACES_RELOAD_SECONDS, TARGET_NAMESPACES_RELOAD_SECONDS, TimeUnit.SECONDS);
+
       // now we just wait until the pod is terminated
       waitForDeath();
 
       // stop the REST server
       stopRestServer();
 
+      // stop requests to admin servers
+      HttpClient.shutdown();
+
     } catch (Throwable e) {
       LOGGER.warning(MessageKeys.EXCEPTION, e);
     } finally {
@@ -222,6 +273,140 @@ public class Main {
   // -----------------------------------------------------------------------------
 
 
+  /**
+   * Starts managing a target namespace
+   * @param principal Principal
+   * @param ns Namespace
+   * @param listDomains true, if existing domains must be listed rather than reported by an all namespaces watch 
+   */
+  private static void startNamespace(String principal, String ns, boolean listDomains) {
+    ResourceCache cache = resourceCaches.computeIfAbsent(ns, ResourceCache::new);
+    
+    // any watchers remaining from an earlier start are stopped before they are replaced
+    if (allNamespacesPodWatcher != null) {
+      stopPodWatcher(podWatchers.put(ns, allNamespacesPodWatcher));
+    } else {
+      stopPodWatcher(podWatchers.remove(ns));
+      podWatchers.put(ns, createPodWatcher(ns, cache));
+    }
+    if (allNamespacesServiceWatcher == null) {
+      stopServiceWatcher(serviceWatchers.remove(ns));
+      serviceWatchers.put(ns, createServiceWatcher(ns, cache));
+    }
+    if (allNamespacesIngressWatcher == null) {
+      stopIngressWatcher(ingressWatchers.remove(ns));
+      ingressWatchers.put(ns, createIngressWatcher(ns, cache));
+    }
+    
+    if (!listDomains) {
+      return;
+    }
+    
+    Step domainList = CallBuilder.create().listDomainAsync(ns, new ResponseStep<DomainList>(null) {
+      @Override
+      public NextAction onFailure(Packet packet, ApiException e, int statusCode,
+          Map<String, List<String>> responseHeaders) {
+        if (statusCode == CallBuilder.NOT_FOUND) {
+          return onSuccess(packet, null, statusCode, responseHeaders);
+        }
+        return super.onFailure(packet, e, statusCode, responseHeaders);
+      }
+
+      @Override
+      public NextAction onSuccess(Packet packet, DomainList result, int statusCode,
+          Map<String, List<String>> responseHeaders) {
+        if (result != null) {
+          for (Domain dom : result.getItems()) {
+            doCheckAndCreateDomainPresence(principal, dom);
+          }
+        }
+        
+        // main logic now happens in the watch handlers
+        if (allNamespacesDomainWatcher == null) {
+          stopDomainWatcher(domainWatchers.remove(ns));
+          domainWatchers.put(ns, createDomainWatcher(principal, ns, result != null ? result.getMetadata().getResourceVersion() : ""));
+        }
+        return doNext(packet);
+      }
+    });
+    
+    engine.createFiber().start(domainList, new Packet(), new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        // no-op
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+      }
+    }); 
+  }
+
+  /**
+   * Stops managing a namespace that is no longer a target namespace.  The namespace's watchers are
+   * stopped and its cache and domains are dropped, but the Kubernetes resources of its domains are
+   * left in place.
+   * @param ns Namespace
+   */
+  private static void stopNamespace(String ns) {
+    stopDomainWatcher(domainWatchers.remove(ns));
+    stopServiceWatcher(serviceWatchers.remove(ns));
+    stopIngressWatcher(ingressWatchers.remove(ns));
+    PodWatcher pw = podWatchers.remove(ns);
+    stopPodWatcher(pw);
+
+    for (DomainPresenceInfo info : domains.values()) {
+      Domain dom = info.getDomain();
+      if (ns.equals(dom.getMetadata().getNamespace())) {
+        String domainUID = dom.getSpec().getDomainUID();
+        if (domainQueue != null) {
+          domainQueue.remove(domainUID);
+        }
+        Fiber old = domainUpdaters.remove(domainUID);
+        if (old != null) {
+          old.cancel(true);
+          // release the work queue slot of the canceled processing
+          CompletionCallback work = queuedWork.remove(old);
+          if (work != null) {
+            work.onCompletion(new Packet());
+          }
+        }
+        if (pw != null) {
+          pw.getListeners().remove(domainUID);
+        }
+        forgetDomain(domainUID, ns);
+      }
+    }
+
+    resourceCaches.remove(ns);
+    OperatorMetrics.getInstance().forgetNamespace(ns);
+  }
+
+  private static void stopDomainWatcher(DomainWatcher watcher) {
+    if (watcher != null && watcher != allNamespacesDomainWatcher) {
+      watcher.stop();
+    }
+  }
+
+  private static void stopPodWatcher(PodWatcher watcher) {
+    if (watcher != null && watcher != allNamespacesPodWatcher) {
+      watcher.stop();
+    }
+  }
+
+  private static void stopServiceWatcher(ServiceWatcher watcher) {
+    if (watcher != null) {
+      watcher.stop();
+    }
+  }
+
+  private static void stopIngressWatcher(IngressWatcher watcher) {
+    if (watcher != null) {
+      watcher.stop();
+    }
+  }
+
   private static void checkAndCreateCustomResourceDefinition(ClientHolder client) {
     LOGGER.entering();
 
@@ -332,6 +517,12 @@ public class Main {
         return doNext(packet);
       }
 
+      // work queued for the domain is superseded by this fiber
+      CompletionCallback work = queuedWork.remove(old);
+      if (work != null) {
+        work.onCompletion(packet);
+      }
+
       return doSuspend(next, (fiber) -> {
         boolean isWillCall = old.cancelAndExitCallback(true, new ExitCallback() {
           @Override
@@ -357,7 +548,7 @@ public class Main {
     if (info != null) {
       Domain dom = info.getDomain();
       if (dom != null) {
-        doCheckAndCreateDomainPresence(principal, dom, true, null, null);
+        doCheckAndCreateDomainPresence(new DomainWork(principal, dom, true, null, null));
       }
     }
   }
@@ -374,7 +565,7 @@ public class Main {
     if (info != null) {
       Domain dom = info.getDomain();
       if (dom != null) {
-        doCheckAndCreateDomainPresence(principal, dom, false, servers, null);
+        doCheckAndCreateDomainPresence(new DomainWork(principal, dom, false, servers, null));
       }
     }
   }
@@ -391,18 +582,69 @@ public class Main {
     if (info != null) {
       Domain dom = info.getDomain();
       if (dom != null) {
-        doCheckAndCreateDomainPresence(principal, dom, false, null, clusters);
+        doCheckAndCreateDomainPresence(new DomainWork(principal, dom, false, null, clusters));
       }
     }
   }
 
   private static void doCheckAndCreateDomainPresence(String principal, Domain dom) {
-    doCheckAndCreateDomainPresence(principal, dom, false, null, null);
+    doCheckAndCreateDomainPresence(new DomainWork(principal, dom, false, null, null));
+  }
+
+  private static void doCheckAndCreateDomainPresence(DomainWork work) {
+    if (domainQueue == null) {
+      doCheckAndCreateDomainPresence(work.principal, work.dom, work.restartAdmin, work.restartServers,
+          work.restartClusters, false, null);
+      return;
+    }
+    // bursts of events and explicit restarts for a domain are collapsed into processing of the latest domain
+    domainQueue.add(work.dom.getSpec().getDomainUID(), work);
+  }
+
+  // Queued processing of a domain, including any explicit restarts that have not yet completed
+  private static class DomainWork {
+    private final String principal;
+    private final Domain dom;
+    private final boolean restartAdmin;
+    private final List<String> restartServers;
+    private final List<String> restartClusters;
+
+    DomainWork(String principal, Domain dom, boolean restartAdmin,
+        List<String> restartServers, List<String> restartClusters) {
+      this.principal = principal;
+      this.dom = dom;
+      this.restartAdmin = restartAdmin;
+      this.restartServers = restartServers;
+      this.restartClusters = restartClusters;
+    }
+
+    // the newer domain is processed with the restarts of both
+    static DomainWork merge(DomainWork older, DomainWork newer) {
+      return new DomainWork(newer.principal, newer.dom, older.restartAdmin || newer.restartAdmin,
+          union(older.restartServers, newer.restartServers), union(older.restartClusters, newer.restartClusters));
+    }
+
+    private static List<String> union(List<String> a, List<String> b) {
+      if (a == null) {
+        return b;
+      }
+      if (b == null) {
+        return a;
+      }
+      List<String> union = new ArrayList<>(a);
+      for (String name : b) {
+        if (!union.contains(name)) {
+          union.add(name);
+        }
+      }
+      return union;
+    }
   }
   
   private static void doCheckAndCreateDomainPresence(
       String principal, Domain dom, boolean explicitRestartAdmin, 
-      List<String> explicitRestartServers, List<String> explicitRestartClusters) {
+      List<String> explicitRestartServers, List<String> explicitRestartClusters,
+      boolean isRetry, CompletionCallback whenDone) {
     LOGGER.entering();
     
     boolean hasExplicitRestarts = explicitRestartAdmin || explicitRestartServers != null || explicitRestartClusters != null;
@@ -415,15 +657,23 @@ public class Main {
     DomainPresenceInfo info = domains.putIfAbsent(domainUID, created);
     if (info == null) {
       info = created;
+      DomainRegistry.getInstance().invalidate();
+      DomainStatusEvents.getInstance().publish(dom);
     } else {
       // Has the spec actually changed?  We will get watch events for status updates
       Domain current = info.getDomain();
       if (current != null) {
-        if (!hasExplicitRestarts && spec.equals(current.getSpec())) {
+        if (!hasExplicitRestarts && !isRetry && spec.equals(current.getSpec())) {
           // nothing in the spec has changed
           LOGGER.fine(MessageKeys.NOT_STARTING_DOMAINUID_THREAD, domainUID);
+          if (whenDone != null) {
+            whenDone.onCompletion(null);
+          }
           return;
         }
+        if (!spec.equals(current.getSpec())) {
+          WlsDomainConfigCache.getInstance().invalidate(domainUID);
+        }
       }
       info.setDomain(dom);
     }
@@ -435,15 +685,19 @@ public class Main {
       pw.getListeners().putIfAbsent(domainUID, new DomainStatusUpdater(engine, info));
     }
 
-    Step strategy = bringAdminServerUp(
+    // newer changes to the domain replace this processing without waiting for it until it starts
+    // creating the admin server pod
+    Step strategy = new InterruptibleStep(true, bringAdminServerUp(
         connectToAdminAndInspectDomain(
-            bringManagedServersUp(null)));
+            bringManagedServersUp(null))));
     
     Fiber f = engine.createFiber();
     Packet p = new Packet();
     
-    p.getComponents().put(ProcessingConstants.DOMAIN_COMPONENT_NAME, Component.createFor(info));
+    p.getComponents().put(ProcessingConstants.DOMAIN_COMPONENT_NAME, 
+        Component.createFor(info, resourceCaches.get(dom.getMetadata().getNamespace())));
     p.put(ProcessingConstants.PRINCIPAL, principal);
+    p.put(EngineMetrics.STEP_LABEL, domainUID);
     
     if (explicitRestartAdmin) {
       p.put(ProcessingConstants.EXPLICIT_RESTART_ADMIN, Boolean.TRUE);
@@ -463,10 +717,24 @@ public class Main {
 
     if (!stopping.get()) {
       Fiber old = domainUpdaters.put(domainUID, f);
+      if (whenDone != null) {
+        queuedWork.put(f, whenDone);
+      }
       
+      long startNanos = System.nanoTime();
       f.start(new WaitForOldFiberStep(old, strategy), p, new CompletionCallback() {
         @Override
         public void onCompletion(Packet packet) {
+          OperatorMetrics.getInstance().recordReconcile(domainUID, (System.nanoTime() - startNanos) / 1e9, true);
+          complete(packet);
+          
+          CompletionCallback work = queuedWork.remove(f);
+          if (work != null) {
+            work.onCompletion(packet);
+          }
+        }
+        
+        private void complete(Packet packet) {
           domainUpdaters.remove(domainUID, f);
           
           if (explicitRestartAdmin) {
@@ -483,7 +751,8 @@ public class Main {
         @Override
         public void onThrowable(Packet packet, Throwable throwable) {
           LOGGER.severe(MessageKeys.EXCEPTION, throwable);
-          onCompletion(packet);
+          OperatorMetrics.getInstance().recordReconcile(domainUID, (System.nanoTime() - startNanos) / 1e9, false);
+          complete(packet);
           
           Fiber fs = engine.createFiber();
           fs.start(DomainStatusUpdater.createFailedStep(throwable, null), p, new CompletionCallback() {
@@ -498,9 +767,15 @@ public class Main {
             }
           });
           
-          // TODO: consider retrying domain update after a delay
+          // the domain work queue retries the domain after a delay
+          CompletionCallback work = queuedWork.remove(f);
+          if (work != null) {
+            work.onThrowable(packet, throwable);
+          }
         }
       });
+    } else if (whenDone != null) {
+      whenDone.onCompletion(p);
     }
 
     LOGGER.exiting();
@@ -511,9 +786,31 @@ public class Main {
   private static Step bringAdminServerUp(Step next) {
     return DomainStatusUpdater.createProgressingStep(
         new ListPersistentVolumeClaimStep(
-            PodHelper.createAdminPodStep(
+            new InterruptibleStep(false, PodHelper.createAdminPodStep(
                 new BeforeAdminServiceStep(
-                    ServiceHelper.createForServerStep(next)))), true);
+                    ServiceHelper.createForServerStep(next))))), true);
+  }
+
+  // Marks whether the queued processing of the domain can be replaced by newer changes to the domain without
+  // waiting for it to complete
+  private static class InterruptibleStep extends Step {
+    private final boolean interruptible;
+
+    public InterruptibleStep(boolean interruptible, Step next) {
+      super(next);
+      this.interruptible = interruptible;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+      String domainUID = info.getDomain().getSpec().getDomainUID();
+      // only the latest processing of the domain speaks for the queued work
+      if (domainQueue != null && domainUpdaters.get(domainUID) == Fiber.getCurrentIfSet()) {
+        domainQueue.setInterruptible(domainUID, interruptible);
+      }
+      return doNext(packet);
+    }
   }
   
   private static class ListPersistentVolumeClaimStep extends Step {
@@ -576,8 +873,10 @@ public class Main {
   }
   
   private static Step connectToAdminAndInspectDomain(Step next) {
+    // waiting for the admin server and reading its configuration can be replaced by newer changes to
+    // the domain, so that a fix for a domain whose admin server never becomes ready is not held up
     return new WatchPodReadyAdminStep(WlsConfigRetriever.readConfigStep(
-        new ExternalAdminChannelsStep(next)));
+        new InterruptibleStep(false, new ExternalAdminChannelsStep(next))));
   }
   
   private static class WatchPodReadyAdminStep extends Step {
@@ -593,7 +892,7 @@ public class Main {
       PodWatcher pw = podWatchers.get(adminPod.getMetadata().getNamespace());
       packet.getComponents().put(PODWATCHER_COMPONENT_NAME, Component.createFor(pw));
       
-      return doNext(pw.waitForReady(adminPod, next), packet);
+      return doNext(new InterruptibleStep(true, pw.waitForReady(adminPod, next)), packet);
     }
   }
 
@@ -1015,6 +1314,9 @@ public class Main {
 
     String domainUID = spec.getDomainUID();
     
+    if (domainQueue != null) {
+      domainQueue.remove(domainUID);
+    }
     Fiber old = domainUpdaters.remove(domainUID);
     
     PodWatcher prw = podWatchers.get(dom.getMetadata().getNamespace());
@@ -1022,7 +1324,7 @@ public class Main {
       prw.getListeners().remove(domainUID);
     }
 
-    domains.remove(domainUID);
+    forgetDomain(domainUID, namespace);
 
     Fiber f = engine.createFiber();
     f.start(new WaitForOldFiberStep(old, new DeleteDomainStep(namespace, domainUID)), new Packet(), new CompletionCallback() {
@@ -1039,7 +1341,23 @@ public class Main {
 
     LOGGER.exiting();
   }
+
+  // drops what is known about a domain without changing its Kubernetes resources
+  private static void forgetDomain(String domainUID, String namespace) {
+    domains.remove(domainUID);
+    DomainRegistry.getInstance().invalidate();
+    DomainStatusEvents.getInstance().remove(domainUID, namespace);
+    WlsDomainConfigCache.getInstance().remove(domainUID);
+    OperatorMetrics.getInstance().forgetDomain(domainUID);
+  }
   
+  /**
+   * Deletes the pods, services and ingresses of a domain.  These are owned by the domain, so Kubernetes also
+   * deletes them when the domain is deleted; this covers resources created before they had owner references,
+   * and domains whose resources must go while the domain remains.  Pods and ingresses are deleted with one
+   * request each, selected by the domainUID label, and services, for which there is no such request, are
+   * deleted in parallel.
+   */
   private static class DeleteDomainStep extends Step {
     private final String namespace;
     private final String domainUID;
@@ -1052,28 +1370,19 @@ public class Main {
 
     @Override
     public NextAction apply(Packet packet) {
+      String labelSelector = LabelConstants.DOMAINUID_LABEL + "=" + domainUID;
+
       Step deletePods = CallBuilder.create().with($ -> {
-        $.labelSelector = LabelConstants.DOMAINUID_LABEL + "=" + domainUID;
-      }).deleteCollectionPodAsync(namespace, new ResponseStep<V1Status>(next) {
-        @Override
-        public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          if (statusCode == CallBuilder.NOT_FOUND) {
-            return onSuccess(packet, null, statusCode, responseHeaders);
-          }
-          return super.onFailure(packet, e, statusCode, responseHeaders);
-        }
-        
-        @Override
-        public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
-            Map<String, List<String>> responseHeaders) {
-          return doNext(packet);
-        }
-      });
-      
-      Step serviceList = CallBuilder.create().with($ -> {
-        $.labelSelector = LabelConstants.DOMAINUID_LABEL + "=" + domainUID;
-      }).listServiceAsync(namespace, new ResponseStep<V1ServiceList>(deletePods) {
+        $.labelSelector = labelSelector;
+      }).deleteCollectionPodAsync(namespace, new DeleteResponseStep());
+
+      Step deleteIngresses = CallBuilder.create().with($ -> {
+        $.labelSelector = labelSelector;
+      }).deleteCollectionIngressAsync(namespace, new DeleteResponseStep());
+
+      Step deleteServices = CallBuilder.create().with($ -> {
+        $.labelSelector = labelSelector;
+      }).listServiceAsync(namespace, new ResponseStep<V1ServiceList>(null) {
         @Override
         public NextAction onFailure(Packet packet, ApiException e, int statusCode,
             Map<String, List<String>> responseHeaders) {
@@ -1087,134 +1396,66 @@ public class Main {
         public NextAction onSuccess(Packet packet, V1ServiceList result, int statusCode,
             Map<String, List<String>> responseHeaders) {
           if (result != null) {
-            return doNext(new DeleteServiceListStep(result.getItems(), deletePods), packet);
+            return doNext(new DeleteServiceListStep(result.getItems(), null), packet);
           }
           return doNext(packet);
         }
       });
 
-      LOGGER.finer(MessageKeys.LIST_INGRESS_FOR_DOMAIN, domainUID, namespace);
-      Step deleteIngress = CallBuilder.create().with($ -> {
-        $.labelSelector = LabelConstants.DOMAINUID_LABEL + "=" + domainUID;
-      }).listIngressAsync(namespace, new ResponseStep<V1beta1IngressList>(serviceList) {
-        @Override
-        public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-                                    Map<String, List<String>> responseHeaders) {
-          if (statusCode == CallBuilder.NOT_FOUND) {
-            return onSuccess(packet, null, statusCode, responseHeaders);
-          }
-          return super.onFailure(packet, e, statusCode, responseHeaders);
-        }
-
-        @Override
-        public NextAction onSuccess(Packet packet, V1beta1IngressList result, int statusCode,
-                                    Map<String, List<String>> responseHeaders) {
-          if (result != null) {
-
-            return doNext(new DeleteIngressListStep(result.getItems(), serviceList), packet);
-          }
-          return doNext(packet);
-        }
-      });
-
-      return doNext(deleteIngress, packet);
+      Collection<StepAndPacket> startDetails = new ArrayList<>();
+      startDetails.add(new StepAndPacket(deleteIngresses, packet.clone()));
+      startDetails.add(new StepAndPacket(deleteServices, packet.clone()));
+      startDetails.add(new StepAndPacket(deletePods, packet.clone()));
+      return doForkJoin(next, packet, startDetails);
     }
   }
-  
-  private static class DeleteServiceListStep extends Step {
-    private final Iterator<V1Service> it;
 
-    public DeleteServiceListStep(Collection<V1Service> c, Step next) {
-      super(next);
-      this.it = c.iterator();
+  private static class DeleteResponseStep extends ResponseStep<V1Status> {
+    public DeleteResponseStep() {
+      super(null);
     }
 
     @Override
-    public NextAction apply(Packet packet) {
-      if (it.hasNext()) {
-        V1Service service = it.next();
-        V1ObjectMeta meta = service.getMetadata();
-        Step delete = CallBuilder.create().deleteServiceAsync(meta.getName(), meta.getNamespace(), new ResponseStep<V1Status>(this) {
-          @Override
-          public NextAction onFailure(Packet packet, ApiException e, int statusCode,
-              Map<String, List<String>> responseHeaders) {
-            if (statusCode == CallBuilder.NOT_FOUND) {
-              return onSuccess(packet, null, statusCode, responseHeaders);
-            }
-            return super.onFailure(packet, e, statusCode, responseHeaders);
-          }
-          
-          @Override
-          public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
-              Map<String, List<String>> responseHeaders) {
-            return doNext(packet);
-          }
-        });
-        return doNext(delete, packet);
+    public NextAction onFailure(Packet packet, ApiException e, int statusCode,
+        Map<String, List<String>> responseHeaders) {
+      if (statusCode == CallBuilder.NOT_FOUND) {
+        return onSuccess(packet, null, statusCode, responseHeaders);
       }
-      
+      return super.onFailure(packet, e, statusCode, responseHeaders);
+    }
+
+    @Override
+    public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
+        Map<String, List<String>> responseHeaders) {
       return doNext(packet);
     }
   }
 
-  private static class DeleteIngressListStep extends Step {
-    private final Iterator<V1beta1Ingress> it;
+  /**
+   * Deletes services in parallel
+   */
+  private static class DeleteServiceListStep extends Step {
+    private final Collection<V1Service> services;
 
-    public DeleteIngressListStep(Collection<V1beta1Ingress> c, Step next) {
+    public DeleteServiceListStep(Collection<V1Service> services, Step next) {
       super(next);
-      this.it = c.iterator();
+      this.services = services;
     }
 
     @Override
     public NextAction apply(Packet packet) {
-      if (it.hasNext()) {
-        V1beta1Ingress v1beta1Ingress = it.next();
-        V1ObjectMeta meta = v1beta1Ingress.getMetadata();
-        String ingressName = meta.getName();
-        String namespace = meta.getNamespace();
-        LOGGER.finer(MessageKeys.REMOVING_INGRESS, ingressName, namespace);
-        Step delete = CallBuilder.create().deleteIngressAsync(ingressName, meta.getNamespace(), new V1DeleteOptions(), new ResponseStep<V1Status>(this) {
-          @Override
-          public NextAction onFailure(Packet packet, ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
-            if (statusCode == CallBuilder.NOT_FOUND) {
-              return onSuccess(packet, null, statusCode, responseHeaders);
-            }
-            return super.onFailure(packet, e, statusCode, responseHeaders);
-          }
-
-          @Override
-          public NextAction onSuccess(Packet packet, V1Status result, int statusCode, Map<String, List<String>> responseHeaders) {
-            return doNext(packet);
-          }
-        });
-        return doNext(delete, packet);
+      Collection<StepAndPacket> startDetails = new ArrayList<>();
+      for (V1Service service : services) {
+        V1ObjectMeta meta = service.getMetadata();
+        Step delete = CallBuilder.create().deleteServiceAsync(meta.getName(), meta.getNamespace(), new DeleteResponseStep());
+        startDetails.add(new StepAndPacket(delete, packet.clone()));
       }
-      return doNext(packet);
-    }
-  }
-
-  /**
-   * Obtain the list of target namespaces
-   * @return the collection of target namespace names
-   */
-  private static Collection<String> getTargetNamespaces(String namespace) {
-    Collection<String> targetNamespaces = new ArrayList<String>();
 
-    ConfigMapHelper cmh = new ConfigMapHelper("/operator/config");
-    String tnValue = cmh.get("targetNamespaces");
-    if (tnValue != null) {
-      StringTokenizer st = new StringTokenizer(tnValue, ",");
-      while (st.hasMoreTokens()) {
-        targetNamespaces.add(st.nextToken());
+      if (startDetails.isEmpty()) {
+        return doNext(packet);
       }
+      return doForkJoin(next, packet, startDetails);
     }
-
-    // If no namespaces were found, default to the namespace of the operator
-    if (targetNamespaces.isEmpty()) {
-      targetNamespaces.add(namespace);
-    }
-
-    return targetNamespaces;
   }
 
   private static void startRestServer(String principal, Collection<String> targetNamespaces) throws Exception {
@@ -1254,11 +1495,173 @@ public class Main {
   }
   
   private static DomainWatcher createDomainWatcher(String principal, String namespace, String initialResourceVersion) {
-    return DomainWatcher.create(namespace, initialResourceVersion, (item) -> { dispatchDomainWatch(item, principal); }, stopping);
+    return DomainWatcher.create(namespace, initialResourceVersion,
+        createDomainWatchDestination(principal, () -> Collections.singletonList(namespace)), stopping);
   }
   
-  private static PodWatcher createPodWatcher(String namespace)  {
-    return PodWatcher.create(namespace, "", stopping);
+  private static DomainWatcher createAllNamespacesDomainWatcher(String principal, TargetNamespaces targets) {
+    return DomainWatcher.createForAllNamespaces(targets::contains, "",
+        createDomainWatchDestination(principal, targets::getNamespaces), stopping);
+  }
+
+  // after a relist, the domains of the watched namespaces are listed again so that domains deleted while the
+  // watch could not resume are deleted as well
+  private static WatchingEventDestination<Domain> createDomainWatchDestination(
+      String principal, Supplier<Collection<String>> namespaces) {
+    return new WatchingEventDestination<Domain>() {
+      @Override
+      public void eventCallback(WatchEvent<Domain> item) {
+        dispatchDomainWatch(item, principal);
+      }
+
+      @Override
+      public void onRelist() {
+        for (String ns : namespaces.get()) {
+          deleteMissingDomains(ns);
+        }
+      }
+    };
+  }
+
+  private static void deleteMissingDomains(String ns) {
+    // only domains known before the list was requested can be missing from it
+    List<Domain> known = new ArrayList<>();
+    for (DomainPresenceInfo info : domains.values()) {
+      known.add(info.getDomain());
+    }
+    Step domainList = CallBuilder.create().listDomainAsync(ns, new ResponseStep<DomainList>(null) {
+      @Override
+      public NextAction onFailure(Packet packet, ApiException e, int statusCode,
+          Map<String, List<String>> responseHeaders) {
+        if (statusCode == CallBuilder.NOT_FOUND) {
+          // the domain resource type is gone, and with it every domain in the namespace
+          deleteDomainsMissingFrom(known, ns, Collections.emptyList());
+          return doNext(packet);
+        }
+        return super.onFailure(packet, e, statusCode, responseHeaders);
+      }
+
+      @Override
+      public NextAction onSuccess(Packet packet, DomainList result, int statusCode,
+          Map<String, List<String>> responseHeaders) {
+        if (result != null) {
+          deleteDomainsMissingFrom(known, ns, result.getItems());
+        }
+        return doNext(packet);
+      }
+    });
+
+    engine.createFiber().start(domainList, new Packet(), new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        // no-op
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        LOGGER.severe(MessageKeys.EXCEPTION, throwable);
+      }
+    });
+  }
+  
+  private static void deleteDomainsMissingFrom(List<Domain> known, String ns, List<Domain> listed) {
+    for (Domain dom : DomainWatcher.findDeletedDomains(known, ns, listed)) {
+      LOGGER.info(MessageKeys.WATCH_DOMAIN_DELETED, dom.getSpec().getDomainUID());
+      try {
+        deleteDomainPresence(dom);
+      } catch (ApiException apiException) {
+        LOGGER.info(MessageKeys.EXCEPTION, apiException);
+      }
+    }
+  }
+
+  private static PodWatcher createAllNamespacesPodWatcher(TargetNamespaces targets)  {
+    return PodWatcher.createForAllNamespaces(targets::contains, "", new WatchingEventDestination<V1Pod>() {
+      @Override
+      public void eventCallback(WatchEvent<V1Pod> item) {
+        invalidateConfigOnAdminPodChange(item);
+        ResourceCache cache = item.object != null ? resourceCaches.get(item.object.getMetadata().getNamespace()) : null;
+        if (cache != null) {
+          cache.getPods().eventCallback(item);
+        }
+      }
+
+      @Override
+      public void onRelist() {
+        for (ResourceCache cache : resourceCaches.values()) {
+          cache.getPods().onRelist();
+        }
+      }
+    }, stopping);
+  }
+  
+  private static PodWatcher createPodWatcher(String namespace, ResourceCache cache)  {
+    return PodWatcher.create(namespace, "", new WatchingEventDestination<V1Pod>() {
+      @Override
+      public void eventCallback(WatchEvent<V1Pod> item) {
+        invalidateConfigOnAdminPodChange(item);
+        cache.getPods().eventCallback(item);
+      }
+
+      @Override
+      public void onRelist() {
+        cache.getPods().onRelist();
+      }
+    }, stopping);
+  }
+
+  // a replaced admin server may be running with different configuration
+  private static void invalidateConfigOnAdminPodChange(WatchEvent<V1Pod> item) {
+    if (item.object == null || !("ADDED".equals(item.type) || "DELETED".equals(item.type))) {
+      return;
+    }
+    Map<String, String> labels = item.object.getMetadata().getLabels();
+    String domainUID = labels != null ? labels.get(LabelConstants.DOMAINUID_LABEL) : null;
+    DomainPresenceInfo info = domainUID != null ? domains.get(domainUID) : null;
+    Domain dom = info != null ? info.getDomain() : null;
+    if (dom != null && dom.getSpec().getAsName() != null
+        && dom.getSpec().getAsName().equals(labels.get(LabelConstants.SERVERNAME_LABEL))) {
+      WlsDomainConfigCache.getInstance().invalidate(domainUID);
+    }
+  }
+  
+  private static ServiceWatcher createServiceWatcher(String namespace, ResourceCache cache)  {
+    return ServiceWatcher.create(namespace, "", cache.getServices(), stopping);
+  }
+  
+  private static IngressWatcher createIngressWatcher(String namespace, ResourceCache cache)  {
+    return IngressWatcher.create(namespace, "", cache.getIngresses(), stopping);
+  }
+
+  private static ServiceWatcher createAllNamespacesServiceWatcher(TargetNamespaces targets)  {
+    return ServiceWatcher.createForAllNamespaces(targets::contains, "",
+        createAllNamespacesDestination(ResourceCache::getServices, V1Service::getMetadata), stopping);
+  }
+
+  private static IngressWatcher createAllNamespacesIngressWatcher(TargetNamespaces targets)  {
+    return IngressWatcher.createForAllNamespaces(targets::contains, "",
+        createAllNamespacesDestination(ResourceCache::getIngresses, V1beta1Ingress::getMetadata), stopping);
+  }
+
+  // delivers the events of an all namespaces watch to the cache of each object's namespace
+  private static <T> WatchingEventDestination<T> createAllNamespacesDestination(
+      Function<ResourceCache, ResourceCache.Store<T>> store, Function<T, V1ObjectMeta> metadata) {
+    return new WatchingEventDestination<T>() {
+      @Override
+      public void eventCallback(WatchEvent<T> item) {
+        ResourceCache cache = item.object != null ? resourceCaches.get(metadata.apply(item.object).getNamespace()) : null;
+        if (cache != null) {
+          store.apply(cache).eventCallback(item);
+        }
+      }
+
+      @Override
+      public void onRelist() {
+        for (ResourceCache cache : resourceCaches.values()) {
+          store.apply(cache).onRelist();
+        }
+      }
+    };
   }
 
   /**
@@ -1267,7 +1670,7 @@ public class Main {
    * @param item  An item received from a Watch response.
    * @param principal The name of the principal that will be used in this watch.
    */
-  public static void dispatchDomainWatch(Watch.Response<Domain> item, String principal) {
+  public static void dispatchDomainWatch(WatchEvent<Domain> item, String principal) {
 
     try {
       Domain d;
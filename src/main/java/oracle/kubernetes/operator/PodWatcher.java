@@ -6,22 +6,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
-import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Call;
 
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1Pod;
 import io.kubernetes.client.models.V1PodCondition;
 import io.kubernetes.client.models.V1PodStatus;
-import io.kubernetes.client.util.Watch;
-import oracle.kubernetes.operator.helpers.ClientHelper;
-import oracle.kubernetes.operator.helpers.ClientHolder;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.watcher.WatchEvent;
+import oracle.kubernetes.operator.watcher.WatchEventDecoder;
 import oracle.kubernetes.operator.watcher.Watcher;
 import oracle.kubernetes.operator.watcher.Watching;
+import oracle.kubernetes.operator.watcher.WatchingEventDestination;
 import oracle.kubernetes.operator.work.NextAction;
 import oracle.kubernetes.operator.work.Packet;
 import oracle.kubernetes.operator.work.Step;
@@ -30,12 +32,15 @@ import oracle.kubernetes.operator.work.Step;
  * Watches for Pods to become Ready or leave Ready state
  * 
  */
-public class PodWatcher implements Runnable {
+public class PodWatcher {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
   
   private final String ns;
   private final String initialResourceVersion;
+  private final Predicate<String> namespaceFilter;
+  private final WatchingEventDestination<V1Pod> destination;
   private final AtomicBoolean isStopping;
+  private Watcher<V1Pod> watcher;
   
   // Map of domainUID to PodStateListener
   private final Map<String, PodStateListener> listeners = new ConcurrentHashMap<>();
@@ -50,44 +55,53 @@ public class PodWatcher implements Runnable {
    * Factory for PodWatcher
    * @param ns Namespace
    * @param initialResourceVersion Initial resource version or empty string
+   * @param destination Additional destination for all pod events, such as a cache
    * @param isStopping Stop signal
    * @return Pod watcher for the namespace
    */
-  public static PodWatcher create(String ns, String initialResourceVersion, AtomicBoolean isStopping) {
-    PodWatcher prw = new PodWatcher(ns, initialResourceVersion, isStopping);
-    Thread thread = new Thread(prw);
-    thread.setName("Thread-PodWatcher-" + ns);
-    thread.setDaemon(true);
-    thread.start();
+  public static PodWatcher create(String ns, String initialResourceVersion, WatchingEventDestination<V1Pod> destination, AtomicBoolean isStopping) {
+    PodWatcher prw = new PodWatcher(ns, null, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("PodWatcher-" + ns, prw.createWatcher());
     return prw;
   }
 
-  private PodWatcher(String ns, String initialResourceVersion, AtomicBoolean isStopping) {
+  /**
+   * Factory for a PodWatcher that watches all namespaces and only delivers events for
+   * pods in the namespaces accepted by the filter
+   * @param namespaceFilter Namespace filter
+   * @param initialResourceVersion Initial resource version or empty string
+   * @param destination Additional destination for accepted pod events
+   * @param isStopping Stop signal
+   * @return PodWatcher for all namespaces
+   */
+  public static PodWatcher createForAllNamespaces(Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<V1Pod> destination, AtomicBoolean isStopping) {
+    PodWatcher prw = new PodWatcher(null, namespaceFilter, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("PodWatcher-all-namespaces", prw.createWatcher());
+    return prw;
+  }
+
+  private PodWatcher(String ns, Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<V1Pod> destination, AtomicBoolean isStopping) {
     this.ns = ns;
+    this.namespaceFilter = namespaceFilter;
     this.initialResourceVersion = initialResourceVersion;
+    this.destination = destination;
     this.isStopping = isStopping;
   }
 
   /**
-   * Polling loop. Get the next Pod object event and process it.
+   * Stops watching.  A watch request in progress is canceled.
    */
-  @Override
-  public void run() {
-    ClientHelper helper = ClientHelper.getInstance();
-    ClientHolder client = helper.take();
-    try {
-      Watching<V1Pod> w = createWatching(client);
-      Watcher<V1Pod> watcher = new Watcher<V1Pod>(w, null, initialResourceVersion);
-      
-      // invoke watch on current Thread.  Won't return until watch stops
-      watcher.doWatch();
-      
-    } finally {
-      helper.recycle(client);
-    }
+  public void stop() {
+    watcher.stop();
+  }
+
+  private Watcher<V1Pod> createWatcher() {
+    return watcher = new Watcher<V1Pod>(createWatching(), null, initialResourceVersion,
+        new WatchEventDecoder<V1Pod>(WatchHub.getInstance().getJSON(), V1Pod.class, V1Pod::getMetadata),
+        WatchHub.getInstance().getDispatcher());
   }
   
-  private Watching<V1Pod> createWatching(ClientHolder client) {
+  private Watching<V1Pod> createWatching() {
     return new Watching<V1Pod>() {
 
       /**
@@ -95,27 +109,36 @@ public class PodWatcher implements Runnable {
        * Watcher wrapper to issue repeated watch requests.
        * @param context user defined contact object or null
        * @param resourceVersion resource version to omit older events
-       * @return Watch object or null if the operation should end
+       * @param timeoutSeconds server side timeout for the watch request
+       * @return Unexecuted watch call
        * @throws ApiException if there is an API error.
        */
       @Override
-      public Watch<V1Pod> initiateWatch(Object context, String resourceVersion) throws ApiException {
-        return Watch.createWatch(client.getApiClient(),
-            client.callBuilder().with($ -> {
-              $.resourceVersion = resourceVersion;
-              $.labelSelector = LabelConstants.DOMAINUID_LABEL; // Any pod with a domainUID label
-              $.timeoutSeconds = 2;
-              $.watch = true;
-            }).listPodCall(ns),
-            new TypeToken<Watch.Response<V1Pod>>() {
-            }.getType());
+      public Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) throws ApiException {
+        CallBuilder builder = WatchHub.getInstance().getClient().callBuilder().with($ -> {
+          $.resourceVersion = resourceVersion;
+          $.labelSelector = LabelConstants.DOMAINUID_LABEL; // Any pod with a domainUID label
+          $.timeoutSeconds = timeoutSeconds;
+          $.watch = true;
+        });
+        return ns != null ? builder.listPodCall(ns) : builder.listPodForAllNamespacesCall();
       }
 
       @Override
-      public void eventCallback(Watch.Response<V1Pod> item) {
+      public void eventCallback(WatchEvent<V1Pod> item) {
+        if (namespaceFilter != null && item.object != null
+            && !namespaceFilter.test(item.object.getMetadata().getNamespace())) {
+          // not in a target namespace
+          return;
+        }
         processEventCallback(item);
       }
 
+      @Override
+      public void onRelist() {
+        destination.onRelist();
+      }
+
       @Override
       public boolean isStopping() {
         return isStopping.get();
@@ -123,9 +146,11 @@ public class PodWatcher implements Runnable {
     };
   }
   
-  private void processEventCallback(Watch.Response<V1Pod> item) {
+  private void processEventCallback(WatchEvent<V1Pod> item) {
     LOGGER.entering();
     
+    destination.eventCallback(item);
+    
     V1Pod pod;
     Boolean previous;
     String domainUID;
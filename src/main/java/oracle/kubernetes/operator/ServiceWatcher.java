@@ -0,0 +1,121 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import com.squareup.okhttp.Call;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Service;
+import oracle.kubernetes.operator.helpers.CallBuilder;
+import oracle.kubernetes.operator.watcher.WatchEvent;
+import oracle.kubernetes.operator.watcher.WatchEventDecoder;
+import oracle.kubernetes.operator.watcher.Watcher;
+import oracle.kubernetes.operator.watcher.Watching;
+import oracle.kubernetes.operator.watcher.WatchingEventDestination;
+
+/**
+ * This class handles Service watching. It receives service events and sends
+ * them into the operator for processing.
+ */
+public class ServiceWatcher {
+  private final String ns;
+  private final String initialResourceVersion;
+  private final Predicate<String> namespaceFilter;
+  private final WatchingEventDestination<V1Service> destination;
+  private final AtomicBoolean isStopping;
+  private Watcher<V1Service> watcher;
+  
+  public static ServiceWatcher create(String ns, String initialResourceVersion, WatchingEventDestination<V1Service> destination, AtomicBoolean isStopping) {
+    ServiceWatcher sw = new ServiceWatcher(ns, null, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("ServiceWatcher-" + ns, sw.createWatcher());
+    return sw;
+  }
+
+  /**
+   * Factory for a ServiceWatcher that watches all namespaces and only delivers events for
+   * services in the namespaces accepted by the filter
+   * @param namespaceFilter Namespace filter
+   * @param initialResourceVersion Initial resource version or empty string
+   * @param destination Destination for accepted service events
+   * @param isStopping Stop signal
+   * @return ServiceWatcher for all namespaces
+   */
+  public static ServiceWatcher createForAllNamespaces(Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<V1Service> destination, AtomicBoolean isStopping) {
+    ServiceWatcher sw = new ServiceWatcher(null, namespaceFilter, initialResourceVersion, destination, isStopping);
+    WatchHub.getInstance().start("ServiceWatcher-all-namespaces", sw.createWatcher());
+    return sw;
+  }
+
+  private ServiceWatcher(String ns, Predicate<String> namespaceFilter, String initialResourceVersion, WatchingEventDestination<V1Service> destination, AtomicBoolean isStopping) {
+    this.ns = ns;
+    this.namespaceFilter = namespaceFilter;
+    this.initialResourceVersion = initialResourceVersion;
+    this.destination = destination;
+    this.isStopping = isStopping;
+  }
+
+  /**
+   * Stops watching.  A watch request in progress is canceled.
+   */
+  public void stop() {
+    watcher.stop();
+  }
+
+  private Watcher<V1Service> createWatcher() {
+    return watcher = new Watcher<V1Service>(createWatching(), null, initialResourceVersion,
+        new WatchEventDecoder<V1Service>(WatchHub.getInstance().getJSON(), V1Service.class, V1Service::getMetadata),
+        WatchHub.getInstance().getDispatcher());
+  }
+  
+  protected Watching<V1Service> createWatching() {
+    return new Watching<V1Service>() {
+
+      /**
+       * Watcher callback to issue the list Service changes. It is driven by the
+       * Watcher wrapper to issue repeated watch requests.
+       * @param context user defined contact object or null
+       * @param resourceVersion resource version to omit older events
+       * @param timeoutSeconds server side timeout for the watch request
+       * @return Unexecuted watch call
+       * @throws ApiException if there is an API error.
+       */
+      @Override
+      public Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) throws ApiException {
+        CallBuilder builder = WatchHub.getInstance().getClient().callBuilder().with($ -> {
+          $.resourceVersion = resourceVersion;
+          $.labelSelector = LabelConstants.DOMAINUID_LABEL; // Any service with a domainUID label
+          $.timeoutSeconds = timeoutSeconds;
+          $.watch = true;
+        });
+        return ns != null ? builder.listServiceCall(ns) : builder.listServiceForAllNamespacesCall();
+      }
+
+      @Override
+      public void eventCallback(WatchEvent<V1Service> item) {
+        if (namespaceFilter != null && item.object != null
+            && !namespaceFilter.test(item.object.getMetadata().getNamespace())) {
+          // not in a target namespace
+          return;
+        }
+        processEventCallback(item);
+      }
+
+      @Override
+      public void onRelist() {
+        destination.onRelist();
+      }
+
+      @Override
+      public boolean isStopping() {
+        return isStopping.get();
+      }
+    };
+  }
+  
+  public void processEventCallback(WatchEvent<V1Service> item) {
+    destination.eventCallback(item);
+  }
+}
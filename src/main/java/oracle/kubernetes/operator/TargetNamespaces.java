@@ -0,0 +1,139 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+
+/**
+ * The set of namespaces managed by the operator, read from the "targetNamespaces" entry of the
+ * operator's configuration.  The set may be reloaded while the operator is running; the collection
+ * returned by {@link #getNamespaces()} is a live view that reflects each reload.
+ */
+public class TargetNamespaces {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  static final String TARGET_NAMESPACES = "targetNamespaces";
+
+  private final Map<String, String> config;
+  private final String defaultNamespace;
+  private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates the target namespaces from the operator's configuration
+   * @param config Operator configuration, such as a {@link oracle.kubernetes.operator.helpers.ConfigMapHelper}
+   * @param defaultNamespace Namespace to manage if no target namespaces are configured
+   */
+  public TargetNamespaces(Map<String, String> config, String defaultNamespace) {
+    this.config = config;
+    this.defaultNamespace = defaultNamespace;
+    namespaces.addAll(parse(config.get(TARGET_NAMESPACES), defaultNamespace));
+  }
+
+  /**
+   * Live, unmodifiable view of the target namespaces
+   * @return Target namespaces
+   */
+  public Collection<String> getNamespaces() {
+    return Collections.unmodifiableSet(namespaces);
+  }
+
+  /**
+   * True, if the namespace is currently a target namespace
+   * @param namespace Namespace
+   * @return true, if the operator manages the namespace
+   */
+  public boolean contains(String namespace) {
+    return namespace != null && namespaces.contains(namespace);
+  }
+
+  /**
+   * Namespaces added and removed by a reload
+   */
+  public static class Changes {
+    private final Collection<String> added;
+    private final Collection<String> removed;
+
+    private Changes(Collection<String> added, Collection<String> removed) {
+      this.added = added;
+      this.removed = removed;
+    }
+
+    /**
+     * Namespaces that became target namespaces
+     * @return Added namespaces
+     */
+    public Collection<String> getAdded() {
+      return added;
+    }
+
+    /**
+     * Namespaces that are no longer target namespaces
+     * @return Removed namespaces
+     */
+    public Collection<String> getRemoved() {
+      return removed;
+    }
+  }
+
+  /**
+   * Rereads the target namespaces from the configuration
+   * @return Namespaces that were added and removed by this reload
+   */
+  public synchronized Changes reload() {
+    Collection<String> current = parse(config.get(TARGET_NAMESPACES), defaultNamespace);
+
+    Collection<String> added = new ArrayList<>();
+    for (String ns : current) {
+      if (namespaces.add(ns)) {
+        added.add(ns);
+      }
+    }
+    Collection<String> removed = new ArrayList<>();
+    for (String ns : namespaces) {
+      if (!current.contains(ns)) {
+        removed.add(ns);
+      }
+    }
+    namespaces.removeAll(removed);
+
+    if (!added.isEmpty()) {
+      LOGGER.info(MessageKeys.TARGET_NAMESPACES_ADDED, String.join(", ", added));
+    }
+    if (!removed.isEmpty()) {
+      LOGGER.info(MessageKeys.TARGET_NAMESPACES_REMOVED, String.join(", ", removed));
+    }
+    return new Changes(added, removed);
+  }
+
+  static Collection<String> parse(String value, String defaultNamespace) {
+    Collection<String> targetNamespaces = new LinkedHashSet<>();
+    if (value != null) {
+      StringTokenizer st = new StringTokenizer(value, ",");
+      while (st.hasMoreTokens()) {
+        String ns = st.nextToken().trim();
+        if (!ns.isEmpty()) {
+          targetNamespaces.add(ns);
+        }
+      }
+    }
+
+    // If no namespaces were found, default to the namespace of the operator
+    if (targetNamespaces.isEmpty()) {
+      targetNamespaces.add(defaultNamespace);
+    }
+
+    return targetNamespaces;
+  }
+}
@@ -0,0 +1,153 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.kubernetes.client.JSON;
+import oracle.kubernetes.operator.helpers.ClientHelper;
+import oracle.kubernetes.operator.helpers.ClientHolder;
+import oracle.kubernetes.operator.helpers.Pool;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.watcher.Watcher;
+
+/**
+ * Runs the watches of all target namespaces.  Each {@link Watcher} is given a reader thread and an
+ * API client for as long as it runs, and holds a long-lived watch request open on them, so that
+ * events are read as soon as the server sends them.  The okhttp client only reads responses with
+ * blocking I/O and does not negotiate HTTP/2 on this platform, so watches cannot share reader
+ * threads without holding back each other's events; the number of reader threads therefore grows
+ * with the number of watches.  Watching all namespaces keeps the operator at four watches no matter
+ * how many namespaces it targets.  Both the threads and the clients are returned when a watch ends
+ * and reused by later watches.  The reader threads hand events to a small shared pool of dispatcher
+ * threads, which deliver them through each watch's
+ * {@link oracle.kubernetes.operator.watcher.Watching#eventCallback} in order.
+ */
+public class WatchHub {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  // threads that deliver the events of all watches - default is 2
+  private static final int DISPATCH_THREADS = Integer.getInteger("watch.dispatch.threads", 2);
+
+  private static final WatchHub SINGLETON = new WatchHub();
+
+  private final ExecutorService readers;
+  private final ExecutorService dispatcher;
+  private final AtomicInteger registered = new AtomicInteger();
+  private final JSON json = new JSON();
+
+  // clients of the watches, which are not counted against the pool of clients for other requests
+  private final Pool<ClientHolder> clients = new Pool<ClientHolder>(Integer.MAX_VALUE, 0) {
+    @Override
+    protected ClientHolder create() {
+      ClientHolder client = ClientHelper.getInstance().createUnpooled();
+      Watcher.configureReadTimeout(client.getApiClient());
+      return client;
+    }
+  };
+
+  // each reader thread holds the client of the watch it is running, taken when the watch first needs it
+  private final ThreadLocal<ClientHolder> current = new ThreadLocal<>();
+
+  public static WatchHub getInstance() {
+    return SINGLETON;
+  }
+
+  WatchHub() {
+    readers = Executors.newCachedThreadPool(new DaemonThreadFactory("Thread-WatchHub-"));
+    dispatcher = Executors.newFixedThreadPool(DISPATCH_THREADS, new DaemonThreadFactory("Thread-WatchDispatch-"));
+  }
+
+  /**
+   * JSON support for decoding watch events
+   * @return JSON support shared by all watches
+   */
+  public JSON getJSON() {
+    return json;
+  }
+
+  /**
+   * Executor for delivering watch events, shared by all watches
+   * @return Dispatcher
+   */
+  public Executor getDispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Client for building watch requests.  Only valid when called from a reader thread, which is the
+   * case for {@link oracle.kubernetes.operator.watcher.Watching#initiateWatchCall} callbacks.
+   * @return Client owned by the current watch
+   */
+  public ClientHolder getClient() {
+    ClientHolder client = current.get();
+    if (client == null) {
+      client = clients.takeNoWait();
+      current.set(client);
+    }
+    return client;
+  }
+
+  /**
+   * Starts running the watcher's requests on a reader thread of its own.  The thread and the
+   * watch's client are released once the watcher stops.
+   * @param name Name of the watch, used for logging
+   * @param watcher Watcher
+   */
+  public void start(String name, Watcher<?> watcher) {
+    LOGGER.fine(MessageKeys.WATCH_HUB_STARTED, name, registered.incrementAndGet());
+    readers.execute(() -> run(name, watcher));
+  }
+
+  private void run(String name, Watcher<?> watcher) {
+    try {
+      long delay;
+      while ((delay = runCycle(watcher)) >= 0) {
+        if (delay > 0) {
+          Thread.sleep(delay);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      ClientHolder client = current.get();
+      if (client != null) {
+        current.remove();
+        clients.recycle(client);
+      }
+      LOGGER.fine(MessageKeys.WATCH_HUB_STOPPED, name, registered.decrementAndGet());
+    }
+  }
+
+  private long runCycle(Watcher<?> watcher) {
+    try {
+      return watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS);
+    } catch (Throwable t) {
+      LOGGER.warning(MessageKeys.EXCEPTION, t);
+      return 0;
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+    final String prefix;
+
+    DaemonThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r);
+      t.setName(prefix + threadNumber.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
@@ -3,18 +3,38 @@
 
 package oracle.kubernetes.operator.helpers;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.kubernetes.client.JSON;
 import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+import oracle.kubernetes.operator.KubernetesConstants;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
 
 /**
  * Annotates pods, services with details about the Domain instance and checks these annotations.
+ * Also marks these resources as owned by the Domain instance.
  * 
  */
 public class AnnotationHelper {
   
   private static final String DOMAIN_RESOURCE_VERSION = "weblogic.oracle/domain-resourceVersion";
+  private static final String SHA256_ANNOTATION = "weblogic.oracle/sha256";
+
+  private static final Gson GSON = new JSON().getGson();
   
   /**
    * Marks metadata object with an annotation saying that it was created for this domain and resource version
@@ -39,4 +59,111 @@ public class AnnotationHelper {
     String metaResourceVersion = meta.getAnnotations().get(DOMAIN_RESOURCE_VERSION);
     return Objects.equals(domainResourceVersion, metaResourceVersion);
   }
+
+  /**
+   * Marks metadata object as owned by the domain, so that Kubernetes deletes the resource when the domain is deleted
+   * @param meta Metadata object that will be included in a newly created resource, e.g. pod or service
+   * @param domain The domain
+   */
+  public static void addDomainOwnerReference(V1ObjectMeta meta, Domain domain) {
+    V1ObjectMeta domainMeta = domain.getMetadata();
+    if (domainMeta.getUid() != null) {
+      V1OwnerReference owner = new V1OwnerReference();
+      owner.setApiVersion(KubernetesConstants.DOMAIN_API_VERSION);
+      owner.setKind(KubernetesConstants.KIND_DOMAIN);
+      owner.setName(domainMeta.getName());
+      owner.setUid(domainMeta.getUid());
+      owner.setController(true);
+      meta.addOwnerReferencesItem(owner);
+    }
+  }
+
+  /**
+   * Marks metadata object with a hash of the fields of the generated resource that decide whether an
+   * existing resource must be replaced.  Other fields, such as labels, do not affect the hash.
+   * @param meta Metadata object that will be included in a newly created resource, e.g. pod or service
+   * @param fingerprint The deciding fields of the resource
+   */
+  public static void annotateWithSha256(V1ObjectMeta meta, Object fingerprint) {
+    meta.putAnnotationsItem(SHA256_ANNOTATION, createHash(fingerprint));
+  }
+
+  /**
+   * Check if the metadata object has a hash annotation.  Resources created by earlier versions of
+   * the operator do not.
+   * @param meta The metadata object
+   * @return true, if the metadata includes a hash annotation
+   */
+  public static boolean hasSha256(V1ObjectMeta meta) {
+    return meta != null && meta.getAnnotations() != null && meta.getAnnotations().containsKey(SHA256_ANNOTATION);
+  }
+
+  /**
+   * Check that the hash annotation of an existing resource matches that of the resource the operator
+   * would generate now.
+   * @param build Metadata object of the generated resource
+   * @param current Metadata object of the existing resource
+   * @return true, if both metadata objects have the same hash annotation
+   */
+  public static boolean checkSha256(V1ObjectMeta build, V1ObjectMeta current) {
+    if (!hasSha256(build) || !hasSha256(current)) {
+      return false;
+    }
+    return build.getAnnotations().get(SHA256_ANNOTATION).equals(current.getAnnotations().get(SHA256_ANNOTATION));
+  }
+
+  /**
+   * Canonical form of a list whose order does not matter for a fingerprint
+   * @param items List, or null
+   * @return Sorted canonical JSON of the items, or null
+   */
+  static List<String> unordered(List<?> items) {
+    if (items == null) {
+      return null;
+    }
+    List<String> result = new ArrayList<>();
+    for (Object item : items) {
+      result.add(canonicalize(GSON.toJsonTree(item)).toString());
+    }
+    Collections.sort(result);
+    return result;
+  }
+
+  static String createHash(Object fingerprint) {
+    String canonical = canonicalize(GSON.toJsonTree(fingerprint)).toString();
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      byte[] digest = md.digest(canonical.getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform is required to support SHA-256
+      throw new AssertionError(e);
+    }
+  }
+
+  // Sorts the members of JSON objects, so that the hash does not depend on the iteration order of maps
+  private static JsonElement canonicalize(JsonElement element) {
+    if (element.isJsonObject()) {
+      Map<String, JsonElement> sorted = new TreeMap<>();
+      for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+        sorted.put(entry.getKey(), canonicalize(entry.getValue()));
+      }
+      JsonObject result = new JsonObject();
+      for (Map.Entry<String, JsonElement> entry : sorted.entrySet()) {
+        result.add(entry.getKey(), entry.getValue());
+      }
+      return result;
+    } else if (element.isJsonArray()) {
+      JsonArray result = new JsonArray();
+      for (JsonElement item : element.getAsJsonArray()) {
+        result.add(canonicalize(item));
+      }
+      return result;
+    }
+    return element;
+  }
 }
@@ -0,0 +1,307 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.work.Histogram;
+
+/**
+ * Token bucket that limits the rate of the asynchronous Kubernetes API requests made through
+ * {@link CallBuilder}, shared by all CallBuilder instances.  Requests that find the bucket empty
+ * wait in one of several priority lanes and are granted, as tokens are added, in order of their
+ * lane's priority.  A request that has waited longer than the maximum wait is granted ahead of
+ * newer requests of higher priority, so that no lane is starved.
+ *
+ * The limits are read from the "apiRequestsPerSecond" and "apiBurst" entries of the operator's
+ * configuration and may be changed while the operator is running.
+ */
+public class ApiRateLimiter {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  /**
+   * Priority lanes, from highest to lowest priority
+   */
+  public enum Priority {
+    /**
+     * Changes to the pods, services and ingresses of a domain, such as during a rollout
+     */
+    HIGH,
+    /**
+     * Reads and other requests
+     */
+    NORMAL,
+    /**
+     * Domain status updates and list requests
+     */
+    LOW
+  }
+
+  static final String RATE = "apiRequestsPerSecond";
+  static final String BURST = "apiBurst";
+
+  // requests per second, 0 for no limit - default is 20
+  private static final int DEFAULT_RATE = Integer.getInteger("api.rate.limit", 20);
+
+  // requests that may be made at once after a quiet period - default is 40
+  private static final int DEFAULT_BURST = Integer.getInteger("api.rate.burst", 40);
+
+  // waiting requests older than this are granted ahead of higher priority requests - default is 30000
+  private static final int MAX_WAIT_MS = Integer.getInteger("api.rate.max.wait.ms", 30000);
+
+  private static final double[] WAIT_BUCKETS = { 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30, 60 };
+
+  private static final ApiRateLimiter SINGLETON = new ApiRateLimiter(
+      Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory()), System::nanoTime, DEFAULT_RATE, DEFAULT_BURST);
+
+  private static final class Waiter {
+    private final Runnable granted;
+    private final long since;
+
+    Waiter(Runnable granted, long since) {
+      this.granted = granted;
+      this.since = since;
+    }
+  }
+
+  private final ScheduledExecutorService executor;
+  private final LongSupplier clock;
+  private final Map<Priority, Deque<Waiter>> lanes = new EnumMap<>(Priority.class);
+  private final Map<Priority, LongAdder> throttled = new EnumMap<>(Priority.class);
+  private final Map<Priority, Histogram> waitTime = new EnumMap<>(Priority.class);
+
+  private double rate;
+  private int burst;
+  private double tokens;
+  private long lastRefill;
+  private ScheduledFuture<?> drain;
+
+  public static ApiRateLimiter getInstance() {
+    return SINGLETON;
+  }
+
+  ApiRateLimiter(ScheduledExecutorService executor, LongSupplier clock, double rate, int burst) {
+    this.executor = executor;
+    this.clock = clock;
+    this.rate = rate;
+    this.burst = Math.max(1, burst);
+    this.tokens = this.burst;
+    this.lastRefill = clock.getAsLong();
+    for (Priority priority : Priority.values()) {
+      lanes.put(priority, new ArrayDeque<>());
+      throttled.put(priority, new LongAdder());
+      waitTime.put(priority, new Histogram(WAIT_BUCKETS));
+    }
+  }
+
+  /**
+   * Runs the granted callback once the request may be made, either immediately on the calling
+   * thread or later on the limiter's thread.  The callback should only start the request.
+   * @param priority Priority lane
+   * @param granted Callback that makes the request
+   */
+  public void acquire(Priority priority, Runnable granted) {
+    synchronized (this) {
+      refill();
+      if (rate > 0 && (tokens < 1 || !isEmpty())) {
+        lanes.get(priority).add(new Waiter(granted, clock.getAsLong()));
+        throttled.get(priority).increment();
+        scheduleDrain();
+        return;
+      }
+      if (rate > 0) {
+        tokens -= 1;
+      }
+    }
+    granted.run();
+  }
+
+  /**
+   * Changes the limits; requests that are waiting are granted at the new rate
+   * @param rate Requests per second, or 0 for no limit
+   * @param burst Requests that may be made at once after a quiet period
+   */
+  public void setLimits(double rate, int burst) {
+    synchronized (this) {
+      refill();
+      this.rate = rate;
+      this.burst = Math.max(1, burst);
+      tokens = Math.min(tokens, this.burst);
+      if (drain != null) {
+        drain.cancel(false);
+        drain = null;
+      }
+      if (!isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+
+  /**
+   * Rereads the limits from the operator's configuration, using the defaults for entries that are
+   * missing or not valid
+   * @param config Operator configuration, such as a {@link ConfigMapHelper}
+   */
+  public void reload(Map<String, String> config) {
+    double newRate = parse(config.get(RATE), DEFAULT_RATE);
+    int newBurst = (int) parse(config.get(BURST), DEFAULT_BURST);
+    if (newRate != getRate() || Math.max(1, newBurst) != getBurst()) {
+      setLimits(newRate, newBurst);
+      LOGGER.info(MessageKeys.API_RATE_LIMIT_CHANGED, newRate, newBurst);
+    }
+  }
+
+  private static double parse(String value, double defaultValue) {
+    if (value != null) {
+      try {
+        double d = Double.parseDouble(value.trim());
+        if (d >= 0) {
+          return d;
+        }
+      } catch (NumberFormatException e) {
+        // fall through to the default
+      }
+    }
+    return defaultValue;
+  }
+
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  public synchronized int getBurst() {
+    return burst;
+  }
+
+  /**
+   * Requests waiting in a lane
+   * @param priority Priority lane
+   * @return Waiting requests
+   */
+  public synchronized int getQueued(Priority priority) {
+    return lanes.get(priority).size();
+  }
+
+  /**
+   * Requests of a lane that had to wait for a token
+   * @param priority Priority lane
+   * @return Throttled requests
+   */
+  public long getThrottled(Priority priority) {
+    return throttled.get(priority).sum();
+  }
+
+  /**
+   * Time that throttled requests of a lane waited, in seconds
+   * @param priority Priority lane
+   * @return Wait time histogram
+   */
+  public Histogram getWaitTime(Priority priority) {
+    return waitTime.get(priority);
+  }
+
+  void drain() {
+    List<Runnable> ready = new ArrayList<>();
+    synchronized (this) {
+      drain = null;
+      refill();
+      long now = clock.getAsLong();
+      Waiter waiter;
+      while ((rate <= 0 || tokens >= 1) && (waiter = next(now)) != null) {
+        if (rate > 0) {
+          tokens -= 1;
+        }
+        ready.add(waiter.granted);
+      }
+      if (!isEmpty()) {
+        scheduleDrain();
+      }
+    }
+    for (Runnable granted : ready) {
+      try {
+        granted.run();
+      } catch (RuntimeException e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+      }
+    }
+  }
+
+  // removes the next waiter to grant: the oldest waiter if it has waited too long, otherwise the
+  // first waiter of the highest priority lane
+  private Waiter next(long now) {
+    Priority selected = null;
+    Priority oldest = null;
+    for (Priority priority : Priority.values()) {
+      Waiter head = lanes.get(priority).peek();
+      if (head != null) {
+        if (selected == null) {
+          selected = priority;
+        }
+        if (oldest == null || head.since - lanes.get(oldest).peek().since < 0) {
+          oldest = priority;
+        }
+      }
+    }
+    if (selected == null) {
+      return null;
+    }
+    if (now - lanes.get(oldest).peek().since > TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MS)) {
+      selected = oldest;
+    }
+    Waiter waiter = lanes.get(selected).poll();
+    waitTime.get(selected).observe((now - waiter.since) / 1e9);
+    return waiter;
+  }
+
+  private boolean isEmpty() {
+    for (Deque<Waiter> lane : lanes.values()) {
+      if (!lane.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void refill() {
+    long now = clock.getAsLong();
+    if (rate > 0) {
+      tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+    }
+    lastRefill = now;
+  }
+
+  private void scheduleDrain() {
+    if (drain == null) {
+      long delay = rate <= 0 ? 0 : (long) Math.ceil((1 - tokens) / rate * 1e9);
+      drain = executor.schedule(this::drain, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r);
+      t.setName("Thread-ApiRateLimiter-" + threadNumber.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
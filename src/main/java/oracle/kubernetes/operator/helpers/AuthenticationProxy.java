@@ -32,6 +32,13 @@ public class AuthenticationProxy {
 
     LOGGER.entering(principal); // Don't expose the token since it's a credential
 
+    TokenReviewCache cache = TokenReviewCache.getInstance();
+    V1TokenReviewStatus cached = cache.get(token);
+    if (cached != null) {
+      LOGGER.exiting(cached);
+      return cached;
+    }
+
     V1TokenReview result = null;
     try {
       boolean allowed = authorizationProxy.check(client, principal,
@@ -52,6 +59,7 @@ public class AuthenticationProxy {
     }
     LOGGER.info("Returned TokenReview", result);
     V1TokenReviewStatus status = result != null ? result.getStatus() : null;
+    cache.put(token, status);
     LOGGER.exiting(status);
     return status;
   }
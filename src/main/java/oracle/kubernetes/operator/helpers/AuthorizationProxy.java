@@ -3,7 +3,13 @@
 
 package oracle.kubernetes.operator.helpers;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.models.V1ObjectMeta;
@@ -16,11 +22,45 @@ import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
 
 /**
- * Delegate authorization decisions to Kubernetes ABAC and/or RBAC.
+ * Delegate authorization decisions to Kubernetes ABAC and/or RBAC.  Decisions are cached for a
+ * short time, and a proxy created with {@link #forRequest()} also remembers its own decisions so that
+ * a single request never asks Kubernetes the same question twice.
  */
 public class AuthorizationProxy {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  // time a decision is reused - default is 10s
+  private static final long TTL_MILLIS = Integer.getInteger("authorization.cache.ttl.seconds", 10) * 1000L;
+
+  // maximum number of cached decisions - default is 1000
+  private static final int MAX_ENTRIES = Integer.getInteger("authorization.cache.size", 1000);
+
+  private static final ExpiringCache<Key, Boolean> decisions = new ExpiringCache<>(MAX_ENTRIES);
+  private static final LongAdder hits = new LongAdder();
+  private static final LongAdder misses = new LongAdder();
+
+  private final Map<Key, Boolean> memo;
+
+  /**
+   * Creates a proxy that only shares the decision cache
+   */
+  public AuthorizationProxy() {
+    this(null);
+  }
+
+  private AuthorizationProxy(Map<Key, Boolean> memo) {
+    this.memo = memo;
+  }
+
+  /**
+   * Creates a proxy for the duration of one request, which also remembers its own decisions,
+   * including failures to reach a decision
+   * @return Request scoped proxy
+   */
+  public static AuthorizationProxy forRequest() {
+    return new AuthorizationProxy(new ConcurrentHashMap<>());
+  }
+
   public enum Operation {
     get,
     list,
@@ -89,19 +129,109 @@ public class AuthorizationProxy {
    */
   public boolean check(ClientHolder client, String principal, final List<String> groups, Operation operation, Resource resource, String resourceName, Scope scope, String namespaceName) {
     LOGGER.entering();
+    Key key = new Key(principal, groups, operation, resource, resourceName, scope, namespaceName);
+    Boolean result = memo != null ? memo.get(key) : null;
+    if (result == null) {
+      result = decisions.get(key);
+      if (result != null) {
+        hits.increment();
+      } else {
+        misses.increment();
+        result = review(client, principal, groups, operation, resource, resourceName, scope, namespaceName);
+        if (result != null) {
+          decisions.put(key, result, TTL_MILLIS);
+        } else {
+          result = Boolean.FALSE;
+        }
+      }
+      if (memo != null) {
+        memo.put(key, result);
+      }
+    }
+    LOGGER.exiting(result);
+    return result;
+  }
+
+  private Boolean review(ClientHolder client, String principal, final List<String> groups, Operation operation, Resource resource, String resourceName, Scope scope, String namespaceName) {
     V1SubjectAccessReview subjectAccessReview = prepareSubjectAccessReview(principal, groups, operation, resource, resourceName, scope, namespaceName);
     try {
       subjectAccessReview = client.callBuilder().createSubjectAccessReview(subjectAccessReview);
     } catch (ApiException e) {
       LOGGER.severe(MessageKeys.APIEXCEPTION_FROM_SUBJECT_ACCESS_REVIEW, e);
-      LOGGER.exiting(Boolean.FALSE);
-      return Boolean.FALSE;
-
+      return null;
     }
     V1SubjectAccessReviewStatus subjectAccessReviewStatus = subjectAccessReview.getStatus();
-    Boolean result = subjectAccessReviewStatus.isAllowed();
-    LOGGER.exiting(result);
-    return result;
+    return subjectAccessReviewStatus.isAllowed();
+  }
+
+  /**
+   * Discards all cached decisions
+   */
+  public static void clearCache() {
+    decisions.clear();
+  }
+
+  /**
+   * Number of decisions answered from the cache, not counting decisions remembered by a request
+   * @return Hits
+   */
+  public static long getCacheHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of decisions that required a review by Kubernetes
+   * @return Misses
+   */
+  public static long getCacheMisses() {
+    return misses.sum();
+  }
+
+  private static class Key {
+    private final String principal;
+    private final List<String> groups;
+    private final Operation operation;
+    private final Resource resource;
+    private final String resourceName;
+    private final Scope scope;
+    private final String namespaceName;
+
+    Key(String principal, List<String> groups, Operation operation, Resource resource, String resourceName, Scope scope, String namespaceName) {
+      this.principal = principal;
+      this.groups = groups != null ? sorted(groups) : null;
+      this.operation = operation;
+      this.resource = resource;
+      this.resourceName = resourceName;
+      this.scope = scope;
+      // the namespace is only part of the review for namespace scoped checks
+      this.namespaceName = scope == Scope.namespace ? namespaceName : null;
+    }
+
+    private static List<String> sorted(List<String> groups) {
+      List<String> copy = new ArrayList<>(groups);
+      Collections.sort(copy);
+      return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) o;
+      return Objects.equals(principal, k.principal) && Objects.equals(groups, k.groups)
+          && operation == k.operation && resource == k.resource
+          && Objects.equals(resourceName, k.resourceName) && scope == k.scope
+          && Objects.equals(namespaceName, k.namespaceName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(principal, groups, operation, resource, resourceName, scope, namespaceName);
+    }
   }
 
   /**
@@ -5,6 +5,9 @@ package oracle.kubernetes.operator.helpers;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -15,7 +18,10 @@ import java.util.function.Consumer;
 import com.squareup.okhttp.Call;
 
 import io.kubernetes.client.ApiCallback;
+import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.ApiException;
+import io.kubernetes.client.ApiResponse;
+import io.kubernetes.client.Pair;
 import io.kubernetes.client.models.V1DeleteOptions;
 import io.kubernetes.client.models.V1ListMeta;
 import io.kubernetes.client.models.V1PersistentVolumeClaimList;
@@ -36,6 +42,7 @@ import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
 import oracle.kubernetes.operator.work.Step;
 import oracle.kubernetes.operator.work.Component;
 import oracle.kubernetes.operator.work.NextAction;
@@ -50,6 +57,10 @@ public class CallBuilder {
 
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  /**
+   * HTTP status code for "Forbidden"
+   */
+  public static final int FORBIDDEN = 403;
   /**
    * HTTP status code for "Not Found"
    */
@@ -75,6 +86,9 @@ public class CallBuilder {
   public Boolean orphanDependents = null;
   public String propagationPolicy = null;
 
+  // lane of the rate limiter for asynchronous requests; chosen from the request when null
+  public ApiRateLimiter.Priority priority = null;
+
   private final ClientHelper helper;
   private final ClientHolder client;
 
@@ -130,6 +144,16 @@ public class CallBuilder {
   }
   
   private ClientUsage useClient() {
+    return useClient(true);
+  }
+
+  /**
+   * Uses a client from the pool
+   * @param wait true, if the caller may wait for a client to be recycled when the pool is exhausted;
+   * fiber and rate limiter threads must not wait, as the callers that would recycle may need them
+   * @return Client usage
+   */
+  private ClientUsage useClient(boolean wait) {
     return new ClientUsage() {
       private ClientHolder myClient = null;
       
@@ -144,7 +168,7 @@ public class CallBuilder {
         if (client != null)
           return client;
         if (myClient == null) {
-          myClient = helper.take();
+          myClient = wait ? helper.take() : helper.takeNoWait();
         }
         return myClient;
       }
@@ -185,6 +209,20 @@ public class CallBuilder {
         fieldSelector, includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, null, null);
   }
 
+  /**
+   * Unexecuted list domains call across all namespaces for use with watches
+   * @return Call
+   * @throws ApiException API exception
+   */
+  public com.squareup.okhttp.Call listDomainForAllNamespacesCall() throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getWeblogicApiClient().listWebLogicOracleV1DomainForAllNamespacesCall(_continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, pretty, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
   private com.squareup.okhttp.Call listDomainAsync(ClientUsage usage, String namespace, String _continue, ApiCallback<DomainList> callback) throws ApiException {
     return usage.client().getWeblogicApiClient().listWebLogicOracleV1NamespacedDomainAsync(namespace, pretty, _continue,
       fieldSelector, includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, callback);
@@ -240,6 +278,133 @@ public class CallBuilder {
   public Step replaceDomainAsync(String name, String namespace, Domain body, ResponseStep<Domain> responseStep) {
     return createRequestAsync(responseStep, new RequestParams("replaceDomain", namespace, name, body), REPLACE_DOMAIN);
   }
+
+  /**
+   * Read domain
+   * @param name Name
+   * @param namespace Namespace
+   * @return Domain
+   * @throws ApiException APIException
+   */
+  public Domain readDomain(String name, String namespace) throws ApiException {
+    ClientUsage cu = useClient();
+    try {
+      return cu.client().getWeblogicApiClient().readWebLogicOracleV1NamespacedDomain(name, namespace, pretty, exact, export);
+    } finally {
+      cu.recycle();
+    }
+  }
+
+  /**
+   * Patch domain with a JSON patch (RFC 6902).  The patch does not carry a resource version, so
+   * it does not conflict with concurrent updates to other parts of the domain.
+   * @param name Name
+   * @param namespace Namespace
+   * @param patch List of patch operations, such as those created by {@link #jsonPatch(String, String, Object)}
+   * @return Patched domain
+   * @throws ApiException APIException
+   */
+  public Domain patchDomain(String name, String namespace, List<Map<String, Object>> patch) throws ApiException {
+    ClientUsage cu = useClient();
+    try {
+      ApiClient apiClient = cu.client().getApiClient();
+      String path = "/apis/weblogic.oracle/v1/namespaces/" + apiClient.escapeString(namespace)
+          + "/domains/" + apiClient.escapeString(name);
+      ApiResponse<Domain> response = apiClient.execute(buildJsonPatchCall(apiClient, path, patch), Domain.class);
+      return response.getData();
+    } finally {
+      cu.recycle();
+    }
+  }
+
+  private com.squareup.okhttp.Call patchDomainAsync(ClientUsage usage, String name, String namespace, String subresource,
+      List<Map<String, Object>> patch, ApiCallback<Domain> callback) throws ApiException {
+    ApiClient apiClient = usage.client().getApiClient();
+    String path = "/apis/weblogic.oracle/v1/namespaces/" + apiClient.escapeString(namespace)
+        + "/domains/" + apiClient.escapeString(name) + (subresource != null ? "/" + subresource : "");
+    com.squareup.okhttp.Call call = buildJsonPatchCall(apiClient, path, patch);
+    apiClient.executeAsync(call, Domain.class, callback);
+    return call;
+  }
+
+  @SuppressWarnings("unchecked")
+  private final CallFactory<Domain> PATCH_DOMAIN = (requestParams, usage, cont, callback) -> {
+    return patchDomainAsync(usage, requestParams.name, requestParams.namespace, null, (List<Map<String, Object>>) requestParams.body, callback);
+  };
+
+  /**
+   * Asynchronous step for patching domain with a JSON patch (RFC 6902)
+   * @param name Name
+   * @param namespace Namespace
+   * @param patch List of patch operations
+   * @param responseStep Response step for when call completes
+   * @return Asynchronous step
+   */
+  public Step patchDomainAsync(String name, String namespace, List<Map<String, Object>> patch, ResponseStep<Domain> responseStep) {
+    return createRequestAsync(responseStep, new RequestParams("patchDomain", namespace, name, patch), PATCH_DOMAIN);
+  }
+
+  @SuppressWarnings("unchecked")
+  private final CallFactory<Domain> PATCH_STATUS_DOMAIN = (requestParams, usage, cont, callback) -> {
+    return patchDomainAsync(usage, requestParams.name, requestParams.namespace, "status", (List<Map<String, Object>>) requestParams.body, callback);
+  };
+
+  /**
+   * Asynchronous step for patching the status subresource of domain with a JSON patch (RFC 6902).
+   * Paths in the patch are from the root of the domain, such as "/status/conditions".  Fails with
+   * {@link #NOT_FOUND} if the domain's custom resource definition does not enable the subresource,
+   * or with {@link #FORBIDDEN} if the operator's role does not allow patching it.
+   * @param name Name
+   * @param namespace Namespace
+   * @param patch List of patch operations
+   * @param responseStep Response step for when call completes
+   * @return Asynchronous step
+   */
+  public Step patchDomainStatusAsync(String name, String namespace, List<Map<String, Object>> patch, ResponseStep<Domain> responseStep) {
+    return createRequestAsync(responseStep, new RequestParams("patchDomainStatus", namespace, name, patch), PATCH_STATUS_DOMAIN);
+  }
+
+  // The generated WeblogicApi declares its patch bodies with an unrelated Patch type, so patch
+  // calls are built directly
+  private com.squareup.okhttp.Call buildJsonPatchCall(ApiClient apiClient, String path, List<Map<String, Object>> patch) throws ApiException {
+    List<Pair> queryParams = new ArrayList<>();
+    if (pretty != null) {
+      queryParams.addAll(apiClient.parameterToPair("pretty", pretty));
+    }
+    Map<String, String> headerParams = new HashMap<>();
+    headerParams.put("Accept", "application/json");
+    headerParams.put("Content-Type", "application/json-patch+json");
+    return apiClient.buildCall(path, "PATCH", queryParams, new ArrayList<>(), patch, headerParams,
+        new HashMap<>(), new String[] { "BearerToken" }, null);
+  }
+
+  /**
+   * Creates a JSON patch operation
+   * @param op Operation, such as "add", "replace" or "test"
+   * @param path JSON pointer to the patched value
+   * @param value Value
+   * @return Patch operation
+   */
+  public static Map<String, Object> jsonPatch(String op, String path, Object value) {
+    Map<String, Object> operation = new LinkedHashMap<>();
+    operation.put("op", op);
+    operation.put("path", path);
+    operation.put("value", value);
+    return operation;
+  }
+
+  /**
+   * Creates a JSON patch operation that has no value
+   * @param op Operation, such as "remove"
+   * @param path JSON pointer to the patched value
+   * @return Patch operation
+   */
+  public static Map<String, Object> jsonPatch(String op, String path) {
+    Map<String, Object> operation = new LinkedHashMap<>();
+    operation.put("op", op);
+    operation.put("path", path);
+    return operation;
+  }
   
   /**
    * Replace domain status
@@ -375,10 +540,27 @@ public class CallBuilder {
    */
   public com.squareup.okhttp.Call listPodCall(String namespace) throws ApiException {
     String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
     return client.getCoreApiClient().listNamespacedPodCall(namespace, pretty, _continue, fieldSelector,
         includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, null, null);
   }
 
+  /**
+   * Unexecuted call to list pods across all namespaces for use with watches
+   * @return Call
+   * @throws ApiException API Exception
+   */
+  public com.squareup.okhttp.Call listPodForAllNamespacesCall() throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getCoreApiClient().listPodForAllNamespacesCall(_continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, pretty, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
   private com.squareup.okhttp.Call listPodAsync(ClientUsage usage, String namespace, String _continue, ApiCallback<V1PodList> callback) throws ApiException {
     return usage.client().getCoreApiClient().listNamespacedPodAsync(namespace, pretty, _continue,
       fieldSelector, includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, callback);
@@ -598,6 +780,35 @@ public class CallBuilder {
     }
   }
 
+  /**
+   * Unexecuted call to list services for use with watches
+   * @param namespace Namespace
+   * @return Call
+   * @throws ApiException API Exception
+   */
+  public com.squareup.okhttp.Call listServiceCall(String namespace) throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getCoreApiClient().listNamespacedServiceCall(namespace, pretty, _continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
+  /**
+   * Unexecuted call to list services across all namespaces for use with watches
+   * @return Call
+   * @throws ApiException API Exception
+   */
+  public com.squareup.okhttp.Call listServiceForAllNamespacesCall() throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getCoreApiClient().listServiceForAllNamespacesCall(_continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, pretty, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
   private com.squareup.okhttp.Call listServiceAsync(ClientUsage usage, String namespace, String _continue, ApiCallback<V1ServiceList> callback) throws ApiException {
     return usage.client().getCoreApiClient().listNamespacedServiceAsync(namespace, pretty, _continue,
       fieldSelector, includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, callback);
@@ -959,6 +1170,35 @@ public class CallBuilder {
     }
   }
 
+  /**
+   * Unexecuted call to list ingress for use with watches
+   * @param namespace Namespace
+   * @return Call
+   * @throws ApiException API Exception
+   */
+  public com.squareup.okhttp.Call listIngressCall(String namespace) throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getExtensionsV1beta1ApiClient().listNamespacedIngressCall(namespace, pretty, _continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
+  /**
+   * Unexecuted call to list ingress across all namespaces for use with watches
+   * @return Call
+   * @throws ApiException API Exception
+   */
+  public com.squareup.okhttp.Call listIngressForAllNamespacesCall() throws ApiException {
+    String _continue = "";
+    if (client == null) {
+      throw new IllegalStateException();
+    }
+    return client.getExtensionsV1beta1ApiClient().listIngressForAllNamespacesCall(_continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, pretty, resourceVersion, timeoutSeconds, watch, null, null);
+  }
+
   private com.squareup.okhttp.Call listIngressAsync(ClientUsage usage, String namespace, String _continue, ApiCallback<V1beta1IngressList> callback) throws ApiException {
     return usage.client().getExtensionsV1beta1ApiClient().listNamespacedIngressAsync(namespace, pretty, _continue,
       fieldSelector, includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, callback);
@@ -1123,6 +1363,42 @@ public class CallBuilder {
     return createRequestAsync(responseStep, new RequestParams("deleteIngress", namespace, name, deleteOptions), DELETE_INGRESS);
   }
   
+  /**
+   * Delete collection of ingresses
+   * @param namespace Namespace
+   * @return Status of deletion
+   * @throws ApiException API Exception
+   */
+  public V1Status deleteCollectionIngress(String namespace) throws ApiException {
+    String _continue = "";
+    ClientUsage cu = useClient();
+    try {
+      return cu.client().getExtensionsV1beta1ApiClient().deleteCollectionNamespacedIngress(namespace, pretty, _continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch);
+    } finally {
+      cu.recycle();
+    }
+  }
+
+  private com.squareup.okhttp.Call deleteCollectionIngressAsync(ClientUsage usage, String namespace, String _continue, ApiCallback<V1Status> callback) throws ApiException {
+    return usage.client().getExtensionsV1beta1ApiClient().deleteCollectionNamespacedIngressAsync(namespace, pretty, _continue, fieldSelector,
+        includeUninitialized, labelSelector, limit, resourceVersion, timeoutSeconds, watch, callback);
+  }
+
+  private final CallFactory<V1Status> DELETECOLLECTION_INGRESS = (requestParams, usage, cont, callback) -> {
+    return deleteCollectionIngressAsync(usage, requestParams.namespace, cont, callback);
+  };
+  
+  /**
+   * Asynchronous step for deleting collection of ingresses
+   * @param namespace Namespace
+   * @param responseStep Response step for when call completes
+   * @return Asynchronous step
+   */
+  public Step deleteCollectionIngressAsync(String namespace, ResponseStep<V1Status> responseStep) {
+    return createRequestAsync(responseStep, new RequestParams("deleteCollectionIngress", namespace, null, null), DELETECOLLECTION_INGRESS);
+  }
+  
   private static abstract class BaseApiCallback<T> implements ApiCallback<T> {
     @Override
     public void onDownloadProgress(long bytesRead, long contentLength, boolean done) {
@@ -1201,6 +1477,40 @@ public class CallBuilder {
   private static final Random R = new Random();
   private static final int HIGH = 1000;
   private static final int LOW = 100;
+
+  // longest back-off before retrying a failed request - default is 60
+  private static final int MAX_RETRY_BACKOFF_SECONDS = Integer.getInteger("api.retry.max.backoff.seconds", 60);
+
+  /**
+   * Exponential back-off for a retry attempt, capped and with jitter.  When the server asks
+   * for a delay with Retry-After, such as with a 429, that delay is used if it is longer.
+   * @param retryCount Retry attempt, starting at 1
+   * @param responseHeaders HTTP response headers, or null
+   * @return Wait time in milliseconds
+   */
+  static long getRetryWaitTime(long retryCount, Map<String, List<String>> responseHeaders) {
+    long backoffSeconds = Math.min(2L << Math.min(retryCount, 30), MAX_RETRY_BACKOFF_SECONDS);
+    long retryAfterSeconds = getRetryAfterSeconds(responseHeaders);
+    if (retryAfterSeconds > backoffSeconds) {
+      backoffSeconds = Math.min(retryAfterSeconds, MAX_RETRY_BACKOFF_SECONDS);
+    }
+    return backoffSeconds * 1000 + (R.nextInt(HIGH - LOW) + LOW);
+  }
+
+  private static long getRetryAfterSeconds(Map<String, List<String>> responseHeaders) {
+    if (responseHeaders != null) {
+      for (Map.Entry<String, List<String>> entry : responseHeaders.entrySet()) {
+        if ("Retry-After".equalsIgnoreCase(entry.getKey()) && entry.getValue() != null && !entry.getValue().isEmpty()) {
+          try {
+            return Long.parseLong(entry.getValue().get(0).trim());
+          } catch (NumberFormatException e) {
+            // an HTTP date, which the API server does not send
+          }
+        }
+      }
+    }
+    return 0;
+  }
   
   private final class DefaultRetryStrategy implements RetryStrategy {
     private long retryCount = 0;
@@ -1223,7 +1533,8 @@ public class CallBuilder {
           statusCode == 504 /* StatusServerTimeout */) {
         
         // exponential back-off
-        long waitTime = (2 << ++retryCount) * 1000 + (R.nextInt(HIGH - LOW) + LOW);
+        long waitTime = getRetryWaitTime(++retryCount, responseHeaders);
+        OperatorMetrics.getInstance().recordApiRetry(statusCode);
         
         if (statusCode == 0 || statusCode == 504 /* StatusServerTimeout */) {
           // increase server timeout
@@ -1239,7 +1550,8 @@ public class CallBuilder {
         // the request based on latest contents.  If provided, a confict step will do that.
         
         // exponential back-off
-        long waitTime = (2 << ++retryCount) * 1000 + (R.nextInt(HIGH - LOW) + LOW);
+        long waitTime = getRetryWaitTime(++retryCount, responseHeaders);
+        OperatorMetrics.getInstance().recordApiRetry(statusCode);
         
         NextAction na = new NextAction();
         na.delay(conflictStep, packet, waitTime, TimeUnit.MILLISECONDS);
@@ -1291,8 +1603,7 @@ public class CallBuilder {
       RetryStrategy _retry = retry;
 
       AtomicBoolean didResume = new AtomicBoolean(false);
-      AtomicBoolean didRecycle = new AtomicBoolean(false);
-      ClientUsage usage = useClient();
+      ClientUsage usage = useClient(false);
       return doSuspend((fiber) -> {
         ApiCallback<T> callback = new BaseApiCallback<T>() {
           @Override
@@ -1300,9 +1611,6 @@ public class CallBuilder {
             if (statusCode != NOT_FOUND) {
               LOGGER.info(MessageKeys.ASYNC_FAILURE, e, statusCode, responseHeaders, requestParams.call, requestParams.namespace, requestParams.name, requestParams.body, fieldSelector, labelSelector, resourceVersion);
             }
-            if (didRecycle.compareAndSet(false, true)) {
-              usage.recycle();
-            }
             if (didResume.compareAndSet(false, true)) {
               packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry, new CallResponse<Void>(null, e, statusCode, responseHeaders)));
               fiber.resume(packet);
@@ -1313,9 +1621,6 @@ public class CallBuilder {
           public void onSuccess(T result, int statusCode, Map<String, List<String>> responseHeaders) {
             LOGGER.fine(MessageKeys.ASYNC_SUCCESS, result, statusCode, responseHeaders);
 
-            if (didRecycle.compareAndSet(false, true)) {
-              usage.recycle();
-            }
             if (didResume.compareAndSet(false, true)) {
               packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(new CallResponse<T>(result, null, statusCode, responseHeaders)));
               fiber.resume(packet);
@@ -1323,38 +1628,60 @@ public class CallBuilder {
           }
         };
         
-        try {
-          Call c = factory.generate(requestParams, usage, _continue, callback);
-          
-          // timeout handling
-          fiber.owner.getExecutor().schedule(() -> {
-            if (didRecycle.compareAndSet(false, true)) {
+        // wait for the rate limiter before making the request; the timeout starts once it is made
+        ApiRateLimiter.getInstance().acquire(priority != null ? priority : getPriority(requestParams.call), () -> {
+          try {
+            Call c;
+            try {
+              c = factory.generate(requestParams, usage, _continue, callback);
+            } finally {
+              // the call is enqueued with the shared dispatcher, so the client is no longer needed
               usage.recycle();
             }
-            if (didResume.compareAndSet(false, true)) {
-              try {
-                c.cancel();
-              } finally {
-                LOGGER.info(MessageKeys.ASYNC_TIMEOUT, requestParams.call, requestParams.namespace, requestParams.name, requestParams.body, fieldSelector, labelSelector, resourceVersion);
-                packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry));
-                fiber.resume(packet);
+          
+            // timeout handling
+            fiber.owner.getExecutor().schedule(() -> {
+              if (didResume.compareAndSet(false, true)) {
+                try {
+                  c.cancel();
+                } finally {
+                  LOGGER.info(MessageKeys.ASYNC_TIMEOUT, requestParams.call, requestParams.namespace, requestParams.name, requestParams.body, fieldSelector, labelSelector, resourceVersion);
+                  packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry));
+                  fiber.resume(packet);
+                }
               }
+            }, timeoutSeconds, TimeUnit.SECONDS);
+          } catch (Throwable t) {
+            LOGGER.warning(MessageKeys.ASYNC_FAILURE, t, 0, null, requestParams, requestParams.namespace, requestParams.name, requestParams.body, fieldSelector, labelSelector, resourceVersion);
+            if (didResume.compareAndSet(false, true)) {
+              packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry));
+              fiber.resume(packet);
             }
-          }, timeoutSeconds, TimeUnit.SECONDS);
-        } catch (Throwable t) {
-          LOGGER.warning(MessageKeys.ASYNC_FAILURE, t, 0, null, requestParams, requestParams.namespace, requestParams.name, requestParams.body, fieldSelector, labelSelector, resourceVersion);
-          if (didRecycle.compareAndSet(false, true)) {
-            usage.recycle();
-          }
-          if (didResume.compareAndSet(false, true)) {
-            packet.getComponents().put(RESPONSE_COMPONENT_NAME, Component.createFor(RetryStrategy.class, _retry));
-            fiber.resume(packet);
           }
-        }
+        });
       });
     }
   }
   
+  /**
+   * Lane of the rate limiter for a request that does not choose one.  Status writes and lists are
+   * outranked by other requests; writes to the domain itself, such as scaling, are not.
+   * @param call Name of the request, such as "createPod"
+   * @return Priority
+   */
+  static ApiRateLimiter.Priority getPriority(String call) {
+    if (call.endsWith("Pod") || call.endsWith("Service") || call.endsWith("Ingress")) {
+      if (call.startsWith("create") || call.startsWith("replace") || call.startsWith("delete")) {
+        // pods, services and ingresses that users are waiting on
+        return ApiRateLimiter.Priority.HIGH;
+      }
+    }
+    if (call.startsWith("list") || call.equals("replaceDomainStatus") || call.equals("patchDomainStatus")) {
+      return ApiRateLimiter.Priority.LOW;
+    }
+    return ApiRateLimiter.Priority.NORMAL;
+  }
+
   private <T> Step createRequestAsync(ResponseStep<T> next, RequestParams requestParams, CallFactory<T> factory) {
     return new AsyncRequestStep<T>(next, requestParams, factory);
   }
@@ -3,26 +3,68 @@
 
 package oracle.kubernetes.operator.helpers;
 
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.Dispatcher;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
 import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.Configuration;
+import io.kubernetes.client.auth.ApiKeyAuth;
+import io.kubernetes.client.auth.Authentication;
+import io.kubernetes.client.auth.HttpBasicAuth;
+import io.kubernetes.client.auth.OAuth;
 import io.kubernetes.client.util.Config;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.metrics.ApiMetricsInterceptor;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Pool of Kubernetes API clients.  The operator's configuration for reaching the API server is
+ * read once; all clients share its SSL configuration and one okhttp dispatcher and connection
+ * pool, so that connections to the API server are reused across clients rather than each client
+ * opening its own.
+ */
 public class ClientHelper extends Pool<ClientHolder> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  // maximum number of clients, in use or idle - default is 32
+  private static final int MAX_CLIENTS = Integer.getInteger("client.pool.size", 32);
+
+  // time a synchronous caller waits for a client when all are in use before creating one beyond the maximum;
+  // asynchronous requests never wait - default is 1000
+  private static final int MAX_WAIT_MS = Integer.getInteger("client.pool.wait.ms", 1000);
+
+  // concurrent asynchronous requests - default is 64
+  private static final int MAX_REQUESTS = Integer.getInteger("client.max.requests", 64);
+
+  // idle connections kept to the API server - default is 16
+  private static final int MAX_IDLE_CONNECTIONS = Integer.getInteger("client.max.idle.connections", 16);
+
+  // time idle connections are kept - default is 300
+  private static final int KEEP_ALIVE_SECONDS = Integer.getInteger("client.keep.alive.seconds", 300);
+
   private static final ClientHelper SINGLETON = new ClientHelper();
 
-  private final AtomicBoolean first = new AtomicBoolean(true);
+  private final Dispatcher dispatcher = new Dispatcher();
+  private final ConnectionPool connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+
+  // client created from the operator's configuration, from which the pooled clients are copied
+  private ApiClient template;
 
   public static ClientHelper getInstance() {
     return SINGLETON;
   }
 
   private ClientHelper() {
+    super(MAX_CLIENTS, MAX_WAIT_MS);
+    dispatcher.setMaxRequests(MAX_REQUESTS);
+    // all requests go to the one API server
+    dispatcher.setMaxRequestsPerHost(MAX_REQUESTS);
   }
 
   @Override
@@ -30,27 +72,92 @@ public class ClientHelper extends Pool<ClientHolder> {
     return new ClientHolder(this, getApiClient());
   }
 
-  private ApiClient getApiClient() {
-    LOGGER.entering();
+  /**
+   * Creates a client that is not counted against the pool, for callers such as watches that hold
+   * a client for as long as they run.  The client is not recycled.
+   * @return Client
+   */
+  public ClientHolder createUnpooled() {
+    return create();
+  }
+
+  /**
+   * Dispatcher running the asynchronous requests of all clients
+   * @return Dispatcher
+   */
+  public Dispatcher getDispatcher() {
+    return dispatcher;
+  }
+
+  /**
+   * Connections to the API server shared by all clients
+   * @return Connection pool
+   */
+  public ConnectionPool getConnectionPool() {
+    return connectionPool;
+  }
+
+  private synchronized ApiClient getTemplate() {
+    if (template == null) {
+      LOGGER.fine(MessageKeys.CREATING_API_CLIENT);
+      try {
+        ApiClient client = Config.defaultClient();
+        OkHttpClient httpClient = client.getHttpClient();
+        httpClient.setDispatcher(dispatcher);
+        httpClient.setConnectionPool(connectionPool);
+        // HTTP/2 is used where the platform supports negotiating it
+        httpClient.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        httpClient.interceptors().add(ApiMetricsInterceptor.getInstance());
+
+        // Temporarily set a custom Gson for secret support
+        // TODO:
+        SecretHelper.addCustomGsonToClient(client);
 
-    ApiClient client = null;
-    LOGGER.fine(MessageKeys.CREATING_API_CLIENT);
-    try {
-      client = Config.defaultClient();
-      if (first.getAndSet(false)) {
         Configuration.setDefaultApiClient(client);
+        LOGGER.info(MessageKeys.K8S_MASTER_URL, client.getBasePath());
+        template = client;
+      } catch (Throwable e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
       }
-    } catch (Throwable e) {
-      LOGGER.warning(MessageKeys.EXCEPTION, e);
     }
-    LOGGER.info(MessageKeys.K8S_MASTER_URL, client != null ? client.getBasePath() : null);
+    return template;
+  }
+
+  private ApiClient getApiClient() {
+    LOGGER.entering();
 
-    // Temporarily set a custom Gson for secret support
-    // TODO:
-    SecretHelper.addCustomGsonToClient(client);
+    ApiClient client = null;
+    ApiClient template = getTemplate();
+    if (template != null) {
+      client = new ApiClient();
+      client.setBasePath(template.getBasePath());
+      copyAuthentications(template, client);
+
+      // a copy of the template's okhttp client, sharing its SSL socket factory, dispatcher and
+      // connection pool; the connection pool only reuses connections made with the same SSL
+      // socket factory.  Each client has its own copy so that it can have its own timeouts.
+      client.setHttpClient(template.getHttpClient().clone());
+
+      SecretHelper.addCustomGsonToClient(client);
+    }
 
     LOGGER.exiting(client);
     return client;
   }
 
+  private static void copyAuthentications(ApiClient from, ApiClient to) {
+    for (Map.Entry<String, Authentication> entry : from.getAuthentications().entrySet()) {
+      Authentication source = entry.getValue();
+      Authentication target = to.getAuthentication(entry.getKey());
+      if (source instanceof ApiKeyAuth && target instanceof ApiKeyAuth) {
+        ((ApiKeyAuth) target).setApiKey(((ApiKeyAuth) source).getApiKey());
+        ((ApiKeyAuth) target).setApiKeyPrefix(((ApiKeyAuth) source).getApiKeyPrefix());
+      } else if (source instanceof HttpBasicAuth && target instanceof HttpBasicAuth) {
+        ((HttpBasicAuth) target).setUsername(((HttpBasicAuth) source).getUsername());
+        ((HttpBasicAuth) target).setPassword(((HttpBasicAuth) source).getPassword());
+      } else if (source instanceof OAuth && target instanceof OAuth) {
+        ((OAuth) target).setAccessToken(((OAuth) source).getAccessToken());
+      }
+    }
+  }
 }
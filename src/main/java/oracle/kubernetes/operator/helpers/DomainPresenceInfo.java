@@ -74,6 +74,7 @@ public class DomainPresenceInfo {
    */
   public void setScan(WlsDomainConfig domainConfig) {
     this.domainConfig = domainConfig;
+    DomainRegistry.getInstance().invalidate();
   }
 
   /**
@@ -106,6 +107,8 @@ public class DomainPresenceInfo {
    */
   public void setDomain(Domain domain) {
     this.domain.set(domain);
+    DomainRegistry.getInstance().invalidate();
+    DomainStatusEvents.getInstance().publish(domain);
   }
 
   /**
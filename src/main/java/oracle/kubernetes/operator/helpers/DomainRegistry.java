@@ -0,0 +1,171 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ClusterStartup;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
+
+/**
+ * Read-only view of the domains known to the operator, for callers outside of domain processing,
+ * such as the REST server.  The view is built from the operator's map of {@link DomainPresenceInfo}
+ * and indexes the domains by domain UID, namespace and cluster.
+ *
+ * Readers work from an immutable {@link Snapshot}, so all lookups made with one snapshot are
+ * consistent with each other.  Changes to the domains only mark the current snapshot as stale; the
+ * next reader rebuilds it, so a burst of changes costs a single rebuild.
+ */
+public class DomainRegistry {
+  private static final DomainRegistry SINGLETON = new DomainRegistry();
+
+  private final AtomicLong version = new AtomicLong();
+  private volatile Map<String, DomainPresenceInfo> source;
+  private volatile Snapshot snapshot = new Snapshot(-1, Collections.emptyMap());
+
+  public static DomainRegistry getInstance() {
+    return SINGLETON;
+  }
+
+  DomainRegistry() {
+  }
+
+  /**
+   * Sets the operator's map of domain presence, by domain UID
+   * @param source Domain presence map
+   */
+  public void setSource(Map<String, DomainPresenceInfo> source) {
+    this.source = source;
+    invalidate();
+  }
+
+  /**
+   * True, if the registry has been given the operator's domains
+   * @return true, if active
+   */
+  public boolean isActive() {
+    return source != null;
+  }
+
+  /**
+   * Marks the current snapshot as stale, because a domain was added, removed or updated
+   */
+  public void invalidate() {
+    version.incrementAndGet();
+  }
+
+  /**
+   * Current snapshot of the domains
+   * @return Snapshot
+   */
+  public Snapshot getSnapshot() {
+    Snapshot current = snapshot;
+    long v = version.get();
+    if (current.version == v) {
+      return current;
+    }
+    synchronized (this) {
+      current = snapshot;
+      v = version.get();
+      if (current.version != v) {
+        Map<String, DomainPresenceInfo> s = source;
+        current = new Snapshot(v, s != null ? s : Collections.emptyMap());
+        snapshot = current;
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Immutable, indexed copy of the domains
+   */
+  public static class Snapshot {
+    private final long version;
+    private final Map<String, Domain> byUID = new HashMap<>();
+    private final Map<String, List<Domain>> byNamespace = new HashMap<>();
+    private final Map<String, Set<String>> clusters = new HashMap<>();
+    private final Set<String> domainUIDs;
+
+    Snapshot(long version, Map<String, DomainPresenceInfo> domains) {
+      this.version = version;
+      for (Map.Entry<String, DomainPresenceInfo> entry : domains.entrySet()) {
+        DomainPresenceInfo info = entry.getValue();
+        Domain domain = info.getDomain();
+        if (domain == null) {
+          continue;
+        }
+        String domainUID = entry.getKey();
+        byUID.put(domainUID, domain);
+        byNamespace.computeIfAbsent(domain.getMetadata().getNamespace(), k -> new ArrayList<>()).add(domain);
+        clusters.put(domainUID, Collections.unmodifiableSet(getClusterNames(domain, info.getScan())));
+      }
+      for (Map.Entry<String, List<Domain>> entry : byNamespace.entrySet()) {
+        entry.setValue(Collections.unmodifiableList(entry.getValue()));
+      }
+      domainUIDs = Collections.unmodifiableSet(new TreeSet<>(byUID.keySet()));
+    }
+
+    private static Set<String> getClusterNames(Domain domain, WlsDomainConfig scan) {
+      Set<String> names = new TreeSet<>();
+      if (scan != null) {
+        names.addAll(scan.getClusterConfigs().keySet());
+      }
+      List<ClusterStartup> clusterStartups = domain.getSpec().getClusterStartup();
+      if (clusterStartups != null) {
+        for (ClusterStartup cs : clusterStartups) {
+          if (cs.getClusterName() != null) {
+            names.add(cs.getClusterName());
+          }
+        }
+      }
+      return names;
+    }
+
+    /**
+     * Domain with the domain UID
+     * @param domainUID Domain UID
+     * @return Domain, or null
+     */
+    public Domain getDomain(String domainUID) {
+      return byUID.get(domainUID);
+    }
+
+    /**
+     * Sorted domain UIDs of all domains
+     * @return Domain UIDs
+     */
+    public Set<String> getDomainUIDs() {
+      return domainUIDs;
+    }
+
+    /**
+     * Domains in the namespace
+     * @param namespace Namespace
+     * @return Domains
+     */
+    public List<Domain> getDomains(String namespace) {
+      List<Domain> l = byNamespace.get(namespace);
+      return l != null ? l : Collections.emptyList();
+    }
+
+    /**
+     * Names of the clusters of the domain, from the last scan of the domain and the clusters
+     * named in its spec
+     * @param domainUID Domain UID
+     * @return Cluster names
+     */
+    public Set<String> getClusters(String domainUID) {
+      Set<String> s = clusters.get(domainUID);
+      return s != null ? s : Collections.emptySet();
+    }
+  }
+}
@@ -0,0 +1,486 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import io.kubernetes.client.JSON;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainCondition;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.logging.MessageKeys;
+
+/**
+ * Publishes changes to the status of the operator's domains to subscribers, such as the REST
+ * server's event streams.  Each time a domain is updated, its status is compared with the last
+ * status published for the domain and events are published only for what changed:
+ * <ul>
+ * <li>{@value #STATUS} - the servers, clusters or conditions of the domain changed; the event
+ * carries the full status of the domain</li>
+ * <li>{@value #CONDITION} - a condition of the domain was added or changed</li>
+ * <li>{@value #DELETED} - the domain is no longer managed by the operator</li>
+ * </ul>
+ *
+ * Publishing never waits on subscribers.  Each subscriber has its own bounded queue that is drained
+ * by a small pool of threads.  Events describe the latest state of a domain or condition, so an
+ * event still waiting for a slow subscriber is replaced by a newer event for the same domain or
+ * condition; if the queue is still full, the oldest event is dropped.  New subscribers first
+ * receive the current status of every domain they select.
+ */
+public class DomainStatusEvents {
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  public static final String STATUS = "status";
+  public static final String CONDITION = "condition";
+  public static final String DELETED = "deleted";
+
+  // number of threads delivering events to subscribers - default is 2
+  private static final int THREAD_COUNT = Integer.getInteger("status.events.threads", 2);
+
+  // maximum number of events waiting for a subscriber - default is 1000
+  private static final int QUEUE_SIZE = Integer.getInteger("status.events.queue.size", 1000);
+
+  // maximum number of subscribers - default is 100
+  private static final int MAX_SUBSCRIBERS = Integer.getInteger("status.events.max.subscribers", 100);
+
+  // interval between heartbeats sent to subscribers - default is 30s
+  private static final int HEARTBEAT_SECONDS = Integer.getInteger("status.events.heartbeat.seconds", 30);
+
+  private static final DomainStatusEvents SINGLETON = new DomainStatusEvents();
+
+  private final ScheduledExecutorService executor;
+  private final JSON json = new JSON();
+  private final Map<String, DomainState> domains = new HashMap<>();
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong published = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public static DomainStatusEvents getInstance() {
+    return SINGLETON;
+  }
+
+  DomainStatusEvents() {
+    executor = Executors.newScheduledThreadPool(THREAD_COUNT, new DaemonThreadFactory());
+    executor.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Receives the events of a subscription.  Calls are made from a single thread at a time.
+   */
+  public interface Sink {
+    /**
+     * Sends an event
+     * @param event Event
+     * @throws IOException if the event could not be sent; the subscription is closed
+     */
+    void send(Event event) throws IOException;
+
+    /**
+     * Sends a heartbeat, so that idle subscribers can tell that they are still connected
+     * @throws IOException if the heartbeat could not be sent; the subscription is closed
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Called once when the subscription is closed
+     */
+    void closed();
+  }
+
+  /**
+   * Status event for a domain
+   */
+  public static class Event {
+    private final long id;
+    private final String type;
+    private final String domainUID;
+    private final String namespace;
+    private final String key;
+    private final String data;
+
+    Event(long id, String type, String domainUID, String namespace, String key, String data) {
+      this.id = id;
+      this.type = type;
+      this.domainUID = domainUID;
+      this.namespace = namespace;
+      this.key = key;
+      this.data = data;
+    }
+
+    /**
+     * Sequence number of the event, increasing for each event published
+     * @return Event id
+     */
+    public long getId() {
+      return id;
+    }
+
+    /**
+     * Event type, one of {@value DomainStatusEvents#STATUS}, {@value DomainStatusEvents#CONDITION}
+     * or {@value DomainStatusEvents#DELETED}
+     * @return Event type
+     */
+    public String getType() {
+      return type;
+    }
+
+    public String getDomainUID() {
+      return domainUID;
+    }
+
+    public String getNamespace() {
+      return namespace;
+    }
+
+    /**
+     * Event content, as JSON
+     * @return JSON
+     */
+    public String getData() {
+      return data;
+    }
+  }
+
+  /**
+   * Publishes events for the changes in the status of the domain since its last update
+   * @param domain Updated domain
+   */
+  public void publish(Domain domain) {
+    if (domain == null || domain.getSpec() == null || domain.getMetadata() == null) {
+      return;
+    }
+    String domainUID = domain.getSpec().getDomainUID();
+    String namespace = domain.getMetadata().getNamespace();
+    StatusSignature signature = new StatusSignature(domain.getStatus());
+
+    synchronized (this) {
+      DomainState previous = domains.get(domainUID);
+      if (previous != null && previous.signature.equals(signature)) {
+        return;
+      }
+
+      Event statusEvent = createStatusEvent(domainUID, namespace, domain.getStatus());
+      domains.put(domainUID, new DomainState(signature, statusEvent));
+      offer(statusEvent);
+
+      for (DomainCondition dc : getConditions(domain.getStatus())) {
+        String condition = toString(dc);
+        if (previous == null || !previous.signature.conditions.contains(condition)) {
+          offer(createConditionEvent(domainUID, namespace, dc));
+        }
+      }
+    }
+  }
+
+  /**
+   * Publishes that the domain is no longer managed by the operator
+   * @param domainUID Domain UID
+   * @param namespace Namespace
+   */
+  public void remove(String domainUID, String namespace) {
+    synchronized (this) {
+      if (domains.remove(domainUID) == null) {
+        return;
+      }
+      Map<String, Object> data = new LinkedHashMap<>();
+      data.put("domainUID", domainUID);
+      data.put("namespace", namespace);
+      offer(createEvent(DELETED, domainUID, namespace, domainUID + "/" + STATUS, data));
+    }
+  }
+
+  /**
+   * Subscribes to the events selected by the filter.  The subscriber first receives a
+   * {@value #STATUS} event for each selected domain.
+   * @param filter Selects the events to send to the subscriber
+   * @param sink Receives the events
+   * @return Subscription, or null if there are already too many subscribers
+   */
+  public Subscription subscribe(Predicate<Event> filter, Sink sink) {
+    Subscription subscription = new Subscription(filter, sink);
+    synchronized (this) {
+      if (subscriptions.size() >= MAX_SUBSCRIBERS) {
+        return null;
+      }
+      subscriptions.add(subscription);
+      for (DomainState state : domains.values()) {
+        subscription.offer(state.statusEvent);
+      }
+    }
+    LOGGER.fine(MessageKeys.STATUS_EVENTS_SUBSCRIBED, subscriptions.size());
+    return subscription;
+  }
+
+  /**
+   * Number of current subscribers
+   * @return Subscribers
+   */
+  public int getSubscriberCount() {
+    return subscriptions.size();
+  }
+
+  /**
+   * Number of events published
+   * @return Events
+   */
+  public long getPublished() {
+    return published.get();
+  }
+
+  /**
+   * Number of events dropped because a subscriber's queue was full
+   * @return Events
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Forgets the domains whose status was published and closes all subscriptions
+   */
+  public void clear() {
+    synchronized (this) {
+      domains.clear();
+    }
+    for (Subscription subscription : subscriptions) {
+      subscription.close();
+    }
+  }
+
+  private void offer(Event event) {
+    published.incrementAndGet();
+    for (Subscription subscription : subscriptions) {
+      subscription.offer(event);
+    }
+  }
+
+  private void heartbeat() {
+    for (Subscription subscription : subscriptions) {
+      subscription.heartbeat();
+    }
+  }
+
+  private Event createStatusEvent(String domainUID, String namespace, DomainStatus status) {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("domainUID", domainUID);
+    data.put("namespace", namespace);
+    if (status != null) {
+      data.put("startTime", status.getStartTime());
+      data.put("availableServers", status.getAvailableServers());
+      data.put("unavailableServers", status.getUnavailableServers());
+      data.put("availableClusters", status.getAvailableClusters());
+      data.put("unavailableClusters", status.getUnavailableClusters());
+      data.put("conditions", status.getConditions());
+    }
+    return createEvent(STATUS, domainUID, namespace, domainUID + "/" + STATUS, data);
+  }
+
+  private Event createConditionEvent(String domainUID, String namespace, DomainCondition dc) {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("domainUID", domainUID);
+    data.put("namespace", namespace);
+    data.put("condition", dc);
+    return createEvent(CONDITION, domainUID, namespace, domainUID + "/" + CONDITION + "/" + dc.getType(), data);
+  }
+
+  private Event createEvent(String type, String domainUID, String namespace, String key, Map<String, Object> data) {
+    return new Event(sequence.incrementAndGet(), type, domainUID, namespace, key, json.serialize(data));
+  }
+
+  private static List<DomainCondition> getConditions(DomainStatus status) {
+    if (status == null || status.getConditions() == null) {
+      return Collections.emptyList();
+    }
+    return status.getConditions();
+  }
+
+  private static String toString(DomainCondition dc) {
+    return dc.getType() + "=" + dc.getStatus() + "/" + dc.getReason() + "/" + dc.getMessage();
+  }
+
+  private static class DomainState {
+    private final StatusSignature signature;
+    private final Event statusEvent;
+
+    DomainState(StatusSignature signature, Event statusEvent) {
+      this.signature = signature;
+      this.statusEvent = statusEvent;
+    }
+  }
+
+  /**
+   * The parts of a domain status that are compared to decide whether the status changed.  Server
+   * and cluster lists are compared without regard to order.
+   */
+  private static class StatusSignature {
+    private final Set<String> availableServers;
+    private final Set<String> unavailableServers;
+    private final Set<String> availableClusters;
+    private final Set<String> unavailableClusters;
+    private final Set<String> conditions = new TreeSet<>();
+
+    StatusSignature(DomainStatus status) {
+      availableServers = toSet(status != null ? status.getAvailableServers() : null);
+      unavailableServers = toSet(status != null ? status.getUnavailableServers() : null);
+      availableClusters = toSet(status != null ? status.getAvailableClusters() : null);
+      unavailableClusters = toSet(status != null ? status.getUnavailableClusters() : null);
+      for (DomainCondition dc : getConditions(status)) {
+        conditions.add(DomainStatusEvents.toString(dc));
+      }
+    }
+
+    private static Set<String> toSet(List<String> list) {
+      return list != null ? new TreeSet<>(list) : Collections.emptySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof StatusSignature)) {
+        return false;
+      }
+      StatusSignature s = (StatusSignature) o;
+      return availableServers.equals(s.availableServers)
+          && unavailableServers.equals(s.unavailableServers)
+          && availableClusters.equals(s.availableClusters)
+          && unavailableClusters.equals(s.unavailableClusters)
+          && conditions.equals(s.conditions);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(availableServers, unavailableServers, availableClusters, unavailableClusters, conditions);
+    }
+  }
+
+  /**
+   * Subscription to status events
+   */
+  public class Subscription {
+    private final Predicate<Event> filter;
+    private final Sink sink;
+
+    // pending events by key, so that a newer event replaces one that has not yet been sent
+    private final LinkedHashMap<String, Event> pending = new LinkedHashMap<>();
+    private boolean heartbeatPending;
+    private boolean draining;
+    private boolean closed;
+
+    Subscription(Predicate<Event> filter, Sink sink) {
+      this.filter = filter;
+      this.sink = sink;
+    }
+
+    void offer(Event event) {
+      if (!filter.test(event)) {
+        return;
+      }
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        if (pending.remove(event.key) == null && pending.size() >= QUEUE_SIZE) {
+          Iterator<String> it = pending.keySet().iterator();
+          it.next();
+          it.remove();
+          dropped.incrementAndGet();
+        }
+        pending.put(event.key, event);
+        startDrain();
+      }
+    }
+
+    void heartbeat() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        heartbeatPending = true;
+        startDrain();
+      }
+    }
+
+    // called while holding the lock
+    private void startDrain() {
+      if (!draining) {
+        draining = true;
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      while (true) {
+        List<Event> events;
+        boolean sendHeartbeat;
+        synchronized (this) {
+          if (closed || (pending.isEmpty() && !heartbeatPending)) {
+            draining = false;
+            return;
+          }
+          events = new ArrayList<>(pending.values());
+          pending.clear();
+          sendHeartbeat = heartbeatPending && events.isEmpty();
+          heartbeatPending = false;
+        }
+        try {
+          for (Event event : events) {
+            sink.send(event);
+          }
+          if (sendHeartbeat) {
+            sink.heartbeat();
+          }
+        } catch (IOException | RuntimeException e) {
+          close();
+        }
+      }
+    }
+
+    /**
+     * Stops sending events to the subscriber
+     */
+    public void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        pending.clear();
+      }
+      subscriptions.remove(this);
+      LOGGER.fine(MessageKeys.STATUS_EVENTS_UNSUBSCRIBED, subscriptions.size());
+      sink.closed();
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r);
+      t.setName("Thread-StatusEvents-" + threadNumber.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
@@ -0,0 +1,84 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded map whose entries expire.  When full, the least recently used entry is evicted.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+class ExpiringCache<K, V> {
+  private static class Entry<V> {
+    final V value;
+    final long expiresAt;
+
+    Entry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private final Map<K, Entry<V>> entries;
+  private final LongAdder evictions = new LongAdder();
+
+  ExpiringCache(int maxEntries) {
+    // access ordered, so the least recently used entry is evicted first
+    this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        if (size() > maxEntries) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the value for the key, if it has not expired
+   * @param key Key
+   * @return Value, or null
+   */
+  synchronized V get(K key) {
+    Entry<V> e = entries.get(key);
+    if (e == null) {
+      return null;
+    }
+    if (e.expiresAt <= System.currentTimeMillis()) {
+      entries.remove(key);
+      return null;
+    }
+    return e.value;
+  }
+
+  /**
+   * Caches the value for the key
+   * @param key Key
+   * @param value Value
+   * @param ttlMillis Time until the value expires
+   */
+  synchronized void put(K key, V value, long ttlMillis) {
+    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  long getEvictions() {
+    return evictions.sum();
+  }
+}
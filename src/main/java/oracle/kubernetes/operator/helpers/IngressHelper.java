@@ -70,7 +70,7 @@ public class IngressHelper {
             String ingressName = CallBuilder.toDNS1123LegalName(
                 info.getDomain().getSpec().getDomainUID() + "-" + clusterName);
             V1ObjectMeta meta = service.getMetadata();
-            return doNext(CallBuilder.create().readIngressAsync(
+            return doNext(ResourceCache.readIngressAsync(packet,
               ingressName, meta.getNamespace(), new ResponseStep<V1beta1Ingress>(next) {
                 @Override
                 public NextAction onFailure(Packet packet, ApiException e, int statusCode,
@@ -90,12 +90,16 @@ public class IngressHelper {
                       @Override
                       public NextAction onFailure(Packet packet, ApiException e, int statusCode,
                                                   Map<String, List<String>> responseHeaders) {
+                        if (statusCode == CallBuilder.CONFLICT) {
+                          ResourceCache.evictIngress(packet, ingressName);
+                        }
                         return super.onFailure(AddServerStep.this, packet, e, statusCode, responseHeaders);
                       }
                       
                       @Override
                       public NextAction onSuccess(Packet packet, V1beta1Ingress result, int statusCode,
                                                   Map<String, List<String>> responseHeaders) {
+                        ResourceCache.recordIngress(packet, result);
                         return doNext(packet);
                       }
                     }), packet);
@@ -107,12 +111,16 @@ public class IngressHelper {
                       @Override
                       public NextAction onFailure(Packet packet, ApiException e, int statusCode,
                                                   Map<String, List<String>> responseHeaders) {
+                        if (statusCode == CallBuilder.CONFLICT) {
+                          ResourceCache.evictIngress(packet, ingressName);
+                        }
                         return super.onFailure(AddServerStep.this, packet, e, statusCode, responseHeaders);
                       }
                       
                       @Override
                       public NextAction onSuccess(Packet packet, V1beta1Ingress result, int statusCode,
                                                   Map<String, List<String>> responseHeaders) {
+                        ResourceCache.recordIngress(packet, result);
                         return doNext(packet);
                       }
                     }), packet);
@@ -158,7 +166,7 @@ public class IngressHelper {
       String ingressName;
       ingressName = getIngressName(info, serverName);
       if (ingressName != null) {
-        return doNext(CallBuilder.create().readIngressAsync(
+        return doNext(ResourceCache.readIngressAsync(packet,
           ingressName, meta.getNamespace(), new ResponseStep<V1beta1Ingress>(next) {
             @Override
             public NextAction onFailure(Packet packet, ApiException e, int statusCode,
@@ -197,6 +205,7 @@ public class IngressHelper {
                   @Override
                   public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
                                               Map<String, List<String>> responseHeaders) {
+                    ResourceCache.evictIngress(packet, ingressName);
                     return doNext(packet);
                   }
                 }), packet);
@@ -205,12 +214,16 @@ public class IngressHelper {
                   @Override
                   public NextAction onFailure(Packet packet, ApiException e, int statusCode,
                                               Map<String, List<String>> responseHeaders) {
+                    if (statusCode == CallBuilder.CONFLICT) {
+                      ResourceCache.evictIngress(packet, ingressName);
+                    }
                     return super.onFailure(RemoveServerStep.this, packet, e, statusCode, responseHeaders);
                   }
                   
                   @Override
                   public NextAction onSuccess(Packet packet, V1beta1Ingress result, int statusCode,
                                               Map<String, List<String>> responseHeaders) {
+                    ResourceCache.recordIngress(packet, result);
                     return doNext(packet);
                   }
                 }), packet);
@@ -246,6 +259,7 @@ public class IngressHelper {
     labels.put(LabelConstants.DOMAINNAME_LABEL, info.getDomain().getSpec().getDomainName());
     labels.put(LabelConstants.CLUSTERNAME_LABEL, clusterName);
     v1ObjectMeta.setLabels(labels);
+    AnnotationHelper.addDomainOwnerReference(v1ObjectMeta, info.getDomain());
     v1beta1Ingress.setMetadata(v1ObjectMeta);
     V1beta1IngressSpec v1beta1IngressSpec = new V1beta1IngressSpec();
     List<V1beta1IngressRule> rules = new ArrayList<>();
@@ -105,6 +105,7 @@ public class PodHelper {
       adminPod.setMetadata(metadata);
       
       AnnotationHelper.annotateWithDomain(metadata, dom);
+      AnnotationHelper.addDomainOwnerReference(metadata, dom);
 
       Map<String, String> labels = new HashMap<>();
       labels.put(LabelConstants.DOMAINUID_LABEL, weblogicDomainUID);
@@ -200,14 +201,16 @@ public class PodHelper {
       volumeSecret.setSecret(secret);
       podSpec.addVolumesItem(volumeSecret);
       
+      AnnotationHelper.annotateWithSha256(metadata, createFingerprint(podSpec));
+
       // Verify if Kubernetes api server has a matching Pod
       // Create or replace, if necessary
       ServerKubernetesObjects sko = info.getServers().computeIfAbsent(spec.getAsName(), k -> new ServerKubernetesObjects());
 
-      if (isExplicitRestartThisServer || sko.getPod() == null || !validateCurrentPod(adminPod, sko.getPod())) {
+      if (isExplicitRestartThisServer || sko.getPod() == null || !isCurrentPod(adminPod, sko.getPod(), null)) {
         // There is no Pod or Pod spec has changed
         // First, verify there is no existing Pod
-        Step read = CallBuilder.create().readPodAsync(podName, namespace, new ResponseStep<V1Pod>(next) {
+        Step read = ResourceCache.readPodAsync(packet, podName, namespace, new ResponseStep<V1Pod>(next) {
           @Override
           public NextAction onFailure(Packet packet, ApiException e, int statusCode,
               Map<String, List<String>> responseHeaders) {
@@ -228,11 +231,12 @@ public class PodHelper {
                   
                   LOGGER.info(MessageKeys.ADMIN_POD_CREATED, weblogicDomainUID, spec.getAsName());
                   sko.setPod(result);
+                  ResourceCache.recordPod(packet, result);
                   return doNext(packet);
                 }
               });
               return doNext(create, packet);
-            } else if (!isExplicitRestartThisServer && (AnnotationHelper.checkDomainAnnotation(result.getMetadata(), dom) || validateCurrentPod(adminPod, result))) {
+            } else if (!isExplicitRestartThisServer && isCurrentPod(adminPod, result, dom)) {
               // existing Pod has correct spec
               LOGGER.info(MessageKeys.ADMIN_POD_EXISTS, weblogicDomainUID, spec.getAsName());
               sko.setPod(result);
@@ -290,6 +294,7 @@ public class PodHelper {
         @Override
         public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
             Map<String, List<String>> responseHeaders) {
+          ResourceCache.evictPod(packet, podName);
           Step create = CallBuilder.create().createPodAsync(namespace, newPod, new ResponseStep<V1Pod>(next) {
             @Override
             public NextAction onSuccess(Packet packet, V1Pod result, int statusCode,
@@ -297,6 +302,7 @@ public class PodHelper {
               
               LOGGER.info(messageKey, weblogicDomainUID, serverName);
               sko.setPod(result);
+              ResourceCache.recordPod(packet, result);
               
               PodWatcher pw = packet.getSPI(PodWatcher.class);
               return doNext(pw.waitForReady(result, next), packet);
@@ -318,6 +324,38 @@ public class PodHelper {
     return new ManagedPodStep(next);
   }
   
+  private static boolean isCurrentPod(V1Pod build, V1Pod current, Domain domain) {
+    if (domain != null && AnnotationHelper.checkDomainAnnotation(current.getMetadata(), domain)) {
+      return true;
+    }
+    if (AnnotationHelper.hasSha256(current.getMetadata())) {
+      // the fields compared by validateCurrentPod are the same for as long as the pod is current
+      return AnnotationHelper.checkSha256(build.getMetadata(), current.getMetadata());
+    }
+    // Pod was created by an earlier version of the operator, without the hash annotation
+    return validateCurrentPod(build, current);
+  }
+
+  // the fields of the pod compared by validateCurrentPod; other fields, such as volumes, do not
+  // cause the pod to be replaced
+  private static List<Map<String, Object>> createFingerprint(V1PodSpec spec) {
+    List<Map<String, Object>> containers = new ArrayList<>();
+    if (spec.getContainers() != null) {
+      for (V1Container c : spec.getContainers()) {
+        Map<String, Object> container = new HashMap<>();
+        container.put("name", c.getName());
+        container.put("image", c.getImage());
+        container.put("imagePullPolicy", c.getImagePullPolicy());
+        container.put("ports", AnnotationHelper.unordered(c.getPorts()));
+        container.put("env", AnnotationHelper.unordered(c.getEnv()));
+        container.put("envFrom", AnnotationHelper.unordered(c.getEnvFrom()));
+        containers.add(container);
+      }
+      containers.sort((a, b) -> String.valueOf(a.get("name")).compareTo(String.valueOf(b.get("name"))));
+    }
+    return containers;
+  }
+
   private static boolean validateCurrentPod(V1Pod build, V1Pod current) {
     // We want to detect changes that would require replacing an existing Pod
     // however, we've also found that Pod.equals(Pod) isn't right because k8s
@@ -374,11 +412,20 @@ public class PodHelper {
       return false;
     }
     
-    List<T> bprime = new ArrayList<>(b);
+    Map<T, Integer> counts = new HashMap<>();
+    for (T bt : b) {
+      counts.merge(bt, 1, Integer::sum);
+    }
     for (T at : a) {
-      if (!bprime.remove(at)) {
+      Integer count = counts.get(at);
+      if (count == null) {
         return false;
       }
+      if (count == 1) {
+        counts.remove(at);
+      } else {
+        counts.put(at, count - 1);
+      }
     }
     return true;
   }
@@ -448,6 +495,7 @@ public class PodHelper {
       pod.setMetadata(metadata);
 
       AnnotationHelper.annotateWithDomain(metadata, dom);
+      AnnotationHelper.addDomainOwnerReference(metadata, dom);
 
       Map<String, String> labels = new HashMap<>();
       labels.put(LabelConstants.DOMAINUID_LABEL, weblogicDomainUID);
@@ -534,15 +582,17 @@ public class PodHelper {
           container.addEnvItem(ev);
         }
       }
+
+      AnnotationHelper.annotateWithSha256(metadata, createFingerprint(podSpec));
       
       // Verify if Kubernetes api server has a matching Pod
       // Create or replace, if necessary
       ServerKubernetesObjects sko = info.getServers().computeIfAbsent(weblogicServerName, k -> new ServerKubernetesObjects());
 
-      if (isExplicitRestartThisServer || sko.getPod() == null || !validateCurrentPod(pod, sko.getPod())) {
+      if (isExplicitRestartThisServer || sko.getPod() == null || !isCurrentPod(pod, sko.getPod(), null)) {
         // There is no Pod or Pod spec has changed
         // First, verify there is no existing Pod
-        Step read = CallBuilder.create().readPodAsync(podName, namespace, new ResponseStep<V1Pod>(next) {
+        Step read = ResourceCache.readPodAsync(packet, podName, namespace, new ResponseStep<V1Pod>(next) {
           @Override
           public NextAction onFailure(Packet packet, ApiException e, int statusCode,
               Map<String, List<String>> responseHeaders) {
@@ -563,11 +613,12 @@ public class PodHelper {
                   
                   LOGGER.info(MessageKeys.MANAGED_POD_CREATED, weblogicDomainUID, weblogicServerName);
                   sko.setPod(result);
+                  ResourceCache.recordPod(packet, result);
                   return doNext(packet);
                 }
               });
               return doNext(DomainStatusUpdater.createProgressingStep(create, false), packet);
-            } else if (!isExplicitRestartThisServer && (AnnotationHelper.checkDomainAnnotation(result.getMetadata(), dom) || validateCurrentPod(pod, result))) {
+            } else if (!isExplicitRestartThisServer && isCurrentPod(pod, result, dom)) {
               // existing Pod has correct spec
               LOGGER.info(MessageKeys.MANAGED_POD_EXISTS, weblogicDomainUID, weblogicServerName);
               sko.setPod(result);
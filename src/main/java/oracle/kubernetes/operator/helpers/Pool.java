@@ -5,52 +5,127 @@ package oracle.kubernetes.operator.helpers;
 
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.work.Histogram;
 
-import java.lang.ref.WeakReference;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * General-purpose object pool.
+ * General-purpose object pool, bounded to a maximum number of instances.  When all instances
+ * are in use, {@link #take()} waits for one to be recycled.  So that a caller that holds an
+ * instance while it waits for another cannot deadlock, a caller that has waited for the maximum
+ * wait is given a new instance beyond the bound; recycled instances beyond the bound are
+ * discarded.  Callers on threads that must never block, such as fiber threads, use
+ * {@link #takeNoWait()}, which goes beyond the bound immediately instead of waiting.
  */
 public abstract class Pool<T> {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
-  // volatile since multiple threads may access queue reference
-  private volatile WeakReference<ConcurrentLinkedQueue<T>> queue;
+  private static final double[] WAIT_BUCKETS = { 0.001, 0.01, 0.1, 0.5, 1, 5 };
+
+  private final int maxSize;
+  private final long maxWaitNanos;
+
+  // guarded by this
+  private final Deque<T> idle = new ArrayDeque<>();
+  private int size;
+  private int inUse;
+
+  private final LongAdder created = new LongAdder();
+  private final LongAdder overflows = new LongAdder();
+  private final Histogram acquireTime = new Histogram(WAIT_BUCKETS);
+
+  /**
+   * Creates the pool
+   * @param maxSize Maximum number of instances, in use or idle
+   * @param maxWaitMillis Maximum time to wait for an instance when all are in use
+   */
+  protected Pool(int maxSize, long maxWaitMillis) {
+    this.maxSize = Math.max(1, maxSize);
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+  }
 
   /**
-   * Gets a new object from the pool.
-   * If no object is available in the pool, this method creates a new one.
+   * Gets an object from the pool.
+   * If no object is available in the pool, this method creates a new one, unless the pool is
+   * at its maximum size, in which case it waits for an object to be recycled.
    *
    * @return always non-null.
    */
   public final T take() {
-    T instance = getQueue().poll();
-    if (instance == null) {
-      LOGGER.finer("Creating instance");
-      return create();
-    }
+    return take(maxWaitNanos);
+  }
 
-    if (LOGGER.isFinerEnabled()) {
-      LOGGER.finer("Returning existing instance from pool, instances remaining: " + getQueue().size());
-    }
-    return instance;
+  /**
+   * Gets an object from the pool without waiting.
+   * If no object is available in the pool, this method creates a new one, even if the pool is
+   * at its maximum size.
+   *
+   * @return always non-null.
+   */
+  public final T takeNoWait() {
+    return take(0);
   }
 
-  private ConcurrentLinkedQueue<T> getQueue() {
-    WeakReference<ConcurrentLinkedQueue<T>> referenceQueue = queue;
-    if (referenceQueue != null) {
-      ConcurrentLinkedQueue<T> returnQueue = referenceQueue.get();
-      if (returnQueue != null) {
-        return returnQueue;
+  private T take(long maxWaitNanos) {
+    long start = System.nanoTime();
+    boolean isOverflow = false;
+    T instance = null;
+    try {
+      synchronized (this) {
+        while (idle.isEmpty() && size >= maxSize) {
+          long remaining = maxWaitNanos - (System.nanoTime() - start);
+          if (remaining <= 0) {
+            isOverflow = true;
+            break;
+          }
+          TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        instance = idle.poll();
+        if (instance == null) {
+          size++;
+        }
+        inUse++;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      synchronized (this) {
+        instance = idle.poll();
+        if (instance == null) {
+          size++;
+        }
+        inUse++;
       }
     }
+    acquireTime.observe((System.nanoTime() - start) / 1e9);
 
-    // overwrite the queue
-    ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<>();
-    queue = new WeakReference<>(d);
+    if (instance == null) {
+      if (isOverflow) {
+        overflows.increment();
+        LOGGER.finer("Pool exhausted, creating instance beyond maximum size " + maxSize);
+      } else {
+        LOGGER.finer("Creating instance");
+      }
+      try {
+        instance = create();
+        created.increment();
+      } catch (RuntimeException | Error e) {
+        synchronized (this) {
+          size--;
+          inUse--;
+          notifyAll();
+        }
+        throw e;
+      }
+      return instance;
+    }
 
-    return d;
+    if (LOGGER.isFinerEnabled()) {
+      LOGGER.finer("Returning existing instance from pool, instances in use: " + getInUse());
+    }
+    return instance;
   }
 
   /**
@@ -58,9 +133,18 @@ public abstract class Pool<T> {
    * @param instance Pool object to recycle
    */
   public final void recycle(T instance) {
-    getQueue().offer(instance);
+    synchronized (this) {
+      inUse--;
+      if (size > maxSize) {
+        // created beyond the bound while the pool was exhausted
+        size--;
+      } else {
+        idle.push(instance);
+      }
+      notify();
+    }
     if (LOGGER.isFinerEnabled()) {
-      LOGGER.finer("Recycling instance to pool, instances now in pool: " + getQueue().size());
+      LOGGER.finer("Recycling instance to pool, instances in use: " + getInUse());
     }
   }
 
@@ -74,4 +158,51 @@ public abstract class Pool<T> {
    */
   protected abstract T create();
 
+  /**
+   * Maximum number of instances
+   * @return Maximum size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Instances taken and not yet recycled
+   * @return Instances in use
+   */
+  public synchronized int getInUse() {
+    return inUse;
+  }
+
+  /**
+   * Instances waiting in the pool to be taken
+   * @return Idle instances
+   */
+  public synchronized int getIdle() {
+    return idle.size();
+  }
+
+  /**
+   * Instances created by the pool
+   * @return Created instances
+   */
+  public long getCreated() {
+    return created.sum();
+  }
+
+  /**
+   * Instances created beyond the maximum size because no instance was recycled in time
+   * @return Overflow instances
+   */
+  public long getOverflows() {
+    return overflows.sum();
+  }
+
+  /**
+   * Time taken to get an instance, in seconds, not including the time to create it
+   * @return Acquire time histogram
+   */
+  public Histogram getAcquireTime() {
+    return acquireTime;
+  }
 }
@@ -0,0 +1,419 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Service;
+import io.kubernetes.client.models.V1beta1Ingress;
+import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.helpers.CallBuilder.CallResponse;
+import oracle.kubernetes.operator.watcher.WatchEvent;
+import oracle.kubernetes.operator.watcher.WatchingEventDestination;
+import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+
+/**
+ * Watch-fed cache of the Pods, Services and Ingresses that the operator manages in a single namespace.
+ * Objects are indexed by name and by their domainUID and serverName labels.  Steps read from the cache
+ * and fall back to the Kubernetes API server only when the object is not present.
+ */
+public class ResourceCache {
+  private final String namespace;
+  private static final JSON json = new JSON();
+
+  // Pods and Services read from the cache are not modified by the helpers, but the Ingress
+  // helper edits the paths of the Ingress it reads, so each reader gets its own copy
+  private final Store<V1Pod> pods = new Store<>(V1Pod::getMetadata, UnaryOperator.identity());
+  private final Store<V1Service> services = new Store<>(V1Service::getMetadata, UnaryOperator.identity());
+  private final Store<V1beta1Ingress> ingresses = new Store<>(V1beta1Ingress::getMetadata,
+      ingress -> json.deserialize(json.serialize(ingress), V1beta1Ingress.class));
+
+  /**
+   * Constructor
+   * @param namespace Namespace
+   */
+  public ResourceCache(String namespace) {
+    this.namespace = namespace;
+  }
+
+  /**
+   * Namespace covered by this cache
+   * @return namespace
+   */
+  public String getNamespace() {
+    return namespace;
+  }
+
+  /**
+   * Cached pods
+   * @return pod store
+   */
+  public Store<V1Pod> getPods() {
+    return pods;
+  }
+
+  /**
+   * Cached services
+   * @return service store
+   */
+  public Store<V1Service> getServices() {
+    return services;
+  }
+
+  /**
+   * Cached ingresses
+   * @return ingress store
+   */
+  public Store<V1beta1Ingress> getIngresses() {
+    return ingresses;
+  }
+
+  /**
+   * Index of objects of a single kind, updated from watch events and from the results of
+   * successful create and replace calls.
+   *
+   * @param <T> Object type
+   */
+  public static class Store<T> implements WatchingEventDestination<T> {
+    private final Function<T, V1ObjectMeta> metadata;
+    private final UnaryOperator<T> copy;
+    // Map of object name to object
+    private final Map<String, T> byName = new ConcurrentHashMap<>();
+    // Map of domainUID to names of objects with that domainUID label
+    private final Map<String, Set<String>> byDomainUID = new ConcurrentHashMap<>();
+    // Map of domainUID to Map of server name to object name
+    private final Map<String, Map<String, String>> byServerName = new ConcurrentHashMap<>();
+
+    private Store(Function<T, V1ObjectMeta> metadata, UnaryOperator<T> copy) {
+      this.metadata = metadata;
+      this.copy = copy;
+    }
+
+    @Override
+    public void eventCallback(WatchEvent<T> item) {
+      if (item.object == null) {
+        return;
+      }
+      switch (item.type) {
+      case "ADDED":
+      case "MODIFIED":
+        put(item.object);
+        break;
+      case "DELETED":
+        remove(item.object);
+        break;
+      case "ERROR":
+      default:
+      }
+    }
+
+    /**
+     * Object with the given name
+     * @param name Name
+     * @return cached object or null, if not cached
+     */
+    public T get(String name) {
+      return name != null ? byName.get(name) : null;
+    }
+
+    /**
+     * Objects labeled with the given domainUID
+     * @param domainUID Domain UID
+     * @return cached objects
+     */
+    public List<T> getForDomain(String domainUID) {
+      Set<String> names = byDomainUID.get(domainUID);
+      if (names == null) {
+        return Collections.emptyList();
+      }
+      List<T> result = new ArrayList<>(names.size());
+      for (String name : names) {
+        T o = byName.get(name);
+        if (o != null) {
+          result.add(o);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Object labeled with the given domainUID and server name
+     * @param domainUID Domain UID
+     * @param serverName Server name
+     * @return cached object or null, if not cached
+     */
+    public T getForServer(String domainUID, String serverName) {
+      Map<String, String> servers = byServerName.get(domainUID);
+      return servers != null ? get(servers.get(serverName)) : null;
+    }
+
+    /**
+     * Adds or replaces the object unless the cache already holds a newer version
+     * @param object Object
+     */
+    public void put(T object) {
+      V1ObjectMeta meta = metadata.apply(object);
+      if (meta == null || meta.getName() == null) {
+        return;
+      }
+      // the indexes are updated while the name's entry is locked so that they always match the entry
+      byName.compute(meta.getName(), (name, current) -> {
+        V1ObjectMeta currentMeta = current != null ? metadata.apply(current) : null;
+        if (isOlder(meta, currentMeta)) {
+          return current;
+        }
+        if (currentMeta != null) {
+          unindex(name, currentMeta);
+        }
+        index(name, meta);
+        return object;
+      });
+    }
+
+    /**
+     * Removes the object unless the cache already holds a newer version
+     * @param object Object
+     */
+    public void remove(T object) {
+      V1ObjectMeta meta = metadata.apply(object);
+      if (meta == null || meta.getName() == null) {
+        return;
+      }
+      byName.computeIfPresent(meta.getName(), (name, current) -> {
+        V1ObjectMeta currentMeta = metadata.apply(current);
+        if (isOlder(meta, currentMeta)) {
+          return current;
+        }
+        unindex(name, currentMeta);
+        return null;
+      });
+    }
+
+    /**
+     * Removes the object with the given name, regardless of version
+     * @param name Name
+     */
+    public void evict(String name) {
+      byName.computeIfPresent(name, (k, current) -> {
+        unindex(k, metadata.apply(current));
+        return null;
+      });
+    }
+
+    /**
+     * Discards every cached object.  The watch restarts from the current state and delivers an
+     * ADDED event for each object that still exists, so objects deleted while the watch could not
+     * resume are not left behind.  Reads fall through to the API server until the object is cached again.
+     */
+    @Override
+    public void onRelist() {
+      for (String name : byName.keySet()) {
+        evict(name);
+      }
+    }
+
+    private void index(String name, V1ObjectMeta meta) {
+      Map<String, String> labels = meta.getLabels();
+      String domainUID = labels != null ? labels.get(LabelConstants.DOMAINUID_LABEL) : null;
+      if (domainUID != null) {
+        byDomainUID.computeIfAbsent(domainUID, k -> ConcurrentHashMap.newKeySet()).add(name);
+        String serverName = labels.get(LabelConstants.SERVERNAME_LABEL);
+        if (serverName != null) {
+          byServerName.computeIfAbsent(domainUID, k -> new ConcurrentHashMap<>()).put(serverName, name);
+        }
+      }
+    }
+
+    private void unindex(String name, V1ObjectMeta meta) {
+      Map<String, String> labels = meta != null ? meta.getLabels() : null;
+      String domainUID = labels != null ? labels.get(LabelConstants.DOMAINUID_LABEL) : null;
+      if (domainUID != null) {
+        Set<String> names = byDomainUID.get(domainUID);
+        if (names != null) {
+          names.remove(name);
+        }
+        String serverName = labels.get(LabelConstants.SERVERNAME_LABEL);
+        Map<String, String> servers = byServerName.get(domainUID);
+        if (servers != null && serverName != null) {
+          // only if the server has not since been claimed by another object
+          servers.remove(serverName, name);
+        }
+      }
+    }
+
+    private static boolean isOlder(V1ObjectMeta candidate, V1ObjectMeta current) {
+      if (current == null) {
+        return false;
+      }
+      try {
+        return Long.parseLong(candidate.getResourceVersion()) < Long.parseLong(current.getResourceVersion());
+      } catch (NumberFormatException e) {
+        // resource versions are opaque; when not numeric, the latest write wins
+        return false;
+      }
+    }
+
+    /**
+     * Creates asynchronous step that completes the response step from the cache, if the named
+     * object is cached, and otherwise invokes the given read step.
+     * @param name Name
+     * @param read Step reading the object from the API server, typically from {@link CallBuilder}
+     * @param responseStep Response step for the read step
+     * @return Asynchronous step
+     */
+    public Step readThrough(String name, Step read, ResponseStep<T> responseStep) {
+      return new ReadThroughStep(name, read, responseStep);
+    }
+
+    private class ReadThroughStep extends Step {
+      private final String name;
+      private final ResponseStep<T> responseStep;
+
+      private ReadThroughStep(String name, Step read, ResponseStep<T> responseStep) {
+        super(read);
+        this.name = name;
+        this.responseStep = responseStep;
+      }
+
+      @Override
+      public NextAction apply(Packet packet) {
+        T cached = get(name);
+        if (cached == null || metadata.apply(cached).getDeletionTimestamp() != null) {
+          // not cached or being deleted; read from the API server
+          return doNext(packet);
+        }
+        packet.getComponents().put(CallBuilder.RESPONSE_COMPONENT_NAME,
+            Component.createFor(new CallResponse<T>(copy.apply(cached), null, 200, Collections.emptyMap())));
+        return doNext(responseStep, packet);
+      }
+    }
+  }
+
+  /**
+   * Creates asynchronous step that reads a pod through the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param name Pod name
+   * @param namespace Namespace
+   * @param responseStep Response step
+   * @return Asynchronous step
+   */
+  public static Step readPodAsync(Packet packet, String name, String namespace, ResponseStep<V1Pod> responseStep) {
+    Step read = CallBuilder.create().readPodAsync(name, namespace, responseStep);
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    return cache != null ? cache.getPods().readThrough(name, read, responseStep) : read;
+  }
+
+  /**
+   * Creates asynchronous step that reads a service through the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param name Service name
+   * @param namespace Namespace
+   * @param responseStep Response step
+   * @return Asynchronous step
+   */
+  public static Step readServiceAsync(Packet packet, String name, String namespace, ResponseStep<V1Service> responseStep) {
+    Step read = CallBuilder.create().readServiceAsync(name, namespace, responseStep);
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    return cache != null ? cache.getServices().readThrough(name, read, responseStep) : read;
+  }
+
+  /**
+   * Creates asynchronous step that reads an ingress through the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param name Ingress name
+   * @param namespace Namespace
+   * @param responseStep Response step
+   * @return Asynchronous step
+   */
+  public static Step readIngressAsync(Packet packet, String name, String namespace, ResponseStep<V1beta1Ingress> responseStep) {
+    Step read = CallBuilder.create().readIngressAsync(name, namespace, responseStep);
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    return cache != null ? cache.getIngresses().readThrough(name, read, responseStep) : read;
+  }
+
+  /**
+   * Records the result of a create or replace call in the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param pod Pod
+   */
+  public static void recordPod(Packet packet, V1Pod pod) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null && pod != null) {
+      cache.getPods().put(pod);
+    }
+  }
+
+  /**
+   * Removes a deleted pod from the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param name Pod name
+   */
+  public static void evictPod(Packet packet, String name) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null) {
+      cache.getPods().evict(name);
+    }
+  }
+
+  /**
+   * Removes a deleted service from the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param name Service name
+   */
+  public static void evictService(Packet packet, String name) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null) {
+      cache.getServices().evict(name);
+    }
+  }
+
+  /**
+   * Removes an ingress from the namespace's cache, if one is available in the packet, such as after a conflict
+   * @param packet Packet
+   * @param name Ingress name
+   */
+  public static void evictIngress(Packet packet, String name) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null) {
+      cache.getIngresses().evict(name);
+    }
+  }
+
+  /**
+   * Records the result of a create or replace call in the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param service Service
+   */
+  public static void recordService(Packet packet, V1Service service) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null && service != null) {
+      cache.getServices().put(service);
+    }
+  }
+
+  /**
+   * Records the result of a create or replace call in the namespace's cache, if one is available in the packet
+   * @param packet Packet
+   * @param ingress Ingress
+   */
+  public static void recordIngress(Packet packet, V1beta1Ingress ingress) {
+    ResourceCache cache = packet.getSPI(ResourceCache.class);
+    if (cache != null && ingress != null) {
+      cache.getIngresses().put(ingress);
+    }
+  }
+}
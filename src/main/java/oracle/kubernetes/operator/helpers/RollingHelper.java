@@ -5,12 +5,17 @@ package oracle.kubernetes.operator.helpers;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import oracle.kubernetes.operator.DomainStatusUpdater;
 import oracle.kubernetes.operator.ProcessingConstants;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ClusterStartup;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
 import oracle.kubernetes.operator.logging.LoggingFacade;
@@ -25,20 +30,24 @@ import oracle.kubernetes.operator.work.Step.StepAndPacket;
 
 /**
  * After the {@link PodHelper} identifies servers that are presently running, but that are using an out-of-date specification,
- * it defers the processing of these servers to the RollingHelper.  This class will ensure that a minimum number of cluster
- * members remain up, if possible, throughout the rolling process.
- * 
+ * it defers the processing of these servers to the RollingHelper.  Servers that are not ready and servers that are not
+ * in a cluster are restarted at once.  The servers of each cluster are restarted with at most the cluster's maxUnavailable
+ * servers restarting at a time; as soon as a restarted server is ready again, the restart of the next server begins.
+ * Clusters are rolled independently of each other.  The progress is reported as the reason and message of the domain status;
+ * reports are collected and written one at a time, and the final report, which clears the progress, is written last.
+ *
  */
 public class RollingHelper {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  
-  private static final int MINIMUM_FOR_CLUSTER = 2;
+
+  // servers of a cluster restarted at a time, when the cluster startup does not set maxUnavailable - default is 25%
+  private static final String DEFAULT_MAX_UNAVAILABLE = System.getProperty("rolling.max.unavailable", "25%");
 
   private RollingHelper() {}
-  
+
   /**
-   * Creates an asynchronous step that completes the rolling.  The rolling parameter is a map from 
-   * server name to a {@link StepAndPacket} that includes the asynchronous step and packet necessary to 
+   * Creates an asynchronous step that completes the rolling.  The rolling parameter is a map from
+   * server name to a {@link StepAndPacket} that includes the asynchronous step and packet necessary to
    * roll that individual server.  This will include first stopping (deleting) the existing Pod, recreating
    * the Pod with the updated specification, waiting for that new Pod to become Ready and, finally, completing
    * the server presence with necessary Service and Ingress objects, etc.
@@ -49,10 +58,46 @@ public class RollingHelper {
   public static Step rollServers(Map<String, StepAndPacket> rolling, Step next) {
     return new RollingStep(rolling, next);
   }
-  
+
+  /**
+   * Resolves the maximum number of servers of a cluster that may be unavailable at the same time
+   * @param maxUnavailable Number of servers, such as "2", or percentage of the ready servers, such as "25%"
+   * @param readyServers Number of ready servers in the cluster
+   * @return Number of servers that may restart at the same time, which is at least one
+   */
+  static int getMaxUnavailable(String maxUnavailable, int readyServers) {
+    int count = 1;
+    if (maxUnavailable != null) {
+      String value = maxUnavailable.trim();
+      try {
+        if (value.endsWith("%")) {
+          // rounded down, as Kubernetes does for the maxUnavailable of a deployment
+          count = Integer.parseInt(value.substring(0, value.length() - 1).trim()) * readyServers / 100;
+        } else {
+          count = Integer.parseInt(value);
+        }
+      } catch (NumberFormatException e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+      }
+    }
+    return Math.max(1, count);
+  }
+
+  private static String getMaxUnavailable(Domain dom, String clusterName) {
+    List<ClusterStartup> clusterStartups = dom.getSpec().getClusterStartup();
+    if (clusterStartups != null) {
+      for (ClusterStartup cs : clusterStartups) {
+        if (clusterName.equals(cs.getClusterName()) && cs.getMaxUnavailable() != null) {
+          return cs.getMaxUnavailable();
+        }
+      }
+    }
+    return DEFAULT_MAX_UNAVAILABLE;
+  }
+
   private static class RollingStep extends Step {
     private final Map<String, StepAndPacket> rolling;
-    
+
     private RollingStep(Map<String, StepAndPacket> rolling, Step next) {
       super(next);
       this.rolling = rolling;
@@ -61,18 +106,13 @@ public class RollingHelper {
     @Override
     public NextAction apply(Packet packet) {
       DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-      
+
       Domain dom = info.getDomain();
-      DomainStatus status = dom.getStatus();
-      // These are presently Ready servers
-      List<String> availableServers = status.getAvailableServers();
-      if (availableServers == null) {
-        availableServers = new ArrayList<>();
-      }
+      List<String> availableServers = getAvailableServers(dom);
+
+      Queue<StepAndPacket> serversThatCanRestartNow = new ConcurrentLinkedQueue<>();
+      Map<String, Queue<StepAndPacket>> clusteredRestarts = new TreeMap<>();
 
-      Collection<StepAndPacket> serversThatCanRestartNow = new ArrayList<>();
-      Map<String, Collection<StepAndPacket>> clusteredRestarts = new HashMap<>();
-      
       List<String> servers = new ArrayList<>();
       for(Map.Entry<String, StepAndPacket> entry : rolling.entrySet()) {
         // If this server isn't currently Ready, then it can be safely restarted now
@@ -82,7 +122,7 @@ public class RollingHelper {
           serversThatCanRestartNow.add(entry.getValue());
           continue;
         }
-        
+
         // If this server isn't part of a cluster, then it can also be safely restarted now
         Packet p = entry.getValue().packet;
         WlsClusterConfig cluster = (WlsClusterConfig) p.get(ProcessingConstants.CLUSTER_SCAN);
@@ -91,126 +131,192 @@ public class RollingHelper {
           serversThatCanRestartNow.add(entry.getValue());
           continue;
         }
-        
+
         // clustered server
-        String clusterName = cluster.getClusterName();
-        Collection<StepAndPacket> cr = clusteredRestarts.get(clusterName);
-        if (cr == null) {
-          cr = new ArrayList<>();
-          clusteredRestarts.put(clusterName, cr);
-        }
-        cr.add(entry.getValue());
+        clusteredRestarts.computeIfAbsent(cluster.getClusterName(), k -> new ConcurrentLinkedQueue<>()).add(entry.getValue());
       }
-      
+
       if (!servers.isEmpty()) {
         LOGGER.info(MessageKeys.CYCLING_SERVERS, dom.getSpec().getDomainUID(), servers);
       }
-      
+
+      Progress progress = new Progress(rolling.size());
       Collection<StepAndPacket> work = new ArrayList<>();
       if (!serversThatCanRestartNow.isEmpty()) {
-        work.add(new StepAndPacket(new ServersThatCanRestartNowStep(serversThatCanRestartNow, null), packet));
+        work.addAll(createLanes(null, serversThatCanRestartNow, serversThatCanRestartNow.size(), progress, packet));
       }
-      
-      if (!clusteredRestarts.isEmpty()) {
-        for (Map.Entry<String, Collection<StepAndPacket>> entry : clusteredRestarts.entrySet()) {
-          work.add(new StepAndPacket(new RollSpecificClusterStep(entry.getKey(), entry.getValue(), null), packet));
-        }
+
+      for (Map.Entry<String, Queue<StepAndPacket>> entry : clusteredRestarts.entrySet()) {
+        String clusterName = entry.getKey();
+        Queue<StepAndPacket> clusteredServers = entry.getValue();
+        String maxUnavailable = getMaxUnavailable(dom, clusterName);
+        int lanes = Math.min(clusteredServers.size(),
+            getMaxUnavailable(maxUnavailable, getReadyServers(info, clusterName, availableServers).size()));
+        progress.addCluster(clusterName, clusteredServers.size());
+        LOGGER.info(MessageKeys.ROLLING_CLUSTER, dom.getSpec().getDomainUID(), clusterName, clusteredServers.size(), lanes);
+        work.addAll(createLanes(clusterName, clusteredServers, lanes, progress, packet));
       }
-      
+
       if (!work.isEmpty()) {
-        return doForkJoin(next, packet, work);
+        // once all servers are restarted, the progress message is null, which clears the progress from the status
+        Step complete = progress.reporter.createCompleteStep(next);
+        return doNext(progress.reporter.createReportStep(new ForkJoinStep(work, complete)), packet);
       }
-      
+
       return doNext(packet);
     }
+
+    private static Collection<StepAndPacket> createLanes(String clusterName, Queue<StepAndPacket> servers, int lanes, Progress progress, Packet packet) {
+      Collection<StepAndPacket> work = new ArrayList<>();
+      for (int i = 0; i < lanes; i++) {
+        work.add(new StepAndPacket(new RollingLaneStep(clusterName, servers, progress), packet.clone()));
+      }
+      return work;
+    }
+  }
+
+  private static List<String> getAvailableServers(Domain dom) {
+    DomainStatus status = dom.getStatus();
+    // These are presently Ready servers
+    List<String> availableServers = status != null ? status.getAvailableServers() : null;
+    return availableServers != null ? availableServers : Collections.emptyList();
+  }
+
+  private static List<String> getReadyServers(DomainPresenceInfo info, String clusterName, List<String> availableServers) {
+    List<String> readyServers = new ArrayList<>();
+    WlsClusterConfig cluster = info.getScan() != null ? info.getScan().getClusterConfig(clusterName) : null;
+    if (cluster != null) {
+      List<WlsServerConfig> serversConfigs = cluster.getServerConfigs();
+      if (serversConfigs != null) {
+        for (WlsServerConfig s : serversConfigs) {
+          if (availableServers.contains(s.getName())) {
+            readyServers.add(s.getName());
+          }
+        }
+      }
+    }
+    return readyServers;
   }
-  
-  private static class ServersThatCanRestartNowStep extends Step {
-    private final Collection<StepAndPacket> serversThatCanRestartNow;
 
-    public ServersThatCanRestartNowStep(Collection<StepAndPacket> serversThatCanRestartNow, Step next) {
+  private static class ForkJoinStep extends Step {
+    private final Collection<StepAndPacket> work;
+
+    public ForkJoinStep(Collection<StepAndPacket> work, Step next) {
       super(next);
-      this.serversThatCanRestartNow = serversThatCanRestartNow;
+      this.work = work;
     }
 
     @Override
     public NextAction apply(Packet packet) {
-      return doForkJoin(next, packet, serversThatCanRestartNow);
+      return doForkJoin(next, packet, work);
     }
   }
-  
-  private static class RollSpecificClusterStep extends Step {
+
+  /**
+   * Restarts servers taken from a queue shared with the other lanes of the cluster, one at a time.  The step
+   * for each server completes when its new Pod is ready, so that each lane has at most one server unavailable.
+   */
+  private static class RollingLaneStep extends Step {
     private final String clusterName;
-    private final Iterator<StepAndPacket> it;
+    private final Queue<StepAndPacket> servers;
+    private final Progress progress;
 
-    public RollSpecificClusterStep(String clusterName, Collection<StepAndPacket> clusteredServerRestarts, Step next) {
-      super(next);
+    public RollingLaneStep(String clusterName, Queue<StepAndPacket> servers, Progress progress) {
+      super(null);
       this.clusterName = clusterName;
-      it = clusteredServerRestarts.iterator();
+      this.servers = servers;
+      this.progress = progress;
     }
 
     @Override
     public NextAction apply(Packet packet) {
-      if (it.hasNext()) {
+      StepAndPacket current = servers.poll();
+      if (current == null) {
+        return doNext(packet);
+      }
+
+      if (clusterName != null) {
         DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-        
-        // Refresh as this is constantly changing
         Domain dom = info.getDomain();
-        DomainStatus status = dom.getStatus();
-        // These are presently Ready servers
-        List<String> availableServers = status.getAvailableServers();
-        if (availableServers == null) {
-          availableServers = new ArrayList<>();
-        }
-
-        List<String> servers = new ArrayList<>();
-        List<String> readyServers = new ArrayList<>();
-        
-        Collection<StepAndPacket> serversThatCanRestartNow = new ArrayList<>();
-        // We will always restart at least one server
-        StepAndPacket current = it.next();
-        serversThatCanRestartNow.add(current);
-        
         WlsServerConfig scan = (WlsServerConfig) current.packet.get(ProcessingConstants.SERVER_SCAN);
-        servers.add(scan != null ? scan.getName() : dom.getSpec().getAsName());
-        
-        // See if we can restart more now
-        if (it.hasNext()) {
-          // we are already pending a restart of one server, so start count at -1
-          int countReady = -1;
-          WlsClusterConfig cluster = info.getScan().getClusterConfig(clusterName);
-          if (cluster != null) {
-            List<WlsServerConfig> serversConfigs = cluster.getServerConfigs();
-            if (serversConfigs != null) {
-              for (WlsServerConfig s : serversConfigs) {
-                // figure out how many servers are currently ready
-                if (availableServers.contains(s.getName())) {
-                  readyServers.add(s.getName());
-                  countReady++;
-                }
-              }
-            }
-          }
-          
-          // then add as many as possible next() entries leaving at least minimum cluster availability
-          while (countReady-- > MINIMUM_FOR_CLUSTER) {
-            current = it.next();
-            scan = (WlsServerConfig) current.packet.get(ProcessingConstants.SERVER_SCAN);
-            servers.add(scan != null ? scan.getName() : dom.getSpec().getAsName());
-            serversThatCanRestartNow.add(current);
-            if (!it.hasNext()) {
-              break;
-            }
+        List<String> readyServers = getReadyServers(info, clusterName, getAvailableServers(dom));
+        String serverName = scan != null ? scan.getName() : dom.getSpec().getAsName();
+        readyServers.remove(serverName);
+        LOGGER.info(MessageKeys.ROLLING_SERVERS, dom.getSpec().getDomainUID(), Collections.singletonList(serverName), readyServers);
+      }
+
+      return doForkJoin(new ServerRestartedStep(clusterName, progress, this), packet, Collections.singletonList(current));
+    }
+  }
+
+  private static class ServerRestartedStep extends Step {
+    private final String clusterName;
+    private final Progress progress;
+
+    public ServerRestartedStep(String clusterName, Progress progress, Step next) {
+      super(next);
+      this.clusterName = clusterName;
+      this.progress = progress;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      progress.restarted(clusterName);
+      return doNext(progress.reporter.createReportStep(next), packet);
+    }
+  }
+
+  /**
+   * Counts of the servers restarted, in total and for each cluster
+   */
+  static class Progress {
+    final DomainStatusUpdater.RollingProgressReporter reporter = DomainStatusUpdater.createRollingProgressReporter(this::getMessage);
+
+    private final int total;
+    private final AtomicInteger restarted = new AtomicInteger();
+    private final Map<String, Integer> clusterTotals = new TreeMap<>();
+    private final Map<String, AtomicInteger> clusterRestarted = new TreeMap<>();
+
+    Progress(int total) {
+      this.total = total;
+    }
+
+    void addCluster(String clusterName, int count) {
+      clusterTotals.put(clusterName, count);
+      clusterRestarted.put(clusterName, new AtomicInteger());
+    }
+
+    void restarted(String clusterName) {
+      restarted.incrementAndGet();
+      if (clusterName != null) {
+        clusterRestarted.get(clusterName).incrementAndGet();
+      }
+    }
+
+    /**
+     * Progress message
+     * @return Message, or null when all servers are restarted
+     */
+    String getMessage() {
+      if (restarted.get() >= total) {
+        return null;
+      }
+      StringBuilder sb = new StringBuilder();
+      sb.append("Restarted ").append(restarted.get()).append(" of ").append(total).append(" servers");
+      if (!clusterTotals.isEmpty()) {
+        sb.append(" (");
+        boolean isFirst = true;
+        for (Map.Entry<String, Integer> entry : clusterTotals.entrySet()) {
+          if (!isFirst) {
+            sb.append(", ");
           }
+          isFirst = false;
+          sb.append("cluster ").append(entry.getKey()).append(": ")
+            .append(clusterRestarted.get(entry.getKey()).get()).append(" of ").append(entry.getValue());
         }
-        
-        readyServers.removeAll(servers);
-        LOGGER.info(MessageKeys.ROLLING_SERVERS, dom.getSpec().getDomainUID(), servers, readyServers);
-        
-        return doNext(new ServersThatCanRestartNowStep(serversThatCanRestartNow, this), packet);
+        sb.append(")");
       }
-      
-      return doNext(packet);
+      return sb.toString();
     }
   }
 }
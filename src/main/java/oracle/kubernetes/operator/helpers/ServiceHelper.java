@@ -70,6 +70,7 @@ public class ServiceHelper {
       service.setMetadata(metadata);
 
       AnnotationHelper.annotateWithDomain(metadata, dom);
+      AnnotationHelper.addDomainOwnerReference(metadata, dom);
 
       V1ServiceSpec serviceSpec = new V1ServiceSpec();
       serviceSpec.setType(nodePort == null ? "ClusterIP" : "NodePort");
@@ -87,14 +88,16 @@ public class ServiceHelper {
       serviceSpec.setPorts(ports);
       service.setSpec(serviceSpec);
 
+      AnnotationHelper.annotateWithSha256(metadata, createFingerprint(serviceSpec));
+
       // Verify if Kubernetes api server has a matching Service
       // Create or replace, if necessary
       ServerKubernetesObjects sko = info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
 
-      if (sko.getService() == null || !validateCurrentService(service, sko.getService())) {
+      if (sko.getService() == null || !isCurrentService(service, sko.getService(), null)) {
         // There is no Service or Service spec has changed
         // First, verify there is no existing Service
-        Step read = CallBuilder.create().readServiceAsync(name, namespace, new ResponseStep<V1Service>(next) {
+        Step read = ResourceCache.readServiceAsync(packet, name, namespace, new ResponseStep<V1Service>(next) {
           @Override
           public NextAction onFailure(Packet packet, ApiException e, int statusCode,
               Map<String, List<String>> responseHeaders) {
@@ -115,11 +118,12 @@ public class ServiceHelper {
                   
                   LOGGER.info(serverName.equals(spec.getAsName()) ? MessageKeys.ADMIN_SERVICE_CREATED : MessageKeys.MANAGED_SERVICE_CREATED, weblogicDomainUID, serverName);
                   sko.setService(result);
+                  ResourceCache.recordService(packet, result);
                   return doNext(packet);
                 }
               });
               return doNext(create, packet);
-            } else if (AnnotationHelper.checkDomainAnnotation(result.getMetadata(), dom) || validateCurrentService(service, result)) {
+            } else if (isCurrentService(service, result, dom)) {
               // existing Service has correct spec
               LOGGER.info(serverName.equals(spec.getAsName()) ? MessageKeys.ADMIN_SERVICE_EXISTS : MessageKeys.MANAGED_SERVICE_EXISTS, weblogicDomainUID, serverName);
               sko.setService(result);
@@ -142,6 +146,37 @@ public class ServiceHelper {
     }
   }
   
+  private static boolean isCurrentService(V1Service build, V1Service current, Domain domain) {
+    if (domain != null && AnnotationHelper.checkDomainAnnotation(current.getMetadata(), domain)) {
+      return true;
+    }
+    if (AnnotationHelper.hasSha256(current.getMetadata())) {
+      return AnnotationHelper.checkSha256(build.getMetadata(), current.getMetadata());
+    }
+    // Service was created by an earlier version of the operator, without the hash annotation
+    return validateCurrentService(build, current);
+  }
+
+  // the fields of the service compared by validateCurrentService
+  private static Map<String, Object> createFingerprint(V1ServiceSpec spec) {
+    String type = spec.getType() != null ? spec.getType() : "ClusterIP";
+    List<Map<String, Object>> ports = new ArrayList<>();
+    if (spec.getPorts() != null) {
+      for (V1ServicePort p : spec.getPorts()) {
+        Map<String, Object> port = new HashMap<>();
+        port.put("port", p.getPort());
+        if ("NodePort".equals(type)) {
+          port.put("nodePort", p.getNodePort());
+        }
+        ports.add(port);
+      }
+    }
+    Map<String, Object> fingerprint = new HashMap<>();
+    fingerprint.put("type", type);
+    fingerprint.put("ports", AnnotationHelper.unordered(ports));
+    return fingerprint;
+  }
+
   private static boolean validateCurrentService(V1Service build, V1Service current) {
     V1ServiceSpec buildSpec = build.getSpec();
     V1ServiceSpec currentSpec = current.getSpec();
@@ -217,6 +252,7 @@ public class ServiceHelper {
         @Override
         public NextAction onSuccess(Packet packet, V1Status result, int statusCode,
             Map<String, List<String>> responseHeaders) {
+          ResourceCache.evictService(packet, serviceName);
           Step create = CallBuilder.create().createServiceAsync(namespace, newService, new ResponseStep<V1Service>(next) {
             @Override
             public NextAction onSuccess(Packet packet, V1Service result, int statusCode,
@@ -228,6 +264,7 @@ public class ServiceHelper {
               } else {
                 sko.setService(result);
               }
+              ResourceCache.recordService(packet, result);
               return doNext(packet);
             }
           });
@@ -281,6 +318,7 @@ public class ServiceHelper {
       service.setMetadata(metadata);
 
       AnnotationHelper.annotateWithDomain(metadata, dom);
+      AnnotationHelper.addDomainOwnerReference(metadata, dom);
 
       V1ServiceSpec serviceSpec = new V1ServiceSpec();
       serviceSpec.setType("NodePort");
@@ -296,14 +334,16 @@ public class ServiceHelper {
       serviceSpec.setPorts(ports);
       service.setSpec(serviceSpec);
 
+      AnnotationHelper.annotateWithSha256(metadata, createFingerprint(serviceSpec));
+
       // Verify if Kubernetes api server has a matching Service
       // Create or replace, if necessary
       ServerKubernetesObjects sko = info.getServers().computeIfAbsent(serverName, k -> new ServerKubernetesObjects());
 
-      if (sko.getChannels().get(networkAccessPoint.getName()) == null || !validateCurrentService(service, sko.getChannels().get(networkAccessPoint.getName()))) {
+      if (sko.getChannels().get(networkAccessPoint.getName()) == null || !isCurrentService(service, sko.getChannels().get(networkAccessPoint.getName()), null)) {
         // There is no Service or Service spec has changed
         // First, verify there is no existing Service
-        Step read = CallBuilder.create().readServiceAsync(name, namespace, new ResponseStep<V1Service>(next) {
+        Step read = ResourceCache.readServiceAsync(packet, name, namespace, new ResponseStep<V1Service>(next) {
           @Override
           public NextAction onFailure(Packet packet, ApiException e, int statusCode,
               Map<String, List<String>> responseHeaders) {
@@ -324,11 +364,12 @@ public class ServiceHelper {
                   
                   LOGGER.info(serverName.equals(spec.getAsName()) ? MessageKeys.ADMIN_SERVICE_CREATED : MessageKeys.MANAGED_SERVICE_CREATED, weblogicDomainUID, serverName);
                   sko.getChannels().put(networkAccessPoint.getName(), result);
+                  ResourceCache.recordService(packet, result);
                   return doNext(packet);
                 }
               });
               return doNext(create, packet);
-            } else if (AnnotationHelper.checkDomainAnnotation(result.getMetadata(), dom) || validateCurrentService(service, result)) {
+            } else if (isCurrentService(service, result, dom)) {
               // existing Service has correct spec
               LOGGER.info(serverName.equals(spec.getAsName()) ? MessageKeys.ADMIN_SERVICE_EXISTS : MessageKeys.MANAGED_SERVICE_EXISTS, weblogicDomainUID, serverName);
               sko.getChannels().put(networkAccessPoint.getName(), result);
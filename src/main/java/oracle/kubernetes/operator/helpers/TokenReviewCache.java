@@ -0,0 +1,152 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.kubernetes.client.models.V1TokenReviewStatus;
+
+/**
+ * Bounded cache of token review results, so that clients calling the REST server repeatedly with
+ * the same token are not reviewed by Kubernetes on every request.  Entries are keyed by a SHA-256
+ * hash of the token; tokens themselves are never held.  Failed reviews are cached for a shorter
+ * time than successful ones, and reviews that could not be completed are not cached at all.
+ */
+public class TokenReviewCache {
+  // time a successful review is reused - default is 60s
+  private static final long TTL_MILLIS = Integer.getInteger("token.review.cache.ttl.seconds", 60) * 1000L;
+
+  // time a failed review is reused - default is 10s
+  private static final long NEGATIVE_TTL_MILLIS = Integer.getInteger("token.review.cache.negative.ttl.seconds", 10) * 1000L;
+
+  // maximum number of cached reviews - default is 1000
+  private static final int MAX_ENTRIES = Integer.getInteger("token.review.cache.size", 1000);
+
+  private static final TokenReviewCache SINGLETON = new TokenReviewCache(MAX_ENTRIES, TTL_MILLIS, NEGATIVE_TTL_MILLIS);
+
+  private final long ttlMillis;
+  private final long negativeTtlMillis;
+  private final ExpiringCache<String, V1TokenReviewStatus> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder negativeHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public static TokenReviewCache getInstance() {
+    return SINGLETON;
+  }
+
+  TokenReviewCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+    this.ttlMillis = ttlMillis;
+    this.negativeTtlMillis = negativeTtlMillis;
+    this.entries = new ExpiringCache<>(maxEntries);
+  }
+
+  /**
+   * Returns the cached review of the token, if there is one that has not expired
+   * @param token Access token
+   * @return Cached review status, or null
+   */
+  public V1TokenReviewStatus get(String token) {
+    V1TokenReviewStatus status = entries.get(hash(token));
+    if (status == null) {
+      misses.increment();
+    } else if (isAuthenticated(status)) {
+      hits.increment();
+    } else {
+      negativeHits.increment();
+    }
+    return status;
+  }
+
+  /**
+   * Caches the review of the token
+   * @param token Access token
+   * @param status Review status; null, if the review could not be completed, in which case nothing is cached
+   */
+  public void put(String token, V1TokenReviewStatus status) {
+    if (status != null) {
+      entries.put(hash(token), status, isAuthenticated(status) ? ttlMillis : negativeTtlMillis);
+    }
+  }
+
+  /**
+   * Discards all cached reviews
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  private static boolean isAuthenticated(V1TokenReviewStatus status) {
+    return status.getError() == null && Boolean.TRUE.equals(status.isAuthenticated()) && status.getUser() != null;
+  }
+
+  private static String hash(String token) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      byte[] digest = md.digest((token != null ? token : "").getBytes(StandardCharsets.UTF_8));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform is required to support SHA-256
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * Number of cached reviews
+   * @return Size
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Number of requests answered with a cached successful review
+   * @return Hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of requests answered with a cached failed review
+   * @return Negative hits
+   */
+  public long getNegativeHits() {
+    return negativeHits.sum();
+  }
+
+  /**
+   * Number of requests that required a review by Kubernetes
+   * @return Misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Number of reviews evicted because the cache was full
+   * @return Evictions
+   */
+  public long getEvictions() {
+    return entries.getEvictions();
+  }
+
+  /**
+   * Fraction of requests answered from the cache
+   * @return Hit rate between 0 and 1
+   */
+  public double getHitRate() {
+    long answered = hits.sum() + negativeHits.sum();
+    long total = answered + misses.sum();
+    return total == 0 ? 0 : (double) answered / total;
+  }
+}
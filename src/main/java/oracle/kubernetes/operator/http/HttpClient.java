@@ -19,20 +19,57 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
 
+import org.glassfish.jersey.client.ClientProperties;
+
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * HTTP Client
+ * 
+ * All instances share one Jersey client, so connections to admin servers are kept alive and
+ * reused across reconciles.  Asynchronous requests run on the client's own thread pool, which
+ * keeps a slow or hung admin server from holding a fiber thread.  The connector reads responses
+ * with blocking I/O, so each request in progress holds a pool thread until it completes or its
+ * read timeout expires, even after the fiber has stopped waiting for it.  The pool therefore adds
+ * threads as requests arrive rather than queueing them behind hung requests, and only rejects
+ * requests once a large number are in progress at the same time.  {@link #shutdown()} stops its
+ * threads when the operator stops.
  */
 public class HttpClient {
   public static final String KEY = "httpClient";
+  public static final String RESPONSE_KEY = "httpClient-response";
+  public static final String THROWABLE_KEY = "httpClient-throwable";
 
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  // maximum number of asynchronous requests in progress, each holding a thread - default is 200
+  private static final int ASYNC_MAX_REQUESTS = Integer.getInteger("http.client.async.max.requests", 200);
+
+  // time that an idle thread of the asynchronous request pool is kept - default is 60s
+  private static final long ASYNC_KEEP_ALIVE_SECONDS = 60;
+
+  // connect and read timeout for each request - default is 30s
+  private static final int TIMEOUT_MILLIS = Integer.getInteger("http.client.timeout.ms", 30000);
+
+  private static final ExecutorService ASYNC_EXECUTOR = createAsyncExecutor(ASYNC_MAX_REQUESTS);
+
+  private static final Client SHARED_CLIENT = createClient(ASYNC_EXECUTOR);
+
   private Client httpClient;
   private String principal;
   private String encodedCredentials;
@@ -42,26 +79,48 @@ public class HttpClient {
   // for debugging
   private static final String SERVICE_URL = System.getProperty("oracle.kubernetes.operator.http.HttpClient.SERVICE_URL");
 
+  static Client createClient(ExecutorService asyncExecutor) {
+    return ClientBuilder.newBuilder()
+        .executorService(asyncExecutor)
+        .property(ClientProperties.CONNECT_TIMEOUT, TIMEOUT_MILLIS)
+        .property(ClientProperties.READ_TIMEOUT, TIMEOUT_MILLIS)
+        .build();
+  }
+
+  // threads are created on demand and handed each request directly, so a request never waits
+  // behind requests to hung admin servers; requests beyond the maximum are rejected
+  static ExecutorService createAsyncExecutor(int maxRequests) {
+    AtomicInteger threadNumber = new AtomicInteger(1);
+    return new ThreadPoolExecutor(0, maxRequests,
+        ASYNC_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+          Thread t = new Thread(r);
+          t.setName("Thread-HttpClient-" + threadNumber.getAndIncrement());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
   private HttpClient(Client httpClient, String principal, String encodedCredentials) {
     this.httpClient = httpClient;
     this.principal = principal;
     this.encodedCredentials = encodedCredentials;
   }
 
+  /**
+   * Closes the shared client and stops the threads running asynchronous requests.  Requests that
+   * are still in progress are interrupted, and later requests fail.
+   */
+  public static void shutdown() {
+    SHARED_CLIENT.close();
+    ASYNC_EXECUTOR.shutdownNow();
+  }
+
   public String executeGetOnServiceClusterIP(String requestUrl, ClientHolder client, String serviceName, String namespace) {
     String serviceURL = SERVICE_URL == null ? getServiceURL(client, principal, serviceName, namespace) : SERVICE_URL;
     String url = serviceURL + requestUrl;
     WebTarget target = httpClient.target(url);
     Invocation.Builder invocationBuilder = target.request().accept("application/json").header("Authorization", "Basic " + encodedCredentials);
-    Response response = invocationBuilder.get();
-    if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
-      if (response.hasEntity()) {
-        return String.valueOf(response.readEntity(String.class));
-      }
-    } else {
-      LOGGER.warning(MessageKeys.HTTP_METHOD_FAILED, "GET", url, response.getStatus());
-    }
-    return null;
+    return readResponse("GET", url, invocationBuilder.get());
   }
 
   public String executePostUrlOnServiceClusterIP(String requestUrl, ClientHolder client, String serviceName, String namespace, String payload) {
@@ -71,20 +130,154 @@ public class HttpClient {
   
   public String executePostUrlOnServiceClusterIP(String requestUrl, String serviceURL, String serviceName, String namespace, String payload) {
     String url = serviceURL + requestUrl;
+    return readResponse("POST", url, createPost(url).post(Entity.json(payload)));
+  }
+
+  /**
+   * Starts a POST request without waiting for the response
+   * @param url URL
+   * @param payload JSON payload
+   * @param callback Callback for the response, which is closed after the callback returns
+   * @return Future for the request, which may be cancelled
+   */
+  public Future<Response> executePostUrlAsync(String url, String payload, InvocationCallback<Response> callback) {
+    return createPost(url).async().post(Entity.json(payload), callback);
+  }
+
+  private Invocation.Builder createPost(String url) {
     WebTarget target = httpClient.target(url);
-    Invocation.Builder invocationBuilder = target.request().accept("application/json")
+    return target.request().accept("application/json")
         .header("Authorization", "Basic " + encodedCredentials)
         .header("X-Requested-By", "MyClient");
-    Response response = invocationBuilder.post(Entity.json(payload));
-    LOGGER.finer("Response is  " + response.getStatusInfo());
-    if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
-      if (response.hasEntity()) {
-        return String.valueOf(response.readEntity(String.class));
+  }
+
+  private static String readResponse(String method, String url, Response response) {
+    try {
+      LOGGER.finer("Response is  " + response.getStatusInfo());
+      if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+        if (response.hasEntity()) {
+          return String.valueOf(response.readEntity(String.class));
+        }
+      } else {
+        LOGGER.warning(MessageKeys.HTTP_METHOD_FAILED, method, url, response.getStatus());
       }
-    } else {
-      LOGGER.warning(MessageKeys.HTTP_METHOD_FAILED, "POST", url, response.getStatus());
+      return null;
+    } finally {
+      // return the connection for reuse
+      response.close();
+    }
+  }
+
+  /**
+   * Asynchronous {@link Step} for a POST request using the authenticated client found in the packet
+   * under {@link #KEY}.  The fiber is suspended until the response arrives or the request times out.
+   * The next step finds the response body, which may be null, under {@link #RESPONSE_KEY}, or the
+   * failure under {@link #THROWABLE_KEY}.
+   * @param requestUrl Request URL, relative to the service URL
+   * @param serviceURL Service URL
+   * @param payload JSON payload
+   * @param next Next processing step
+   * @return step to POST the request
+   */
+  public static Step createPostStep(String requestUrl, String serviceURL, String payload, Step next) {
+    return createPostStep(requestUrl, serviceURL, payload, TIMEOUT_MILLIS, next);
+  }
+
+  static Step createPostStep(String requestUrl, String serviceURL, String payload, long timeoutMillis, Step next) {
+    return new PostStep(requestUrl, serviceURL, payload, timeoutMillis, next);
+  }
+
+  private static class PostStep extends Step {
+    private final String requestUrl;
+    private final String serviceURL;
+    private final String payload;
+    private final long timeoutMillis;
+
+    public PostStep(String requestUrl, String serviceURL, String payload, long timeoutMillis, Step next) {
+      super(next);
+      this.requestUrl = requestUrl;
+      this.serviceURL = serviceURL;
+      this.payload = payload;
+      this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      HttpClient httpClient = (HttpClient) packet.get(KEY);
+      String url = serviceURL + requestUrl;
+      packet.remove(RESPONSE_KEY);
+      packet.remove(THROWABLE_KEY);
+
+      AtomicBoolean didResume = new AtomicBoolean(false);
+      // timeout of the request, canceled once the request completes so that the executor does not hold it
+      // until it expires.  Completion cancels it after marking the fiber resumed, and scheduling checks
+      // for completion after storing it, so whichever happens last cancels it.
+      AtomicReference<ScheduledFuture<?>> timeout = new AtomicReference<>();
+      Runnable cancelTimeout = () -> {
+        ScheduledFuture<?> t = timeout.getAndSet(null);
+        if (t != null) {
+          t.cancel(false);
+        }
+      };
+      return doSuspend((fiber) -> {
+        InvocationCallback<Response> callback = new InvocationCallback<Response>() {
+          @Override
+          public void completed(Response response) {
+            String body = null;
+            Throwable failure = null;
+            try {
+              body = readResponse("POST", url, response);
+            } catch (Throwable t) {
+              failure = t;
+            }
+            if (didResume.compareAndSet(false, true)) {
+              if (failure != null) {
+                packet.put(THROWABLE_KEY, failure);
+              } else if (body != null) {
+                packet.put(RESPONSE_KEY, body);
+              }
+              fiber.resume(packet);
+            }
+            cancelTimeout.run();
+          }
+
+          @Override
+          public void failed(Throwable throwable) {
+            if (didResume.compareAndSet(false, true)) {
+              packet.put(THROWABLE_KEY, throwable);
+              fiber.resume(packet);
+            }
+            cancelTimeout.run();
+          }
+        };
+
+        try {
+          Future<Response> f = httpClient.executePostUrlAsync(url, payload, callback);
+
+          // timeout handling, in case the request is stuck before the read timeout applies
+          timeout.set(fiber.owner.getExecutor().schedule(() -> {
+            if (didResume.compareAndSet(false, true)) {
+              try {
+                f.cancel(true);
+              } finally {
+                LOGGER.info(MessageKeys.HTTP_REQUEST_TIMED_OUT, "POST", url, timeoutMillis);
+                packet.put(THROWABLE_KEY, new TimeoutException(url));
+                fiber.resume(packet);
+              }
+            }
+          }, timeoutMillis, TimeUnit.MILLISECONDS));
+          if (didResume.get()) {
+            // completed before the timeout was scheduled
+            cancelTimeout.run();
+          }
+        } catch (Throwable t) {
+          if (didResume.compareAndSet(false, true)) {
+            packet.put(THROWABLE_KEY, t);
+            fiber.resume(packet);
+          }
+        }
+      });
     }
-    return null;
   }
 
   /**
@@ -174,8 +367,11 @@ public class HttpClient {
   public static HttpClient createAuthenticatedClient(String principal,
                                                      final byte[] username,
                                                      final byte[] password) {
-    // build client with authentication information.
-    Client client = ClientBuilder.newClient();
+    // the shared client is used with authentication information for this admin server.
+    return createAuthenticatedClient(SHARED_CLIENT, principal, username, password);
+  }
+
+  static HttpClient createAuthenticatedClient(Client client, String principal, byte[] username, byte[] password) {
     String encodedCredentials = null;
     if (username != null && password != null) {
       byte[] usernameAndPassword = new byte[username.length + password.length + 1];
@@ -125,5 +125,16 @@ public class MessageKeys {
   public static final String ROLLING_SERVERS = "WLSKO-0109";
   public static final String REMOVING_INGRESS = "WLSKO-0110";
   public static final String LIST_INGRESS_FOR_DOMAIN = "WLSKO-0111";
+  public static final String WATCH_RESOURCE_VERSION_EXPIRED = "WLSKO-0112";
+  public static final String WATCH_HUB_STARTED = "WLSKO-0113";
+  public static final String WATCH_HUB_STOPPED = "WLSKO-0114";
+  public static final String TARGET_NAMESPACES_ADDED = "WLSKO-0115";
+  public static final String TARGET_NAMESPACES_REMOVED = "WLSKO-0116";
+  public static final String WATCHING_ALL_NAMESPACES = "WLSKO-0117";
+  public static final String HTTP_REQUEST_TIMED_OUT = "WLSKO-0118";
+  public static final String STATUS_EVENTS_SUBSCRIBED = "WLSKO-0119";
+  public static final String STATUS_EVENTS_UNSUBSCRIBED = "WLSKO-0120";
+  public static final String API_RATE_LIMIT_CHANGED = "WLSKO-0121";
+  public static final String ROLLING_CLUSTER = "WLSKO-0122";
 
 }
@@ -0,0 +1,96 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+/**
+ * Records the count, status code and latency of each Kubernetes API request made by an API
+ * client, for both synchronous and asynchronous calls.  Requests are labeled with the Kubernetes
+ * verb and resource parsed from the request, so that, for instance, reading and listing pods are
+ * reported separately.  Watch requests are counted, but their latency is not recorded because it
+ * is the server side timeout of the watch.
+ */
+public class ApiMetricsInterceptor implements Interceptor {
+  private static final ApiMetricsInterceptor SINGLETON = new ApiMetricsInterceptor(OperatorMetrics.getInstance());
+
+  private final OperatorMetrics metrics;
+
+  public static ApiMetricsInterceptor getInstance() {
+    return SINGLETON;
+  }
+
+  ApiMetricsInterceptor(OperatorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    long start = System.nanoTime();
+    String code = "error";
+    try {
+      Response response = chain.proceed(request);
+      code = Integer.toString(response.code());
+      return response;
+    } finally {
+      record(request, code, (System.nanoTime() - start) / 1e9);
+    }
+  }
+
+  private void record(Request request, String code, double seconds) {
+    HttpUrl url = request.httpUrl();
+    List<String> segments = url.pathSegments();
+
+    // /api/v1/... or /apis/{group}/{version}/..., then optionally namespaces/{namespace}/...
+    int i = 0;
+    if (i < segments.size() && "apis".equals(segments.get(i))) {
+      i += 3;
+    } else if (i < segments.size() && "api".equals(segments.get(i))) {
+      i += 2;
+    }
+    if (i + 2 < segments.size() && "namespaces".equals(segments.get(i))) {
+      i += 2;
+    }
+    String resource = i < segments.size() ? segments.get(i) : "";
+    boolean isNamed = i + 1 < segments.size();
+    if (i + 2 < segments.size()) {
+      // subresource, such as the status of a domain
+      resource = resource + "/" + segments.get(i + 2);
+    }
+
+    String verb = getVerb(request.method(), isNamed, "true".equals(url.queryParameter("watch")));
+    if ("watch".equals(verb)) {
+      metrics.recordApiRequest(verb, resource, code);
+    } else {
+      metrics.recordApiRequest(verb, resource, code, seconds);
+    }
+  }
+
+  private static String getVerb(String method, boolean isNamed, boolean isWatch) {
+    switch (method) {
+    case "GET":
+      if (isWatch) {
+        return "watch";
+      }
+      return isNamed ? "get" : "list";
+    case "POST":
+      return "create";
+    case "PUT":
+      return "update";
+    case "PATCH":
+      return "patch";
+    case "DELETE":
+      return isNamed ? "delete" : "deletecollection";
+    default:
+      return method.toLowerCase();
+    }
+  }
+}
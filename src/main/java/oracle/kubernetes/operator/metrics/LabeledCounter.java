@@ -0,0 +1,71 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Family of counters, one for each combination of label values.  Increments are lock-free so that
+ * the counters can be updated on hot paths.
+ */
+public class LabeledCounter {
+  private final String[] labelNames;
+  private final Map<List<String>, LongAdder> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates counter family
+   * @param labelNames Names of the labels that distinguish the counters
+   */
+  public LabeledCounter(String... labelNames) {
+    this.labelNames = Arrays.copyOf(labelNames, labelNames.length);
+  }
+
+  /**
+   * Increments the counter for the label values
+   * @param labelValues Label values, in the order of the label names
+   */
+  public void inc(String... labelValues) {
+    counters.computeIfAbsent(Arrays.asList(labelValues), k -> new LongAdder()).increment();
+  }
+
+  /**
+   * Current value of the counter for the label values
+   * @param labelValues Label values, in the order of the label names
+   * @return Value, or 0 if the counter was never incremented
+   */
+  public long get(String... labelValues) {
+    LongAdder counter = counters.get(Arrays.asList(labelValues));
+    return counter != null ? counter.sum() : 0;
+  }
+
+  /**
+   * Removes the counters whose label values match, such as those of a resource that is gone
+   * @param labelValues Predicate on the label values, in the order of the label names
+   */
+  public void removeIf(Predicate<List<String>> labelValues) {
+    counters.keySet().removeIf(labelValues);
+  }
+
+  /**
+   * Names of the labels
+   * @return Label names
+   */
+  public String[] getLabelNames() {
+    return Arrays.copyOf(labelNames, labelNames.length);
+  }
+
+  /**
+   * Counters by label values
+   * @return Unmodifiable view of the counters
+   */
+  public Map<List<String>, LongAdder> getCounters() {
+    return Collections.unmodifiableMap(counters);
+  }
+}
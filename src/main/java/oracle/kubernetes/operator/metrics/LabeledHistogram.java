@@ -0,0 +1,74 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import oracle.kubernetes.operator.work.Histogram;
+
+/**
+ * Family of {@link Histogram}s with the same buckets, one for each combination of label values
+ */
+public class LabeledHistogram {
+  private final String[] labelNames;
+  private final double[] bounds;
+  private final Map<List<String>, Histogram> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Creates histogram family
+   * @param bounds Upper bounds of the buckets, in increasing order
+   * @param labelNames Names of the labels that distinguish the histograms
+   */
+  public LabeledHistogram(double[] bounds, String... labelNames) {
+    this.bounds = Arrays.copyOf(bounds, bounds.length);
+    this.labelNames = Arrays.copyOf(labelNames, labelNames.length);
+  }
+
+  /**
+   * Records an observation in the histogram for the label values
+   * @param value Observed value
+   * @param labelValues Label values, in the order of the label names
+   */
+  public void observe(double value, String... labelValues) {
+    histograms.computeIfAbsent(Arrays.asList(labelValues), k -> new Histogram(bounds)).observe(value);
+  }
+
+  /**
+   * Histogram for the label values
+   * @param labelValues Label values, in the order of the label names
+   * @return Histogram, or null if there were no observations
+   */
+  public Histogram get(String... labelValues) {
+    return histograms.get(Arrays.asList(labelValues));
+  }
+
+  /**
+   * Removes the histograms whose label values match, such as those of a resource that is gone
+   * @param labelValues Predicate on the label values, in the order of the label names
+   */
+  public void removeIf(Predicate<List<String>> labelValues) {
+    histograms.keySet().removeIf(labelValues);
+  }
+
+  /**
+   * Names of the labels
+   * @return Label names
+   */
+  public String[] getLabelNames() {
+    return Arrays.copyOf(labelNames, labelNames.length);
+  }
+
+  /**
+   * Histograms by label values
+   * @return Unmodifiable view of the histograms
+   */
+  public Map<List<String>, Histogram> getHistograms() {
+    return Collections.unmodifiableMap(histograms);
+  }
+}
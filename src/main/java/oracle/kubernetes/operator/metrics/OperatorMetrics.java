@@ -0,0 +1,313 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import oracle.kubernetes.operator.helpers.ApiRateLimiter;
+import oracle.kubernetes.operator.helpers.AuthorizationProxy;
+import oracle.kubernetes.operator.helpers.ClientHelper;
+import oracle.kubernetes.operator.helpers.DomainRegistry;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents;
+import oracle.kubernetes.operator.helpers.TokenReviewCache;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.EngineMetrics;
+
+/**
+ * Metrics of the operator: domain processing, Kubernetes API calls and watches, the fiber engines
+ * and the operator's caches.  Durations are in seconds.  Components with metrics of their own,
+ * such as the REST server, add them with {@link #register(String, Collector)}.
+ */
+public class OperatorMetrics {
+  private static final String PREFIX = "weblogic_operator_";
+
+  private static final double[] API_BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+  private static final double[] WATCH_BUCKETS = { 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30 };
+  private static final double[] RECONCILE_BUCKETS = { 0.1, 0.5, 1, 5, 10, 30, 60, 120, 300, 600, 1800 };
+
+  private static final OperatorMetrics SINGLETON = new OperatorMetrics();
+
+  /**
+   * Writes the metrics of a component
+   */
+  public interface Collector {
+    /**
+     * Writes the component's metrics
+     * @param writer Writer
+     */
+    void collect(PrometheusWriter writer);
+  }
+
+  private final LabeledCounter apiRequests = new LabeledCounter("verb", "resource", "code");
+  private final LabeledHistogram apiRequestTime = new LabeledHistogram(API_BUCKETS, "verb", "resource");
+  private final LabeledCounter apiRetries = new LabeledCounter("code");
+  private final LabeledCounter watchEvents = new LabeledCounter("kind", "namespace", "type");
+  private final LabeledHistogram watchEventTime = new LabeledHistogram(WATCH_BUCKETS, "kind");
+  private final LabeledHistogram watchLag = new LabeledHistogram(WATCH_BUCKETS, "kind", "namespace");
+  private final LabeledHistogram reconcileTime = new LabeledHistogram(RECONCILE_BUCKETS, "domainUID");
+  private final LabeledCounter reconcileFailures = new LabeledCounter("domainUID");
+
+  private final Map<String, Engine> engines = new ConcurrentHashMap<>();
+  private final Map<String, Collector> collectors = new ConcurrentHashMap<>();
+
+  public static OperatorMetrics getInstance() {
+    return SINGLETON;
+  }
+
+  OperatorMetrics() {
+  }
+
+  /**
+   * Records a completed Kubernetes API request
+   * @param verb Kubernetes verb, such as list or patch
+   * @param resource Resource type, such as pods
+   * @param code HTTP status code, or "error" if there was no response
+   * @param seconds Time from sending the request until the response headers were received
+   */
+  public void recordApiRequest(String verb, String resource, String code, double seconds) {
+    apiRequests.inc(verb, resource, code);
+    apiRequestTime.observe(seconds, verb, resource);
+  }
+
+  /**
+   * Records a completed Kubernetes API request without its latency, such as a watch
+   * @param verb Kubernetes verb
+   * @param resource Resource type
+   * @param code HTTP status code, or "error" if there was no response
+   */
+  public void recordApiRequest(String verb, String resource, String code) {
+    apiRequests.inc(verb, resource, code);
+  }
+
+  /**
+   * Records that a failed Kubernetes API request will be retried
+   * @param statusCode HTTP status code of the failure, or 0 for a timeout
+   */
+  public void recordApiRetry(int statusCode) {
+    apiRetries.inc(Integer.toString(statusCode));
+  }
+
+  /**
+   * Records a watch event
+   * @param kind Kind of the watched objects
+   * @param namespace Namespace of the event's object
+   * @param type Event type
+   * @param seconds Time to process the event
+   */
+  public void recordWatchEvent(String kind, String namespace, String type, double seconds) {
+    watchEvents.inc(kind, namespace != null ? namespace : "", type);
+    watchEventTime.observe(seconds, kind);
+  }
+
+  /**
+   * Records how long a watch event waited between being read and being delivered
+   * @param kind Kind of the watched objects
+   * @param namespace Namespace of the event's object
+   * @param seconds Lag
+   */
+  public void recordWatchLag(String kind, String namespace, double seconds) {
+    watchLag.observe(seconds, kind, namespace != null ? namespace : "");
+  }
+
+  /**
+   * Records the processing of a domain, from when it was started until it completed
+   * @param domainUID Domain UID
+   * @param seconds Duration
+   * @param isSuccess true, if the processing completed without failure
+   */
+  public void recordReconcile(String domainUID, double seconds, boolean isSuccess) {
+    reconcileTime.observe(seconds, domainUID);
+    if (!isSuccess) {
+      reconcileFailures.inc(domainUID);
+    }
+  }
+
+  /**
+   * Removes the metrics labeled with a domain that is no longer managed
+   * @param domainUID Domain UID
+   */
+  public void forgetDomain(String domainUID) {
+    reconcileTime.removeIf(labelValues -> domainUID.equals(labelValues.get(0)));
+    reconcileFailures.removeIf(labelValues -> domainUID.equals(labelValues.get(0)));
+    for (Engine engine : engines.values()) {
+      // steps are labeled with the domain they process
+      engine.getMetrics().getStepTime().removeIf(labelValues -> domainUID.equals(labelValues.get(0)));
+    }
+  }
+
+  /**
+   * Removes the metrics labeled with a namespace that is no longer a target namespace
+   * @param namespace Namespace
+   */
+  public void forgetNamespace(String namespace) {
+    watchEvents.removeIf(labelValues -> namespace.equals(labelValues.get(1)));
+    watchLag.removeIf(labelValues -> namespace.equals(labelValues.get(1)));
+  }
+
+  /**
+   * Adds the metrics of an engine's fibers, labeled with the engine's id
+   * @param engine Engine
+   */
+  public void registerEngine(Engine engine) {
+    engines.put(engine.id, engine);
+  }
+
+  /**
+   * Removes the metrics of an engine
+   * @param engine Engine
+   */
+  public void unregisterEngine(Engine engine) {
+    engines.remove(engine.id, engine);
+  }
+
+  /**
+   * Adds the metrics of a component
+   * @param name Component name
+   * @param collector Collector
+   */
+  public void register(String name, Collector collector) {
+    collectors.put(name, collector);
+  }
+
+  /**
+   * Removes the metrics of a component
+   * @param name Component name
+   */
+  public void unregister(String name) {
+    collectors.remove(name);
+  }
+
+  LabeledCounter getApiRequests() {
+    return apiRequests;
+  }
+
+  LabeledCounter getWatchEvents() {
+    return watchEvents;
+  }
+
+  LabeledHistogram getWatchLag() {
+    return watchLag;
+  }
+
+  LabeledHistogram getReconcileTime() {
+    return reconcileTime;
+  }
+
+  /**
+   * Writes all metrics
+   * @param writer Writer
+   */
+  public void collect(PrometheusWriter writer) {
+    writer.counter(PREFIX + "api_requests_total", "Kubernetes API requests by verb, resource and HTTP status code.", apiRequests);
+    writer.histogram(PREFIX + "api_request_duration_seconds", "Latency of Kubernetes API requests, other than watches.", apiRequestTime);
+    writer.counter(PREFIX + "api_retries_total", "Kubernetes API requests retried after a failure, by HTTP status code.", apiRetries);
+    writer.counter(PREFIX + "watch_events_total", "Watch events by kind, namespace and event type.", watchEvents);
+    writer.histogram(PREFIX + "watch_event_duration_seconds", "Time to process a watch event.", watchEventTime);
+    writer.histogram(PREFIX + "watch_lag_seconds", "Time watch events waited between being read and being delivered, by kind and namespace.", watchLag);
+    writer.histogram(PREFIX + "reconcile_duration_seconds", "Time to bring a domain to its desired state.", reconcileTime);
+    writer.counter(PREFIX + "reconcile_failures_total", "Domain processing that ended with a failure.", reconcileFailures);
+
+    collectRateLimiter(writer);
+    collectClients(writer);
+    collectEngines(writer);
+    collectCaches(writer);
+
+    for (Collector collector : collectors.values()) {
+      collector.collect(writer);
+    }
+  }
+
+  private void collectRateLimiter(PrometheusWriter writer) {
+    ApiRateLimiter limiter = ApiRateLimiter.getInstance();
+    writer.metric(PREFIX + "api_rate_limit", PrometheusWriter.GAUGE, "Kubernetes API requests allowed per second, or 0 for no limit.", limiter.getRate());
+    writer.metric(PREFIX + "api_rate_burst", PrometheusWriter.GAUGE, "Kubernetes API requests allowed at once after a quiet period.", limiter.getBurst());
+
+    String[] labels = { "priority" };
+    writer.header(PREFIX + "api_rate_queued_requests", PrometheusWriter.GAUGE, "Kubernetes API requests waiting for the rate limiter.");
+    for (ApiRateLimiter.Priority priority : ApiRateLimiter.Priority.values()) {
+      writer.sample(PREFIX + "api_rate_queued_requests", labels, new String[] { priority.name() }, limiter.getQueued(priority));
+    }
+    writer.header(PREFIX + "api_rate_throttled_total", PrometheusWriter.COUNTER, "Kubernetes API requests that waited for the rate limiter.");
+    for (ApiRateLimiter.Priority priority : ApiRateLimiter.Priority.values()) {
+      writer.sample(PREFIX + "api_rate_throttled_total", labels, new String[] { priority.name() }, limiter.getThrottled(priority));
+    }
+    writer.header(PREFIX + "api_rate_wait_seconds", PrometheusWriter.HISTOGRAM, "Time Kubernetes API requests waited for the rate limiter.");
+    for (ApiRateLimiter.Priority priority : ApiRateLimiter.Priority.values()) {
+      writer.histogramSamples(PREFIX + "api_rate_wait_seconds", labels, new String[] { priority.name() }, limiter.getWaitTime(priority));
+    }
+  }
+
+  private void collectClients(PrometheusWriter writer) {
+    ClientHelper clients = ClientHelper.getInstance();
+    writer.metric(PREFIX + "client_pool_max_size", PrometheusWriter.GAUGE, "Maximum number of pooled Kubernetes API clients.", clients.getMaxSize());
+    writer.metric(PREFIX + "client_pool_in_use", PrometheusWriter.GAUGE, "Kubernetes API clients taken from the pool.", clients.getInUse());
+    writer.metric(PREFIX + "client_pool_idle", PrometheusWriter.GAUGE, "Kubernetes API clients waiting in the pool.", clients.getIdle());
+    writer.metric(PREFIX + "client_pool_created_total", PrometheusWriter.COUNTER, "Kubernetes API clients created.", clients.getCreated());
+    writer.metric(PREFIX + "client_pool_overflows_total", PrometheusWriter.COUNTER,
+        "Kubernetes API clients created beyond the maximum size because none was recycled in time.", clients.getOverflows());
+    writer.header(PREFIX + "client_pool_acquire_seconds", PrometheusWriter.HISTOGRAM, "Time to take a Kubernetes API client from the pool.");
+    writer.histogramSamples(PREFIX + "client_pool_acquire_seconds", new String[0], new String[0], clients.getAcquireTime());
+
+    writer.metric(PREFIX + "client_running_requests", PrometheusWriter.GAUGE, "Asynchronous Kubernetes API requests in progress.", clients.getDispatcher().getRunningCallCount());
+    writer.metric(PREFIX + "client_queued_requests", PrometheusWriter.GAUGE, "Asynchronous Kubernetes API requests waiting for the dispatcher.", clients.getDispatcher().getQueuedCallCount());
+    writer.metric(PREFIX + "client_connections", PrometheusWriter.GAUGE, "Open connections to the API server.", clients.getConnectionPool().getConnectionCount());
+    writer.metric(PREFIX + "client_idle_connections", PrometheusWriter.GAUGE, "Idle connections to the API server.", clients.getConnectionPool().getIdleConnectionCount());
+    writer.metric(PREFIX + "client_multiplexed_connections", PrometheusWriter.GAUGE, "HTTP/2 connections to the API server.", clients.getConnectionPool().getMultiplexedConnectionCount());
+  }
+
+  private void collectEngines(PrometheusWriter writer) {
+    String[] labels = { "engine" };
+    writer.header(PREFIX + "engine_queue_depth", PrometheusWriter.GAUGE, "Fibers waiting for a thread.");
+    for (Engine engine : engines.values()) {
+      writer.sample(PREFIX + "engine_queue_depth", labels, new String[] { engine.id }, engine.getMetrics().getQueueDepth());
+    }
+    writer.header(PREFIX + "engine_active_fibers", PrometheusWriter.GAUGE, "Fibers started and not yet completed.");
+    for (Engine engine : engines.values()) {
+      writer.sample(PREFIX + "engine_active_fibers", labels, new String[] { engine.id }, engine.getMetrics().getActiveFibers());
+    }
+    writer.header(PREFIX + "engine_running_fibers", PrometheusWriter.GAUGE, "Fibers running on a thread.");
+    for (Engine engine : engines.values()) {
+      writer.sample(PREFIX + "engine_running_fibers", labels, new String[] { engine.id }, engine.getMetrics().getRunningFibers());
+    }
+    writer.header(PREFIX + "engine_suspended_fibers", PrometheusWriter.GAUGE, "Fibers suspended while waiting for asynchronous work.");
+    for (Engine engine : engines.values()) {
+      writer.sample(PREFIX + "engine_suspended_fibers", labels, new String[] { engine.id }, engine.getMetrics().getSuspendedFibers());
+    }
+    writer.header(PREFIX + "engine_fiber_run_seconds", PrometheusWriter.HISTOGRAM, "Time fibers run on a thread each time they are scheduled.");
+    for (Engine engine : engines.values()) {
+      writer.histogramSamples(PREFIX + "engine_fiber_run_seconds", labels, new String[] { engine.id }, engine.getMetrics().getRunTime());
+    }
+    writer.header(PREFIX + "engine_fiber_duration_seconds", PrometheusWriter.HISTOGRAM, "Time from when fibers are started until they complete.");
+    for (Engine engine : engines.values()) {
+      writer.histogramSamples(PREFIX + "engine_fiber_duration_seconds", labels, new String[] { engine.id }, engine.getMetrics().getFiberTime());
+    }
+
+    String[] stepLabels = { "engine", "label", "step" };
+    writer.header(PREFIX + "step_duration_seconds", PrometheusWriter.HISTOGRAM,
+        "Time spent in each step of domain processing, including time waiting for the step's asynchronous work.");
+    for (Engine engine : engines.values()) {
+      EngineMetrics metrics = engine.getMetrics();
+      metrics.getStepTime().getHistograms().forEach((labelValues, histogram) ->
+          writer.histogramSamples(PREFIX + "step_duration_seconds", stepLabels,
+              new String[] { engine.id, labelValues.get(0), labelValues.get(1) }, histogram));
+    }
+  }
+
+  private void collectCaches(PrometheusWriter writer) {
+    TokenReviewCache tokenReviews = TokenReviewCache.getInstance();
+    writer.metric(PREFIX + "token_review_cache_hits_total", PrometheusWriter.COUNTER, "Token reviews answered from the cache.", tokenReviews.getHits());
+    writer.metric(PREFIX + "token_review_cache_negative_hits_total", PrometheusWriter.COUNTER, "Failed token reviews answered from the cache.", tokenReviews.getNegativeHits());
+    writer.metric(PREFIX + "token_review_cache_misses_total", PrometheusWriter.COUNTER, "Token reviews sent to Kubernetes.", tokenReviews.getMisses());
+    writer.metric(PREFIX + "token_review_cache_evictions_total", PrometheusWriter.COUNTER, "Token reviews evicted from the cache.", tokenReviews.getEvictions());
+    writer.metric(PREFIX + "authorization_cache_hits_total", PrometheusWriter.COUNTER, "Access reviews answered from the cache.", AuthorizationProxy.getCacheHits());
+    writer.metric(PREFIX + "authorization_cache_misses_total", PrometheusWriter.COUNTER, "Access reviews sent to Kubernetes.", AuthorizationProxy.getCacheMisses());
+    writer.metric(PREFIX + "domains", PrometheusWriter.GAUGE, "Domains managed by the operator.", DomainRegistry.getInstance().getSnapshot().getDomainUIDs().size());
+
+    DomainStatusEvents statusEvents = DomainStatusEvents.getInstance();
+    writer.metric(PREFIX + "status_event_subscribers", PrometheusWriter.GAUGE, "Clients streaming domain status events.", statusEvents.getSubscriberCount());
+    writer.metric(PREFIX + "status_events_published_total", PrometheusWriter.COUNTER, "Domain status events published.", statusEvents.getPublished());
+    writer.metric(PREFIX + "status_events_dropped_total", PrometheusWriter.COUNTER, "Domain status events dropped because a client fell too far behind.", statusEvents.getDropped());
+  }
+}
@@ -0,0 +1,169 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import oracle.kubernetes.operator.work.Histogram;
+
+/**
+ * Writes metrics in the Prometheus text exposition format, version 0.0.4.  Each metric starts
+ * with {@link #header}, followed by its samples.
+ */
+public class PrometheusWriter {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+  public static final String COUNTER = "counter";
+  public static final String GAUGE = "gauge";
+  public static final String HISTOGRAM = "histogram";
+
+  private static final String[] NO_LABELS = new String[0];
+
+  private final StringBuilder sb = new StringBuilder();
+
+  /**
+   * Writes the help and type of a metric
+   * @param name Metric name
+   * @param type Metric type
+   * @param help Description of the metric
+   * @return this writer
+   */
+  public PrometheusWriter header(String name, String type, String help) {
+    sb.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+    sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a sample without labels
+   * @param name Sample name
+   * @param value Value
+   * @return this writer
+   */
+  public PrometheusWriter sample(String name, double value) {
+    return sample(name, NO_LABELS, NO_LABELS, value);
+  }
+
+  /**
+   * Writes a sample
+   * @param name Sample name
+   * @param labelNames Label names
+   * @param labelValues Label values, in the order of the label names
+   * @param value Value
+   * @return this writer
+   */
+  public PrometheusWriter sample(String name, String[] labelNames, String[] labelValues, double value) {
+    sb.append(name);
+    if (labelNames.length > 0) {
+      sb.append('{');
+      for (int i = 0; i < labelNames.length; i++) {
+        if (i > 0) {
+          sb.append(',');
+        }
+        sb.append(labelNames[i]).append("=\"").append(escape(labelValues[i])).append('"');
+      }
+      sb.append('}');
+    }
+    sb.append(' ').append(format(value)).append('\n');
+    return this;
+  }
+
+  /**
+   * Writes a metric with a single value
+   * @param name Metric name
+   * @param type Metric type, {@link #COUNTER} or {@link #GAUGE}
+   * @param help Description of the metric
+   * @param value Value
+   * @return this writer
+   */
+  public PrometheusWriter metric(String name, String type, String help, double value) {
+    return header(name, type, help).sample(name, value);
+  }
+
+  /**
+   * Writes a counter family
+   * @param name Metric name
+   * @param help Description of the metric
+   * @param counter Counters
+   * @return this writer
+   */
+  public PrometheusWriter counter(String name, String help, LabeledCounter counter) {
+    header(name, COUNTER, help);
+    String[] labelNames = counter.getLabelNames();
+    for (Map.Entry<List<String>, LongAdder> entry : counter.getCounters().entrySet()) {
+      sample(name, labelNames, toArray(entry.getKey()), entry.getValue().sum());
+    }
+    return this;
+  }
+
+  /**
+   * Writes a histogram family
+   * @param name Metric name
+   * @param help Description of the metric
+   * @param histogram Histograms
+   * @return this writer
+   */
+  public PrometheusWriter histogram(String name, String help, LabeledHistogram histogram) {
+    header(name, HISTOGRAM, help);
+    String[] labelNames = histogram.getLabelNames();
+    for (Map.Entry<List<String>, Histogram> entry : histogram.getHistograms().entrySet()) {
+      histogramSamples(name, labelNames, toArray(entry.getKey()), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Writes the samples of one histogram, after the {@link #header} of its metric
+   * @param name Metric name
+   * @param labelNames Label names
+   * @param labelValues Label values, in the order of the label names
+   * @param histogram Histogram
+   * @return this writer
+   */
+  public PrometheusWriter histogramSamples(String name, String[] labelNames, String[] labelValues, Histogram histogram) {
+    String[] bucketLabelNames = Arrays.copyOf(labelNames, labelNames.length + 1);
+    bucketLabelNames[labelNames.length] = "le";
+    String[] bucketLabelValues = Arrays.copyOf(labelValues, labelValues.length + 1);
+
+    // read the count first, so that buckets never exceed it while observations are being made
+    long count = histogram.getCount();
+    double[] bounds = histogram.getBounds();
+    long[] counts = histogram.getCumulativeCounts();
+    for (int i = 0; i < bounds.length; i++) {
+      bucketLabelValues[labelValues.length] = format(bounds[i]);
+      sample(name + "_bucket", bucketLabelNames, bucketLabelValues, Math.min(counts[i], count));
+    }
+    bucketLabelValues[labelValues.length] = "+Inf";
+    sample(name + "_bucket", bucketLabelNames, bucketLabelValues, count);
+    sample(name + "_sum", labelNames, labelValues, histogram.getSum());
+    sample(name + "_count", labelNames, labelValues, count);
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return sb.toString();
+  }
+
+  private static String[] toArray(List<String> values) {
+    return values.toArray(new String[values.size()]);
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String format(double value) {
+    if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+}
@@ -0,0 +1,7 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+/**
+ * Metrics for the Operator and their Prometheus text exposition.
+ */
+package oracle.kubernetes.operator.metrics;
\ No newline at end of file
@@ -15,8 +15,10 @@ import oracle.kubernetes.operator.helpers.AuthorizationProxy;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Operation;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Resource;
 import oracle.kubernetes.operator.helpers.AuthorizationProxy.Scope;
+import oracle.kubernetes.operator.helpers.CallBuilder;
 import oracle.kubernetes.operator.helpers.ClientHelper;
 import oracle.kubernetes.operator.helpers.ClientHolder;
+import oracle.kubernetes.operator.helpers.DomainRegistry;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
@@ -24,6 +26,7 @@ import oracle.kubernetes.operator.rest.backend.RestBackend;
 import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
 import oracle.kubernetes.operator.wlsconfig.WlsConfigRetriever;
 import oracle.kubernetes.operator.wlsconfig.WlsDomainConfig;
+import oracle.kubernetes.operator.wlsconfig.WlsDomainConfigCache;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
@@ -33,6 +36,7 @@ import javax.ws.rs.core.Response.Status;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -51,12 +55,19 @@ public class RestBackendImpl implements RestBackend {
   private V1UserInfo userInfo;
 
   private final AuthenticationProxy atn = new AuthenticationProxy();
-  private final AuthorizationProxy atz = new AuthorizationProxy();
+  private final AuthorizationProxy atz = AuthorizationProxy.forRequest();
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
 
+  // returned when a test operation of a JSON patch fails
+  private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+  // patch attempts before giving up on a domain whose clusters keep changing
+  private static final int MAX_PATCH_ATTEMPTS = 3;
+
   private final ClientHelper clientHelper;
   private final String principal;
   private final Collection<String> targetNamespaces;
+  private DomainRegistry.Snapshot snapshot;
 
   /**
    * Construct a RestBackendImpl that is used to handle one WebLogic operator REST request.
@@ -133,15 +144,18 @@ public class RestBackendImpl implements RestBackend {
       throw new AssertionError(formatMessage(MessageKeys.NULL_DOMAIN_UID));
     }
 
-    return getNamespace(domainUID, getDomainsList(client));
+    return findDomain(client, domainUID).getMetadata().getNamespace();
   }
 
-  private String getNamespace(String domainUID, List<Domain> domains) {
-    if (domainUID == null) {
-      throw new AssertionError(formatMessage(MessageKeys.NULL_DOMAIN_UID));
+  private DomainRegistry.Snapshot getSnapshot() {
+    // one snapshot per request, so that all lookups made by the request agree
+    if (snapshot == null) {
+      DomainRegistry registry = DomainRegistry.getInstance();
+      if (registry.isActive()) {
+        snapshot = registry.getSnapshot();
+      }
     }
-    Domain domain = findDomain(domainUID, domains);
-    return domain.getMetadata().getNamespace();
+    return snapshot;
   }
 
   private V1UserInfo authenticate(ClientHolder client, String accessToken) {
@@ -201,6 +215,15 @@ public class RestBackendImpl implements RestBackend {
   }
 
   private List<Domain> getDomainsList(ClientHolder client) {
+    DomainRegistry.Snapshot s = getSnapshot();
+    if (s != null) {
+      List<Domain> result = new ArrayList<>();
+      for (String ns : targetNamespaces) {
+        result.addAll(s.getDomains(ns));
+      }
+      return result;
+    }
+
     Collection<List<Domain>> c = new ArrayList<List<Domain>>();
     try {
       for (String ns : targetNamespaces) {
@@ -236,6 +259,9 @@ public class RestBackendImpl implements RestBackend {
 
   private boolean isDomainUID(ClientHolder client, String domainUID) {
     authorize(client, null, Operation.list);
+    if (getSnapshot() != null) {
+      return getDomain(client, domainUID) != null;
+    }
     return getDomainUIDs(client).contains(domainUID);
   }
 
@@ -268,7 +294,7 @@ public class RestBackendImpl implements RestBackend {
     String namespace = getNamespace(client, domainUID);
     String adminServerServiceName = getAdminServerServiceName(domain);
     String adminSecretName = getAdminServiceSecretName(domain);
-    Map<String, WlsClusterConfig> wlsClusterConfigs = getWLSConfiguredClusters(client, namespace, adminServerServiceName, adminSecretName);
+    Map<String, WlsClusterConfig> wlsClusterConfigs = getWLSConfiguredClusters(client, domainUID, namespace, adminServerServiceName, adminSecretName);
     return wlsClusterConfigs.keySet();
   }
 
@@ -296,6 +322,10 @@ public class RestBackendImpl implements RestBackend {
 
   private boolean isCluster(ClientHolder client, String domainUID, String cluster) {
     authorize(client, domainUID, cluster, Operation.list);
+    DomainRegistry.Snapshot s = getSnapshot();
+    if (s != null && s.getClusters(domainUID).contains(cluster)) {
+      return true;
+    }
     return getClusters(client, domainUID).contains(cluster);
   }
 
@@ -320,62 +350,122 @@ public class RestBackendImpl implements RestBackend {
     LOGGER.exiting();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void scaleClusters(String domainUID, Map<String, Integer> managedServerCounts) {
+    LOGGER.entering(domainUID, managedServerCounts);
+
+    for (Integer managedServerCount : managedServerCounts.values()) {
+      if (managedServerCount == null || managedServerCount < 0) {
+        throw createWebApplicationException(Status.FORBIDDEN, MessageKeys.INVALID_MANAGE_SERVER_COUNT, managedServerCount);
+      }
+    }
+
+    ClientHolder client = null;
+    try {
+      client = clientHelper.take();
+      scaleClusters(client, domainUID, managedServerCounts);
+    } finally {
+      recycleClient(clientHelper, client);
+    }
+    LOGGER.exiting();
+  }
+
   private void scaleCluster(ClientHolder client, String domainUID, String cluster, int managedServerCount) {
-    authorize(client, domainUID, cluster, Operation.update);
+    scaleClusters(client, domainUID, Collections.singletonMap(cluster, managedServerCount));
+  }
 
-    List<Domain> domains = getDomainsList(client);
-    Domain domain = findDomain(domainUID, domains);
+  private void scaleClusters(ClientHolder client, String domainUID, Map<String, Integer> managedServerCounts) {
+    for (String cluster : managedServerCounts.keySet()) {
+      authorize(client, domainUID, cluster, Operation.update);
+    }
+
+    Domain domain = findDomain(client, domainUID);
 
-    String namespace = getNamespace(domainUID, domains);
+    String namespace = domain.getMetadata().getNamespace();
 
-    verifyWLSConfiguredClusterCapacity(client, namespace, domain, cluster, managedServerCount);
+    for (Map.Entry<String, Integer> entry : managedServerCounts.entrySet()) {
+      verifyWLSConfiguredClusterCapacity(client, namespace, domain, entry.getKey(), entry.getValue());
+    }
 
-    updateReplicasForDomain(client, namespace, domain, cluster, managedServerCount);
+    updateReplicasForDomain(client, namespace, domain, managedServerCounts);
   }
 
-  private void updateReplicasForDomain(ClientHolder client, String namespace, Domain domain, String cluster, int managedServerCount) {
-    // Capacity of configured cluster is valid for scaling
-    // Set replicas value on corresponding ClusterStartup (if defined)
-    // or on the Domain level replicas value for cluster not defined in a ClusterStartup
+  private void updateReplicasForDomain(ClientHolder client, String namespace, Domain domain, Map<String, Integer> managedServerCounts) {
+    // Patch only the replicas values, so that scaling does not conflict with status updates or
+    // other changes to the domain.  The patch tests that each ClusterStartup is still at the
+    // index where it was found; if not, the domain is read again and the patch is recreated.
     String domainUID = domain.getSpec().getDomainUID();
-    boolean domainModified = false;
-    ClusterStartup clusterStartup = getClusterStartup(domain, cluster);
-    int currentReplicasCount = clusterStartup != null ? clusterStartup.getReplicas() : domain.getSpec().getReplicas();
-
-    if (managedServerCount != currentReplicasCount) {
-      if (clusterStartup != null) {
-        // set replica value on corresponding ClusterStartup
-        clusterStartup.setReplicas(managedServerCount);
-        domainModified = true;
-      } else if (StartupControlConstants.AUTO_STARTUPCONTROL.equals(domain.getSpec().getStartupControl())){
-        // set replica on Domain for cluster not defined in ClusterStartup
-        domain.getSpec().setReplicas(managedServerCount);
-        domainModified = true;
-      } else {
-        // WebLogic Cluster is not defined in ClusterStartup AND Startup Control is not spec'd as AUTO
-        // so scaling will not occur since Domain.spec.Replicas property will be ignored.
-        throw createWebApplicationException(Status.FORBIDDEN, MessageKeys.SCALING_AUTO_CONTROL_AUTO, cluster);
+    String name = domain.getMetadata().getName();
+    for (int attempt = 1; ; attempt++) {
+      List<Map<String, Object>> patch = createReplicasPatch(domain, managedServerCounts);
+      if (patch.isEmpty()) {
+        return;
       }
-    }
-
-    if (domainModified) {
       try {
-        // Write out the Domain with updated replica values
-        // TODO: Can we patch instead of replace?
-        client.callBuilder().replaceDomain(domainUID, namespace, domain);
+        // Write out the updated replica values
+        client.callBuilder().patchDomain(name, namespace, patch);
+        return;
       } catch (ApiException e) {
-        LOGGER.finer("Unexpected exception when updating Domain " + domainUID + " in namespace " + namespace, e);
-        throw createWebApplicationException(Status.INTERNAL_SERVER_ERROR, e.getMessage());
+        if (e.getCode() != HTTP_UNPROCESSABLE_ENTITY || attempt >= MAX_PATCH_ATTEMPTS) {
+          LOGGER.finer("Unexpected exception when updating Domain " + domainUID + " in namespace " + namespace, e);
+          throw createWebApplicationException(Status.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+      }
+      try {
+        domain = client.callBuilder().readDomain(name, namespace);
+      } catch (ApiException e) {
+        throw handleApiException(e);
       }
     }
   }
 
+  private List<Map<String, Object>> createReplicasPatch(Domain domain, Map<String, Integer> managedServerCounts) {
+    // Capacity of configured cluster is valid for scaling
+    // Set replicas value on corresponding ClusterStartup (if defined)
+    // or on the Domain level replicas value for cluster not defined in a ClusterStartup
+    List<Map<String, Object>> patch = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : managedServerCounts.entrySet()) {
+      String cluster = entry.getKey();
+      int managedServerCount = entry.getValue();
+      int index = getClusterStartupIndex(domain, cluster);
+      ClusterStartup clusterStartup = index >= 0 ? domain.getSpec().getClusterStartup().get(index) : null;
+      Integer currentReplicasCount = clusterStartup != null ? clusterStartup.getReplicas() : domain.getSpec().getReplicas();
+
+      if (currentReplicasCount == null || managedServerCount != currentReplicasCount) {
+        if (clusterStartup != null) {
+          // set replica value on corresponding ClusterStartup
+          String path = "/spec/clusterStartup/" + index;
+          patch.add(CallBuilder.jsonPatch("test", path + "/clusterName", cluster));
+          patch.add(CallBuilder.jsonPatch("add", path + "/replicas", managedServerCount));
+        } else if (isAutoStartupControl(domain)) {
+          // set replica on Domain for cluster not defined in ClusterStartup
+          patch.add(CallBuilder.jsonPatch("add", "/spec/replicas", managedServerCount));
+        } else {
+          // WebLogic Cluster is not defined in ClusterStartup AND Startup Control is not spec'd as AUTO
+          // so scaling will not occur since Domain.spec.Replicas property will be ignored.
+          throw createWebApplicationException(Status.FORBIDDEN, MessageKeys.SCALING_AUTO_CONTROL_AUTO, cluster);
+        }
+      }
+    }
+    return patch;
+  }
+
+  private static boolean isAutoStartupControl(Domain domain) {
+    String startupControl = domain.getSpec().getStartupControl();
+    // an unset startup control is treated as AUTO
+    return startupControl == null || startupControl.isEmpty()
+        || StartupControlConstants.AUTO_STARTUPCONTROL.equals(startupControl);
+  }
+
   private void verifyWLSConfiguredClusterCapacity(ClientHolder client, String namespace, Domain domain, String cluster, int managedServerCount) {
     // Query WebLogic Admin Server for current configured WebLogic Cluster size
     // and verify we have enough configured managed servers to auto-scale
     String adminServerServiceName = getAdminServerServiceName(domain);
     String adminSecretName = getAdminServiceSecretName(domain);
-    int clusterSize = getWLSConfiguredClusterSize(client, adminServerServiceName, cluster, namespace, adminSecretName);
+    int clusterSize = getWLSConfiguredClusterSize(client, domain.getSpec().getDomainUID(), adminServerServiceName, cluster, namespace, adminSecretName);
     if (managedServerCount > clusterSize) {
       throw createWebApplicationException(Status.NOT_IMPLEMENTED, MessageKeys.SCALE_COUNT_GREATER_THAN_CONFIGURED, managedServerCount, clusterSize, cluster, cluster);
     }
@@ -385,44 +475,61 @@ public class RestBackendImpl implements RestBackend {
     return domain.getSpec().getAdminSecret() == null ? null : domain.getSpec().getAdminSecret().getName();
   }
 
-  private ClusterStartup getClusterStartup(Domain domain, String cluster) {
+  private static int getClusterStartupIndex(Domain domain, String cluster) {
     List<ClusterStartup> clusterStartups = domain.getSpec().getClusterStartup();
-    for (ClusterStartup clusterStartup : clusterStartups) {
-      String clusterName = clusterStartup.getClusterName();
-      if (cluster.equals(clusterName)) {
-        return clusterStartup;
+    if (clusterStartups != null) {
+      for (int i = 0; i < clusterStartups.size(); i++) {
+        if (cluster.equals(clusterStartups.get(i).getClusterName())) {
+          return i;
+        }
       }
     }
 
-    return null;
+    return -1;
   }
 
-  private int getWLSConfiguredClusterSize(ClientHolder client, String adminServerServiceName, String cluster, String namespace, String adminSecretName) {
-    WlsConfigRetriever wlsConfigRetriever = WlsConfigRetriever.create(client.getHelper(), namespace, adminServerServiceName, adminSecretName);
-    WlsDomainConfig wlsDomainConfig = wlsConfigRetriever.readConfig(principal);
+  private int getWLSConfiguredClusterSize(ClientHolder client, String domainUID, String adminServerServiceName, String cluster, String namespace, String adminSecretName) {
+    WlsDomainConfig wlsDomainConfig = getWlsDomainConfig(client, domainUID, namespace, adminServerServiceName, adminSecretName);
     WlsClusterConfig wlsClusterConfig = wlsDomainConfig.getClusterConfig(cluster);
     return wlsClusterConfig.getClusterSize();
   }
 
-  private Map<String, WlsClusterConfig> getWLSConfiguredClusters(ClientHolder client, String namespace, String adminServerServiceName,  String adminSecretName) {
-    WlsConfigRetriever wlsConfigRetriever = WlsConfigRetriever.create(client.getHelper(), namespace, adminServerServiceName, adminSecretName);
-    WlsDomainConfig wlsDomainConfig = wlsConfigRetriever.readConfig(principal);
+  private Map<String, WlsClusterConfig> getWLSConfiguredClusters(ClientHolder client, String domainUID, String namespace, String adminServerServiceName,  String adminSecretName) {
+    WlsDomainConfig wlsDomainConfig = getWlsDomainConfig(client, domainUID, namespace, adminServerServiceName, adminSecretName);
     return wlsDomainConfig.getClusterConfigs();
   }
 
+  private WlsDomainConfig getWlsDomainConfig(ClientHolder client, String domainUID, String namespace, String adminServerServiceName, String adminSecretName) {
+    // served from the operator's last scan of the domain when possible; the read may happen
+    // in the background after this request's client has been recycled
+    ClientHelper helper = client.getHelper();
+    return WlsDomainConfigCache.getInstance().get(domainUID, () -> {
+      WlsConfigRetriever wlsConfigRetriever = WlsConfigRetriever.create(helper, namespace, adminServerServiceName, adminSecretName);
+      return wlsConfigRetriever.readConfig(principal);
+    });
+  }
+
   private Domain findDomain(ClientHolder client, String domainUID) {
-    List<Domain> domains = getDomainsList(client);
-    return findDomain(domainUID, domains);
+    Domain domain = getDomain(client, domainUID);
+    if (domain != null) {
+      return domain;
+    }
+    throw createWebApplicationException(Status.NOT_FOUND, MessageKeys.MATCHING_DOMAIN_NOT_FOUND, domainUID);
   }
 
-  private Domain findDomain(String domainUID, List<Domain> domains) {
-    for (Domain domain : domains) {
+  private Domain getDomain(ClientHolder client, String domainUID) {
+    DomainRegistry.Snapshot s = getSnapshot();
+    if (s != null) {
+      Domain domain = s.getDomain(domainUID);
+      return domain != null && targetNamespaces.contains(domain.getMetadata().getNamespace()) ? domain : null;
+    }
+
+    for (Domain domain : getDomainsList(client)) {
       if (domainUID.equals(domain.getSpec().getDomainUID())) {
         return domain;
       }
     }
-
-    throw createWebApplicationException(Status.NOT_FOUND, MessageKeys.MATCHING_DOMAIN_NOT_FOUND, domainUID);
+    return null;
   }
 
   private WebApplicationException handleApiException(ApiException e) {
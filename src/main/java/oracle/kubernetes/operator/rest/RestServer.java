@@ -6,6 +6,7 @@ package oracle.kubernetes.operator.rest;
 import io.kubernetes.client.util.SSLUtils;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
 import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
@@ -24,6 +25,12 @@ import java.security.SecureRandom;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>The RestServer runs the WebLogic operator's REST api.</p>
@@ -47,7 +54,36 @@ import java.util.Map;
  */
 public class RestServer {
   private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  private static final int CORE_POOL_SIZE = 3;
+
+  // core size of each port's worker pool, which runs filters and resources - default is 3
+  private static final int WORKER_THREADS = Integer.getInteger("rest.worker.threads", 3);
+
+  // maximum size of each port's worker pool - default is 16
+  private static final int WORKER_MAX_THREADS = Math.max(WORKER_THREADS, Integer.getInteger("rest.worker.max.threads", 16));
+
+  // core size of each port's kernel pool, which handles connections - default is 3
+  private static final int KERNEL_THREADS = Integer.getInteger("rest.kernel.threads", 3);
+
+  // maximum size of each port's kernel pool - default is 16
+  private static final int KERNEL_MAX_THREADS = Math.max(KERNEL_THREADS, Integer.getInteger("rest.kernel.max.threads", 16));
+
+  // number of selector threads of each port - default is 3
+  private static final int SELECTOR_THREADS = Integer.getInteger("rest.selector.threads", 3);
+
+  // core size of the pool running the backend work of REST requests - default is 3
+  private static final int BACKEND_THREADS = Integer.getInteger("rest.backend.threads", 3);
+
+  // maximum size of the backend pool, which is the number of REST requests that may wait on Kubernetes
+  // or WebLogic at the same time; further requests are rejected - default is 32
+  private static final int BACKEND_MAX_THREADS = Math.max(BACKEND_THREADS, Integer.getInteger("rest.backend.max.threads", 32));
+
+  /**
+   * Name of the resource config property holding the {@link java.util.concurrent.Executor} that runs
+   * the backend work of asynchronous resources
+   */
+  public static final String REST_BACKEND_EXECUTOR_PROPERTY = "RestBackendExecutor";
+
+  private static final String METRICS_COLLECTOR = "rest";
 
   private RestConfig config;
 
@@ -58,6 +94,12 @@ public class RestServer {
   HttpServer externalHttpsServer;
   HttpServer internalHttpsServer;
 
+  private ThreadPoolExecutor backendPool;
+  private final RestServerMetrics metrics = new RestServerMetrics(
+      new RestServerMetrics.PoolMetrics(WORKER_THREADS, WORKER_MAX_THREADS),
+      new RestServerMetrics.PoolMetrics(KERNEL_THREADS, KERNEL_MAX_THREADS),
+      SELECTOR_THREADS);
+
   private static final String SSL_PROTOCOL = "TLSv1.2";
   private static final String[] SSL_PROTOCOLS = { SSL_PROTOCOL }; // ONLY support TLSv1.2 (by default, we would get TLSv1 and TLSv1.1 too)
 
@@ -94,6 +136,14 @@ public class RestServer {
     return baseInternalHttpsUri;
   }
 
+  /**
+   * Returns the metrics for the REST server's thread pools.
+   * @return the metrics
+   */
+  public RestServerMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * <p>Starts WebLogic operator's REST api.</p>
    * <p>If a port has not been configured, then it logs that fact,
@@ -111,6 +161,16 @@ public class RestServer {
     }
     boolean fullyStarted = false;
     try {
+      // the backend calls block, so resources run them on a pool of their own rather than on the few
+      // worker threads; requests are not queued behind slow ones, but rejected once all threads are busy
+      backendPool = new ThreadPoolExecutor(BACKEND_THREADS, BACKEND_MAX_THREADS, 60, TimeUnit.SECONDS,
+          new SynchronousQueue<>(), new DaemonThreadFactory(), (r, executor) -> {
+            metrics.recordBackendRejected();
+            throw new RejectedExecutionException("All " + BACKEND_MAX_THREADS + " REST backend threads are busy");
+          });
+      metrics.setBackendPool(backendPool);
+      OperatorMetrics.getInstance().register(METRICS_COLLECTOR, metrics);
+
       if (isExternalSSLConfigured()) {
         externalHttpsServer = createExternalHttpsServer();
         LOGGER.info("Started the external ssl REST server on " + getExternalHttpsUri() + "/operator"); // TBD .fine ?
@@ -154,6 +214,11 @@ public class RestServer {
       internalHttpsServer = null;
       LOGGER.info("Stopped the internal ssl REST server"); // TBD .fine ?
     }
+    if (backendPool != null) {
+      OperatorMetrics.getInstance().unregister(METRICS_COLLECTOR);
+      backendPool.shutdownNow();
+      backendPool = null;
+    }
     LOGGER.exiting();
   }
 
@@ -205,7 +270,7 @@ public class RestServer {
     
     // We discovered the default thread pool configuration was generating hundreds of 
     // threads.  Tune it down to something more modest.  Note: these are core
-    // pool sizes, so they can still grow if there is sufficient load.
+    // pool sizes, so they can still grow up to the maximum if there is sufficient load.
     Collection<NetworkListener> nlc = h.getListeners();
     if (nlc != null) {
       for (NetworkListener nl : nlc) {
@@ -215,14 +280,14 @@ public class RestServer {
           t = ThreadPoolConfig.defaultConfig();
           transport.setWorkerThreadPoolConfig(t);
         }
-        t.setCorePoolSize(CORE_POOL_SIZE);
+        configurePool(t, WORKER_THREADS, WORKER_MAX_THREADS, metrics.getWorkerPool());
         t = transport.getKernelThreadPoolConfig();
         if (t == null) {
           t = ThreadPoolConfig.defaultConfig();
           transport.setKernelThreadPoolConfig(t);
         }
-        t.setCorePoolSize(CORE_POOL_SIZE);
-        transport.setSelectorRunnersCount(CORE_POOL_SIZE);
+        configurePool(t, KERNEL_THREADS, KERNEL_MAX_THREADS, metrics.getKernelPool());
+        transport.setSelectorRunnersCount(SELECTOR_THREADS);
       }
     }
     
@@ -230,6 +295,12 @@ public class RestServer {
     return h;
   }
 
+  private static void configurePool(ThreadPoolConfig t, int coreSize, int maxSize, RestServerMetrics.PoolMetrics probe) {
+    t.setCorePoolSize(coreSize);
+    t.setMaxPoolSize(maxSize);
+    t.getInitialMonitoringConfig().addProbes(probe);
+  }
+
   private ResourceConfig createResourceConfig() {
     LOGGER.entering();
     // create a resource config that scans for JAX-RS resources and providers
@@ -249,6 +320,7 @@ public class RestServer {
     // attach the rest backend impl to the resource config
     // so that the resource impls can find it
     extraProps.put(RestConfig.REST_CONFIG_PROPERTY, config);
+    extraProps.put(REST_BACKEND_EXECUTOR_PROPERTY, backendPool);
     rc.addProperties(extraProps);
 
     LOGGER.exiting();
@@ -332,4 +404,15 @@ public class RestServer {
     }
     return result;
   }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r);
+      t.setName("Thread-RestBackend-" + threadNumber.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
 }
@@ -0,0 +1,224 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
+import oracle.kubernetes.operator.metrics.PrometheusWriter;
+
+/**
+ * Metrics for the thread pools of the {@link RestServer}.  The Grizzly worker and kernel pools
+ * of all of the server's ports are reported together, along with the pool running the backend
+ * work of REST requests.
+ */
+public class RestServerMetrics implements OperatorMetrics.Collector {
+  private static final String PREFIX = "weblogic_operator_rest_pool_";
+  private static final String[] LABELS = { "pool" };
+
+  /**
+   * Metrics for one kind of Grizzly thread pool, gathered through the pool's monitoring probe
+   */
+  public static class PoolMetrics extends ThreadPoolProbe.Adapter {
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final AtomicInteger threads = new AtomicInteger();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger busyThreads = new AtomicInteger();
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    PoolMetrics(int corePoolSize, int maxPoolSize) {
+      this.corePoolSize = corePoolSize;
+      this.maxPoolSize = maxPoolSize;
+    }
+
+    @Override
+    public void onThreadAllocateEvent(AbstractThreadPool threadPool, Thread thread) {
+      threads.incrementAndGet();
+    }
+
+    @Override
+    public void onThreadReleaseEvent(AbstractThreadPool threadPool, Thread thread) {
+      threads.decrementAndGet();
+    }
+
+    @Override
+    public void onTaskQueueEvent(AbstractThreadPool threadPool, Runnable task) {
+      queuedTasks.incrementAndGet();
+    }
+
+    @Override
+    public void onTaskDequeueEvent(AbstractThreadPool threadPool, Runnable task) {
+      queuedTasks.decrementAndGet();
+      busyThreads.incrementAndGet();
+    }
+
+    @Override
+    public void onTaskCancelEvent(AbstractThreadPool threadPool, Runnable task) {
+      busyThreads.decrementAndGet();
+    }
+
+    @Override
+    public void onTaskCompleteEvent(AbstractThreadPool threadPool, Runnable task) {
+      busyThreads.decrementAndGet();
+      completedTasks.incrementAndGet();
+    }
+
+    @Override
+    public void onTaskQueueOverflowEvent(AbstractThreadPool threadPool) {
+      rejectedTasks.incrementAndGet();
+    }
+
+    /**
+     * Configured core size of each pool
+     * @return Core pool size
+     */
+    public int getCorePoolSize() {
+      return corePoolSize;
+    }
+
+    /**
+     * Configured maximum size of each pool
+     * @return Maximum pool size
+     */
+    public int getMaxPoolSize() {
+      return maxPoolSize;
+    }
+
+    /**
+     * Number of live threads
+     * @return Threads
+     */
+    public int getThreads() {
+      return threads.get();
+    }
+
+    /**
+     * Number of threads running a task
+     * @return Busy threads
+     */
+    public int getBusyThreads() {
+      return busyThreads.get();
+    }
+
+    /**
+     * Number of tasks waiting for a thread
+     * @return Queued tasks
+     */
+    public int getQueuedTasks() {
+      return queuedTasks.get();
+    }
+
+    /**
+     * Number of tasks completed
+     * @return Completed tasks
+     */
+    public long getCompletedTasks() {
+      return completedTasks.get();
+    }
+
+    /**
+     * Number of tasks rejected because the queue was full
+     * @return Rejected tasks
+     */
+    public long getRejectedTasks() {
+      return rejectedTasks.get();
+    }
+  }
+
+  private final PoolMetrics workerPool;
+  private final PoolMetrics kernelPool;
+  private final int selectorThreads;
+  private volatile ThreadPoolExecutor backendPool;
+  private final AtomicLong backendRejected = new AtomicLong();
+
+  RestServerMetrics(PoolMetrics workerPool, PoolMetrics kernelPool, int selectorThreads) {
+    this.workerPool = workerPool;
+    this.kernelPool = kernelPool;
+    this.selectorThreads = selectorThreads;
+  }
+
+  void setBackendPool(ThreadPoolExecutor backendPool) {
+    this.backendPool = backendPool;
+  }
+
+  void recordBackendRejected() {
+    backendRejected.incrementAndGet();
+  }
+
+  /**
+   * Worker pools, which run request filters and resources
+   * @return Worker pool metrics
+   */
+  public PoolMetrics getWorkerPool() {
+    return workerPool;
+  }
+
+  /**
+   * Kernel pools, which handle connections
+   * @return Kernel pool metrics
+   */
+  public PoolMetrics getKernelPool() {
+    return kernelPool;
+  }
+
+  /**
+   * Configured number of selector threads of each port
+   * @return Selector threads
+   */
+  public int getSelectorThreads() {
+    return selectorThreads;
+  }
+
+  /**
+   * Pool running the backend work of REST requests
+   * @return Backend pool, or null if the server is not started
+   */
+  public ThreadPoolExecutor getBackendPool() {
+    return backendPool;
+  }
+
+  /**
+   * Number of REST requests rejected because all backend threads were busy
+   * @return Rejected requests
+   */
+  public long getBackendRejected() {
+    return backendRejected.get();
+  }
+
+  @Override
+  public void collect(PrometheusWriter writer) {
+    writer.header(PREFIX + "core_threads", PrometheusWriter.GAUGE, "Configured core size of each REST server thread pool.");
+    sample(writer, PREFIX + "core_threads", p -> p.getCorePoolSize(), b -> b.getCorePoolSize());
+    writer.header(PREFIX + "max_threads", PrometheusWriter.GAUGE, "Configured maximum size of each REST server thread pool.");
+    sample(writer, PREFIX + "max_threads", p -> p.getMaxPoolSize(), b -> b.getMaximumPoolSize());
+    writer.header(PREFIX + "threads", PrometheusWriter.GAUGE, "Live threads of the REST server thread pools.");
+    sample(writer, PREFIX + "threads", p -> p.getThreads(), b -> b.getPoolSize());
+    writer.header(PREFIX + "busy_threads", PrometheusWriter.GAUGE, "Threads of the REST server thread pools running a task.");
+    sample(writer, PREFIX + "busy_threads", p -> p.getBusyThreads(), b -> b.getActiveCount());
+    writer.header(PREFIX + "queued_tasks", PrometheusWriter.GAUGE, "Tasks waiting for a REST server thread.");
+    sample(writer, PREFIX + "queued_tasks", p -> p.getQueuedTasks(), b -> b.getQueue().size());
+    writer.header(PREFIX + "completed_tasks_total", PrometheusWriter.COUNTER, "Tasks completed by the REST server thread pools.");
+    sample(writer, PREFIX + "completed_tasks_total", p -> p.getCompletedTasks(), b -> b.getCompletedTaskCount());
+    writer.header(PREFIX + "rejected_tasks_total", PrometheusWriter.COUNTER, "Tasks rejected because a REST server queue or the backend pool was full.");
+    sample(writer, PREFIX + "rejected_tasks_total", p -> p.getRejectedTasks(), b -> backendRejected.get());
+  }
+
+  private void sample(PrometheusWriter writer, String name, ToDoubleFunction<PoolMetrics> value,
+      ToDoubleFunction<ThreadPoolExecutor> backendValue) {
+    writer.sample(name, LABELS, new String[] { "worker" }, value.applyAsDouble(workerPool));
+    writer.sample(name, LABELS, new String[] { "kernel" }, value.applyAsDouble(kernelPool));
+    ThreadPoolExecutor backend = backendPool;
+    if (backend != null) {
+      writer.sample(name, LABELS, new String[] { "backend" }, backendValue.applyAsDouble(backend));
+    }
+  }
+}
@@ -3,6 +3,7 @@
 
 package oracle.kubernetes.operator.rest.backend;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -63,4 +64,19 @@ public interface RestBackend {
    * @param managedServerCount - the desired number of WebLogic managed servers.
    */
   public void scaleCluster(String domainUID, String cluster, int managedServerCount);
+
+  /**
+   * Scales the number of managed servers in several WebLogic clusters of a domain.
+   * The domain is updated once for all of the clusters.  Like scaleCluster, this method
+   * does not wait for the number of running managed servers to match the configured
+   * number of servers.
+   * @param domainUID - the unique identifier assigned to the Weblogic domain
+   * when it was registered with the WebLogic operator.  The caller is responsible
+   * for calling isDomainUID first and not calling this method if the domain has not
+   * been registered.
+   * @param managedServerCounts - the desired number of WebLogic managed servers, by
+   * cluster name.  The caller is responsible for calling isCluster first for each
+   * cluster and not calling this method if any of the clusters do not exist.
+   */
+  public void scaleClusters(String domainUID, Map<String, Integer> managedServerCounts);
 }
@@ -0,0 +1,37 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ScaleClustersParamsModel describes the input parameters to the operation that scales
+ * several WebLogic clusters of a domain at once.
+ */
+public class ScaleClustersParamsModel extends BaseModel {
+
+  private Map<String, Integer> managedServerCounts = new LinkedHashMap<>();
+
+  /**
+   * Get the desired number of managed servers in each WebLogic cluster.
+   * @return the desired number of managed servers, by cluster name.
+   */
+  public Map<String, Integer> getManagedServerCounts() {
+    return managedServerCounts;
+  }
+
+  /**
+   * Set the desired number of managed servers in each WebLogic cluster.
+   * @param managedServerCounts - the desired number of managed servers, by cluster name.
+   */
+  public void setManagedServerCounts(Map<String, Integer> managedServerCounts) {
+    this.managedServerCounts = managedServerCounts;
+  }
+
+  @Override
+  protected String propertiesToString() {
+    return "managedServerCounts=" + getManagedServerCounts(); // super has no properties
+  }
+}
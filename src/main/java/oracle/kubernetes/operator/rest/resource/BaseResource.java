@@ -4,18 +4,26 @@
 package oracle.kubernetes.operator.rest.resource;
 
 import oracle.kubernetes.operator.rest.AuthenticationFilter;
+import oracle.kubernetes.operator.rest.RestServer;
 import oracle.kubernetes.operator.rest.backend.RestBackend;
 import oracle.kubernetes.operator.rest.model.LinkContainerModel;
 
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * BaseResource is the base resource of all the WebLogic operator's REST resources.
@@ -23,6 +31,9 @@ import java.util.List;
  */
 public class BaseResource {
 
+  // time a request may wait for its backend work before failing - default is 120s
+  private static final int REQUEST_TIMEOUT_SECONDS = Integer.getInteger("rest.request.timeout.seconds", 120);
+
   private String pathSegment;
   private BaseResource parent;
 
@@ -30,6 +41,12 @@ public class BaseResource {
   private UriInfo uriInfo;
   @Context
   private ContainerRequestContext containerRequestContext;
+  @Context
+  private Configuration configuration;
+
+  // request state, resolved on the request's thread so that it can be used by backend work
+  private URI baseUri;
+  private RestBackend backend;
 
   protected BaseResource(BaseResource parent, String pathSegment) {
     this.parent = parent;
@@ -45,7 +62,60 @@ public class BaseResource {
   }
 
   protected RestBackend getBackend() {
-    return (RestBackend) getContainerRequestContext().getProperty(AuthenticationFilter.REST_BACKEND_PROPERTY);
+    BaseResource root = getRoot();
+    if (root.backend == null) {
+      root.backend = (RestBackend) getContainerRequestContext().getProperty(AuthenticationFilter.REST_BACKEND_PROPERTY);
+    }
+    return root.backend;
+  }
+
+  private URI getBaseUri() {
+    BaseResource root = getRoot();
+    if (root.baseUri == null) {
+      root.baseUri = getUriInfo().getBaseUri();
+    }
+    return root.baseUri;
+  }
+
+  /**
+   * Runs work that calls the backend on the REST server's backend pool, so that a request waiting on
+   * Kubernetes or WebLogic does not hold one of the few worker threads that accept all requests.
+   * The backend calls block, so the work holds a backend thread until it completes; when all of
+   * the backend threads are busy, the request is answered with 503 Service Unavailable rather
+   * than waiting behind slow requests.  The response is resumed with the work's result, or with
+   * the exception it throws; work that returns null is answered with no content.
+   * @param asyncResponse the suspended response.
+   * @param work the work, which may use the backend and build links.
+   */
+  protected void runAsync(AsyncResponse asyncResponse, Supplier<?> work) {
+    // resolve what the work needs from the request while still on the request's thread
+    getBaseUri();
+    getBackend();
+
+    Executor executor = (Executor) getRoot().configuration.getProperty(RestServer.REST_BACKEND_EXECUTOR_PROPERTY);
+    if (executor == null) {
+      run(asyncResponse, work);
+      return;
+    }
+
+    asyncResponse.setTimeout(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    try {
+      executor.execute(() -> run(asyncResponse, work));
+    } catch (RejectedExecutionException e) {
+      asyncResponse.resume(new WebApplicationException(Status.SERVICE_UNAVAILABLE));
+    }
+  }
+
+  private static void run(AsyncResponse asyncResponse, Supplier<?> work) {
+    Object result;
+    try {
+      result = work.get();
+    } catch (RuntimeException e) {
+      asyncResponse.resume(e);
+      return;
+    }
+    // work without a result is answered as a void resource method would be
+    asyncResponse.resume(result != null ? result : Response.noContent().build());
   }
 
   protected UriInfo getUriInfo() {
@@ -83,7 +153,7 @@ public class BaseResource {
 
   protected String href(String... pathSegments) {
 
-    UriBuilder b = getUriInfo().getBaseUriBuilder();
+    UriBuilder b = UriBuilder.fromUri(getBaseUri());
 
     // traverse my parents to find the path segments to this resource.
     // insert each into an array starting at 0 so that the array
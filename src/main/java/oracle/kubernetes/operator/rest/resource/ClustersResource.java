@@ -13,6 +13,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -35,22 +37,25 @@ public class ClustersResource extends BaseResource {
 
   /**
    * List a WebLogic domain's clusters.
-   * @return a collection of ClusterModels describing the clusters.
+   * The response is resumed with a collection of ClusterModels describing the clusters.
+   * @param asyncResponse - the response, resumed once the clusters have been listed.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public CollectionModel<ClusterModel> get() {
+  public void get(@Suspended final AsyncResponse asyncResponse) {
     LOGGER.entering(href());
     String domainUid = getDomainUid();
-    CollectionModel<ClusterModel> collection = new CollectionModel<ClusterModel>();
-    for (String cluster : getBackend().getClusters(domainUid)) {
-      ClusterModel item = new ClusterModel(cluster);
-      item.addSelfLinks(href(item.getCluster()));
-      collection.addItem(item);
-    }
-    addSelfAndParentLinks(collection);
-    LOGGER.exiting(collection);
-    return collection;
+    runAsync(asyncResponse, () -> {
+      CollectionModel<ClusterModel> collection = new CollectionModel<ClusterModel>();
+      for (String cluster : getBackend().getClusters(domainUid)) {
+        ClusterModel item = new ClusterModel(cluster);
+        item.addSelfLinks(href(item.getCluster()));
+        collection.addItem(item);
+      }
+      addSelfAndParentLinks(collection);
+      LOGGER.exiting(collection);
+      return collection;
+    });
   }
 
   /**
@@ -58,6 +58,30 @@ public class DomainResource extends BaseResource {
     return result;
   }
 
+  /**
+   * Construct and return the 'scale' jaxrs child resource.
+   * @return the scale sub resource.
+   */
+  @Path("scale")
+  public ScaleClustersResource getScaleClustersResource() {
+    LOGGER.entering(href());
+    ScaleClustersResource result = new ScaleClustersResource(this, "scale");
+    LOGGER.exiting(result);
+    return result;
+  }
+
+  /**
+   * Construct and return the 'events' jaxrs child resource.
+   * @return the events sub resource, which streams the status events of this domain.
+   */
+  @Path("events")
+  public EventsResource getEventsResource() {
+    LOGGER.entering(href());
+    EventsResource result = new EventsResource(this, "events", getDomainUID());
+    LOGGER.exiting(result);
+    return result;
+  }
+
   private String getDomainUID() {
     return getPathSegment();
   }
@@ -13,6 +13,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -36,21 +38,24 @@ public class DomainsResource extends BaseResource {
 
   /**
    * List the WebLogic domains that are registered with the WebLogic operator.
-   * @return a collection of DomainModels describing the domains.
+   * The response is resumed with a collection of DomainModels describing the domains.
+   * @param asyncResponse - the response, resumed once the domains have been listed.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  public CollectionModel<DomainModel> get() {
+  public void get(@Suspended final AsyncResponse asyncResponse) {
     LOGGER.entering(href());
-    CollectionModel<DomainModel> collection = new CollectionModel<DomainModel>();
-    for (String domainUID : getBackend().getDomainUIDs()) {
-      DomainModel item = new DomainModel(domainUID);
-      item.addSelfLinks(href(item.getDomainUID()));
-      collection.addItem(item);
-    }
-    addSelfAndParentLinks(collection);
-    LOGGER.exiting(collection);
-    return collection;
+    runAsync(asyncResponse, () -> {
+      CollectionModel<DomainModel> collection = new CollectionModel<DomainModel>();
+      for (String domainUID : getBackend().getDomainUIDs()) {
+        DomainModel item = new DomainModel(domainUID);
+        item.addSelfLinks(href(item.getDomainUID()));
+        collection.addItem(item);
+      }
+      addSelfAndParentLinks(collection);
+      LOGGER.exiting(collection);
+      return collection;
+    });
   }
 
   /**
@@ -0,0 +1,144 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.resource;
+
+import oracle.kubernetes.operator.helpers.DomainStatusEvents;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents.Event;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents.Subscription;
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+
+import org.glassfish.jersey.server.ChunkedOutput;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * EventsResource is a jaxrs resource that implements the REST api for the
+ * /operator/{version}/events and /operator/{version}/domains/{domainUID}/events paths.
+ * It streams changes to the status of the WebLogic domains as Server-Sent Events, either
+ * for all of the domains that the WebLogic operator manages or for a single domain.
+ */
+public class EventsResource extends BaseResource {
+
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  public static final String SERVER_SENT_EVENTS = "text/event-stream";
+
+  private final String domainUID;
+
+  /**
+   * Construct an EventsResource.
+   * @param parent - the jaxrs resource that parents this resource.
+   * @param pathSegment - the last path segment in the url to this resource.
+   * @param domainUID - the domain whose events are streamed, or null to stream the events
+   * of all domains.
+   */
+  public EventsResource(BaseResource parent, String pathSegment, String domainUID) {
+    super(parent, pathSegment);
+    this.domainUID = domainUID;
+  }
+
+  /**
+   * Stream the status events of the domains.  The stream starts with the current status of each
+   * selected domain, followed by each change.  Filters may be repeated or given as comma
+   * separated lists.
+   * @param types - the event types to stream (status, condition, deleted); all if not specified.
+   * @param namespaces - the namespaces whose domains are streamed; all if not specified.
+   * @param domainUIDs - the domains that are streamed, when streaming the events of all domains;
+   * all if not specified.
+   * @return the event stream.
+   */
+  @GET
+  @Produces(SERVER_SENT_EVENTS)
+  public Response get(
+      @QueryParam("type") List<String> types,
+      @QueryParam("namespace") List<String> namespaces,
+      @QueryParam("domainUID") List<String> domainUIDs) {
+    LOGGER.entering(href(), types, namespaces, domainUIDs);
+    if (domainUID == null) {
+      // listing the domains verifies that the caller may see all of them
+      getBackend().getDomainUIDs();
+    }
+
+    Predicate<Event> filter = createFilter(toSet(types), toSet(namespaces),
+        domainUID != null ? singleton(domainUID) : toSet(domainUIDs));
+    ChunkedOutput<String> output = new ChunkedOutput<String>(String.class);
+    Subscription subscription = DomainStatusEvents.getInstance().subscribe(filter, new OutputSink(output));
+    if (subscription == null) {
+      WebApplicationException e = new WebApplicationException(Status.SERVICE_UNAVAILABLE);
+      LOGGER.throwing(e);
+      throw e;
+    }
+    LOGGER.exiting();
+    return Response.ok(output).header("Cache-Control", "no-cache").build();
+  }
+
+  private static Predicate<Event> createFilter(Set<String> types, Set<String> namespaces, Set<String> domainUIDs) {
+    return event ->
+        (types == null || types.contains(event.getType()))
+        && (namespaces == null || namespaces.contains(event.getNamespace()))
+        && (domainUIDs == null || domainUIDs.contains(event.getDomainUID()));
+  }
+
+  private static Set<String> toSet(List<String> values) {
+    if (values == null || values.isEmpty()) {
+      return null;
+    }
+    Set<String> set = new HashSet<>();
+    for (String value : values) {
+      for (String v : value.split(",")) {
+        if (!v.trim().isEmpty()) {
+          set.add(v.trim());
+        }
+      }
+    }
+    return set.isEmpty() ? null : set;
+  }
+
+  private static Set<String> singleton(String value) {
+    Set<String> set = new HashSet<>();
+    set.add(value);
+    return set;
+  }
+
+  /**
+   * Writes events to the response in the Server-Sent Events format.
+   */
+  private static class OutputSink implements DomainStatusEvents.Sink {
+    private final ChunkedOutput<String> output;
+
+    OutputSink(ChunkedOutput<String> output) {
+      this.output = output;
+    }
+
+    @Override
+    public void send(Event event) throws IOException {
+      output.write("id: " + event.getId() + "\nevent: " + event.getType() + "\ndata: " + event.getData() + "\n\n");
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+      output.write(": heartbeat\n\n");
+    }
+
+    @Override
+    public void closed() {
+      try {
+        output.close();
+      } catch (IOException | RuntimeException e) {
+        // the client has already gone away; Grizzly may fail on a connection it has released
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.rest.resource;
+
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
+import oracle.kubernetes.operator.metrics.PrometheusWriter;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+/**
+ * MetricsResource is a jaxrs resource that implements the REST api for the
+ * /metrics path.
+ * It returns the metrics of the WebLogic operator in the Prometheus text format so that
+ * they can be scraped.  Like the rest of the api, it requires a bearer token.
+ */
+@Path("metrics")
+public class MetricsResource extends BaseResource {
+
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  /**
+   * Construct a MetricsResource.
+   */
+  public MetricsResource() {
+    super(null, "metrics");
+  }
+
+  /**
+   * Get the current metrics of the WebLogic operator.
+   * @return the metrics in the Prometheus text exposition format.
+   */
+  @GET
+  @Produces(PrometheusWriter.CONTENT_TYPE)
+  public String get() {
+    LOGGER.entering(href());
+    PrometheusWriter writer = new PrometheusWriter();
+    OperatorMetrics.getInstance().collect(writer);
+    String result = writer.toString();
+    LOGGER.exiting();
+    return result;
+  }
+}
@@ -8,6 +8,8 @@ import oracle.kubernetes.operator.rest.model.ScaleClusterParamsModel;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -36,13 +38,19 @@ public class ScaleClusterResource extends BaseResource {
    * new managed servers to start or removed managed servers to stop.
    * @param params - a ScaleClusterParamsModel that specifies the desired number
    * of managed servers in the cluster
+   * @param asyncResponse - the response, resumed once the cluster has been reconfigured
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
-  public void post(final ScaleClusterParamsModel params) {
+  public void post(final ScaleClusterParamsModel params, @Suspended final AsyncResponse asyncResponse) {
     LOGGER.entering(href(), params);
-    getBackend().scaleCluster(getDomainUid(), getCluster(), params.getManagedServerCount());
-    LOGGER.exiting();
+    String domainUid = getDomainUid();
+    String cluster = getCluster();
+    runAsync(asyncResponse, () -> {
+      getBackend().scaleCluster(domainUid, cluster, params.getManagedServerCount());
+      LOGGER.exiting();
+      return null;
+    });
   }
 
   private String getCluster() {
@@ -0,0 +1,75 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+package oracle.kubernetes.operator.rest.resource;
+
+import oracle.kubernetes.operator.logging.LoggingFacade;
+import oracle.kubernetes.operator.logging.LoggingFactory;
+import oracle.kubernetes.operator.rest.model.ScaleClustersParamsModel;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * ScaleClustersResource is a jaxrs resource that implements the REST api for the
+ * /operator/{version}/domains/{domainUID}/scale path.
+ * It can be used to scale up or down the number of managed servers in several
+ * WebLogic clusters of a domain with a single request.
+ */
+public class ScaleClustersResource extends BaseResource {
+
+  private static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
+
+  /**
+   * Construct a ScaleClustersResource.
+   * @param parent - the jaxrs resource that parents this resource.
+   * @param pathSegment - the last path segment in the url to this resource.
+   */
+  public ScaleClustersResource(BaseResource parent, String pathSegment) {
+    super(parent, pathSegment);
+  }
+
+  /**
+   * Scale these WebLogic clusters up or down.
+   * This method configures the specified numbers of managed servers at both the
+   * Kubernetes and WebLogic levels, then returns.  It does not wait for the
+   * new managed servers to start or removed managed servers to stop.
+   * @param params - a ScaleClustersParamsModel that specifies the desired number
+   * of managed servers in each cluster
+   * @param asyncResponse - the response, resumed once the clusters have been reconfigured
+   */
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  public void post(final ScaleClustersParamsModel params, @Suspended final AsyncResponse asyncResponse) {
+    LOGGER.entering(href(), params);
+    String domainUid = getDomainUid();
+    if (params == null || params.getManagedServerCounts() == null || params.getManagedServerCounts().isEmpty()) {
+      WebApplicationException e = new WebApplicationException(Status.BAD_REQUEST);
+      LOGGER.throwing(e);
+      throw e;
+    }
+    for (String cluster : params.getManagedServerCounts().keySet()) {
+      if (!getBackend().isCluster(domainUid, cluster)) {
+        // report the missing cluster's own url, as the clusters resource does
+        WebApplicationException e = new WebApplicationException(
+            Response.status(Status.NOT_FOUND).entity(getParent().href("clusters", cluster)).build());
+        LOGGER.throwing(e);
+        throw e;
+      }
+    }
+    runAsync(asyncResponse, () -> {
+      getBackend().scaleClusters(domainUid, params.getManagedServerCounts());
+      LOGGER.exiting();
+      return null;
+    });
+  }
+
+  private String getDomainUid() {
+    return getParent().getPathSegment();
+  }
+}
@@ -66,6 +66,18 @@ public class VersionResource extends BaseResource {
     return result;
   }
 
+  /**
+   * Construct and return the 'events' jaxrs child resource.
+   * @return the events sub resource, which streams the status events of all domains.
+   */
+  @Path("events")
+  public EventsResource getEventsResource() {
+    LOGGER.entering(href());
+    EventsResource result = new EventsResource(this, "events", null);
+    LOGGER.exiting(result);
+    return result;
+  }
+
   /**
    * Construct and return the 'swagger' jaxrs child resource.
    * @return the swagger sub resource.
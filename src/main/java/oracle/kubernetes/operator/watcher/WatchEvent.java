@@ -0,0 +1,52 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.watcher;
+
+import io.kubernetes.client.models.V1Status;
+import io.kubernetes.client.util.Watch;
+
+/**
+ * Event delivered by a watch.  This mirrors {@link Watch.Response}, which can only be instantiated
+ * by the Kubernetes client itself, so that the {@link WatchEventDecoder} can create events directly.
+ *
+ * @param <T> The type of the object that is being watched.
+ */
+public class WatchEvent<T> {
+  /**
+   * Event type: ADDED, MODIFIED, DELETED or ERROR
+   */
+  public final String type;
+
+  /**
+   * Watched object, or null for ERROR events
+   */
+  public final T object;
+
+  /**
+   * Status describing the error for ERROR events, otherwise null
+   */
+  public final V1Status status;
+
+  /**
+   * Creates event
+   * @param type Event type
+   * @param object Watched object
+   * @param status Error status
+   */
+  public WatchEvent(String type, T object, V1Status status) {
+    this.type = type;
+    this.object = object;
+    this.status = status;
+  }
+
+  /**
+   * Creates event from a response read by a {@link Watch}
+   * @param response Watch response
+   * @param <T> The type of the object that is being watched.
+   * @return Event
+   */
+  public static <T> WatchEvent<T> from(Watch.Response<T> response) {
+    return new WatchEvent<T>(response.type, response.object, response.status);
+  }
+}
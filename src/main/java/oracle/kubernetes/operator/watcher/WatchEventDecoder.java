@@ -0,0 +1,159 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.watcher;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Response;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Status;
+
+/**
+ * Decodes watch events directly from the response stream of a watch request.  The event's
+ * "type" is examined first so that the "object" can be read with the adapter for the
+ * watched type or, for ERROR events, as a {@link V1Status}.
+ *
+ * @param <T> The type of the object that is being watched.
+ */
+public class WatchEventDecoder<T> {
+  private final TypeAdapter<T> objectAdapter;
+  private final TypeAdapter<V1Status> statusAdapter;
+  private final TypeAdapter<JsonElement> elementAdapter;
+  private final Function<T, V1ObjectMeta> metadata;
+  private final String kind;
+
+  /**
+   * Creates decoder using the serialization configuration of an API client
+   * @param json JSON support from the API client that executes the watch
+   * @param objectType Type of the watched object
+   * @param metadata Function accessing the metadata of a watched object
+   */
+  public WatchEventDecoder(JSON json, Class<T> objectType, Function<T, V1ObjectMeta> metadata) {
+    Gson gson = json.getGson();
+    this.objectAdapter = gson.getAdapter(objectType);
+    this.statusAdapter = gson.getAdapter(V1Status.class);
+    this.elementAdapter = gson.getAdapter(JsonElement.class);
+    this.metadata = metadata;
+    this.kind = objectType.getSimpleName();
+  }
+
+  /**
+   * Kind of the watched objects, for metrics
+   * @return Simple name of the watched type
+   */
+  public String getKind() {
+    return kind;
+  }
+
+  /**
+   * Namespace of a watched object
+   * @param object Watched object
+   * @return Namespace or null, if not available
+   */
+  public String getNamespace(T object) {
+    V1ObjectMeta meta = object != null ? metadata.apply(object) : null;
+    return meta != null ? meta.getNamespace() : null;
+  }
+
+  /**
+   * Executes watch request and returns the stream of events
+   * @param call Unexecuted watch call
+   * @return Stream of events, which must be closed
+   * @throws ApiException if the request failed
+   */
+  public WatchStream<T> open(Call call) throws ApiException {
+    Response response;
+    try {
+      response = call.execute();
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+    if (!response.isSuccessful()) {
+      String body = null;
+      if (response.body() != null) {
+        try {
+          body = response.body().string();
+        } catch (IOException e) {
+          throw new ApiException(response.message(), e, response.code(), response.headers().toMultimap());
+        }
+      }
+      throw new ApiException(response.message(), response.code(), response.headers().toMultimap(), body);
+    }
+    try {
+      return new WatchStream<T>(this, response.body());
+    } catch (IOException e) {
+      try {
+        response.body().close();
+      } catch (IOException ignore) {
+        // no-op
+      }
+      throw new ApiException(e);
+    }
+  }
+
+  /**
+   * Resource version of a watched object
+   * @param object Watched object
+   * @return Resource version or null, if not available
+   */
+  public String getResourceVersion(T object) {
+    V1ObjectMeta meta = object != null ? metadata.apply(object) : null;
+    return meta != null ? meta.getResourceVersion() : null;
+  }
+
+  /**
+   * Reads next event
+   * @param reader Reader positioned at the start of an event
+   * @return Event
+   * @throws IOException if the stream could not be read or did not contain an event
+   */
+  WatchEvent<T> read(JsonReader reader) throws IOException {
+    String type = null;
+    T object = null;
+    V1Status status = null;
+    JsonElement deferred = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if ("type".equals(name)) {
+        type = reader.nextString();
+      } else if ("object".equals(name)) {
+        if (type == null) {
+          // object preceded type; hold the tree until we know how to bind it
+          deferred = elementAdapter.read(reader);
+        } else if ("ERROR".equals(type)) {
+          status = statusAdapter.read(reader);
+        } else {
+          object = objectAdapter.read(reader);
+        }
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+
+    if (type == null) {
+      throw new IOException("Watch event without type");
+    }
+    if (deferred != null) {
+      if ("ERROR".equals(type)) {
+        status = statusAdapter.fromJsonTree(deferred);
+      } else {
+        object = objectAdapter.fromJsonTree(deferred);
+      }
+    }
+
+    return new WatchEvent<T>(type, object, status);
+  }
+}
@@ -0,0 +1,56 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.watcher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.squareup.okhttp.ResponseBody;
+
+/**
+ * Stream of events from an executed watch request.  Events are decoded as they arrive
+ * without first reading each line into a String.
+ *
+ * @param <T> The type of the object that is being watched.
+ */
+public class WatchStream<T> implements Closeable {
+  private final WatchEventDecoder<T> decoder;
+  private final ResponseBody body;
+  private final JsonReader reader;
+
+  WatchStream(WatchEventDecoder<T> decoder, ResponseBody body) throws IOException {
+    this.decoder = decoder;
+    this.body = body;
+    this.reader = new JsonReader(new InputStreamReader(body.source().inputStream(), StandardCharsets.UTF_8));
+    // events are a sequence of top-level JSON objects
+    this.reader.setLenient(true);
+  }
+
+  /**
+   * Blocks until another event is available or the server ends the watch
+   * @return true, if there is another event
+   * @throws IOException if the stream could not be read
+   */
+  public boolean hasNext() throws IOException {
+    return reader.peek() != JsonToken.END_DOCUMENT;
+  }
+
+  /**
+   * Decodes the next event
+   * @return Event
+   * @throws IOException if the stream could not be read
+   */
+  public WatchEvent<T> next() throws IOException {
+    return decoder.read(reader);
+  }
+
+  @Override
+  public void close() throws IOException {
+    body.close();
+  }
+}
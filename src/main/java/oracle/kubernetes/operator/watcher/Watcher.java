@@ -3,28 +3,33 @@
 
 package oracle.kubernetes.operator.watcher;
 
-import com.google.gson.annotations.SerializedName;
-import com.squareup.okhttp.ResponseBody;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.OkHttpClient;
+import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.ApiException;
-import io.kubernetes.client.JSON;
-import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1Status;
 import io.kubernetes.client.util.Watch;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.metrics.OperatorMetrics;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Type;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class handles the Watching interface and drives the watch support
- * for a specific type of object. It runs in a separate thread to drive
- * watching asynchronously to the main thread.
+ * for a specific type of object.  The operator's watchers are run by the
+ * {@link oracle.kubernetes.operator.WatchHub}, which gives each watcher a
+ * reader thread that calls {@link #doWatchCycle(int)} repeatedly; {@link #start()}
+ * instead runs a watcher on a new thread of its own.  A watcher given a
+ * dispatcher hands the events it reads to the dispatcher, which delivers
+ * them in order, so that the reader returns to the response stream at once;
+ * otherwise events are delivered on the reader thread.
  *
  * @param <T> The type of the object to be watched.
  */
@@ -32,30 +37,34 @@ public class Watcher<T> {
 
   private final Watching<T> watching;
   private final Object userContext;
+  private final WatchEventDecoder<T> decoder;
+  private final Executor dispatcher;
+  // events read and not yet delivered, and whether a dispatcher thread is delivering them
+  private final Queue<Runnable> undelivered = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean isDelivering = new AtomicBoolean(false);
   private final AtomicBoolean isAlive = new AtomicBoolean(true);
   private final AtomicBoolean isDraining = new AtomicBoolean(false);
   private String resourceVersion = "";
-  private Watch<T> watch = null;
+  // watch request in progress, so that it can be canceled when the watcher is stopped
+  private volatile Call currentCall;
   //TODO Remove this when the Watch support is integrated into the K8S API
   public static final LoggingFacade LOGGER = LoggingFactory.getLogger("Operator", "Operator");
-  
-  /*
-   * ErrorResponse is used when the response is not returning data but an error
-   * from the server.
-   */
-  private class ErrorResponse {
-    @SerializedName("type")
-    public String type;
 
-    @SerializedName("object")
-    public V1Status object;
-  }
+  // Server side timeout for each watch request - default is 300s.  The watch is resumed from the 
+  // last resource version seen when the request ends.
+  public static final int WATCH_TIMEOUT_SECONDS = Integer.getInteger("watch.timeout.seconds", 300);
 
-  // These are used to simulate Watch.next
-  private Type watchType;
-  private ResponseBody response;
-  private JSON json;
+  // additional time the client waits for data past the server side timeout
+  private static final int READ_TIMEOUT_MARGIN_SECONDS = 30;
 
+  // wait time before reissuing a watch request that failed - default is 1s
+  private static final int WATCH_RETRY_MILLIS = Integer.getInteger("watch.retry.ms", 1000);
+
+  private static final int GONE = 410;
+
+  // events delivered by a dispatcher thread before it is given back, so other watches are not held up
+  private static final int MAX_DELIVERIES_PER_TURN = 100;
+  
   public Watcher(Watching<T> watching) {
     this(watching, null);
   }
@@ -65,11 +74,52 @@ public class Watcher<T> {
   }
 
   public Watcher(Watching<T> watching, Object context, String resourceVersion) {
+    this(watching, context, resourceVersion, null);
+  }
+
+  /**
+   * Creates a watcher that decodes events directly from the response stream of the calls
+   * returned by {@link Watching#initiateWatchCall(Object, String, int)}.
+   * @param watching Watching callbacks
+   * @param context Optional context object or null
+   * @param resourceVersion Initial resource version or empty string
+   * @param decoder Decoder for the watched type
+   */
+  public Watcher(Watching<T> watching, Object context, String resourceVersion, WatchEventDecoder<T> decoder) {
+    this(watching, context, resourceVersion, decoder, null);
+  }
+
+  /**
+   * Creates a watcher that decodes events directly from the response stream and delivers them
+   * through the dispatcher.
+   * @param watching Watching callbacks
+   * @param context Optional context object or null
+   * @param resourceVersion Initial resource version or empty string
+   * @param decoder Decoder for the watched type
+   * @param dispatcher Executor that delivers events, or null to deliver them on the reader thread
+   */
+  public Watcher(Watching<T> watching, Object context, String resourceVersion, WatchEventDecoder<T> decoder,
+      Executor dispatcher) {
     this.watching = watching;
     this.userContext = context;
     this.resourceVersion = resourceVersion; 
+    this.decoder = decoder;
+    this.dispatcher = dispatcher;
   }
   
+  /**
+   * Configures an API client so that reads on a watch outlast the server side timeout.  Otherwise,
+   * the client would abandon a long-lived watch whenever the watched objects are quiet.
+   * @param client API client used for watch requests
+   * @return Previous read timeout in milliseconds so that it can be restored
+   */
+  public static int configureReadTimeout(ApiClient client) {
+    OkHttpClient httpClient = client.getHttpClient();
+    int previous = httpClient.getReadTimeout();
+    httpClient.setReadTimeout(WATCH_TIMEOUT_SECONDS + READ_TIMEOUT_MARGIN_SECONDS, TimeUnit.SECONDS);
+    return previous;
+  }
+
   /**
    * Kick off the watcher processing that runs in a separate thread.
    */
@@ -100,26 +150,6 @@ public class Watcher<T> {
     this.isAlive.set(isAlive);
   }
 
-  // Necessary to fool OKhttp that there are no response leaks.
-  private void watchClose() {
-
-    if (watch != null) {
-
-      // This fixes API bug where response close method is missing from
-      // default Watch object.
-      Class<?> cls = watch.getClass();
-      try {
-        Field responseField = cls.getDeclaredField("response");
-        responseField.setAccessible(true);
-        ResponseBody responseBody = (ResponseBody) responseField.get(watch);
-
-        responseBody.close();
-      } catch (NoSuchFieldException | IllegalAccessException | IOException ex) {
-        LOGGER.warning(MessageKeys.EXCEPTION, ex);
-      }
-    }
-  }
-
   /**
    * Tell the watcher to gracefully terminate.
    */
@@ -138,201 +168,229 @@ public class Watcher<T> {
     }
   }
 
+  /**
+   * Tell the watcher to stop without waiting for it.  A watch request in progress is canceled so
+   * that the thread running the watcher is released rather than blocked until the request ends.
+   */
+  public void stop() {
+    setIsDraining(true);
+    Call call = currentCall;
+    if (call != null) {
+      call.cancel();
+    }
+  }
+
   /**
    * Start the watching streaming operation in the current thread
    */
   public void doWatch() {
 
-    setIsAlive(true);
     setIsDraining(false);
 
     // Loop around doing the watch dance until draining.
-    while (!isDraining()) {
-      try {
-        if (watching.isStopping()) {
-          setIsDraining(true);
-          break;
-        }
-        
-        watch = (Watch<T>) watching.initiateWatch(userContext, resourceVersion);
-        if (watch == null) {
-          // Method override wants to terminate the watch cycle
-          setIsDraining(true);
-          break;
-        }
-
-        // Pickup essential fields in Watch object so the Watch.next
-        // can be simulated in this class. 
-        Class<?> cls = watch.getClass();
+    long delay;
+    while ((delay = doWatchCycle(WATCH_TIMEOUT_SECONDS)) >= 0) {
+      if (delay > 0) {
         try {
-           Field responseField = cls.getDeclaredField("response");
-           responseField.setAccessible(true);
-           response = (ResponseBody) responseField.get(watch);
-           Field watchTypeField = cls.getDeclaredField("watchType");
-           watchTypeField.setAccessible(true);
-           watchType = (Type) watchTypeField.get(watch);
-           Field jsonField = cls.getDeclaredField("json");
-           jsonField.setAccessible(true);
-           json = (JSON) jsonField.get(watch);
-        } catch (NoSuchFieldException | IllegalAccessException ex) {
-           LOGGER.warning(MessageKeys.EXCEPTION, ex);
+          Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+          // Ignore this exception
         }
-              
-        while ( watch.hasNext() ) {
-            
-          Watch.Response<T> item = simulateWatchNext(watch);     
+      }
+    }
+  }
 
-          if (watching.isStopping()) {
-            setIsDraining(true);
-          }
+  /**
+   * Issues a single watch request and delivers its events.  Callers that manage the threads
+   * running watches, such as a watch hub, invoke this repeatedly rather than {@link #doWatch()}.
+   * @param timeoutSeconds Server side timeout for the watch request
+   * @return Delay in milliseconds before the next cycle should be issued, or -1 if the watch has ended
+   */
+  public long doWatchCycle(int timeoutSeconds) {
+    setIsAlive(true);
+    try {
+      if (watching.isStopping()) {
+        setIsDraining(true);
+      }
+      if (isDraining()) {
+        // Say goodnight, Gracie.
+        setIsAlive(false);
+        return -1;
+      }
+
+      Call call = decoder != null ? watching.initiateWatchCall(userContext, resourceVersion, timeoutSeconds) : null;
+      if (call != null) {
+        currentCall = call;
+        try {
           if (isDraining()) {
-            // When draining just throw away anything new.
-            continue;
+            // stopped while the request was being created
+            call.cancel();
+            return 0;
           }
-
-          if (item.type.equalsIgnoreCase("ERROR")) {
-            // Check the type of error. If code is 410 meaning
-            // resource is gone then extract current resourceVersion 
-            // from message and use it to resync with server. 
-            V1Status status = (V1Status)item.object;
-            if ( status.getCode() == 410 ) {
-                String message = status.getMessage();
-                int index1 = message.indexOf('(');
-                if ( index1 > 0 ) {
-                    int index2 = message.indexOf(')', index1+1);
-                    if ( index2 > 0 ) {
-                        resourceVersion = message.substring(index1+1, index2);
-                        continue; 
-                    }
-                }
+          try (WatchStream<T> stream = decoder.open(call)) {
+            while (stream.hasNext()) {
+              WatchEvent<T> item = stream.next();
+              if (!processItem(item, decoder.getResourceVersion(item.object))) {
+                break;
+              }
             }
-            // Allow error to be reflected to watcher
           }
-          else {
-            // Track the resourceVersion assuming the user has setup
-            // the watch target class correctly.
-            trackResourceVersion(item.type, item.object);
+        } finally {
+          currentCall = null;
+        }
+        return 0;
+      }
+
+      Watch<T> watch = watching.initiateWatch(userContext, resourceVersion);
+      if (watch == null) {
+        // Method override wants to terminate the watch cycle
+        setIsDraining(true);
+        setIsAlive(false);
+        return -1;
+      }
+
+      try {
+        while (watch.hasNext()) {
+          // Watching implementations that only supply a Watch do not have resource versions tracked
+          if (!processItem(WatchEvent.from(watch.next()), null)) {
+            break;
           }
-          // invoke callback
-          watching.eventCallback(item);
         }
-        
+      } finally {
         // So OKhttp doesn't think responses are leaking.
-        watchClose();
-      } catch (RuntimeException | ApiException apiException ) {
-        String message = apiException.getMessage();
-        // Treat hasNext as a soft error because no watch events have
-        // arrived in the latest cycle. Just quietly reissue the watch request.
-        if (message != null && message.equals("IO Exception during hasNext method.")) {
-          // Close the timed out request OKhttp doesn't think responses are leaking.
-          watchClose();
-          continue;
-        }
-        // Something bad has happened.
-        LOGGER.warning(MessageKeys.EXCEPTION, apiException);
-        // This is a horrible hack but it is necessary until deserialization of
-        // type=ERROR, Kind=status is fixed. The error provides an updated
-        // resourceVersion but since we can't get the value from the response the
-        // only recovery possible is rolling the resourceVersion by 1 until
-        // synchronized with the server.
-        if ( resourceVersion.length() > 0 ) {
-          int rv = Integer.parseInt(resourceVersion);
-          rv++;
-          resourceVersion = "" + rv;
-        }
+        watch.close();
+      }
+      return 0;
+    } catch (IOException ioException) {
+      // The connection ended or timed out without events. Quietly reissue 
+      // the watch request from the last resource version seen.
+      return 0;
+    } catch (ApiException apiException) {
+      if (isDraining()) {
+        // the request was canceled by stop()
+        return 0;
       }
+      if (apiException.getCode() == GONE) {
+        relist();
+        return 0;
+      }
+      // Something bad has happened.
+      LOGGER.warning(MessageKeys.EXCEPTION, apiException);
+      return WATCH_RETRY_MILLIS;
+    } catch (RuntimeException runtimeException) {
+      String message = runtimeException.getMessage();
+      // Treat hasNext as a soft error because no watch events have
+      // arrived in the latest cycle. Just quietly reissue the watch request.
+      if (message != null && message.equals("IO Exception during hasNext method.")) {
+        return 0;
+      }
+      // Something bad has happened.
+      LOGGER.warning(MessageKeys.EXCEPTION, runtimeException);
+      return WATCH_RETRY_MILLIS;
     }
-    // Say goodnight, Gracie.
-    setIsAlive(false);
   }
-  
-  /**
-   * Simulate the Watch.next method so the typed class and ERROR responses
-   * can be properly de-serialized. 
-   * @param watch Watch object 
-   * @return Watch.Response<T> for this item
-   */
-  private Watch.Response<T> simulateWatchNext(Watch watch) {
-      
-      // If reflection failed then just use original method
-      if ( response == null || watchType == null || json == null ) {
-          return watch.next();
-      }
-    try {
-        String line = response.source().readUtf8Line();
-        if (line == null) {
-            throw new RuntimeException("Null response from the server.");
-        }
 
-        // Check if an error is being returned. 
-        if ( line.startsWith("{\"type\":\"ERROR\"") ) {
-            // WE have a winner. De-serialize using Error object
-            ErrorResponse er = json.deserialize(line, ErrorResponse.class);
-            try { 
-               // We need to generate a fake Watch.Response to avoid a class
-               // cast issue when returning. Reflection is used to generate 
-               // an instance of the response that is populated from the
-               // error response that was just de-serialized. 
-               Class<?> cls = Watch.Response.class; 
-               Class[] cArgs = new Class[2];
-               cArgs[0] = String.class; 
-               cArgs[1] = Object.class; 
-               
-               Constructor<?> constructor = cls.getDeclaredConstructor(cArgs);
-               constructor.setAccessible(true);
- 
-               Watch.Response resp = (Watch.Response) 
-                       constructor.newInstance(er.type, er.object);
-               return resp;
-            } catch ( InstantiationException | IllegalAccessException | NoSuchMethodException |
-                      InvocationTargetException ex ) {  
-               // Shrug. Reflection failed so throw a RuntimeException in 
-               // desparation. This should not happen unless K8S changed their
-               // Watch class. 
-               throw new RuntimeException("Watch.Response reflection failed - " + ex); 
-            }
-        }
-        return json.deserialize(line, watchType);
-    } catch (IOException e) {
-        throw new RuntimeException("IO Exception during next method.", e);
-    }      
+  // The resource version is no longer available, so restart the watch from the current state.  The
+  // server first sends ADDED events for every existing object, but objects deleted since the last
+  // event seen are simply missing, so the destination discards what it built from earlier events.
+  private void relist() {
+    LOGGER.info(MessageKeys.WATCH_RESOURCE_VERSION_EXPIRED, resourceVersion);
+    resourceVersion = "";
+    deliver(watching::onRelist);
   }
 
   /**
-   * Track resourceVersion and keep highest one for next watch iteration. The
-   * resourceVersion is extracted from the metadata in the class by a
-   * getter written to return that information. If the getter is not defined
-   * then the user will get all watches repeatedly.
-   *
-   * @param type   the type of operation
-   * @param object the object that is returned
+   * Delivers an event to the watching callbacks
+   * @param item Event
+   * @param itemResourceVersion Resource version of the event's object, if known
+   * @return true, if the watch should continue reading events from the current request
    */
-  private void trackResourceVersion(String type, Object object) {
+  private boolean processItem(WatchEvent<T> item, String itemResourceVersion) {
+    if (watching.isStopping()) {
+      setIsDraining(true);
+    }
+    if (isDraining()) {
+      // When draining just throw away anything new.
+      return false;
+    }
 
-    Class<?> cls = object.getClass();
-    // This gets tricky because the class might not have a direct getter
-    // for resourceVersion. So it is necessary to dig into the metadata
-    // object to pull out the resourceVersion.
-    V1ObjectMeta metadata;
-    try {
-      Field metadataField = cls.getDeclaredField("metadata");
-      metadataField.setAccessible(true);
-      metadata = (V1ObjectMeta) metadataField.get(object);
-    } catch (NoSuchFieldException | IllegalAccessException ex) {
-      LOGGER.warning(MessageKeys.EXCEPTION, ex);
+    if (item.type.equalsIgnoreCase("ERROR")) {
+      // If code is 410 meaning resource is gone then the history we need 
+      // to resume is no longer available and we must start over
+      V1Status status = item.status;
+      if ( status != null && status.getCode() != null && status.getCode() == GONE ) {
+        relist();
+        return false;
+      }
+      // Allow error to be reflected to watcher
+    } else if (itemResourceVersion != null) {
+      // Track the resourceVersion of the decoded object
+      trackResourceVersion(itemResourceVersion);
+    }
+    // invoke callback
+    long read = System.nanoTime();
+    deliver(() -> {
+      if (isDraining()) {
+        return;
+      }
+      String kind = decoder != null ? decoder.getKind() : "unknown";
+      String namespace = decoder != null ? decoder.getNamespace(item.object) : null;
+      long start = System.nanoTime();
+      OperatorMetrics.getInstance().recordWatchLag(kind, namespace, (start - read) / 1e9);
+      watching.eventCallback(item);
+      OperatorMetrics.getInstance().recordWatchEvent(kind, namespace, item.type, (System.nanoTime() - start) / 1e9);
+    });
+    return true;
+  }
+
+  // runs a callback on the dispatcher after those already read, or on the reader thread if there is none
+  private void deliver(Runnable callback) {
+    if (dispatcher == null) {
+      callback.run();
       return;
     }
-    String rv = metadata.getResourceVersion();
-    if (type.equalsIgnoreCase("DELETED")) {
-      int rv1 = Integer.parseInt(resourceVersion);
-      rv = "" + (rv1 + 1);
+    undelivered.add(callback);
+    if (isDelivering.compareAndSet(false, true)) {
+      dispatcher.execute(this::deliverUndelivered);
+    }
+  }
+
+  private void deliverUndelivered() {
+    Runnable callback;
+    int delivered = 0;
+    while (delivered++ < MAX_DELIVERIES_PER_TURN && (callback = undelivered.poll()) != null) {
+      try {
+        callback.run();
+      } catch (RuntimeException e) {
+        LOGGER.warning(MessageKeys.EXCEPTION, e);
+      }
+    }
+    isDelivering.set(false);
+    // continues with events that were added while finishing, or that did not fit in this turn
+    if (!undelivered.isEmpty() && isDelivering.compareAndSet(false, true)) {
+      dispatcher.execute(this::deliverUndelivered);
     }
+  }
+
+  /**
+   * Track resourceVersion and keep highest one for next watch iteration.  Resource versions
+   * from the API server are numeric, but they are compared as text if not.
+   *
+   * @param rv     the resource version of the object that is returned, including for DELETED events
+   */
+  private void trackResourceVersion(String rv) {
     if (resourceVersion == null || resourceVersion.length() < 1) {
       resourceVersion = rv;
-    } else {
-      if ( rv.compareTo(resourceVersion) > 0 ) {  
-        resourceVersion = rv;
-      }
+    } else if (compareResourceVersions(rv, resourceVersion) > 0) {
+      resourceVersion = rv;
+    }
+  }
+
+  static int compareResourceVersions(String rv1, String rv2) {
+    try {
+      return Long.compare(Long.parseLong(rv1), Long.parseLong(rv2));
+    } catch (NumberFormatException nfe) {
+      return rv1.compareTo(rv2);
     }
   }
 }
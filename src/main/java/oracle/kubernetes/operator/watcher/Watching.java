@@ -1,8 +1,10 @@
-// Copyright 2017, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Copyright 2017, 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
 // Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
 
 package oracle.kubernetes.operator.watcher;
 
+import com.squareup.okhttp.Call;
+
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.util.Watch;
 
@@ -13,15 +15,32 @@ import io.kubernetes.client.util.Watch;
  * @param <T> The type of the object that is being watched.
  */
 public interface Watching<T> extends WatchingEventDestination<T> {
+  /**
+   * Create the unexecuted call for a watch operation, repeated when timed out by framework.
+   * When a call is returned, and the {@link Watcher} was created with a {@link WatchEventDecoder},
+   * the Watcher executes the call and decodes events directly from the response stream.
+   *
+   * @param context Optional context object or null.
+   * @param resourceVersion Provided resourceVersion from last event
+   * @param timeoutSeconds Server side timeout for the watch request
+   * @return Unexecuted call or null to use {@link #initiateWatch(Object, String)}
+   * @throws ApiException in the event of an API error.
+   */
+  public default Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) throws ApiException {
+    return null;
+  }
+
   /**
    * Initiate a watch operation, repeated when timed out by framework.
    *
    * @param api Optional context object or null.
    * @param resourceVersion Provided resourceVersion from last event
-   * @return Watch object returned from API.
+   * @return Watch object returned from API or null if the watch should end.
    * @throws ApiException in the event of an API error.
    */
-  public Watch<T> initiateWatch(Object api, String resourceVersion) throws ApiException;
+  public default Watch<T> initiateWatch(Object api, String resourceVersion) throws ApiException {
+    return null;
+  }
 
   /**
    * Return true when the watch process should stop
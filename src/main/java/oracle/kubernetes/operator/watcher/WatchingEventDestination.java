@@ -3,8 +3,6 @@
 
 package oracle.kubernetes.operator.watcher;
 
-import io.kubernetes.client.util.Watch;
-
 /**
  * This interface is used for the final destination to deliver watch events
  *
@@ -18,5 +16,14 @@ public interface WatchingEventDestination<T> {
    *
    * @param response Watch response consisting of type and object
    */
-  public void eventCallback(Watch.Response<T> response);
+  public void eventCallback(WatchEvent<T> response);
+
+  /**
+   * Called when the watch could not resume from the last resource version and restarts from the
+   * current state.  An ADDED event then follows for every existing object, but no DELETED events
+   * are delivered for objects removed in the meantime, so state built from earlier events should
+   * be discarded.
+   */
+  public default void onRelist() {
+  }
 }
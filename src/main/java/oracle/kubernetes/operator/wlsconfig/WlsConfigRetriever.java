@@ -128,14 +128,7 @@ public class WlsConfigRetriever {
         // Not clear why we should have a maximum time to read the domain configuration.  We already know that the 
         // admin server Pod is READY and failing to read the config just means failure, so might as well keep trying.
         
-        // exponential back-off
-        Integer retryCount = (Integer) packet.get(RETRY_COUNT);
-        if (retryCount == null) {
-          retryCount = 0;
-        }
-        long waitTime = (2 << ++retryCount) * 1000 + (R.nextInt(HIGH - LOW) + LOW);
-        packet.put(RETRY_COUNT, retryCount);
-        return doRetry(packet, waitTime, TimeUnit.MILLISECONDS);
+        return doRetry(packet, getWaitTime(packet), TimeUnit.MILLISECONDS);
       }
     }
   }
@@ -153,14 +146,41 @@ public class WlsConfigRetriever {
     @Override
     public NextAction apply(Packet packet) {
       try {
-        HttpClient httpClient = (HttpClient) packet.get(HttpClient.KEY);
         DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
-        Domain dom = info.getDomain();
-  
         String serviceURL = HttpClient.getServiceURL(info.getAdmin().getService());
-        
+
+        // the fiber is suspended, rather than holding a thread, while the admin server responds
+        Step post = HttpClient.createPostStep(WlsDomainConfig.getRetrieveServersSearchUrl(), serviceURL,
+            WlsDomainConfig.getRetrieveServersSearchPayload(), new ReadConfigResponseStep(this, next));
+        return doNext(post, packet);
+      } catch (Throwable t) {
+        LOGGER.warning(MessageKeys.WLS_CONFIGURATION_READ_FAILED, t);
+        return doRetry(packet, getWaitTime(packet), TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  private static final class ReadConfigResponseStep extends Step {
+    private final Step retryStep;
+
+    public ReadConfigResponseStep(Step retryStep, Step next) {
+      super(next);
+      this.retryStep = retryStep;
+    }
+
+    @Override
+    public NextAction apply(Packet packet) {
+      try {
+        Throwable failure = (Throwable) packet.remove(HttpClient.THROWABLE_KEY);
+        if (failure != null) {
+          throw failure;
+        }
+        String jsonResult = (String) packet.remove(HttpClient.RESPONSE_KEY);
+
+        DomainPresenceInfo info = packet.getSPI(DomainPresenceInfo.class);
+        Domain dom = info.getDomain();
+
         WlsDomainConfig wlsDomainConfig = null;
-        String jsonResult = httpClient.executePostUrlOnServiceClusterIP(WlsDomainConfig.getRetrieveServersSearchUrl(), serviceURL, adminServerServiceName, namespace, WlsDomainConfig.getRetrieveServersSearchPayload());
         if (jsonResult != null) {
           wlsDomainConfig = WlsDomainConfig.create().load(jsonResult);
         }
@@ -176,19 +196,22 @@ public class WlsConfigRetriever {
         return doNext(packet);
       } catch (Throwable t) {
         LOGGER.warning(MessageKeys.WLS_CONFIGURATION_READ_FAILED, t);
-        
-        // exponential back-off
-        Integer retryCount = (Integer) packet.get(RETRY_COUNT);
-        if (retryCount == null) {
-          retryCount = 0;
-        }
-        long waitTime = (2 << ++retryCount) * 1000 + (R.nextInt(HIGH - LOW) + LOW);
-        packet.put(RETRY_COUNT, retryCount);
-        return doRetry(packet, waitTime, TimeUnit.MILLISECONDS);
+        return doDelay(retryStep, packet, getWaitTime(packet), TimeUnit.MILLISECONDS);
       }
     }
   }
 
+  // exponential back-off
+  private static long getWaitTime(Packet packet) {
+    Integer retryCount = (Integer) packet.get(RETRY_COUNT);
+    if (retryCount == null) {
+      retryCount = 0;
+    }
+    long waitTime = (2 << ++retryCount) * 1000 + (R.nextInt(HIGH - LOW) + LOW);
+    packet.put(RETRY_COUNT, retryCount);
+    return waitTime;
+  }
+
   /**
    * Returns from admin server selected server configurations of all WLS servers configured in the domain. The method
    * would repeatedly try to connect to the admin server to retrieve the configuration until the configured timeout
@@ -0,0 +1,196 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.wlsconfig;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.joda.time.DateTime;
+
+import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
+
+/**
+ * Cache of the WebLogic configuration of each domain, for callers outside of domain processing,
+ * such as the REST server.  The configuration most recently read by domain processing, found
+ * through {@link DomainPresenceInfo#getScan()}, is used when it is fresh enough; otherwise, the
+ * configuration is read from the admin server.
+ *
+ * Configuration that is older than the time-to-live is still returned while a single background
+ * read refreshes it.  Concurrent reads for the same domain share one request to the admin server.
+ * A domain's configuration is invalidated when its spec changes or its admin server pod is
+ * replaced, after which callers wait for a fresh read.
+ */
+public class WlsDomainConfigCache {
+  // time after which cached configuration is refreshed - default is 60s
+  private static final long TTL_MILLIS = Integer.getInteger("wls.config.cache.ttl.seconds", 60) * 1000L;
+
+  // number of threads refreshing configuration in the background - default is 2
+  private static final int REFRESH_THREADS = Integer.getInteger("wls.config.cache.refresh.threads", 2);
+
+  private static final WlsDomainConfigCache SINGLETON = new WlsDomainConfigCache();
+
+  private static class Entry {
+    final WlsDomainConfig config;
+    final long loadedAt;
+
+    Entry(WlsDomainConfig config, long loadedAt) {
+      this.config = config;
+      this.loadedAt = loadedAt;
+    }
+  }
+
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Long> invalidated = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, CompletableFuture<WlsDomainConfig>> inFlight = new ConcurrentHashMap<>();
+  private final ExecutorService refresher;
+  private volatile Function<String, DomainPresenceInfo> domainPresence = domainUID -> null;
+
+  public static WlsDomainConfigCache getInstance() {
+    return SINGLETON;
+  }
+
+  private WlsDomainConfigCache() {
+    refresher = Executors.newFixedThreadPool(REFRESH_THREADS, new DaemonThreadFactory());
+  }
+
+  /**
+   * Sets the lookup for the domain presence of a domain, whose scan is used when fresh enough
+   * @param domainPresence Lookup by domain UID
+   */
+  public void setDomainPresenceLookup(Function<String, DomainPresenceInfo> domainPresence) {
+    this.domainPresence = domainPresence;
+  }
+
+  /**
+   * Returns the configuration of the domain, reading it using the loader only if there is no
+   * valid configuration available
+   * @param domainUID Domain UID
+   * @param loader Reads the configuration from the admin server
+   * @return Domain configuration
+   */
+  public WlsDomainConfig get(String domainUID, Supplier<WlsDomainConfig> loader) {
+    Entry current = getCurrent(domainUID);
+    if (current != null) {
+      if (System.currentTimeMillis() - current.loadedAt >= TTL_MILLIS) {
+        // serve the stale configuration while it is refreshed
+        refresh(domainUID, loader, true);
+      }
+      return current.config;
+    }
+
+    try {
+      return refresh(domainUID, loader, false).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Discards the cached configuration of the domain, including the last scan by domain processing
+   * @param domainUID Domain UID
+   */
+  public void invalidate(String domainUID) {
+    invalidated.put(domainUID, System.currentTimeMillis());
+    entries.remove(domainUID);
+  }
+
+  /**
+   * Discards everything known about a domain that was deleted
+   * @param domainUID Domain UID
+   */
+  public void remove(String domainUID) {
+    invalidated.remove(domainUID);
+    entries.remove(domainUID);
+  }
+
+  private Entry getCurrent(String domainUID) {
+    Entry newest = entries.get(domainUID);
+
+    DomainPresenceInfo info = domainPresence.apply(domainUID);
+    if (info != null) {
+      WlsDomainConfig scan = info.getScan();
+      DateTime lastScanTime = info.getLastScanTime();
+      if (scan != null && lastScanTime != null) {
+        long scannedAt = lastScanTime.getMillis();
+        if (newest == null || scannedAt > newest.loadedAt) {
+          newest = new Entry(scan, scannedAt);
+        }
+      }
+    }
+
+    if (newest != null) {
+      Long invalidatedAt = invalidated.get(domainUID);
+      if (invalidatedAt != null && newest.loadedAt <= invalidatedAt) {
+        return null;
+      }
+    }
+    return newest;
+  }
+
+  private CompletableFuture<WlsDomainConfig> refresh(String domainUID, Supplier<WlsDomainConfig> loader, boolean inBackground) {
+    CompletableFuture<WlsDomainConfig> created = new CompletableFuture<>();
+    CompletableFuture<WlsDomainConfig> existing = inFlight.putIfAbsent(domainUID, created);
+    if (existing != null) {
+      // a read for this domain is already in progress
+      return existing;
+    }
+
+    if (inBackground) {
+      refresher.execute(() -> load(domainUID, loader, created));
+    } else {
+      // the caller waits for the result anyway, so it reads the configuration itself
+      load(domainUID, loader, created);
+    }
+    return created;
+  }
+
+  private void load(String domainUID, Supplier<WlsDomainConfig> loader, CompletableFuture<WlsDomainConfig> future) {
+    long startedAt = System.currentTimeMillis();
+    try {
+      WlsDomainConfig config = loader.get();
+      if (isLoaded(config)) {
+        Long invalidatedAt = invalidated.get(domainUID);
+        if (invalidatedAt == null || startedAt > invalidatedAt) {
+          entries.put(domainUID, new Entry(config, startedAt));
+        }
+      }
+      inFlight.remove(domainUID, future);
+      future.complete(config);
+    } catch (Throwable t) {
+      inFlight.remove(domainUID, future);
+      future.completeExceptionally(t);
+    }
+  }
+
+  // configuration that could not be read from the admin server is empty and is not cached
+  private static boolean isLoaded(WlsDomainConfig config) {
+    return config != null && !config.getServerConfigs().isEmpty();
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    public Thread newThread(Runnable r) {
+      Thread t = new Thread(r);
+      t.setName("Thread-WlsConfigCache-" + threadNumber.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    }
+  }
+}
@@ -53,15 +53,6 @@ public interface Component {
       }
     }
     
-    return new Component() {
-      @Override
-      public <S> S getSPI(Class<S> spiType) {
-        Object o = comps.get(spiType);
-        if (o == null) {
-          return null;
-        }
-        return spiType.cast(o);
-      }
-    };
+    return new SimpleComponent(comps);
   }
 }
@@ -0,0 +1,183 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map that can be copied in constant time.  A copy shares its contents with the original until
+ * either of them is written, at which point the writer takes a private copy.  A map that has
+ * been shared is never modified again, so copies may be read from different threads.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+  private final Runnable onWrite;
+  private Map<K, V> map;
+  private boolean shared;
+  private Set<Entry<K, V>> entrySet;
+
+  /**
+   * Creates an empty map
+   * @param onWrite Callback invoked whenever the map is written, or null
+   */
+  CopyOnWriteMap(Runnable onWrite) {
+    this.map = new HashMap<>();
+    this.onWrite = onWrite;
+  }
+
+  /**
+   * Creates a map with the same contents as another map
+   * @param that Map to copy
+   * @param onWrite Callback invoked whenever the map is written, or null
+   */
+  CopyOnWriteMap(CopyOnWriteMap<K, V> that, Runnable onWrite) {
+    this.map = that.map;
+    this.shared = true;
+    that.shared = true;
+    this.onWrite = onWrite;
+  }
+
+  private Map<K, V> writable() {
+    if (shared) {
+      map = new HashMap<>(map);
+      shared = false;
+    }
+    if (onWrite != null) {
+      onWrite.run();
+    }
+    return map;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    return map.containsValue(value);
+  }
+
+  @Override
+  public V get(Object key) {
+    return map.get(key);
+  }
+
+  @Override
+  public V put(K key, V value) {
+    return writable().put(key, value);
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (!map.containsKey(key)) {
+      return null;
+    }
+    return writable().remove(key);
+  }
+
+  @Override
+  public void putAll(Map<? extends K, ? extends V> m) {
+    if (!m.isEmpty()) {
+      writable().putAll(m);
+    }
+  }
+
+  @Override
+  public void clear() {
+    if (shared) {
+      map = new HashMap<>();
+      shared = false;
+    } else {
+      map.clear();
+    }
+    if (onWrite != null) {
+      onWrite.run();
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  private class EntrySet extends AbstractSet<Entry<K, V>> {
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public void clear() {
+      CopyOnWriteMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return new Iterator<Entry<K, V>>() {
+        private final Map<K, V> iterated = map;
+        private final Iterator<Entry<K, V>> it = iterated.entrySet().iterator();
+        private Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+          return it.hasNext();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+          Entry<K, V> e = it.next();
+          last = e;
+          // writes through the entry must not modify a shared map
+          return new SimpleEntry<K, V>(e) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public V setValue(V value) {
+              super.setValue(value);
+              return CopyOnWriteMap.this.put(getKey(), value);
+            }
+          };
+        }
+
+        @Override
+        public void remove() {
+          if (last == null) {
+            throw new IllegalStateException();
+          }
+          if (iterated == map && !shared) {
+            it.remove();
+            if (onWrite != null) {
+              onWrite.run();
+            }
+          } else {
+            // the iterated map is shared, or was already replaced by a private copy
+            writable().remove(last.getKey());
+          }
+          last = null;
+        }
+      };
+    }
+  }
+}
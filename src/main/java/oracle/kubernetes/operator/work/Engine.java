@@ -4,18 +4,32 @@
 package oracle.kubernetes.operator.work;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Collection of {@link Fiber}s. Owns an {@link Executor} to run them.
+ * Collection of {@link Fiber}s. Owns an {@link Executor} to run them and a separate
+ * scheduler for timers, such as delays and call timeouts, so that timers are not delayed
+ * behind fibers waiting for a thread.
  */
 public class Engine {
-  private final int DEFAULT_THREAD_COUNT = 5;
+  // number of threads running fibers - default is twice the number of processors, but at least 5
+  private static final int DEFAULT_THREAD_COUNT = Integer.getInteger("engine.fiber.threads",
+      Math.max(5, 2 * Runtime.getRuntime().availableProcessors()));
+  // number of threads for timers - default is 2
+  private static final int DEFAULT_TIMER_THREAD_COUNT = Integer.getInteger("engine.timer.threads", 2);
 
   private volatile ScheduledExecutorService threadPool;
+  private volatile ExecutorService fiberPool;
+  // executor that reports the number of fibers waiting for a thread, if known
+  private volatile ThreadPoolExecutor queueSource;
+  private final EngineMetrics metrics = new EngineMetrics(this);
   public final String id;
   private final Container container;
 
@@ -36,13 +50,29 @@ public class Engine {
   }
 
   /**
-   * Returns the executor
+   * Returns the scheduler for timers.  Tasks run by the scheduler should be short, such as
+   * resuming a fiber, because fibers themselves run on a separate pool of threads.
    * @return executor
    */
   public ScheduledExecutorService getExecutor() {
+    if (threadPool == null) {
+      synchronized (this) {
+        if (threadPool == null) {
+          threadPool = wrap(Executors.newScheduledThreadPool(DEFAULT_TIMER_THREAD_COUNT, new DaemonThreadFactory("timer")));
+        }
+      }
+    }
     return threadPool;
   }
 
+  /**
+   * Returns the metrics for this engine's fibers
+   * @return metrics
+   */
+  public EngineMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Creates engine with the specified id, default container and specified executor
    * @param id Engine id
@@ -60,7 +90,7 @@ public class Engine {
    */
   public Engine(String id, Container container, ScheduledExecutorService threadPool) {
     this(id, container);
-    this.threadPool = threadPool != null ? wrap(threadPool) : null;
+    setExecutor(threadPool);
   }
 
   /**
@@ -82,20 +112,32 @@ public class Engine {
   }
 
   /**
-   * Sets the executor
+   * Sets the executor, which will be used both to run fibers and for timers
    * @param threadPool Executor
    */
-  public void setExecutor(ScheduledExecutorService threadPool) {
+  public synchronized void setExecutor(ScheduledExecutorService threadPool) {
     this.threadPool = threadPool != null ? wrap(threadPool) : null;
+    this.fiberPool = this.threadPool;
+    this.queueSource = threadPool instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) threadPool : null;
   }
 
   void addRunnable(Fiber fiber) {
-    if (threadPool == null) {
+    if (fiberPool == null) {
       synchronized (this) {
-        threadPool = wrap(Executors.newScheduledThreadPool(DEFAULT_THREAD_COUNT, new DaemonThreadFactory()));
+        if (fiberPool == null) {
+          ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_THREAD_COUNT, DEFAULT_THREAD_COUNT,
+              0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory("thread"));
+          queueSource = pool;
+          fiberPool = pool;
+        }
       }
     }
-    threadPool.execute(fiber);
+    fiberPool.execute(fiber);
+  }
+
+  int getQueueDepth() {
+    ThreadPoolExecutor source = queueSource;
+    return source != null ? source.getQueue().size() : -1;
   }
 
   private ScheduledExecutorService wrap(ScheduledExecutorService ex) {
@@ -120,8 +162,8 @@ public class Engine {
     final AtomicInteger threadNumber = new AtomicInteger(1);
     final String namePrefix;
 
-    DaemonThreadFactory() {
-      namePrefix = "engine-" + id  + "-thread-";
+    DaemonThreadFactory(String kind) {
+      namePrefix = "engine-" + id  + "-" + kind + "-";
     }
 
     public Thread newThread(Runnable r) {
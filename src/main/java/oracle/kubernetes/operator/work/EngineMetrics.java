@@ -0,0 +1,96 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import oracle.kubernetes.operator.metrics.LabeledHistogram;
+
+/**
+ * Metrics for the fibers of an {@link Engine}.  Durations are in seconds.
+ */
+public class EngineMetrics {
+  /**
+   * {@link Packet} property naming the subject, such as a domain UID, of a fiber's work.  The time
+   * of each step is only recorded for fibers whose packet has this property.
+   */
+  public static final String STEP_LABEL = "stepMetricsLabel";
+
+  private final Engine engine;
+
+  final AtomicInteger activeFibers = new AtomicInteger();
+  final AtomicInteger runningFibers = new AtomicInteger();
+  final AtomicInteger suspendedFibers = new AtomicInteger();
+  final Histogram runTime = new Histogram(0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5);
+  final Histogram fiberTime = new Histogram(0.1, 0.5, 1, 5, 10, 30, 60, 300, 600, 1800);
+  final LabeledHistogram stepTime = new LabeledHistogram(
+      new double[] { 0.001, 0.01, 0.1, 0.5, 1, 5, 10, 30, 60, 300 }, "label", "step");
+
+  EngineMetrics(Engine engine) {
+    this.engine = engine;
+  }
+
+  /**
+   * Number of fibers waiting for a thread
+   * @return Queue depth, or -1 if the engine's executor does not report it
+   */
+  public int getQueueDepth() {
+    return engine.getQueueDepth();
+  }
+
+  /**
+   * Number of fibers that have been started and have not yet completed or been cancelled
+   * @return Active fibers
+   */
+  public int getActiveFibers() {
+    return activeFibers.get();
+  }
+
+  /**
+   * Number of fibers currently executing steps on a thread
+   * @return Running fibers
+   */
+  public int getRunningFibers() {
+    return runningFibers.get();
+  }
+
+  /**
+   * Number of fibers that are suspended and waiting to be resumed
+   * @return Suspended fibers
+   */
+  public int getSuspendedFibers() {
+    return suspendedFibers.get();
+  }
+
+  /**
+   * Time that fibers run on a thread each time they are scheduled
+   * @return Histogram of run times
+   */
+  public Histogram getRunTime() {
+    return runTime;
+  }
+
+  /**
+   * Time from when fibers are started until they complete
+   * @return Histogram of fiber durations
+   */
+  public Histogram getFiberTime() {
+    return fiberTime;
+  }
+
+  /**
+   * Time from when each step is applied until the fiber moves on to the next step, including any
+   * time the fiber is suspended waiting for the step's asynchronous work, by the fiber's
+   * {@link #STEP_LABEL} and the step's class
+   * @return Histograms of step times
+   */
+  public LabeledHistogram getStepTime() {
+    return stepTime;
+  }
+
+  void observeStep(String label, Step step, double seconds) {
+    String name = step.getClass().getName();
+    stepTime.observe(seconds, label, name.substring(name.lastIndexOf('.') + 1));
+  }
+}
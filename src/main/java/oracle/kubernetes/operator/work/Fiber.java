@@ -8,13 +8,13 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
@@ -61,7 +61,7 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
    * Is this thread suspended? 0=not suspended, 1=suspended.
    * Logically this is just a boolean, but we need to prepare for the case where
    * the thread is {@link #resume(Packet) resumed} before we get to the
-   * {@link #suspend()}. This happens when things happen in the following order:
+   * {@link #suspend}. This happens when things happen in the following order:
    * <ol>
    * <li>Step decides that the fiber needs to be suspended to wait for the
    * external event.
@@ -70,14 +70,38 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
    * <li>Step returns with {@link NextAction#suspend()}.
    * <li>"External mechanism" becomes signal state and invokes
    * {@link Fiber#resume(Packet)} to wake up fiber
-   * <li>{@link Fiber#doRun} invokes {@link Fiber#suspend()}.
+   * <li>{@link Fiber#doRun} invokes {@link Fiber#suspend}.
    * </ol>
    * Using int, this will work OK because {@link #suspendedCount} becomes -1 when
-   * {@link #resume(Packet)} occurs before {@link #suspend()}.
-   * Increment and decrement is guarded by 'this' object.
+   * {@link #resume(Packet)} occurs before {@link #suspend}.
+   * Increment and decrement are atomic through {@link #SUSPENDED_COUNT}.
    */
   private volatile int suspendedCount = 0;
 
+  /**
+   * 1, if a thread owns this fiber, either running it or about to run it; otherwise, 0.  Only
+   * the thread that moves this from 0 to 1 may dispatch the fiber, so a fiber never runs on
+   * two threads at once.  A completed fiber keeps ownership so that it is never dispatched again.
+   */
+  private volatile int running = 0;
+
+  /**
+   * Set once {@link #start} has made a thread the owner of the fiber.  A fiber that is cancelled
+   * before then is completed by the thread that runs it.
+   */
+  private volatile boolean started = false;
+
+  private static final AtomicIntegerFieldUpdater<Fiber> SUSPENDED_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(Fiber.class, "suspendedCount");
+  private static final AtomicIntegerFieldUpdater<Fiber> RUNNING =
+      AtomicIntegerFieldUpdater.newUpdater(Fiber.class, "running");
+
+  // when the fiber was started, for metrics
+  private long startNanos;
+  // step whose time is being recorded and when it was applied, for metrics
+  private Step timedStep;
+  private long timedStepNanos;
+
   private final int id;
   private ClassLoader contextClassLoader;
   private CompletionCallback completionCallback;
@@ -86,18 +110,14 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
   /**
    * The thread on which this Fiber is currently executing, if applicable.
    */
-  private Thread currentThread;
+  private volatile Thread currentThread;
   
   private ExitCallback exitCallback;
 
   private Collection<Fiber> children = null;
 
-  /**
-   * Replace uses of synchronized(this) with this lock so that we can control
-   * unlocking for resume use cases
-   */
-  private final ReentrantLock lock = new ReentrantLock();
-  private final Condition condition = lock.newCondition();
+  // created only when a thread blocks in get()
+  private volatile CountDownLatch completed;
 
   private static final int NOT_COMPLETE = 0;
   private static final int DONE = 1;
@@ -174,7 +194,11 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
     this.packet = packet;
     this.completionCallback = completionCallback;
     this.applyThrowable = null;
+    this.startNanos = System.nanoTime();
+    owner.getMetrics().activeFibers.incrementAndGet();
 
+    running = 1;
+    started = true;
     owner.addRunnable(this);
   }
 
@@ -211,25 +235,26 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
    */
   public void resume(Packet resumePacket, CompletionCallback callback) {
     if (status.get() == NOT_COMPLETE) {
-      lock.lock();
-      try {
-        if (callback != null) {
-          setCompletionCallback(callback);
+      if (callback != null) {
+        setCompletionCallback(callback);
+      }
+      // written before the decrement so that the thread that runs the fiber next sees it
+      packet = resumePacket;
+      int count = SUSPENDED_COUNT.decrementAndGet(this);
+      if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.fine("{0} resuming. Will have suspendedCount={1}", new Object[] { getName(), count });
+      }
+      if (count == 0) {
+        owner.getMetrics().suspendedFibers.decrementAndGet();
+        // if a thread still owns the fiber, it will see the resume before it lets go
+        if (RUNNING.compareAndSet(this, 0, 1)) {
+          owner.addRunnable(this);
         }
+      } else {
         if (LOGGER.isLoggable(Level.FINE)) {
-          LOGGER.fine("{0} resuming. Will have suspendedCount={1}", new Object[] { getName(), suspendedCount - 1 });
+          LOGGER.fine("{0} taking no action on resume because suspendedCount != 0: {1}",
+              new Object[] { getName(), count });
         }
-        packet = resumePacket;
-        if (--suspendedCount == 0) {
-          owner.addRunnable(this);
-        } else {
-          if (LOGGER.isLoggable(Level.FINE)) {
-            LOGGER.fine("{0} taking no action on resume because suspendedCount != 0: {1}",
-                new Object[] { getName(), suspendedCount });
-          }
-        }
-      } finally {
-        lock.unlock();
       }
     }
   }
@@ -243,17 +268,23 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
     if (t == null) {
       throw new IllegalArgumentException();
     }
-    lock.lock();
-    try {
+    // take ownership, waiting for a thread that is just leaving the fiber
+    while (!RUNNING.compareAndSet(this, 0, 1)) {
       if (suspendedCount <= 0) {
         throw new IllegalStateException();
       }
-      this.packet = packet;
-      this.applyThrowable = t;
-      completionCheck();
-    } finally {
-      lock.unlock();
+      if (status.get() != NOT_COMPLETE) {
+        return;
+      }
+      Thread.yield();
     }
+    if (suspendedCount <= 0) {
+      release(false);
+      throw new IllegalStateException();
+    }
+    this.packet = packet;
+    this.applyThrowable = t;
+    completionCheck(LOGGER.isLoggable(Level.FINE));
   }
 
   /**
@@ -286,12 +317,14 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
     if (!status.compareAndSet(NOT_COMPLETE, CANCELLED)) {
       return false;
     }
+    completeIfNotOwned();
+    signalCompleted();
     
-    // synchronized(this) is used as Thread running Fiber will be holding lock
     synchronized (this) {
       if (mayInterrupt) {
-        if (currentThread != null) {
-          currentThread.interrupt();
+        Thread t = currentThread;
+        if (t != null) {
+          t.interrupt();
         }
       }
       
@@ -317,65 +350,75 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
 
   public Void get() throws InterruptedException, ExecutionException {
     int s = status.get();
+    if (s == NOT_COMPLETE) {
+      getCompletedLatch().await();
+      s = status.get();
+    }
     if (s == CANCELLED) {
       throw new CancellationException();
     }
-    if (s == NOT_COMPLETE) {
-      lock.lock();
-      try {
-        // check again under lock
-        s = status.get();
-        if (s == CANCELLED) {
-          throw new CancellationException();
-        }
-        if (s == NOT_COMPLETE) {
-          condition.await();
-          if (s == CANCELLED) {
-            throw new CancellationException();
-          }
-        }
-      } finally {
-        lock.unlock();
-      }
-    }
 
     return null;
   }
 
   public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
     int s = status.get();
-    if (s == CANCELLED) {
-      throw new CancellationException();
-    }
     if (s == NOT_COMPLETE) {
-      if (!lock.tryLock() && !lock.tryLock(timeout, unit)) {
+      if (!getCompletedLatch().await(timeout, unit)) {
         throw new TimeoutException();
       }
-      try {
-        // check again under lock
-        s = status.get();
-        if (s == CANCELLED) {
-          throw new CancellationException();
-        }
-        if (s == NOT_COMPLETE) {
-          if (!condition.await(timeout, unit)) {
-            throw new TimeoutException();
-          }
+      s = status.get();
+    }
+    if (s == CANCELLED) {
+      throw new CancellationException();
+    }
+
+    return null;
+  }
+
+  private CountDownLatch getCompletedLatch() {
+    CountDownLatch latch = completed;
+    if (latch == null) {
+      synchronized (this) {
+        latch = completed;
+        if (latch == null) {
+          completed = latch = new CountDownLatch(1);
         }
-      } finally {
-        lock.unlock();
       }
     }
+    // the fiber may have completed before the latch was visible to it
+    if (status.get() != NOT_COMPLETE) {
+      latch.countDown();
+    }
+    return latch;
+  }
 
-    return null;
+  /**
+   * Completes a cancelled fiber that no thread owns, such as a suspended fiber.  Such a fiber is
+   * never resumed, so no thread would otherwise find it cancelled and complete it.
+   */
+  private void completeIfNotOwned() {
+    if (started && RUNNING.compareAndSet(this, 0, 1)) {
+      completionCheck(LOGGER.isLoggable(Level.FINE));
+    }
+  }
+
+  private void signalCompleted() {
+    CountDownLatch latch = completed;
+    if (latch != null) {
+      latch.countDown();
+    }
   }
 
-  private boolean suspend(Holder<Boolean> isRequireUnlock, Consumer<Fiber> onExit) {
-    suspendedCount++;
+  private boolean suspend(Consumer<Fiber> onExit, boolean isFine) {
+    int count = SUSPENDED_COUNT.incrementAndGet(this);
+    if (count == 1) {
+      owner.getMetrics().suspendedFibers.incrementAndGet();
+    }
 
-    if (LOGGER.isLoggable(Level.FINE)) {
-      LOGGER.fine("{0} suspending. Will have suspendedCount={1}", new Object[] { getName(), suspendedCount });
-      if (suspendedCount > 1) {
+    if (isFine) {
+      LOGGER.fine("{0} suspending. Will have suspendedCount={1}", new Object[] { getName(), count });
+      if (count > 1) {
         LOGGER.fine(
             "WARNING - {0} suspended more than resumed. Will require more than one resume to actually resume this fiber.",
             getName());
@@ -383,15 +426,11 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
     }
 
     if (onExit != null) {
-      /* INTENTIONALLY UNLOCKING EARLY */
-      synchronized (this) {
-        // currentThread is protected by the monitor for this fiber so
-        // that it is accessible to cancel() even when the lock is held
-        currentThread = null;
-      }
-      lock.unlock();
-      assert (!lock.isHeldByCurrentThread());
-      isRequireUnlock.value = Boolean.FALSE;
+      /* INTENTIONALLY RELEASING EARLY */
+      // onExit may resume this fiber, possibly from another thread, so this thread must let go of
+      // the fiber first and must not touch it again other than to dispatch it
+      currentThread = null;
+      running = 0;
 
       try {
         onExit.accept(this);
@@ -399,6 +438,10 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
         throw new OnExitRunnableException(t);
       }
 
+      // the fiber was resumed before it suspended; nothing else will dispatch it
+      if (suspendedCount == 0 && status.get() == NOT_COMPLETE && RUNNING.compareAndSet(this, 0, 1)) {
+        owner.addRunnable(this);
+      }
       return true;
     }
 
@@ -440,109 +483,126 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
    */
   @Override
   public void run() {
+    EngineMetrics metrics = owner.getMetrics();
+    metrics.runningFibers.incrementAndGet();
+    long runStart = System.nanoTime();
+    // sampled once per run rather than for every step
+    boolean isFine = LOGGER.isLoggable(Level.FINE);
     Container old = ContainerResolver.getDefault().enterContainer(owner.getContainer());
     try {
       // doRun returns true to indicate an early exit from fiber processing
-      if (!doRun(next)) {
-          completionCheck();
+      if (!doRun(isFine)) {
+        if (!completionCheck(isFine)) {
+          release(true);
+        }
       }
     } finally {
       ContainerResolver.getDefault().exitContainer(old);
+      metrics.runningFibers.decrementAndGet();
+      metrics.runTime.observe((System.nanoTime() - runStart) / 1e9);
     }
   }
 
-  private void completionCheck() {
-    lock.lock();
-    try {
-      // Don't trigger completion and callbacks if fiber is suspended, unless
-      // throwable
-      int s = status.get();
-      if (s == CANCELLED || (s == NOT_COMPLETE && (applyThrowable != null || (next == null && suspendedCount == 0)))) {
-        if (LOGGER.isLoggable(Level.FINE)) {
-          LOGGER.fine("{0} completed", getName());
-        }
-        boolean isDone = status.compareAndSet(NOT_COMPLETE, DONE);
-        condition.signalAll();
-        if (isDone && completionCallback != null) {
-          if (applyThrowable != null) {
-            completionCallback.onThrowable(packet, applyThrowable);
-          } else {
-            completionCallback.onCompletion(packet);
+  /**
+   * Gives up ownership of the fiber by the current thread.
+   * @param isRecheck true, if the fiber should be dispatched again if it was resumed while owned
+   */
+  private void release(boolean isRecheck) {
+    currentThread = null;
+    running = 0;
+    // a resume that arrived while this thread owned the fiber could not dispatch it
+    if (isRecheck && suspendedCount == 0 && status.get() == NOT_COMPLETE
+        && RUNNING.compareAndSet(this, 0, 1)) {
+      owner.addRunnable(this);
+    }
+  }
+
+  /**
+   * Completes the fiber, if it is cancelled, failed or has nothing left to run.  Must be called
+   * by the thread that owns the fiber.
+   * @return true, if the fiber is now complete
+   */
+  private boolean completionCheck(boolean isFine) {
+    // Don't trigger completion and callbacks if fiber is suspended, unless
+    // throwable
+    int s = status.get();
+    if (s == CANCELLED || (s == NOT_COMPLETE && (applyThrowable != null || (next == null && suspendedCount == 0)))) {
+      if (isFine) {
+        LOGGER.fine("{0} completed", getName());
+      }
+      boolean isDone = status.compareAndSet(NOT_COMPLETE, DONE);
+      currentThread = null;
+      synchronized (this) {
+        if (exitCallback != PLACEHOLDER) {
+          // first time the fiber completes or is found to be cancelled
+          recordStep(null);
+          EngineMetrics metrics = owner.getMetrics();
+          metrics.activeFibers.decrementAndGet();
+          metrics.fiberTime.observe((System.nanoTime() - startNanos) / 1e9);
+          if (suspendedCount > 0) {
+            // terminated while suspended
+            metrics.suspendedFibers.decrementAndGet();
           }
         }
-        // Trigger exitCallback
-        synchronized (this) {
-          if (exitCallback != null && exitCallback != PLACEHOLDER) {
-            exitCallback.onExit();
-          }
-          exitCallback = PLACEHOLDER;
+      }
+      if (isDone && completionCallback != null) {
+        if (applyThrowable != null) {
+          completionCallback.onThrowable(packet, applyThrowable);
+        } else {
+          completionCallback.onCompletion(packet);
         }
       }
-    } finally {
-      lock.unlock();
+      // Trigger exitCallback
+      synchronized (this) {
+        if (exitCallback != null && exitCallback != PLACEHOLDER) {
+          exitCallback.onExit();
+        }
+        exitCallback = PLACEHOLDER;
+      }
+      // waiters in get() are released once the callbacks have run
+      signalCompleted();
+      return true;
     }
+    return false;
   }
   
   /**
    * Executes the fiber as much as possible.
    *
    */
-  private boolean doRun(Step next) {
-    // isRequireUnlock will contain Boolean.FALSE when lock has already been
-    // released in suspend
-    Holder<Boolean> isRequireUnlock = new Holder<Boolean>(Boolean.TRUE);
-    lock.lock();
-    try {
-      ClassLoader old;
-      synchronized (this) {
-        // currentThread is protected by the monitor for this fiber so
-        // that it is accessible to cancel() even when the lock is held
-        currentThread = Thread.currentThread();
-        if (LOGGER.isLoggable(Level.FINE)) {
-          LOGGER.fine("Thread entering _doRun(): {0}", currentThread);
-        }
+  private boolean doRun(boolean isFine) {
+    Thread thread = Thread.currentThread();
+    currentThread = thread;
+    if (isFine) {
+      LOGGER.fine("Thread entering _doRun(): {0}", thread);
+    }
 
-        old = currentThread.getContextClassLoader();
-        currentThread.setContextClassLoader(contextClassLoader);
+    ClassLoader old = thread.getContextClassLoader();
+    thread.setContextClassLoader(contextClassLoader);
+    try {
+      return _doRun(isFine);
+    } catch (OnExitRunnableException o) {
+      // catching this exception indicates onExitRunnable in suspend() threw.
+      // the fiber has already been released
+      Throwable t = o.target;
+      if (t instanceof Error) {
+        throw (Error) t;
       }
-
-      try {
-        this.next = next;
-        return _doRun(isRequireUnlock);
-      } catch (OnExitRunnableException o) {
-        // catching this exception indicates onExitRunnable in suspend() threw.
-        // we must still avoid double unlock
-        Throwable t = o.target;
-        if (t instanceof Error) {
-          throw (Error) t;
-        }
-        if (t instanceof RuntimeException) {
-          throw (RuntimeException) t;
-        }
-        throw new RuntimeException(t);
-      } finally {
-        // reacquire current thread here because fiber processing
-        // may already be running on a different thread (Note: isAlreadyExited
-        // tracks this state
-        Thread thread = Thread.currentThread();
-        thread.setContextClassLoader(old);
-        if (LOGGER.isLoggable(Level.FINE)) {
-          LOGGER.fine("Thread leaving _doRun(): {0}", thread);
-        }
+      if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
       }
+      throw new RuntimeException(t);
     } finally {
-      if (isRequireUnlock.value) {
-        synchronized (this) {
-          currentThread = null;
-        }
-        lock.unlock();
+      // restore only thread state here because fiber processing
+      // may already be running on a different thread
+      thread.setContextClassLoader(old);
+      if (isFine) {
+        LOGGER.fine("Thread leaving _doRun(): {0}", thread);
       }
     }
   }
 
-  private boolean _doRun(Holder<Boolean> isRequireUnlock) {
-    assert (lock.isHeldByCurrentThread());
-
+  private boolean _doRun(boolean isFine) {
     final Fiber old = CURRENT_FIBER.get();
     CURRENT_FIBER.set(this);
 
@@ -558,11 +618,13 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
           return false;
         }
 
-        if (LOGGER.isLoggable(Level.FINE)) {
+        if (isFine) {
           LOGGER.fine("{0} {1}.apply({2})", new Object[] { getName(), next,
               packet != null ? "Packet@" + Integer.toHexString(packet.hashCode()) : "null" });
         }
 
+        recordStep(next);
+
         NextAction na;
         try {
           na = next.apply(packet);
@@ -571,7 +633,7 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
           return false;
         }
 
-        if (LOGGER.isLoggable(Level.FINE)) {
+        if (isFine) {
           LOGGER.fine("{0} returned with {1}", new Object[] { getName(), na });
         }
         
@@ -587,7 +649,7 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
           break;
         case SUSPEND:
           next = na.next;
-          if (suspend(isRequireUnlock, na.onExit))
+          if (suspend(na.onExit, isFine))
             return true; // explicitly exiting control loop
           break;
         case THROW:
@@ -608,9 +670,23 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
     return false;
   }
 
+  // attributes the time since the previous step was applied to that step
+  private void recordStep(Step step) {
+    Object label = packet != null ? packet.get(EngineMetrics.STEP_LABEL) : null;
+    if (label == null) {
+      timedStep = null;
+      return;
+    }
+    long now = System.nanoTime();
+    if (timedStep != null) {
+      owner.getMetrics().observeStep(label.toString(), timedStep, (now - timedStepNanos) / 1e9);
+    }
+    timedStep = step;
+    timedStepNanos = now;
+  }
+
   private boolean isReady() {
     return suspendedCount <= 0;
-
   }
 
   private String getName() {
@@ -663,7 +739,9 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
    */
   public boolean cancelAndExitCallback(boolean mayInterrupt, ExitCallback exitCallback) {
     // Mark fiber as cancelled, if not already done
-    status.compareAndSet(NOT_COMPLETE, CANCELLED);
+    if (status.compareAndSet(NOT_COMPLETE, CANCELLED)) {
+      completeIfNotOwned();
+    }
     
     synchronized (this) {
       if (currentThread != null) {
@@ -678,7 +756,8 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
         }
       }
 
-      if (this.exitCallback != null) {
+      // a fiber that has already exited, such as a suspended fiber completed above, has no callback to make
+      if (this.exitCallback != null && this.exitCallback != PLACEHOLDER) {
         throw new IllegalStateException();
       }
       boolean isWillCall = this.exitCallback != PLACEHOLDER;
@@ -735,13 +814,4 @@ public final class Fiber implements Runnable, Future<Void>, ComponentRegistry {
   @Override
   public Map<String, Component> getComponents() {
     return components;
-  }
-
-  private static final class Holder<T> {
-    T value;
-
-    public Holder(T value) {
-      this.value = value;
-    }
-  }
-}
+  }}
@@ -0,0 +1,85 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of observed values with fixed bucket upper bounds.  Observations are lock-free so that
+ * the histogram can be updated from many threads on hot paths.
+ */
+public class Histogram {
+  private final double[] bounds;
+  private final LongAdder[] buckets;
+  private final LongAdder count = new LongAdder();
+  private final DoubleAdder sum = new DoubleAdder();
+
+  /**
+   * Creates histogram
+   * @param bounds Upper bounds of the buckets, in increasing order.  Values larger than the last
+   * bound are counted only in the total.
+   */
+  public Histogram(double... bounds) {
+    this.bounds = Arrays.copyOf(bounds, bounds.length);
+    this.buckets = new LongAdder[bounds.length];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records an observation
+   * @param value Observed value
+   */
+  public void observe(double value) {
+    for (int i = 0; i < bounds.length; i++) {
+      if (value <= bounds[i]) {
+        buckets[i].increment();
+        break;
+      }
+    }
+    count.increment();
+    sum.add(value);
+  }
+
+  /**
+   * Upper bounds of the buckets
+   * @return Bounds
+   */
+  public double[] getBounds() {
+    return Arrays.copyOf(bounds, bounds.length);
+  }
+
+  /**
+   * Cumulative counts of observations less than or equal to each bound
+   * @return Counts, in the order of the bounds
+   */
+  public long[] getCumulativeCounts() {
+    long[] counts = new long[bounds.length];
+    long total = 0;
+    for (int i = 0; i < bounds.length; i++) {
+      total += buckets[i].sum();
+      counts[i] = total;
+    }
+    return counts;
+  }
+
+  /**
+   * Number of observations
+   * @return Count
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Sum of all observations
+   * @return Sum
+   */
+  public double getSum() {
+    return sum.sum();
+  }
+}
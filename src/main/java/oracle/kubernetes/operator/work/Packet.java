@@ -4,24 +4,35 @@
 package oracle.kubernetes.operator.work;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Context of a single processing flow.  Acts as a map and as a registry of components.
  * 
+ * Cloning a packet is cheap: the clone shares its values and components with the original until
+ * either packet is changed.  SPIs are looked up through an index by type that is built on first
+ * use and rebuilt only after the components change.
  */
 public class Packet extends AbstractMap<String, Object> implements ComponentRegistry, ComponentEx {
-  private final Map<String, Component> components = new HashMap<String, Component>();
-  private final Map<String, Object> delegate = new HashMap<String, Object>();
+  private final CopyOnWriteMap<String, Component> components;
+  private final CopyOnWriteMap<String, Object> delegate;
+  private SpiIndex spis;
 
-  public Packet() {}
+  public Packet() {
+    components = new CopyOnWriteMap<>(this::invalidateSPIs);
+    delegate = new CopyOnWriteMap<>(null);
+  }
   
   private Packet(Packet that) {
-    components.putAll(that.components);
-    delegate.putAll(that.delegate);
+    components = new CopyOnWriteMap<>(that.components, this::invalidateSPIs);
+    delegate = new CopyOnWriteMap<>(that.delegate, null);
+    spis = that.spis;
   }
   
   /**
@@ -33,16 +44,15 @@ public class Packet extends AbstractMap<String, Object> implements ComponentRegi
   }
   
   public <S> S getSPI(Class<S> spiType) {
-    if (components == null) {
-      return null;
+    SpiIndex index = spis;
+    if (index == null) {
+      spis = index = new SpiIndex(components.values());
     }
-    for (Component c : components.values()) {
-      S s = c.getSPI(spiType);
-      if (s != null) {
-        return s;
-      }
-    }
-    return null;
+    return index.getSPI(spiType);
+  }
+
+  private void invalidateSPIs() {
+    spis = null;
   }
 
   @Override
@@ -64,8 +74,69 @@ public class Packet extends AbstractMap<String, Object> implements ComponentRegi
     return delegate.entrySet();
   }
 
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return delegate.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    return delegate.get(key);
+  }
+
   @Override
   public Object put(String key, Object value) {
     return delegate.put(key, value);
   }
+
+  @Override
+  public Object remove(Object key) {
+    return delegate.remove(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  /**
+   * SPIs of a set of components by type.  Components that cannot list their SPIs are asked in
+   * turn when the type is not indexed.  An index is never modified once built, so it is shared
+   * by clones.
+   */
+  private static final class SpiIndex {
+    private final Map<Class<?>, Object> indexed = new HashMap<>();
+    private final List<Component> others = new ArrayList<>();
+
+    SpiIndex(Collection<Component> components) {
+      for (Component c : components) {
+        if (c instanceof SimpleComponent) {
+          for (Map.Entry<Class<?>, Object> e : ((SimpleComponent) c).getSPIs().entrySet()) {
+            indexed.putIfAbsent(e.getKey(), e.getValue());
+          }
+        } else if (c != null) {
+          others.add(c);
+        }
+      }
+    }
+
+    <S> S getSPI(Class<S> spiType) {
+      Object o = indexed.get(spiType);
+      if (o != null) {
+        return spiType.cast(o);
+      }
+      for (Component c : others) {
+        S s = c.getSPI(spiType);
+        if (s != null) {
+          return s;
+        }
+      }
+      return null;
+    }
+  }
 }
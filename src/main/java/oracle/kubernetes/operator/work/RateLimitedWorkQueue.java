@@ -0,0 +1,377 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+
+/**
+ * Work queue that collapses bursts of work for the same key into a single unit of work for the
+ * latest value.  A value added while a key is being processed waits for the current work to
+ * complete, unless the processor has marked the current work as interruptible or the current work
+ * has run for longer than the processing timeout, and so is presumed stuck.  The newer value is then
+ * started without waiting; it supersedes the current work, which the processor is expected to cancel.
+ * Failed work is retried with a per-key exponential backoff, and the number of keys processed at the
+ * same time is limited.  Work that runs for longer than the processing timeout no longer counts
+ * against that limit, so that keys whose work never completes cannot hold back other keys.  Values
+ * that must not be lost when newer values replace them, such as explicit requests, can be combined
+ * with the newer values by a merge function.
+ *
+ * @param <K> Key, such as a domain UID
+ * @param <V> Value to process for the key
+ */
+public class RateLimitedWorkQueue<K, V> {
+
+  /**
+   * Processes the latest value for a key
+   *
+   * @param <K> Key
+   * @param <V> Value
+   */
+  public interface Processor<K, V> {
+    /**
+     * Starts processing.  The callback must be invoked exactly once when processing completes or,
+     * if the processing timed out and is superseded by newer work for the key, when it is canceled.
+     * @param key Key
+     * @param value Latest value for the key
+     * @param isRetry true, if this is a retry of a value whose processing failed
+     * @param callback Completion callback
+     */
+    void process(K key, V value, boolean isRetry, CompletionCallback callback);
+  }
+
+  private static class Entry<V> {
+    V pending;
+    // value of the latest started unit of work
+    V current;
+    boolean scheduled;
+    // number of started units of work that have not completed, including superseded work
+    int running;
+    // incremented as each unit of work starts; only the latest can be retried
+    int generation;
+    long startedNanos;
+    // set while the work in progress counts against the limit of keys processed at the same time
+    boolean holdsSlot;
+    // set while the work in progress can be superseded without waiting for it to complete
+    boolean interruptible;
+    boolean isRetry;
+    boolean removed;
+    int failures;
+  }
+
+  // a started unit of work
+  private static class Work<V> {
+    final V value;
+    final boolean isRetry;
+    final int generation;
+
+    Work(V value, boolean isRetry, int generation) {
+      this.value = value;
+      this.isRetry = isRetry;
+      this.generation = generation;
+    }
+  }
+
+  private final ScheduledExecutorService executor;
+  private final Processor<K, V> processor;
+  private final long delayMillis;
+  private final long backoffMillis;
+  private final long maxBackoffMillis;
+  private final int maxConcurrent;
+  private final long processingTimeoutMillis;
+  private final BinaryOperator<V> merger;
+
+  private final Map<K, Entry<V>> entries = new HashMap<>();
+  private final Deque<K> ready = new ArrayDeque<>();
+  private int active = 0;
+
+  /**
+   * Creates work queue
+   * @param executor Executor for delayed work
+   * @param processor Processor for values
+   * @param delayMillis Time to wait for more values for a key before processing it
+   * @param backoffMillis Initial delay before retrying failed work
+   * @param maxBackoffMillis Maximum delay before retrying failed work
+   * @param maxConcurrent Maximum number of keys processed at the same time
+   * @param processingTimeoutMillis Time after which work in progress is superseded by newer work and
+   *     no longer counts against the maximum number of keys processed at the same time
+   */
+  public RateLimitedWorkQueue(ScheduledExecutorService executor, Processor<K, V> processor,
+      long delayMillis, long backoffMillis, long maxBackoffMillis, int maxConcurrent,
+      long processingTimeoutMillis) {
+    this(executor, processor, delayMillis, backoffMillis, maxBackoffMillis, maxConcurrent,
+        processingTimeoutMillis, (older, newer) -> newer);
+  }
+
+  /**
+   * Creates work queue that merges values that are replaced before their work completes
+   * @param executor Executor for delayed work
+   * @param processor Processor for values
+   * @param delayMillis Time to wait for more values for a key before processing it
+   * @param backoffMillis Initial delay before retrying failed work
+   * @param maxBackoffMillis Maximum delay before retrying failed work
+   * @param maxConcurrent Maximum number of keys processed at the same time
+   * @param processingTimeoutMillis Time after which work in progress is superseded by newer work and
+   *     no longer counts against the maximum number of keys processed at the same time
+   * @param merger Combines an older value with the newer value that replaces it, either before the
+   *     older value is started or when newer work supersedes or follows failed work for the older value
+   */
+  public RateLimitedWorkQueue(ScheduledExecutorService executor, Processor<K, V> processor,
+      long delayMillis, long backoffMillis, long maxBackoffMillis, int maxConcurrent,
+      long processingTimeoutMillis, BinaryOperator<V> merger) {
+    this.executor = executor;
+    this.processor = processor;
+    this.delayMillis = delayMillis;
+    this.backoffMillis = backoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.maxConcurrent = maxConcurrent;
+    this.processingTimeoutMillis = processingTimeoutMillis;
+    this.merger = merger;
+  }
+
+  /**
+   * Adds work for a key, replacing any work for the key that has not yet started
+   * @param key Key
+   * @param value Value
+   */
+  public void add(K key, V value) {
+    synchronized (this) {
+      Entry<V> e = entries.computeIfAbsent(key, k -> new Entry<V>());
+      e.pending = e.pending != null ? merger.apply(e.pending, value) : value;
+      e.isRetry = false;
+      e.removed = false;
+      if (e.scheduled) {
+        // collapsed into the work that is already scheduled
+        return;
+      }
+      e.scheduled = true;
+    }
+    schedule(key, delayMillis);
+  }
+
+  /**
+   * Drops work for a key that has not yet started, including retries
+   * @param key Key
+   */
+  public synchronized void remove(K key) {
+    Entry<V> e = entries.get(key);
+    if (e != null) {
+      e.pending = null;
+      e.failures = 0;
+      if (e.running > 0) {
+        // do not retry work in progress if it fails
+        e.removed = true;
+      } else {
+        entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Marks whether the work in progress for a key can be superseded by newer work without waiting
+   * for it to complete, such as while the work has not yet changed anything or is only waiting for
+   * something to become ready.  Newer work that is already waiting is started at once when the work
+   * becomes interruptible.  Work starts out not interruptible.
+   * @param key Key
+   * @param interruptible true, if the work in progress can be superseded
+   */
+  public void setInterruptible(K key, boolean interruptible) {
+    Work<V> superseding = null;
+    synchronized (this) {
+      Entry<V> e = entries.get(key);
+      if (e == null || e.running == 0) {
+        return;
+      }
+      e.interruptible = interruptible;
+      if (interruptible && e.pending != null && !e.scheduled) {
+        superseding = take(key, e);
+      }
+    }
+    if (superseding != null) {
+      start(key, superseding);
+    }
+  }
+
+  /**
+   * Number of keys with work that is waiting or in progress
+   * @return Number of keys
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void schedule(K key, long delay) {
+    executor.schedule(() -> {
+      Work<V> superseding = null;
+      synchronized (this) {
+        Entry<V> e = entries.get(key);
+        if (e != null && e.running > 0) {
+          if (e.interruptible || getRemainingProcessingTime(e) <= 0) {
+            // the work in progress is interruptible or presumed stuck; the newer value replaces it
+            // without waiting for a free slot
+            superseding = take(key, e);
+          } else {
+            // completion or timeout of the work in progress starts the pending value
+            e.scheduled = false;
+          }
+        } else {
+          ready.add(key);
+        }
+      }
+      if (superseding != null) {
+        start(key, superseding);
+      }
+      startReady();
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  // releases the slot of work in progress that has not completed within the processing timeout and
+  // starts the pending value, if any
+  private void scheduleTimeoutCheck(K key, int generation) {
+    executor.schedule(() -> {
+      Work<V> superseding = null;
+      synchronized (this) {
+        Entry<V> e = entries.get(key);
+        if (e != null && e.running > 0 && e.generation == generation) {
+          releaseSlot(e);
+          if (e.pending != null && !e.scheduled) {
+            superseding = take(key, e);
+          }
+        }
+      }
+      if (superseding != null) {
+        start(key, superseding);
+      }
+      startReady();
+    }, processingTimeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private long getRemainingProcessingTime(Entry<V> e) {
+    return processingTimeoutMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - e.startedNanos);
+  }
+
+  private void startReady() {
+    while (true) {
+      K key;
+      Work<V> work;
+      synchronized (this) {
+        if (active >= maxConcurrent || ready.isEmpty()) {
+          return;
+        }
+        key = ready.poll();
+        Entry<V> e = entries.get(key);
+        work = e != null ? take(key, e) : null;
+        if (work == null) {
+          // removed while waiting
+          continue;
+        }
+      }
+      start(key, work);
+    }
+  }
+
+  // marks the pending value of the entry as started; called while synchronized
+  private Work<V> take(K key, Entry<V> e) {
+    e.scheduled = false;
+    if (e.pending == null) {
+      if (e.running == 0) {
+        entries.remove(key);
+      }
+      return null;
+    }
+    // superseded work is canceled before it completes, so the newer work takes it over
+    V value = e.running > 0 ? merger.apply(e.current, e.pending) : e.pending;
+    Work<V> work = new Work<V>(value, e.isRetry, ++e.generation);
+    e.current = value;
+    e.startedNanos = System.nanoTime();
+    e.pending = null;
+    e.interruptible = false;
+    e.running++;
+    if (!e.holdsSlot) {
+      e.holdsSlot = true;
+      active++;
+    }
+    return work;
+  }
+
+  // called while synchronized
+  private void releaseSlot(Entry<V> e) {
+    if (e.holdsSlot) {
+      e.holdsSlot = false;
+      active--;
+    }
+  }
+
+  private void start(K key, Work<V> work) {
+    scheduleTimeoutCheck(key, work.generation);
+    try {
+      processor.process(key, work.value, work.isRetry, new CompletionCallback() {
+        @Override
+        public void onCompletion(Packet packet) {
+          complete(key, work, true);
+        }
+
+        @Override
+        public void onThrowable(Packet packet, Throwable throwable) {
+          complete(key, work, false);
+        }
+      });
+    } catch (RuntimeException e) {
+      complete(key, work, false);
+      throw e;
+    }
+  }
+
+  private void complete(K key, Work<V> work, boolean isSuccess) {
+    long delay = -1;
+    synchronized (this) {
+      Entry<V> e = entries.get(key);
+      if (e != null) {
+        if (--e.running == 0) {
+          releaseSlot(e);
+        }
+        if (work.generation != e.generation) {
+          // superseded by newer work, which decides whether the key needs more processing
+        } else if (isSuccess) {
+          e.failures = 0;
+        } else if (e.pending == null && !e.removed) {
+          // retry unless newer work replaced the failed value
+          e.pending = work.value;
+          e.isRetry = true;
+          e.failures++;
+        } else if (e.pending != null) {
+          e.pending = merger.apply(work.value, e.pending);
+        }
+
+        if (e.running == 0) {
+          e.current = null;
+        }
+        if (e.pending == null) {
+          if (e.running == 0 && !e.scheduled) {
+            entries.remove(key);
+          }
+        } else if (!e.scheduled) {
+          e.scheduled = true;
+          delay = e.failures > 0 ? getBackoff(e.failures) : delayMillis;
+        }
+      }
+    }
+    if (delay >= 0) {
+      schedule(key, delay);
+    }
+    startReady();
+  }
+
+  private long getBackoff(int failures) {
+    long backoff = backoffMillis << Math.min(failures - 1, 30);
+    return backoff > 0 ? Math.min(backoff, maxBackoffMillis) : maxBackoffMillis;
+  }
+}
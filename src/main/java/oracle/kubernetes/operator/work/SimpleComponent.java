@@ -0,0 +1,35 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import java.util.Map;
+
+/**
+ * Component created by {@link Component#createFor(Object...)}.  The SPIs it provides are known
+ * up front, so registries can index them by type rather than asking each component in turn.
+ */
+class SimpleComponent implements Component {
+  private final Map<Class<?>, Object> spis;
+
+  SimpleComponent(Map<Class<?>, Object> spis) {
+    this.spis = spis;
+  }
+
+  /**
+   * SPIs provided by this component, keyed by SPI type
+   * @return SPIs
+   */
+  Map<Class<?>, Object> getSPIs() {
+    return spis;
+  }
+
+  @Override
+  public <S> S getSPI(Class<S> spiType) {
+    Object o = spis.get(spiType);
+    if (o == null) {
+      return null;
+    }
+    return spiType.cast(o);
+  }
+}
@@ -11,12 +11,12 @@ import io.kubernetes.client.models.V1beta1CustomResourceDefinition;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionNames;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionSpec;
 import io.kubernetes.client.util.Watch;
-import io.kubernetes.client.util.Watch.Response;
 import oracle.kubernetes.operator.helpers.ClientHelper;
 import oracle.kubernetes.operator.helpers.ClientHolder;
 import oracle.kubernetes.operator.logging.LoggingFacade;
 import oracle.kubernetes.operator.logging.LoggingFactory;
 import oracle.kubernetes.operator.logging.MessageKeys;
+import oracle.kubernetes.operator.watcher.WatchEvent;
 import oracle.kubernetes.operator.watcher.Watcher;
 import oracle.kubernetes.operator.watcher.Watching;
 
@@ -171,7 +171,7 @@ public class TestCustomObjectApis {
       }
 
       @Override
-      public void eventCallback(Response<TestDomain> response) {
+      public void eventCallback(WatchEvent<TestDomain> response) {
         switch (response.type) {
         case "ADDED":
           formatTheObject("Added", response.object);
@@ -7,12 +7,12 @@ import io.kubernetes.client.models.V1Status;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinition;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionNames;
 import io.kubernetes.client.models.V1beta1CustomResourceDefinitionSpec;
-import io.kubernetes.client.util.Watch;
 import oracle.kubernetes.operator.DomainWatcher;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
 import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
 import oracle.kubernetes.operator.helpers.ClientHelper;
 import oracle.kubernetes.operator.helpers.ClientHolder;
+import oracle.kubernetes.operator.watcher.WatchEvent;
 import oracle.kubernetes.operator.watcher.WatchingEventDestination;
 
 import org.junit.After;
@@ -108,7 +108,7 @@ public class TestDomainListWatcher implements WatchingEventDestination<Domain> {
   // This override intercepts all watch events whioch would have
   // normally sent to the operator for processing.
   @Override
-  public void eventCallback(Watch.Response<Domain> item) {
+  public void eventCallback(WatchEvent<Domain> item) {
 
     Domain domain = (Domain) item.object;
     String token = item.type + "." + domain.getMetadata().getName();
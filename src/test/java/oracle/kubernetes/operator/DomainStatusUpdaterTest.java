@@ -0,0 +1,103 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainCondition;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+
+public class DomainStatusUpdaterTest {
+  private final DateTime now = DateTime.now();
+
+  private DomainStatus createStatus() {
+    DomainStatus status = new DomainStatus()
+        .startTime(now.minusHours(1))
+        .availableServers(Arrays.asList("admin-server", "managed-server1", "managed-server2"))
+        .unavailableServers(Arrays.asList())
+        .availableClusters(Arrays.asList("cluster-1"))
+        .unavailableClusters(Arrays.asList());
+    status.addConditionsItem(new DomainCondition().type("Available").status("True").reason("ServersReady")
+        .lastTransitionTime(now.minusMinutes(5)));
+    return status;
+  }
+
+  @Test
+  public void testFirstStatusAddsWholeStatus() {
+    DomainStatus updated = DomainStatusUpdater.copyStatus(null, now);
+    DomainStatusUpdater.setCondition(updated, "Progressing", "AdminServerStarting", null, false, now);
+
+    List<Map<String, Object>> patch = DomainStatusUpdater.createPatch(null, updated);
+    assertEquals(1, patch.size());
+    assertEquals("/status", patch.get(0).get("path"));
+    assertEquals(now, ((DomainStatus) patch.get(0).get("value")).getStartTime());
+  }
+
+  @Test
+  public void testUnchangedStatusCreatesNoPatch() {
+    DomainStatus current = createStatus();
+    DomainStatus updated = DomainStatusUpdater.copyStatus(current, now);
+    // same servers in a different order, and a condition that is already true
+    updated.setAvailableServers(Arrays.asList("managed-server2", "admin-server", "managed-server1"));
+    DomainStatusUpdater.setCondition(updated, "Available", "ServersReady", null, false, now);
+
+    assertTrue(DomainStatusUpdater.createPatch(current, updated).isEmpty());
+    assertEquals(now.minusMinutes(5), updated.getConditions().get(0).getLastTransitionTime());
+  }
+
+  @Test
+  public void testPatchContainsOnlyChangedFields() {
+    DomainStatus current = createStatus();
+    DomainStatus updated = DomainStatusUpdater.copyStatus(current, now);
+    updated.setAvailableServers(Arrays.asList("admin-server", "managed-server1"));
+    updated.setUnavailableServers(Arrays.asList("managed-server2"));
+    updated.setAvailableClusters(Arrays.asList());
+    updated.setUnavailableClusters(Arrays.asList("cluster-1"));
+    DomainStatusUpdater.setCondition(updated, "Progressing", "ManagedServersStarting", null, false, now);
+
+    List<Map<String, Object>> patch = DomainStatusUpdater.createPatch(current, updated);
+    assertEquals(5, patch.size());
+    for (Map<String, Object> operation : patch) {
+      assertEquals("add", operation.get("op"));
+      assertTrue(String.valueOf(operation.get("path")).startsWith("/status/"));
+    }
+    assertEquals("/status/conditions", patch.get(4).get("path"));
+
+    // the copy is changed, not the current status
+    assertEquals(3, current.getAvailableServers().size());
+    assertEquals("Available", current.getConditions().get(0).getType());
+  }
+
+  @Test
+  public void testPreserveAvailableKeepsAvailableCondition() {
+    DomainStatus current = createStatus();
+    DomainStatus updated = DomainStatusUpdater.copyStatus(current, now);
+    DomainStatusUpdater.setCondition(updated, "Progressing", null, null, true, now);
+
+    assertEquals(2, updated.getConditions().size());
+    assertEquals(1, DomainStatusUpdater.createPatch(current, updated).size());
+  }
+
+  @Test
+  public void testClearedRollingProgressIsRemoved() {
+    DomainStatus current = createStatus().reason("RollingRestart").message("Restarted 1 of 2 servers");
+    DomainStatus updated = DomainStatusUpdater.copyStatus(current, now);
+    updated.setReason(null);
+    updated.setMessage(null);
+
+    List<Map<String, Object>> patch = DomainStatusUpdater.createPatch(current, updated);
+    assertEquals(2, patch.size());
+    assertEquals("remove", patch.get(0).get("op"));
+    assertEquals("/status/reason", patch.get(0).get("path"));
+    assertTrue(!patch.get(1).containsKey("value"));
+  }
+}
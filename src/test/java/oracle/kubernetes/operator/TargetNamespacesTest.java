@@ -0,0 +1,66 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+package oracle.kubernetes.operator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TargetNamespacesTest {
+
+  @Test
+  public void testDefaultsToOperatorNamespace() {
+    TargetNamespaces targets = new TargetNamespaces(new HashMap<>(), "operator-ns");
+    assertEquals(Collections.singleton("operator-ns"), targets.getNamespaces());
+  }
+
+  @Test
+  public void testReloadReportsAddedNamespaces() {
+    Map<String, String> config = new HashMap<>();
+    config.put(TargetNamespaces.TARGET_NAMESPACES, "ns1, ns2\n");
+    TargetNamespaces targets = new TargetNamespaces(config, "default");
+    Collection<String> view = targets.getNamespaces();
+    assertTrue(targets.contains("ns1"));
+    assertTrue(targets.contains("ns2"));
+
+    config.put(TargetNamespaces.TARGET_NAMESPACES, "ns2,ns3");
+    TargetNamespaces.Changes changes = targets.reload();
+    assertEquals(Arrays.asList("ns3"), changes.getAdded());
+    assertEquals(Arrays.asList("ns1"), changes.getRemoved());
+    assertFalse(targets.contains("ns1"));
+    assertTrue(targets.contains("ns3"));
+    // view is live
+    assertEquals(2, view.size());
+  }
+
+  @Test
+  public void testReloadReportsRemovedAndReaddedNamespaces() {
+    Map<String, String> config = new HashMap<>();
+    config.put(TargetNamespaces.TARGET_NAMESPACES, "ns1,ns2");
+    TargetNamespaces targets = new TargetNamespaces(config, "default");
+
+    config.put(TargetNamespaces.TARGET_NAMESPACES, "ns2");
+    TargetNamespaces.Changes changes = targets.reload();
+    assertTrue(changes.getAdded().isEmpty());
+    assertEquals(Arrays.asList("ns1"), changes.getRemoved());
+
+    // unchanged configuration reports nothing
+    changes = targets.reload();
+    assertTrue(changes.getAdded().isEmpty());
+    assertTrue(changes.getRemoved().isEmpty());
+
+    config.put(TargetNamespaces.TARGET_NAMESPACES, "ns1,ns2");
+    changes = targets.reload();
+    assertEquals(Arrays.asList("ns1"), changes.getAdded());
+    assertTrue(changes.getRemoved().isEmpty());
+    assertTrue(targets.contains("ns1"));
+  }
+}
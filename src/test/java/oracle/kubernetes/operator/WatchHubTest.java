@@ -0,0 +1,85 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import oracle.kubernetes.operator.watcher.Watcher;
+
+public class WatchHubTest {
+
+  // records each cycle instead of issuing watch requests; a cycle blocks like a quiet watch request
+  // until it is released
+  private static class RecordingWatcher extends Watcher<Object> {
+    final List<Integer> timeouts = new CopyOnWriteArrayList<>();
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    final Semaphore cycles = new Semaphore(0);
+    final CountDownLatch release;
+    final int maxCycles;
+
+    RecordingWatcher(int maxCycles, CountDownLatch release) {
+      super(null);
+      this.maxCycles = maxCycles;
+      this.release = release;
+    }
+
+    @Override
+    public long doWatchCycle(int timeoutSeconds) {
+      timeouts.add(timeoutSeconds);
+      threads.add(Thread.currentThread());
+      cycles.release();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      }
+      return timeouts.size() >= maxCycles ? -1 : 0;
+    }
+  }
+
+  @Test
+  public void testWatchesReadAtTheSameTime() throws InterruptedException {
+    WatchHub hub = new WatchHub();
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingWatcher watcher1 = new RecordingWatcher(1, release);
+    RecordingWatcher watcher2 = new RecordingWatcher(1, release);
+    RecordingWatcher watcher3 = new RecordingWatcher(1, release);
+    hub.start("watch1", watcher1);
+    hub.start("watch2", watcher2);
+    hub.start("watch3", watcher3);
+
+    // no watch waits for another's request to end, and each request uses the full timeout
+    assertTrue(watcher1.cycles.tryAcquire(5, TimeUnit.SECONDS));
+    assertTrue(watcher2.cycles.tryAcquire(5, TimeUnit.SECONDS));
+    assertTrue(watcher3.cycles.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Watcher.WATCH_TIMEOUT_SECONDS, (int) watcher3.timeouts.get(0));
+    release.countDown();
+  }
+
+  @Test
+  public void testWatchKeepsItsReaderUntilItStops() throws InterruptedException {
+    WatchHub hub = new WatchHub();
+    CountDownLatch release = new CountDownLatch(0);
+    RecordingWatcher watcher = new RecordingWatcher(3, release);
+    hub.start("watch1", watcher);
+
+    assertTrue(watcher.cycles.tryAcquire(3, 5, TimeUnit.SECONDS));
+    assertEquals(1, watcher.threads.size());
+    // the watch stopped after its last cycle
+    assertFalse(watcher.cycles.tryAcquire(200, TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+import io.kubernetes.client.models.V1ServicePort;
+import io.kubernetes.client.models.V1ServiceSpec;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+
+public class AnnotationHelperTest {
+
+  private static V1ServiceSpec createSpec(String... selector) {
+    Map<String, String> map = new LinkedHashMap<>();
+    for (int i = 0; i < selector.length; i += 2) {
+      map.put(selector[i], selector[i + 1]);
+    }
+    return new V1ServiceSpec().type("ClusterIP").selector(map).addPortsItem(new V1ServicePort().port(7001));
+  }
+
+  private static V1ObjectMeta createMeta(V1ServiceSpec spec) {
+    V1ObjectMeta meta = new V1ObjectMeta().name("domain1-admin-server").putLabelsItem("weblogic.domainUID", "domain1");
+    AnnotationHelper.annotateWithSha256(meta, spec);
+    return meta;
+  }
+
+  @Test
+  public void testHashDoesNotDependOnMapOrder() {
+    V1ObjectMeta build = createMeta(createSpec("weblogic.domainUID", "domain1", "weblogic.serverName", "admin-server"));
+    V1ObjectMeta current = createMeta(createSpec("weblogic.serverName", "admin-server", "weblogic.domainUID", "domain1"));
+
+    assertTrue(AnnotationHelper.checkSha256(build, current));
+    assertEquals(64, build.getAnnotations().get("weblogic.oracle/sha256").length());
+  }
+
+  @Test
+  public void testChangedSpecChangesHash() {
+    V1ObjectMeta build = createMeta(createSpec("weblogic.domainUID", "domain1").type("NodePort"));
+    V1ObjectMeta current = createMeta(createSpec("weblogic.domainUID", "domain1"));
+
+    assertFalse(AnnotationHelper.checkSha256(build, current));
+  }
+
+  @Test
+  public void testLabelsDoNotChangeHash() {
+    V1ServiceSpec spec = createSpec("weblogic.domainUID", "domain1");
+    V1ObjectMeta build = createMeta(spec);
+    V1ObjectMeta current = new V1ObjectMeta().name("domain1-admin-server");
+    AnnotationHelper.annotateWithSha256(current, spec);
+
+    assertTrue(AnnotationHelper.checkSha256(build, current));
+  }
+
+  @Test
+  public void testUnorderedListsDoNotDependOnOrder() {
+    V1ServicePort port1 = new V1ServicePort().port(7001);
+    V1ServicePort port2 = new V1ServicePort().port(7002);
+
+    assertEquals(AnnotationHelper.createHash(AnnotationHelper.unordered(Arrays.asList(port1, port2))),
+        AnnotationHelper.createHash(AnnotationHelper.unordered(Arrays.asList(port2, port1))));
+    assertNotEquals(AnnotationHelper.createHash(AnnotationHelper.unordered(Arrays.asList(port1))),
+        AnnotationHelper.createHash(AnnotationHelper.unordered(Arrays.asList(port2))));
+  }
+
+  @Test
+  public void testMissingHashIsNotCurrent() {
+    V1ObjectMeta build = createMeta(createSpec("weblogic.domainUID", "domain1"));
+    V1ObjectMeta current = new V1ObjectMeta().name("domain1-admin-server");
+
+    assertFalse(AnnotationHelper.hasSha256(current));
+    assertFalse(AnnotationHelper.checkSha256(build, current));
+  }
+
+  @Test
+  public void testOwnerReferenceToDomain() {
+    Domain domain = new Domain().metadata(new V1ObjectMeta().name("domain1").uid("1234"));
+    V1ObjectMeta meta = new V1ObjectMeta().name("domain1-admin-server");
+    AnnotationHelper.addDomainOwnerReference(meta, domain);
+
+    assertEquals(1, meta.getOwnerReferences().size());
+    V1OwnerReference owner = meta.getOwnerReferences().get(0);
+    assertEquals("weblogic.oracle/v1", owner.getApiVersion());
+    assertEquals("Domain", owner.getKind());
+    assertEquals("domain1", owner.getName());
+    assertEquals("1234", owner.getUid());
+    assertTrue(owner.isController());
+  }
+
+  @Test
+  public void testNoOwnerReferenceWithoutDomainUid() {
+    V1ObjectMeta meta = new V1ObjectMeta().name("domain1-admin-server");
+    AnnotationHelper.addDomainOwnerReference(meta, new Domain().metadata(new V1ObjectMeta().name("domain1")));
+
+    assertNull(meta.getOwnerReferences());
+  }
+}
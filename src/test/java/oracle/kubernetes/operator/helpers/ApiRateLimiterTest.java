@@ -0,0 +1,140 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import oracle.kubernetes.operator.helpers.ApiRateLimiter.Priority;
+
+public class ApiRateLimiterTest {
+  private final AtomicLong now = new AtomicLong();
+  private final List<String> granted = Collections.synchronizedList(new ArrayList<>());
+  private ScheduledExecutorService executor;
+  private ApiRateLimiter limiter;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newSingleThreadScheduledExecutor();
+    // one token every 100 seconds, so that only the test drains the lanes
+    limiter = new ApiRateLimiter(executor, now::get, 0.01, 2);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private void acquire(Priority priority, String name) {
+    limiter.acquire(priority, () -> granted.add(name));
+  }
+
+  private void advanceSeconds(long seconds) {
+    now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  @Test
+  public void testBurstGrantedImmediately() {
+    acquire(Priority.LOW, "a");
+    acquire(Priority.LOW, "b");
+    acquire(Priority.LOW, "c");
+
+    assertEquals(Arrays.asList("a", "b"), granted);
+    assertEquals(1, limiter.getQueued(Priority.LOW));
+    assertEquals(1, limiter.getThrottled(Priority.LOW));
+  }
+
+  @Test
+  public void testHigherPriorityGrantedFirst() {
+    acquire(Priority.NORMAL, "a");
+    acquire(Priority.NORMAL, "b");
+    acquire(Priority.LOW, "status");
+    acquire(Priority.NORMAL, "read");
+    acquire(Priority.HIGH, "createPod");
+
+    advanceSeconds(100);
+    limiter.drain();
+    assertEquals(Arrays.asList("a", "b", "createPod"), granted);
+
+    advanceSeconds(200);
+    limiter.drain();
+    assertEquals(Arrays.asList("a", "b", "createPod", "read", "status"), granted);
+  }
+
+  @Test
+  public void testStarvedRequestGrantedAheadOfHigherPriority() {
+    acquire(Priority.HIGH, "a");
+    acquire(Priority.HIGH, "b");
+    acquire(Priority.LOW, "list");
+    advanceSeconds(60);
+    acquire(Priority.HIGH, "createPod");
+
+    advanceSeconds(40);
+    limiter.drain();
+    assertEquals(Arrays.asList("a", "b", "list"), granted);
+  }
+
+  @Test
+  public void testRaisingLimitsGrantsWaitingRequests() throws InterruptedException {
+    acquire(Priority.NORMAL, "a");
+    acquire(Priority.NORMAL, "b");
+    acquire(Priority.NORMAL, "c");
+
+    Map<String, String> config = new HashMap<>();
+    config.put(ApiRateLimiter.RATE, "0");
+    limiter.reload(config);
+
+    for (int i = 0; i < 100 && granted.size() < 3; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(Arrays.asList("a", "b", "c"), granted);
+    assertEquals(0.0, limiter.getRate(), 0.0);
+
+    acquire(Priority.LOW, "d");
+    assertEquals(4, granted.size());
+  }
+
+  @Test
+  public void testRetryBackoffIsCapped() {
+    long waitTime = CallBuilder.getRetryWaitTime(40, null);
+    assertTrue(Long.toString(waitTime), waitTime >= 60000 && waitTime < 61000);
+
+    waitTime = CallBuilder.getRetryWaitTime(1, null);
+    assertTrue(Long.toString(waitTime), waitTime >= 4000 && waitTime < 5000);
+  }
+
+  @Test
+  public void testRetryBackoffHonorsRetryAfter() {
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put("Retry-After", Collections.singletonList("10"));
+    long waitTime = CallBuilder.getRetryWaitTime(1, headers);
+    assertTrue(Long.toString(waitTime), waitTime >= 10000 && waitTime < 11000);
+  }
+
+  @Test
+  public void testStatusWritesAndListsOutrankedButNotScaling() {
+    assertEquals(Priority.HIGH, CallBuilder.getPriority("createPod"));
+    assertEquals(Priority.LOW, CallBuilder.getPriority("listPod"));
+    assertEquals(Priority.LOW, CallBuilder.getPriority("patchDomainStatus"));
+    assertEquals(Priority.LOW, CallBuilder.getPriority("replaceDomainStatus"));
+    // scaling from the REST API patches the domain itself
+    assertEquals(Priority.NORMAL, CallBuilder.getPriority("patchDomain"));
+    assertEquals(Priority.NORMAL, CallBuilder.getPriority("replaceDomain"));
+  }
+}
@@ -0,0 +1,83 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kubernetes.client.ApiClient;
+import oracle.kubernetes.operator.helpers.AuthorizationProxy.Operation;
+import oracle.kubernetes.operator.helpers.AuthorizationProxy.Resource;
+import oracle.kubernetes.operator.helpers.AuthorizationProxy.Scope;
+
+public class AuthorizationProxyTest {
+  private HttpServer server;
+  private ClientHolder client;
+  private final AtomicInteger reviews = new AtomicInteger();
+  private volatile int status = 200;
+
+  @Before
+  public void setUp() throws Exception {
+    AuthorizationProxy.clearCache();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/apis/authorization.k8s.io/v1/subjectaccessreviews", exchange -> {
+      reviews.incrementAndGet();
+      exchange.getRequestBody().close();
+      byte[] response = "{\"kind\":\"SubjectAccessReview\",\"status\":{\"allowed\":true}}".getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(status, response.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    server.start();
+    client = new ClientHolder(null, new ApiClient().setBasePath("http://localhost:" + server.getAddress().getPort()));
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+    AuthorizationProxy.clearCache();
+  }
+
+  @Test
+  public void testDecisionIsCached() {
+    AuthorizationProxy atz = new AuthorizationProxy();
+
+    assertTrue(atz.check(client, "user", Arrays.asList("b", "a"), Operation.get, Resource.domains, "domain1", Scope.namespace, "ns"));
+    assertTrue(new AuthorizationProxy().check(client, "user", Arrays.asList("a", "b"), Operation.get, Resource.domains, "domain1", Scope.namespace, "ns"));
+    assertEquals(1, reviews.get());
+
+    assertTrue(atz.check(client, "user", Arrays.asList("a", "b"), Operation.get, Resource.domains, "domain1", Scope.namespace, "other"));
+    assertTrue(atz.check(client, "other", Arrays.asList("a", "b"), Operation.get, Resource.domains, "domain1", Scope.namespace, "ns"));
+    assertEquals(3, reviews.get());
+  }
+
+  @Test
+  public void testFailedReviewIsOnlyRememberedByRequest() {
+    status = 500;
+    AuthorizationProxy request = AuthorizationProxy.forRequest();
+
+    assertFalse(request.check(client, "user", Operation.list, Resource.domains, null, Scope.cluster, null));
+    assertFalse(request.check(client, "user", Operation.list, Resource.domains, null, Scope.cluster, null));
+    assertEquals(1, reviews.get());
+
+    status = 200;
+    assertTrue(AuthorizationProxy.forRequest().check(client, "user", Operation.list, Resource.domains, null, Scope.cluster, null));
+    assertEquals(2, reviews.get());
+  }
+}
@@ -0,0 +1,80 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.kubernetes.client.ApiClient;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+
+public class CallBuilderPatchTest {
+  private HttpServer server;
+  private ClientHolder client;
+  private String method;
+  private String contentType;
+  private String body;
+
+  @Before
+  public void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/apis/weblogic.oracle/v1/namespaces/ns1/domains/domain1", exchange -> {
+      method = exchange.getRequestMethod();
+      contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+      try (InputStream in = exchange.getRequestBody()) {
+        body = readAll(in);
+      }
+      byte[] response = "{\"kind\":\"Domain\",\"spec\":{\"domainUID\":\"domain1\",\"replicas\":3}}".getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    server.start();
+    client = new ClientHolder(null, new ApiClient().setBasePath("http://localhost:" + server.getAddress().getPort()));
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  private static String readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[1024];
+    int n;
+    while ((n = in.read(buf)) > 0) {
+      out.write(buf, 0, n);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testPatchDomainSendsJsonPatch() throws Exception {
+    Domain result = client.callBuilder().patchDomain("domain1", "ns1", Arrays.asList(
+        CallBuilder.jsonPatch("test", "/spec/clusterStartup/0/clusterName", "cluster1"),
+        CallBuilder.jsonPatch("add", "/spec/clusterStartup/0/replicas", 3)));
+
+    assertEquals("PATCH", method);
+    assertTrue(contentType.startsWith("application/json-patch+json"));
+    assertEquals("[{\"op\":\"test\",\"path\":\"/spec/clusterStartup/0/clusterName\",\"value\":\"cluster1\"},"
+        + "{\"op\":\"add\",\"path\":\"/spec/clusterStartup/0/replicas\",\"value\":3}]", body);
+    assertEquals(Integer.valueOf(3), result.getSpec().getReplicas());
+  }
+}
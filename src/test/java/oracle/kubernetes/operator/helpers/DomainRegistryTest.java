@@ -0,0 +1,89 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ClusterStartup;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
+
+public class DomainRegistryTest {
+  private final Map<String, DomainPresenceInfo> domains = new ConcurrentHashMap<>();
+  private final DomainRegistry registry = new DomainRegistry();
+
+  private static Domain createDomain(String namespace, String domainUID, String... clusters) {
+    DomainSpec spec = new DomainSpec().domainUID(domainUID);
+    for (String cluster : clusters) {
+      spec.addClusterStartupItem(new ClusterStartup().clusterName(cluster));
+    }
+    return new Domain().metadata(new V1ObjectMeta().namespace(namespace)).spec(spec);
+  }
+
+  private void add(Domain domain) {
+    domains.put(domain.getSpec().getDomainUID(), new DomainPresenceInfo(domain));
+    registry.invalidate();
+  }
+
+  @Test
+  public void testInactiveRegistryIsEmpty() {
+    assertFalse(registry.isActive());
+    assertTrue(registry.getSnapshot().getDomainUIDs().isEmpty());
+  }
+
+  @Test
+  public void testDomainsAreIndexed() {
+    registry.setSource(domains);
+    Domain d1 = createDomain("ns1", "domain1", "cluster1");
+    Domain d2 = createDomain("ns1", "domain2");
+    Domain d3 = createDomain("ns2", "domain3", "cluster1", "cluster2");
+    add(d3);
+    add(d1);
+    add(d2);
+
+    DomainRegistry.Snapshot s = registry.getSnapshot();
+    assertTrue(registry.isActive());
+    assertSame(d1, s.getDomain("domain1"));
+    assertNull(s.getDomain("missing"));
+    assertEquals(Arrays.asList("domain1", "domain2", "domain3"), Arrays.asList(s.getDomainUIDs().toArray()));
+    assertEquals(2, s.getDomains("ns1").size());
+    assertEquals(Collections.singletonList(d3), s.getDomains("ns2"));
+    assertTrue(s.getDomains("ns3").isEmpty());
+    assertEquals(Collections.singleton("cluster1"), s.getClusters("domain1"));
+    assertTrue(s.getClusters("domain2").isEmpty());
+    assertEquals(2, s.getClusters("domain3").size());
+  }
+
+  @Test
+  public void testSnapshotIsRebuiltOnlyAfterChange() {
+    registry.setSource(domains);
+    add(createDomain("ns1", "domain1"));
+
+    DomainRegistry.Snapshot s = registry.getSnapshot();
+    assertSame(s, registry.getSnapshot());
+
+    add(createDomain("ns1", "domain2"));
+    DomainRegistry.Snapshot next = registry.getSnapshot();
+    assertNotSame(s, next);
+    assertEquals(1, s.getDomainUIDs().size());
+    assertEquals(2, next.getDomainUIDs().size());
+
+    domains.remove("domain1");
+    registry.invalidate();
+    assertNull(registry.getSnapshot().getDomain("domain1"));
+  }
+}
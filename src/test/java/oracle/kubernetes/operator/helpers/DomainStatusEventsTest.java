@@ -0,0 +1,143 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainCondition;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents.Event;
+
+public class DomainStatusEventsTest {
+  private final DomainStatusEvents events = new DomainStatusEvents();
+
+  @After
+  public void tearDown() {
+    events.clear();
+  }
+
+  private static Domain createDomain(String namespace, String domainUID, String condition, String... availableServers) {
+    DomainStatus status = new DomainStatus().availableServers(new ArrayList<>(Arrays.asList(availableServers)));
+    status.addConditionsItem(new DomainCondition().type(condition).status("True"));
+    return new Domain()
+        .metadata(new V1ObjectMeta().namespace(namespace))
+        .spec(new DomainSpec().domainUID(domainUID))
+        .status(status);
+  }
+
+  private static class CollectingSink implements DomainStatusEvents.Sink {
+    private final List<Event> received = new ArrayList<>();
+    private final Semaphore sending = new Semaphore(0);
+    private final Semaphore sent = new Semaphore(0);
+    private final CountDownLatch blocked;
+
+    CollectingSink(CountDownLatch blocked) {
+      this.blocked = blocked;
+    }
+
+    @Override
+    public void send(Event event) throws IOException {
+      sending.release();
+      try {
+        blocked.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      synchronized (received) {
+        received.add(event);
+      }
+      sent.release();
+    }
+
+    @Override
+    public void heartbeat() {
+    }
+
+    @Override
+    public void closed() {
+    }
+
+    List<String> await(int count) throws InterruptedException {
+      assertTrue(sent.tryAcquire(count, 5, TimeUnit.SECONDS));
+      List<String> types = new ArrayList<>();
+      synchronized (received) {
+        for (Event event : received) {
+          types.add(event.getType() + ":" + event.getDomainUID());
+        }
+        received.clear();
+      }
+      return types;
+    }
+  }
+
+  @Test
+  public void testOnlyChangesArePublished() throws InterruptedException {
+    CollectingSink sink = new CollectingSink(new CountDownLatch(0));
+    assertNotNull(events.subscribe(e -> true, sink));
+
+    events.publish(createDomain("ns1", "domain1", "Progressing"));
+    assertEquals(Arrays.asList("status:domain1", "condition:domain1"), sink.await(2));
+
+    // same status, servers in a different order
+    events.publish(createDomain("ns1", "domain1", "Progressing"));
+    events.publish(createDomain("ns1", "domain1", "Progressing", "server1", "server2"));
+    assertEquals(Arrays.asList("status:domain1"), sink.await(1));
+    events.publish(createDomain("ns1", "domain1", "Progressing", "server2", "server1"));
+
+    events.publish(createDomain("ns1", "domain1", "Available", "server1", "server2"));
+    assertEquals(Arrays.asList("status:domain1", "condition:domain1"), sink.await(2));
+
+    events.remove("domain1", "ns1");
+    assertEquals(Arrays.asList("deleted:domain1"), sink.await(1));
+    assertEquals(6, events.getPublished());
+  }
+
+  @Test
+  public void testSubscriberReceivesCurrentStatusAndFilteredEvents() throws InterruptedException {
+    events.publish(createDomain("ns1", "domain1", "Available"));
+    events.publish(createDomain("ns2", "domain2", "Available"));
+
+    CollectingSink sink = new CollectingSink(new CountDownLatch(0));
+    events.subscribe(e -> "ns2".equals(e.getNamespace()) && DomainStatusEvents.STATUS.equals(e.getType()), sink);
+    assertEquals(Arrays.asList("status:domain2"), sink.await(1));
+
+    events.publish(createDomain("ns1", "domain1", "Failed"));
+    events.publish(createDomain("ns2", "domain2", "Failed"));
+    assertEquals(Arrays.asList("status:domain2"), sink.await(1));
+  }
+
+  @Test
+  public void testSlowSubscriberReceivesLatestStatus() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    CollectingSink sink = new CollectingSink(blocked);
+    events.subscribe(e -> DomainStatusEvents.STATUS.equals(e.getType()), sink);
+
+    // the first event is being sent while the others wait and replace each other
+    events.publish(createDomain("ns1", "domain1", "Progressing"));
+    assertTrue(sink.sending.tryAcquire(5, TimeUnit.SECONDS));
+    events.publish(createDomain("ns1", "domain1", "Progressing", "server1"));
+    events.publish(createDomain("ns1", "domain1", "Progressing", "server1", "server2"));
+    events.publish(createDomain("ns1", "domain1", "Available", "server1", "server2", "server3"));
+    blocked.countDown();
+
+    assertEquals(Arrays.asList("status:domain1", "status:domain1"), sink.await(2));
+    assertEquals(0, events.getDropped());
+  }
+}
@@ -0,0 +1,96 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class PoolTest {
+
+  private static class TestPool extends Pool<Object> {
+    TestPool(int maxSize, long maxWaitMillis) {
+      super(maxSize, maxWaitMillis);
+    }
+
+    @Override
+    protected Object create() {
+      return new Object();
+    }
+  }
+
+  @Test
+  public void testRecycledInstanceReused() {
+    TestPool pool = new TestPool(2, 1000);
+    Object first = pool.take();
+    pool.recycle(first);
+
+    assertSame(first, pool.take());
+    assertEquals(1, pool.getCreated());
+    assertEquals(1, pool.getInUse());
+    assertEquals(0, pool.getIdle());
+  }
+
+  @Test
+  public void testTakeWaitsForRecycleWhenExhausted() throws InterruptedException {
+    TestPool pool = new TestPool(1, 10000);
+    Object first = pool.take();
+
+    AtomicReference<Object> second = new AtomicReference<>();
+    CountDownLatch taken = new CountDownLatch(1);
+    Thread t = new Thread(() -> {
+      second.set(pool.take());
+      taken.countDown();
+    });
+    t.start();
+    assertEquals(false, taken.await(100, TimeUnit.MILLISECONDS));
+
+    pool.recycle(first);
+    assertTrue(taken.await(5, TimeUnit.SECONDS));
+    assertSame(first, second.get());
+    assertEquals(1, pool.getCreated());
+    assertEquals(0, pool.getOverflows());
+  }
+
+  @Test
+  public void testOverflowAfterMaxWaitIsNotKept() {
+    TestPool pool = new TestPool(1, 10);
+    Object first = pool.take();
+    Object second = pool.take();
+
+    assertNotSame(first, second);
+    assertEquals(1, pool.getOverflows());
+    assertEquals(2, pool.getInUse());
+
+    pool.recycle(second);
+    pool.recycle(first);
+    assertEquals(1, pool.getIdle());
+    assertEquals(0, pool.getInUse());
+  }
+
+  @Test
+  public void testTakeNoWaitDoesNotWaitWhenExhausted() {
+    TestPool pool = new TestPool(1, 60000);
+    Object first = pool.take();
+
+    long start = System.nanoTime();
+    Object second = pool.takeNoWait();
+
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    assertNotSame(first, second);
+    assertEquals(1, pool.getOverflows());
+
+    pool.recycle(second);
+    assertEquals(0, pool.getIdle());
+    pool.recycle(first);
+    assertSame(first, pool.takeNoWait());
+  }
+}
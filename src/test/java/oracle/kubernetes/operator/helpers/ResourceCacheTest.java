@@ -0,0 +1,207 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1beta1Ingress;
+import oracle.kubernetes.operator.LabelConstants;
+import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+
+public class ResourceCacheTest {
+  private static final String NAMESPACE = "ns1";
+  private static final String DOMAIN_UID = "domain1";
+
+  private ResourceCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new ResourceCache(NAMESPACE);
+  }
+
+  private static V1ObjectMeta meta(String name, String serverName, String resourceVersion) {
+    Map<String, String> labels = new HashMap<>();
+    labels.put(LabelConstants.DOMAINUID_LABEL, DOMAIN_UID);
+    if (serverName != null) {
+      labels.put(LabelConstants.SERVERNAME_LABEL, serverName);
+    }
+    return new V1ObjectMeta().name(name).namespace(NAMESPACE).labels(labels).resourceVersion(resourceVersion);
+  }
+
+  private static V1Pod pod(String name, String serverName, String resourceVersion) {
+    return new V1Pod().metadata(meta(name, serverName, resourceVersion));
+  }
+
+  @Test
+  public void testIndexesByNameDomainAndServer() {
+    V1Pod admin = pod("domain1-admin", "admin", "10");
+    V1Pod ms1 = pod("domain1-ms1", "ms1", "11");
+    cache.getPods().put(admin);
+    cache.getPods().put(ms1);
+
+    assertSame(admin, cache.getPods().get("domain1-admin"));
+    assertSame(ms1, cache.getPods().getForServer(DOMAIN_UID, "ms1"));
+    List<V1Pod> forDomain = cache.getPods().getForDomain(DOMAIN_UID);
+    assertEquals(2, forDomain.size());
+    assertTrue(cache.getPods().getForDomain("other").isEmpty());
+  }
+
+  @Test
+  public void testIgnoresOlderVersions() {
+    V1Pod newer = pod("domain1-ms1", "ms1", "20");
+    cache.getPods().put(newer);
+    cache.getPods().put(pod("domain1-ms1", "ms1", "9"));
+    assertSame(newer, cache.getPods().get("domain1-ms1"));
+
+    // deletion of older version is ignored
+    cache.getPods().remove(pod("domain1-ms1", "ms1", "19"));
+    assertSame(newer, cache.getPods().get("domain1-ms1"));
+
+    cache.getPods().remove(pod("domain1-ms1", "ms1", "21"));
+    assertNull(cache.getPods().get("domain1-ms1"));
+    assertNull(cache.getPods().getForServer(DOMAIN_UID, "ms1"));
+    assertTrue(cache.getPods().getForDomain(DOMAIN_UID).isEmpty());
+  }
+
+  @Test
+  public void testRelistDiscardsObjectsDeletedWhileWatchExpired() {
+    V1Pod ms1 = pod("domain1-ms1", "ms1", "10");
+    cache.getPods().put(ms1);
+    cache.getPods().put(pod("domain1-ms2", "ms2", "11"));
+
+    // ms2 is deleted while the watch cannot resume, so the relisted watch only sends ms1
+    cache.getPods().onRelist();
+    V1Pod relisted = pod("domain1-ms1", "ms1", "30");
+    cache.getPods().put(relisted);
+
+    assertSame(relisted, cache.getPods().get("domain1-ms1"));
+    assertNull(cache.getPods().get("domain1-ms2"));
+    assertNull(cache.getPods().getForServer(DOMAIN_UID, "ms2"));
+    assertEquals(Collections.singletonList(relisted), cache.getPods().getForDomain(DOMAIN_UID));
+  }
+
+  @Test
+  public void testRelabeledObjectIsReindexed() {
+    cache.getPods().put(pod("domain1-ms1", "ms1", "10"));
+    V1Pod relabeled = pod("domain1-ms1", "ms2", "11");
+    cache.getPods().put(relabeled);
+
+    assertNull(cache.getPods().getForServer(DOMAIN_UID, "ms1"));
+    assertSame(relabeled, cache.getPods().getForServer(DOMAIN_UID, "ms2"));
+
+    V1Pod unlabeled = new V1Pod().metadata(new V1ObjectMeta().name("domain1-ms1").namespace(NAMESPACE).resourceVersion("12"));
+    cache.getPods().put(unlabeled);
+    assertNull(cache.getPods().getForServer(DOMAIN_UID, "ms2"));
+    assertTrue(cache.getPods().getForDomain(DOMAIN_UID).isEmpty());
+    assertSame(unlabeled, cache.getPods().get("domain1-ms1"));
+  }
+
+  @Test
+  public void testConcurrentPutAndRemoveKeepNewestVersion() throws InterruptedException {
+    int names = 100;
+    int versions = 10;
+    List<Runnable> updates = new ArrayList<>();
+    for (int i = 0; i < names; i++) {
+      String name = "domain1-ms" + i;
+      String serverName = "ms" + i;
+      for (int v = 1; v <= versions; v++) {
+        V1Pod pod = pod(name, serverName, String.valueOf(v));
+        updates.add(() -> cache.getPods().put(pod));
+        // deletion of a version older than the newest must never win
+        V1Pod stale = pod(name, serverName, "0");
+        updates.add(() -> cache.getPods().remove(stale));
+      }
+    }
+    Collections.shuffle(updates);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(updates.size());
+    for (Runnable update : updates) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          update.run();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    start.countDown();
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    executor.shutdown();
+
+    for (int i = 0; i < names; i++) {
+      V1Pod cached = cache.getPods().get("domain1-ms" + i);
+      assertEquals(String.valueOf(versions), cached.getMetadata().getResourceVersion());
+      assertSame(cached, cache.getPods().getForServer(DOMAIN_UID, "ms" + i));
+    }
+    assertEquals(names, cache.getPods().getForDomain(DOMAIN_UID).size());
+  }
+
+  @Test
+  public void testReadThroughUsesCacheOnHit() throws InterruptedException {
+    V1beta1Ingress ingress = new V1beta1Ingress().metadata(meta("domain1-cluster1", null, "5"));
+    cache.getIngresses().put(ingress);
+
+    AtomicReference<V1beta1Ingress> received = new AtomicReference<>();
+    ResponseStep<V1beta1Ingress> responseStep = new ResponseStep<V1beta1Ingress>(null) {
+      @Override
+      public NextAction onSuccess(Packet packet, V1beta1Ingress result, int statusCode,
+          Map<String, List<String>> responseHeaders) {
+        received.set(result);
+        return doNext(packet);
+      }
+    };
+    Packet p = new Packet();
+    p.getComponents().put("cache", Component.createFor(cache));
+    Semaphore signal = new Semaphore(0);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    new Engine("ResourceCacheTest").createFiber().start(
+        ResourceCache.readIngressAsync(p, "domain1-cluster1", NAMESPACE, responseStep), p, new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        signal.release();
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        failure.set(throwable);
+        signal.release();
+      }
+    });
+
+    assertTrue(signal.tryAcquire(5, TimeUnit.SECONDS));
+    assertNull(failure.get());
+    // ingresses are copied so that callers may edit them
+    assertNotSame(ingress, received.get());
+    assertEquals("domain1-cluster1", received.get().getMetadata().getName());
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import oracle.kubernetes.operator.ProcessingConstants;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.ClusterStartup;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+import oracle.kubernetes.operator.wlsconfig.WlsClusterConfig;
+import oracle.kubernetes.operator.wlsconfig.WlsServerConfig;
+import oracle.kubernetes.operator.work.Component;
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+import oracle.kubernetes.operator.work.Step.StepAndPacket;
+
+public class RollingHelperTest {
+
+  @Test
+  public void testMaxUnavailableAsCount() {
+    assertEquals(4, RollingHelper.getMaxUnavailable("4", 40));
+    assertEquals(4, RollingHelper.getMaxUnavailable(" 4 ", 2));
+  }
+
+  @Test
+  public void testMaxUnavailableAsPercentageIsRoundedDown() {
+    assertEquals(10, RollingHelper.getMaxUnavailable("25%", 40));
+    assertEquals(2, RollingHelper.getMaxUnavailable("25%", 11));
+  }
+
+  @Test
+  public void testMaxUnavailableIsAtLeastOne() {
+    assertEquals(1, RollingHelper.getMaxUnavailable("25%", 3));
+    assertEquals(1, RollingHelper.getMaxUnavailable("0", 40));
+    assertEquals(1, RollingHelper.getMaxUnavailable("many", 40));
+    assertEquals(1, RollingHelper.getMaxUnavailable(null, 40));
+  }
+
+  @Test
+  public void testProgressMessage() {
+    RollingHelper.Progress progress = new RollingHelper.Progress(3);
+    progress.addCluster("cluster-2", 1);
+    progress.addCluster("cluster-1", 1);
+    progress.restarted(null);
+    progress.restarted("cluster-1");
+
+    assertEquals("Restarted 2 of 3 servers (cluster cluster-1: 1 of 1, cluster cluster-2: 0 of 1)", progress.getMessage());
+
+    progress.restarted("cluster-2");
+    assertNull(progress.getMessage());
+  }
+
+  @Test
+  public void testAtMostMaxUnavailableServersRestartConcurrently() throws InterruptedException {
+    Engine engine = new Engine("RollingHelperTest");
+    List<String> serverNames = new ArrayList<>();
+    for (int i = 1; i <= 7; i++) {
+      serverNames.add("managed-server" + i);
+    }
+    // servers are already ready, and the status shows no progress, so that clearing the progress writes nothing
+    Domain domain = new Domain()
+        .metadata(new V1ObjectMeta().name("domain1").namespace("default"))
+        .spec(new DomainSpec().domainUID("domain1").asName("admin-server")
+            .clusterStartup(Collections.singletonList(new ClusterStartup().clusterName("cluster-1").maxUnavailable("2"))))
+        .status(new DomainStatus().startTime(DateTime.now()).availableServers(new ArrayList<>(serverNames))
+            .unavailableServers(new ArrayList<>()).availableClusters(new ArrayList<>()).unavailableClusters(new ArrayList<>()));
+    domain.getStatus().setConditions(new ArrayList<>());
+    DomainPresenceInfo info = new DomainPresenceInfo(domain);
+
+    AtomicInteger restarting = new AtomicInteger();
+    AtomicInteger maxRestarting = new AtomicInteger();
+    AtomicInteger restarted = new AtomicInteger();
+    Step restart = new Step(null) {
+      @Override
+      public NextAction apply(Packet packet) {
+        return doSuspend((fiber) -> {
+          int count = restarting.incrementAndGet();
+          maxRestarting.accumulateAndGet(count, Math::max);
+          engine.getExecutor().schedule(() -> {
+            restarting.decrementAndGet();
+            restarted.incrementAndGet();
+            fiber.resume(packet);
+          }, 20, TimeUnit.MILLISECONDS);
+        });
+      }
+    };
+
+    Packet packet = new Packet();
+    packet.getComponents().put(ProcessingConstants.DOMAIN_COMPONENT_NAME, Component.createFor(info));
+
+    WlsClusterConfig cluster = new WlsClusterConfig("cluster-1");
+    Map<String, StepAndPacket> rolling = new TreeMap<>();
+    for (String serverName : serverNames) {
+      Packet p = packet.clone();
+      p.put(ProcessingConstants.CLUSTER_SCAN, cluster);
+      p.put(ProcessingConstants.SERVER_SCAN, new WlsServerConfig(serverName, 8001, null, null));
+      rolling.put(serverName, new StepAndPacket(restart, p));
+    }
+
+    Semaphore signal = new Semaphore(0);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    engine.createFiber().start(RollingHelper.rollServers(rolling, null), packet, new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        signal.release();
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        failure.set(throwable);
+        signal.release();
+      }
+    });
+
+    assertTrue(signal.tryAcquire(5, TimeUnit.SECONDS));
+    assertNull(failure.get());
+    assertEquals(serverNames.size(), restarted.get());
+    assertEquals(2, maxRestarting.get());
+  }
+}
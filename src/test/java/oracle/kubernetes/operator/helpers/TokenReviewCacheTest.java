@@ -0,0 +1,76 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.kubernetes.client.models.V1TokenReviewStatus;
+import io.kubernetes.client.models.V1UserInfo;
+
+public class TokenReviewCacheTest {
+
+  private static V1TokenReviewStatus authenticated() {
+    return new V1TokenReviewStatus().authenticated(true).user(new V1UserInfo().username("user"));
+  }
+
+  private static V1TokenReviewStatus failed() {
+    return new V1TokenReviewStatus().authenticated(false).error("invalid token");
+  }
+
+  @Test
+  public void testReviewIsReused() {
+    TokenReviewCache cache = new TokenReviewCache(10, 60000, 60000);
+    V1TokenReviewStatus status = authenticated();
+
+    assertNull(cache.get("token"));
+    cache.put("token", status);
+
+    assertSame(status, cache.get("token"));
+    assertNull(cache.get("other"));
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(1.0 / 3, cache.getHitRate(), 0.0001);
+  }
+
+  @Test
+  public void testFailedReviewExpiresSooner() throws InterruptedException {
+    TokenReviewCache cache = new TokenReviewCache(10, 60000, 50);
+    V1TokenReviewStatus status = failed();
+    cache.put("good", authenticated());
+    cache.put("bad", status);
+
+    assertSame(status, cache.get("bad"));
+    assertEquals(1, cache.getNegativeHits());
+
+    Thread.sleep(100);
+    assertNull(cache.get("bad"));
+    assertEquals(authenticated(), cache.get("good"));
+  }
+
+  @Test
+  public void testIncompleteReviewIsNotCached() {
+    TokenReviewCache cache = new TokenReviewCache(10, 60000, 60000);
+    cache.put("token", null);
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedReviewIsEvicted() {
+    TokenReviewCache cache = new TokenReviewCache(2, 60000, 60000);
+    cache.put("a", authenticated());
+    cache.put("b", authenticated());
+    cache.get("a");
+    cache.put("c", authenticated());
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictions());
+    assertNull(cache.get("b"));
+    assertEquals(authenticated(), cache.get("a"));
+  }
+}
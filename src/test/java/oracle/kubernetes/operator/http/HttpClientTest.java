@@ -0,0 +1,275 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import oracle.kubernetes.operator.work.Engine;
+import oracle.kubernetes.operator.work.Fiber;
+import oracle.kubernetes.operator.work.NextAction;
+import oracle.kubernetes.operator.work.Packet;
+import oracle.kubernetes.operator.work.Step;
+
+public class HttpClientTest {
+  private HttpServer server;
+  private String serviceURL;
+  private final List<String> requests = new ArrayList<>();
+  // requests to /hang wait for this latch, like requests to a hung admin server
+  private final CountDownLatch hang = new CountDownLatch(1);
+  private final Semaphore hanging = new Semaphore(0);
+  private ExecutorService serverExecutor;
+
+  @Before
+  public void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/echo", exchange -> {
+      String body;
+      try (InputStream in = exchange.getRequestBody()) {
+        body = new String(readAll(in), StandardCharsets.UTF_8);
+      }
+      requests.add(exchange.getRequestHeaders().getFirst("Authorization"));
+      byte[] response = ("{\"echo\":" + body + "}").getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    server.createContext("/missing", exchange -> {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+    });
+    server.createContext("/hang", exchange -> {
+      hanging.release();
+      try {
+        hang.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+    });
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, response.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(response);
+      }
+    });
+    // requests are handled in parallel, so that a hanging request does not hold up the others
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.start();
+    serviceURL = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @After
+  public void tearDown() {
+    hang.countDown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[1024];
+    int n;
+    while ((n = in.read(buf)) > 0) {
+      out.write(buf, 0, n);
+    }
+    return out.toByteArray();
+  }
+
+  private Packet post(String requestUrl) throws Exception {
+    return post(requestUrl, new Engine("HttpClientTest"));
+  }
+
+  private Packet post(String requestUrl, Engine engine) throws Exception {
+    return post(HttpClient.createAuthenticatedClient("principal",
+        "user".getBytes(StandardCharsets.UTF_8), "pass".getBytes(StandardCharsets.UTF_8)),
+        requestUrl, 10000, engine, new AtomicInteger());
+  }
+
+  private Packet post(HttpClient client, String requestUrl, long timeoutMillis, Engine engine,
+      AtomicInteger resumed) throws Exception {
+    Packet[] result = new Packet[1];
+    Fiber f = startPost(client, requestUrl, timeoutMillis, engine, result, resumed);
+    f.get(10, TimeUnit.SECONDS);
+    return result[0];
+  }
+
+  private Fiber startPost(HttpClient client, String requestUrl, long timeoutMillis, Engine engine,
+      Packet[] result, AtomicInteger resumed) {
+    Packet packet = new Packet();
+    packet.put(HttpClient.KEY, client);
+    Step end = new Step(null) {
+      @Override
+      public NextAction apply(Packet p) {
+        resumed.incrementAndGet();
+        result[0] = p;
+        return doEnd(p);
+      }
+    };
+
+    Fiber f = engine.createFiber();
+    f.start(HttpClient.createPostStep(requestUrl, serviceURL, "{\"a\":1}", timeoutMillis, end), packet, null);
+    return f;
+  }
+
+  private static HttpClient createClient(Client client) {
+    return HttpClient.createAuthenticatedClient(client, "principal",
+        "user".getBytes(StandardCharsets.UTF_8), "pass".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testPostStepResumesWithResponse() throws Exception {
+    Packet p = post("/echo");
+
+    assertEquals("{\"echo\":{\"a\":1}}", p.get(HttpClient.RESPONSE_KEY));
+    assertNull(p.get(HttpClient.THROWABLE_KEY));
+    assertEquals(1, requests.size());
+    assertTrue(requests.get(0).startsWith("Basic "));
+  }
+
+  @Test
+  public void testPostStepResumesWithoutResponseOnFailureStatus() throws Exception {
+    Packet p = post("/missing");
+
+    assertNull(p.get(HttpClient.RESPONSE_KEY));
+    assertNull(p.get(HttpClient.THROWABLE_KEY));
+  }
+
+  @Test
+  public void testPostStepResumesWithThrowableWhenUnreachable() throws Exception {
+    server.stop(0);
+    Packet p = post("/echo");
+
+    assertNull(p.get(HttpClient.RESPONSE_KEY));
+    assertTrue(p.get(HttpClient.THROWABLE_KEY) instanceof Throwable);
+  }
+
+  @Test
+  public void testPostStepCancelsTimeoutWhenResponseCompletes() throws Exception {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+    executor.setRemoveOnCancelPolicy(true);
+    try {
+      Packet p = post("/echo", new Engine("HttpClientTest", executor));
+      assertEquals("{\"echo\":{\"a\":1}}", p.get(HttpClient.RESPONSE_KEY));
+
+      // the timeout is canceled by the thread completing the request, which may finish after the fiber
+      long deadline = System.currentTimeMillis() + 5000;
+      while (!executor.getQueue().isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertTrue(executor.getQueue().isEmpty());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPostStepResumesWithTimeoutWhenServerHangs() throws Exception {
+    ExecutorService asyncExecutor = HttpClient.createAsyncExecutor(10);
+    Client client = HttpClient.createClient(asyncExecutor);
+    try {
+      AtomicInteger resumed = new AtomicInteger();
+      Packet p = post(createClient(client), "/hang", 200, new Engine("HttpClientTest"), resumed);
+
+      assertNull(p.get(HttpClient.RESPONSE_KEY));
+      assertTrue(p.get(HttpClient.THROWABLE_KEY) instanceof TimeoutException);
+
+      // the response that arrives once the server recovers does not resume the fiber again
+      hang.countDown();
+      Thread.sleep(200);
+      assertEquals(1, resumed.get());
+      assertTrue(p.get(HttpClient.THROWABLE_KEY) instanceof TimeoutException);
+    } finally {
+      client.close();
+      asyncExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPostStepResumesOnceWhenResponseRacesTimeout() throws Exception {
+    ExecutorService asyncExecutor = HttpClient.createAsyncExecutor(10);
+    Client client = HttpClient.createClient(asyncExecutor);
+    try {
+      Engine engine = new Engine("HttpClientTest");
+      for (int i = 0; i < 20; i++) {
+        // the response takes about as long as the timeout, so either may win
+        AtomicInteger resumed = new AtomicInteger();
+        Packet p = post(createClient(client), "/slow", 50, engine, resumed);
+        Thread.sleep(100);
+
+        assertEquals(1, resumed.get());
+        boolean hasResponse = p.get(HttpClient.RESPONSE_KEY) != null;
+        boolean hasTimeout = p.get(HttpClient.THROWABLE_KEY) instanceof TimeoutException;
+        assertTrue(hasResponse != hasTimeout);
+      }
+    } finally {
+      client.close();
+      asyncExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPostStepFailsAtOnceWhenRequestsAreExhausted() throws Exception {
+    ExecutorService asyncExecutor = HttpClient.createAsyncExecutor(1);
+    Client client = HttpClient.createClient(asyncExecutor);
+    try {
+      Engine engine = new Engine("HttpClientTest");
+      // the only request thread is held by a hung admin server
+      startPost(createClient(client), "/hang", 10000, engine, new Packet[1], new AtomicInteger());
+      assertTrue(hanging.tryAcquire(5, TimeUnit.SECONDS));
+
+      long start = System.nanoTime();
+      AtomicInteger resumed = new AtomicInteger();
+      Packet p = post(createClient(client), "/echo", 10000, engine, resumed);
+
+      // rejected rather than queued behind the hung request until the timeout
+      assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+      assertNull(p.get(HttpClient.RESPONSE_KEY));
+      assertTrue(p.get(HttpClient.THROWABLE_KEY) instanceof Throwable);
+      assertFalse(p.get(HttpClient.THROWABLE_KEY) instanceof TimeoutException);
+      assertEquals(1, resumed.get());
+      assertTrue(requests.isEmpty());
+    } finally {
+      client.close();
+      asyncExecutor.shutdownNow();
+    }
+  }
+}
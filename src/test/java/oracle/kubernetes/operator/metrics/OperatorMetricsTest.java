@@ -0,0 +1,186 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.squareup.okhttp.Connection;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+
+import oracle.kubernetes.operator.work.Engine;
+
+public class OperatorMetricsTest {
+  private static final String MASTER = "https://kubernetes:443";
+
+  private final OperatorMetrics metrics = new OperatorMetrics();
+  private final ApiMetricsInterceptor interceptor = new ApiMetricsInterceptor(metrics);
+
+  private static class TestChain implements Interceptor.Chain {
+    private final Request request;
+    private final int code;
+
+    TestChain(Request request, int code) {
+      this.request = request;
+      this.code = code;
+    }
+
+    @Override
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public Response proceed(Request request) throws IOException {
+      if (code == 0) {
+        throw new IOException("connection refused");
+      }
+      return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(code).build();
+    }
+
+    @Override
+    public Connection connection() {
+      return null;
+    }
+  }
+
+  private void call(String method, String path, int code) {
+    RequestBody body = "GET".equals(method) || "DELETE".equals(method)
+        ? null : RequestBody.create(null, "{}");
+    Request request = new Request.Builder().url(MASTER + path).method(method, body).build();
+    try {
+      interceptor.intercept(new TestChain(request, code));
+    } catch (IOException e) {
+      // expected when there is no response
+    }
+  }
+
+  @Test
+  public void testApiRequestsLabeledWithVerbAndResource() {
+    call("GET", "/api/v1/namespaces/default/pods", 200);
+    call("GET", "/api/v1/namespaces/default/pods/domain1-admin-server", 404);
+    call("GET", "/api/v1/namespaces/default/pods?watch=true&resourceVersion=1", 200);
+    call("POST", "/api/v1/namespaces/default/services", 201);
+    call("PUT", "/apis/weblogic.oracle/v1/namespaces/default/domains/domain1/status", 409);
+    call("PATCH", "/apis/extensions/v1beta1/namespaces/default/ingresses/domain1-cluster1", 200);
+    call("DELETE", "/api/v1/namespaces/default/pods", 200);
+    call("GET", "/api/v1/namespaces", 0);
+    call("POST", "/apis/authentication.k8s.io/v1/tokenreviews", 201);
+
+    LabeledCounter requests = metrics.getApiRequests();
+    assertEquals(1, requests.get("list", "pods", "200"));
+    assertEquals(1, requests.get("get", "pods", "404"));
+    assertEquals(1, requests.get("watch", "pods", "200"));
+    assertEquals(1, requests.get("create", "services", "201"));
+    assertEquals(1, requests.get("update", "domains/status", "409"));
+    assertEquals(1, requests.get("patch", "ingresses", "200"));
+    assertEquals(1, requests.get("deletecollection", "pods", "200"));
+    assertEquals(1, requests.get("list", "namespaces", "error"));
+    assertEquals(1, requests.get("create", "tokenreviews", "201"));
+  }
+
+  @Test
+  public void testPrometheusFormat() {
+    metrics.recordApiRequest("get", "pods", "200", 0.02);
+    metrics.recordApiRequest("get", "pods", "200", 3);
+    metrics.recordWatchEvent("Domain", "ns1", "MODIFIED", 0.002);
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+    String text = writer.toString();
+
+    assertTrue(text, text.contains("# TYPE weblogic_operator_api_requests_total counter\n"));
+    assertTrue(text, text.contains("weblogic_operator_api_requests_total{verb=\"get\",resource=\"pods\",code=\"200\"} 2\n"));
+    assertTrue(text, text.contains("# TYPE weblogic_operator_api_request_duration_seconds histogram\n"));
+    assertTrue(text, text.contains("weblogic_operator_api_request_duration_seconds_bucket{verb=\"get\",resource=\"pods\",le=\"0.025\"} 1\n"));
+    assertTrue(text, text.contains("weblogic_operator_api_request_duration_seconds_bucket{verb=\"get\",resource=\"pods\",le=\"5\"} 2\n"));
+    assertTrue(text, text.contains("weblogic_operator_api_request_duration_seconds_bucket{verb=\"get\",resource=\"pods\",le=\"+Inf\"} 2\n"));
+    assertTrue(text, text.contains("weblogic_operator_api_request_duration_seconds_count{verb=\"get\",resource=\"pods\"} 2\n"));
+    assertTrue(text, text.contains("weblogic_operator_watch_events_total{kind=\"Domain\",namespace=\"ns1\",type=\"MODIFIED\"} 1\n"));
+  }
+
+  @Test
+  public void testWatchLagLabeledWithKindAndNamespace() {
+    metrics.recordWatchLag("Pod", "ns1", 0.003);
+    metrics.recordWatchLag("Pod", "ns1", 2);
+    metrics.recordWatchLag("Pod", null, 0.003);
+
+    assertEquals(2, metrics.getWatchLag().get("Pod", "ns1").getCount());
+    assertEquals(1, metrics.getWatchLag().get("Pod", "").getCount());
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+    String text = writer.toString();
+    assertTrue(text, text.contains("weblogic_operator_watch_lag_seconds_bucket{kind=\"Pod\",namespace=\"ns1\",le=\"0.005\"} 1\n"));
+    assertTrue(text, text.contains("weblogic_operator_watch_lag_seconds_count{kind=\"Pod\",namespace=\"ns1\"} 2\n"));
+  }
+
+  @Test
+  public void testForgetDomainRemovesItsMetrics() {
+    Engine engine = new Engine("test");
+    metrics.registerEngine(engine);
+    metrics.recordReconcile("domain1", 5, false);
+    metrics.recordReconcile("domain2", 5, true);
+    engine.getMetrics().getStepTime().observe(0.1, "domain1", "ListPodsStep");
+    engine.getMetrics().getStepTime().observe(0.1, "domain2", "ListPodsStep");
+
+    metrics.forgetDomain("domain1");
+
+    assertNull(metrics.getReconcileTime().get("domain1"));
+    assertNotNull(metrics.getReconcileTime().get("domain2"));
+    assertNull(engine.getMetrics().getStepTime().get("domain1", "ListPodsStep"));
+    assertNotNull(engine.getMetrics().getStepTime().get("domain2", "ListPodsStep"));
+
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+    String text = writer.toString();
+    assertTrue(text, !text.contains("domain1"));
+    assertTrue(text, text.contains("domain2"));
+  }
+
+  @Test
+  public void testForgetNamespaceRemovesItsWatchMetrics() {
+    metrics.recordWatchEvent("Pod", "ns1", "ADDED", 0.002);
+    metrics.recordWatchEvent("Pod", "ns2", "ADDED", 0.002);
+    metrics.recordWatchLag("Pod", "ns1", 0.002);
+    metrics.recordWatchLag("Pod", "ns2", 0.002);
+
+    metrics.forgetNamespace("ns1");
+
+    assertEquals(0, metrics.getWatchEvents().get("Pod", "ns1", "ADDED"));
+    assertEquals(1, metrics.getWatchEvents().get("Pod", "ns2", "ADDED"));
+    assertNull(metrics.getWatchLag().get("Pod", "ns1"));
+    assertNotNull(metrics.getWatchLag().get("Pod", "ns2"));
+  }
+
+  @Test
+  public void testLabelValuesEscaped() {
+    PrometheusWriter writer = new PrometheusWriter();
+    writer.sample("m", new String[] { "l" }, new String[] { "a\"b\\c\nd" }, 1.5);
+    assertEquals("m{l=\"a\\\"b\\\\c\\nd\"} 1.5\n", writer.toString());
+  }
+
+  @Test
+  public void testCollectorsIncluded() {
+    metrics.register("test", w -> w.metric("test_gauge", PrometheusWriter.GAUGE, "Test.", 7));
+    PrometheusWriter writer = new PrometheusWriter();
+    metrics.collect(writer);
+    assertTrue(writer.toString().contains("test_gauge 7\n"));
+
+    metrics.unregister("test");
+    writer = new PrometheusWriter();
+    metrics.collect(writer);
+    assertTrue(!writer.toString().contains("test_gauge"));
+  }
+}
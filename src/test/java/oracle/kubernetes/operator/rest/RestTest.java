@@ -3,13 +3,19 @@
 package oracle.kubernetes.operator.rest;
 
 import org.glassfish.jersey.jsonp.JsonProcessingFeature;
+import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.util.SSLUtils;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainStatus;
+import oracle.kubernetes.operator.helpers.DomainStatusEvents;
 import oracle.kubernetes.operator.rest.backend.RestBackend;
 import oracle.kubernetes.operator.rest.model.ClusterModel;
 import oracle.kubernetes.operator.rest.model.CollectionModel;
 import oracle.kubernetes.operator.rest.model.DomainModel;
 import oracle.kubernetes.operator.rest.model.ErrorModel;
 import oracle.kubernetes.operator.rest.model.ScaleClusterParamsModel;
+import oracle.kubernetes.operator.rest.model.ScaleClustersParamsModel;
 import oracle.kubernetes.operator.rest.model.VersionModel;
 import org.junit.After;
 import org.junit.Before;
@@ -26,16 +32,27 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import java.io.IOException;
 import java.io.InputStream;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the Weblogic Operator REST api
@@ -63,6 +80,7 @@ public class RestTest {
   private static final String DOMAIN1_CLUSTERS_HREF = DOMAIN1_HREF + "/" + CLUSTERS;
   private static final String DOMAIN1_CLUSTER1_HREF = DOMAIN1_CLUSTERS_HREF + "/" + CLUSTER1;
   private static final String DOMAIN1_CLUSTER1_SCALE_HREF = DOMAIN1_CLUSTER1_HREF + "/scale";
+  private static final String DOMAIN1_SCALE_HREF = DOMAIN1_HREF + "/scale";
 
   private static final String CA_CERT_DATA = "LS0tLS1CRUdJTiBDRVJUSUZJQ0FURS0tLS0tCk1JSUR3VENDQXFtZ0F3SUJBZ0lFVHVHU216QU5CZ2txaGtpRzl3MEJBUXNGQURDQmdURUxNQWtHQTFVRUJoTUMNClZWTXhFREFPQmdOVkJBZ1RCMDE1VTNSaGRHVXhEekFOQmdOVkJBY1RCazE1Vkc5M2JqRVhNQlVHQTFVRUNoTU8NClRYbFBjbWRoYm1sNllYUnBiMjR4R1RBWEJnTlZCQXNURUVaUFVpQlVSVk5VU1U1SElFOU9URmt4R3pBWkJnTlYNCkJBTVRFbGRsWW14dloybGpUM0JsY21GMGIzSkRRVEFlRncweE56RXlNRFV5TXpJNE1ERmFGdzB5TnpFeU1ETXkNCk16STRNREZhTUlHQk1Rc3dDUVlEVlFRR0V3SlZVekVRTUE0R0ExVUVDQk1IVFhsVGRHRjBaVEVQTUEwR0ExVUUNCkJ4TUdUWGxVYjNkdU1SY3dGUVlEVlFRS0V3NU5lVTl5WjJGdWFYcGhkR2x2YmpFWk1CY0dBMVVFQ3hNUVJrOVMNCklGUkZVMVJKVGtjZ1QwNU1XVEViTUJrR0ExVUVBeE1TVjJWaWJHOW5hV05QY0dWeVlYUnZja05CTUlJQklqQU4NCkJna3Foa2lHOXcwQkFRRUZBQU9DQVE4QU1JSUJDZ0tDQVFFQWp1Q1JtOE5Wck02bjQrQ1ptZFh3M3FqRjV3T00NCnZYZVJDZG9TZ1dEalRrUmtKV1RZOVlVaGVIaVB1TGozdXZRbFNwNUNZdngwTUYyM2pxbzcyaEJqM3U2cGZqbVMNCnJBeEpSdjZQV1E3Y3dTbGU3SU1URk5Qb3NvS0wrSEZmTWxmL2o2WUtqZzlQZXJPY09ocEI2WnJWS0NxeDdvOCsNCmRpb2FxdXlYV2drKzQxdkNKeGs5QVlqRGdBM1BnNC8xQ1BPVUU4eGN4Z29ldi9teW4yTFMvZkU5NzJsNVo4eUINCnFtcXI1V09EbUZLVWNqV0tSVGlnWjFSNVBoQjNVaHhBUXN4aHJKYVZFM3drT1ZjYWdza2QvWHM2eWY3cS9pVXMNClUxL1VCc3Q1SE5Dd2hnWUZ3bkV1RXZvaVNPeFl2UEx4cjRWTU1RM2lPR21QS0VBKzJoUUtxc214b3dJREFRQUINCm96OHdQVEFQQmdOVkhSTUVDREFHQVFIL0FnRUJNQXNHQTFVZER3UUVBd0lDQkRBZEJnTlZIUTRFRmdRVVlFcDANCmkxc2hZcDh5N1lQTEk5MXh6L2pXWVVBd0RRWUpLb1pJaHZjTkFRRUxCUUFEZ2dFQkFIZFNtUVZZT0pzdmJFR1QNCmxwdk1CcjhCL0M1cUdGQjF4N3BBZWRlOFA1TXk0MHg1QnNjTjg4ZkN3djZSVStUbDNjenQ4ZHBMc0RZaTIzR2QNCnEwSk1LT2docXdSa2w4bEZRNmY0ZUdsZGFLMGlOc3hxQkJZUVFBeHNscTV0RXRUZk4rYmdVbGUyMmhpNERjUGsNClh0UDNncGhHdzRjSXlpZ09DbWpiOVk5VnNQY0M2Rit2bmhNaWxkRVhmUEFJcWRQSnlWZFMrWWNXOXdkaXF2d28NClVsK0h2VDhyMnFSbTV0U2NReFRySEY1emdwZzZhUmRENk1qWGQwZFAydzUzazVQeUZPb0o4eE1Qd1JGeE1xazkNCmkzdm9ZcUFBNXBNZXBVR3ladllKenUrUEk2cmFJNlllc3NMcW02NEE0NlZYS0xIOEZvTnYwMEQ2Y0o5R1NwMUUNCkJmRm85L3M9Ci0tLS0tRU5EIENFUlRJRklDQVRFLS0tLS0K";
   private static final String OP_CERT_DATA = "LS0tLS1CRUdJTiBDRVJUSUZJQ0FURS0tLS0tCk1JSUR4ekNDQXErZ0F3SUJBZ0lFT2lMdG1EQU5CZ2txaGtpRzl3MEJBUXNGQURDQmdURUxNQWtHQTFVRUJoTUMNClZWTXhFREFPQmdOVkJBZ1RCMDE1VTNSaGRHVXhEekFOQmdOVkJBY1RCazE1Vkc5M2JqRVhNQlVHQTFVRUNoTU8NClRYbFBjbWRoYm1sNllYUnBiMjR4R1RBWEJnTlZCQXNURUVaUFVpQlVSVk5VU1U1SElFOU9URmt4R3pBWkJnTlYNCkJBTVRFbGRsWW14dloybGpUM0JsY21GMGIzSkRRVEFlRncweE56RXlNRFV5TXpJNE1EUmFGdzB5TnpFeU1ETXkNCk16STRNRFJhTUhneEN6QUpCZ05WQkFZVEFsVlRNUkF3RGdZRFZRUUlFd2ROZVZOMFlYUmxNUTh3RFFZRFZRUUgNCkV3Wk5lVlJ2ZDI0eEZ6QVZCZ05WQkFvVERrMTVUM0puWVc1cGVtRjBhVzl1TVJrd0Z3WURWUVFMRXhCR1QxSWcNClZFVlRWRWxPUnlCUFRreFpNUkl3RUFZRFZRUURFd2xzYjJOaGJHaHZjM1F3Z2dFaU1BMEdDU3FHU0liM0RRRUINCkFRVUFBNElCRHdBd2dnRUtBb0lCQVFDOCs1MVNYcnpPUm8xaHYwb1doZFhnNTBCczRJc0pUSUw4ZVdZV1R6SGINCkxVcVMxQldWZllVMHJGWXZYTDBGQnh6SGdtL1lVZ0dHVkQwZEVtdVBMSXc3cEd4TS84Sm5HbGpvampnZSs5QmUNCk9rMFBKSXc3MmpPazA0a3ZOK1V6QnJodk5kRnRUQ3VnaVZDWG1ncjZLYjlIM2JpSlkraWZIMmR1OTRIamcrQ2ENCkRYZU5qZXlSRmVZQmdmRTd1cERBNGx6aXNrRVFjczVTSHJNcVB5TFViZVRrYk1aSy82bVVYazdOTGhyQ3BRNmMNCjNnVGgrSDVLaElBd0lXR2hXTEhOTGkzWm5kbWhRRW53enZMOUlDYVpHazZ3QmlxNDJsdUUxYndPdmpMVnRKOEsNCmVJWGFONnlIdXFFamNMUFBEeEhtYkZwVWlaZmgrWTk0K29RQTRMS3lGdWhOQWdNQkFBR2pUekJOTUI4R0ExVWQNCkl3UVlNQmFBRkdCS2RJdGJJV0tmTXUyRHl5UGRjYy80MW1GQU1Bc0dBMVVkRHdRRUF3SUQrREFkQmdOVkhRNEUNCkZnUVVvcFFvY0ExaVpGN042ZDhMdmoyM1Ezc0FJTVl3RFFZSktvWklodmNOQVFFTEJRQURnZ0VCQUlHZFpkMVMNCkhZdFMxQnVRSnpLcSthTEVHUzQvQk01aXk2Q0oxaGpvUnpyc0Y0TEhtTmNqOE04M1RYY1JXTHJraEhtd3FFU0cNCjVpU3o0bVJnbmxxSlIxcndxZjhOUnAwU3dnVVlmbmdvdGI2dlZxVUhWZzcvdWtaRURYV2dUMThaS1BrZkp4SnoNCmRPdlpEeDhETzVhOWhQVFZKeWwzekd3ckhBaVY3Zjg1RWdIVkxsUTFqbC91eG9zSXJaMm5VZ3BFVTlzaC8xd04NCkIyYUtZVk5WQVFNZVZuVHhHU0h0WW5pOUJ1U1FDMFhZS3FCbVlHWWlwUDlnenJBd0hFTXVEeFRxcUdIRU84WVgNCjgrem1xVGJTVzQ2NkNYL2RsTFhNKzR3MFErNU1XODZBbkpzVGhEeE5mWkMrd3o5ZHNwbm9lclVsYWVyMVhiaWkNCjAwd2ZNaU81UU9uTlF3TT0KLS0tLS1FTkQgQ0VSVElGSUNBVEUtLS0tLQo=";
@@ -70,6 +88,7 @@ public class RestTest {
 
   @Before
   public void setUp() throws Exception {
+    TestRestBackendImpl.scaleCalls.clear();
 
     // Start the REST server
     rs = new RestServer(new TestRestConfigImpl());
@@ -228,7 +247,6 @@ public class RestTest {
 
   @Test
   public void testScaleCluster() {
-    System.out.println("testScaleCluster path: " + DOMAIN1_CLUSTER1_SCALE_HREF);
     Entity entity = Entity.entity(createScaleClusterParams(), MediaType.APPLICATION_JSON);
     verifyStatusCode(
       request(DOMAIN1_CLUSTER1_SCALE_HREF)
@@ -236,6 +254,140 @@ public class RestTest {
         .post(entity),
       Status.NO_CONTENT
     );
+    assertEquals(Arrays.asList("scaleCluster domain1 cluster1 3"), TestRestBackendImpl.scaleCalls);
+  }
+
+  @Test
+  public void testSlowScaleRequestsDoNotDelayOtherRequests() throws Exception {
+    CountDownLatch gate = new CountDownLatch(1);
+    TestRestBackendImpl.scaleGate = gate;
+    List<Future<Response>> scales = new ArrayList<>();
+    try {
+      for (int i = 0; i < 5; i++) {
+        scales.add(
+          request(DOMAIN1_CLUSTER1_SCALE_HREF)
+            .header("X-Requested-By", "TestClient")
+            .async()
+            .post(Entity.entity(createScaleClusterParams(), MediaType.APPLICATION_JSON)));
+      }
+      long deadline = System.currentTimeMillis() + 10000;
+      while (TestRestBackendImpl.scaling.get() < scales.size() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(scales.size(), TestRestBackendImpl.scaling.get());
+
+      // answered while every scale request is still waiting on the backend
+      verifyOK(request(DOMAINS_HREF).async().get().get(10, TimeUnit.SECONDS));
+      verifyOK(request(DOMAIN1_CLUSTERS_HREF).async().get().get(10, TimeUnit.SECONDS));
+    } finally {
+      gate.countDown();
+      TestRestBackendImpl.scaleGate = null;
+    }
+    for (Future<Response> scale : scales) {
+      verifyStatusCode(scale.get(10, TimeUnit.SECONDS), Status.NO_CONTENT);
+    }
+    TestRestBackendImpl.scaling.set(0);
+  }
+
+  @Test
+  public void testScaleClusters() {
+    Entity entity = Entity.entity(createScaleClustersParams(CLUSTER1), MediaType.APPLICATION_JSON);
+    verifyStatusCode(
+      request(DOMAIN1_SCALE_HREF)
+        .header("X-Requested-By", "TestClient")
+        .post(entity),
+      Status.NO_CONTENT
+    );
+    assertEquals(Arrays.asList("scaleClusters domain1 {cluster1=3}"), TestRestBackendImpl.scaleCalls);
+  }
+
+  @Test
+  public void testScaleClustersNonExistingCluster() {
+    Entity entity = Entity.entity(createScaleClustersParams(CLUSTER1, "cluster2"), MediaType.APPLICATION_JSON);
+    verifyNotFound(
+      request(DOMAIN1_SCALE_HREF)
+        .header("X-Requested-By", "TestClient")
+        .post(entity)
+    );
+  }
+
+  @Test
+  public void testScaleClustersWithoutCounts() {
+    verifyStatusCode(
+      request(DOMAIN1_SCALE_HREF)
+        .header("X-Requested-By", "TestClient")
+        .post(Entity.entity(createScaleClustersParams(), MediaType.APPLICATION_JSON)),
+      Status.BAD_REQUEST
+    );
+    verifyStatusCode(
+      request(DOMAIN1_SCALE_HREF)
+        .header("X-Requested-By", "TestClient")
+        .post(Entity.entity("{\"managedServerCounts\":null}", MediaType.APPLICATION_JSON)),
+      Status.BAD_REQUEST
+    );
+    verifyStatusCode(
+      request(DOMAIN1_SCALE_HREF)
+        .header("X-Requested-By", "TestClient")
+        .post(Entity.entity("", MediaType.APPLICATION_JSON)),
+      Status.BAD_REQUEST
+    );
+  }
+
+  @Test
+  public void testMetricsReportPools() {
+    verifyOK(request(DOMAINS_HREF).get());
+
+    RestServerMetrics metrics = rs.getMetrics();
+    assertEquals(3, metrics.getWorkerPool().getCorePoolSize());
+    assertTrue(metrics.getWorkerPool().getThreads() > 0);
+    assertTrue(metrics.getWorkerPool().getCompletedTasks() > 0);
+    assertNotNull(metrics.getBackendPool());
+    assertTrue(metrics.getBackendPool().getLargestPoolSize() > 0);
+  }
+
+  @Test
+  public void testDomainEventsStreamCurrentStatus() throws Exception {
+    DomainStatusEvents events = DomainStatusEvents.getInstance();
+    events.publish(
+        new Domain()
+            .metadata(new V1ObjectMeta().namespace("ns1"))
+            .spec(new DomainSpec().domainUID(DOMAIN1))
+            .status(new DomainStatus().addAvailableServersItem("admin-server")));
+    try {
+      Response r = request(DOMAIN1_HREF + "/events").accept("text/event-stream").get();
+      verifyOK(r);
+      try (InputStream in = r.readEntity(InputStream.class)) {
+        String event = readEvent(in);
+        assertTrue(event, event.contains("event: status\n"));
+        assertTrue(event, event.contains("\"domainUID\":\"domain1\""));
+        assertTrue(event, event.contains("\"availableServers\":[\"admin-server\"]"));
+      }
+    } finally {
+      events.clear();
+    }
+  }
+
+  @Test
+  public void testMetrics() {
+    Response r = request("/metrics").get();
+    verifyOK(r);
+    assertTrue(r.getMediaType().toString().startsWith("text/plain"));
+    String metrics = r.readEntity(String.class);
+    assertTrue(metrics, metrics.contains("# TYPE weblogic_operator_api_requests_total counter\n"));
+    assertTrue(metrics, metrics.contains("weblogic_operator_rest_pool_max_threads{pool=\"backend\"}"));
+    assertTrue(metrics, metrics.contains("weblogic_operator_rest_pool_max_threads{pool=\"worker\"}"));
+  }
+
+  private static String readEvent(InputStream in) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    int c;
+    while ((c = in.read()) != -1) {
+      sb.append((char) c);
+      if (sb.toString().endsWith("\n\n")) {
+        break;
+      }
+    }
+    return sb.toString();
   }
 
   @Test
@@ -294,6 +446,14 @@ public class RestTest {
     return params;
   }
 
+  private ScaleClustersParamsModel createScaleClustersParams(String... clusters) {
+    ScaleClustersParamsModel params = new ScaleClustersParamsModel();
+    for (String cluster : clusters) {
+      params.getManagedServerCounts().put(cluster, 3);
+    }
+    return params;
+  }
+
   private void verifyOK(Response resp) {
     verifyStatusCode(resp, Status.OK);
   }
@@ -402,6 +562,12 @@ public class RestTest {
   }
 
   private static class TestRestBackendImpl implements RestBackend {
+    // when set, scaling a cluster waits until the gate is opened
+    static volatile CountDownLatch scaleGate;
+    static final AtomicInteger scaling = new AtomicInteger();
+    // scale requests received by any instance, as "method domainUID arguments"
+    static final List<String> scaleCalls = Collections.synchronizedList(new ArrayList<>());
+
     Map<String, Set<String>> domains = new HashMap<>();
 
     private TestRestBackendImpl() {
@@ -438,7 +604,21 @@ public class RestTest {
 
     @Override
     public void scaleCluster(String domainId, String cluster, int managedServerCount) {
-      System.out.println("TEST_DEBUG TestRestBackendImpl.scaleCluster " + domainId + " " + cluster + " " + managedServerCount);
+      scaleCalls.add("scaleCluster " + domainId + " " + cluster + " " + managedServerCount);
+      CountDownLatch gate = scaleGate;
+      if (gate != null) {
+        scaling.incrementAndGet();
+        try {
+          gate.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    @Override
+    public void scaleClusters(String domainId, Map<String, Integer> managedServerCounts) {
+      scaleCalls.add("scaleClusters " + domainId + " " + managedServerCounts);
     }
   }
 
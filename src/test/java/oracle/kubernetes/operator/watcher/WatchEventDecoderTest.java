@@ -0,0 +1,52 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+package oracle.kubernetes.operator.watcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.ResponseBody;
+
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1Pod;
+
+public class WatchEventDecoderTest {
+
+  private static final String EVENTS =
+      "{\"type\":\"ADDED\",\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"ms1\",\"resourceVersion\":\"11\"}}}\n"
+    + "{\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"ms2\",\"resourceVersion\":\"12\"}},\"type\":\"MODIFIED\"}\n"
+    + "{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"status\":\"Failure\",\"message\":\"too old resource version: 5 (13)\",\"code\":410}}\n";
+
+  @Test
+  public void testDecodesEventsFromStream() throws Exception {
+    WatchEventDecoder<V1Pod> decoder = new WatchEventDecoder<>(new JSON(), V1Pod.class, V1Pod::getMetadata);
+    ResponseBody body = ResponseBody.create(MediaType.parse("application/json"), EVENTS);
+
+    try (WatchStream<V1Pod> stream = new WatchStream<>(decoder, body)) {
+      assertTrue(stream.hasNext());
+      WatchEvent<V1Pod> added = stream.next();
+      assertEquals("ADDED", added.type);
+      assertEquals("ms1", added.object.getMetadata().getName());
+      assertEquals("11", decoder.getResourceVersion(added.object));
+
+      // object before type
+      assertTrue(stream.hasNext());
+      WatchEvent<V1Pod> modified = stream.next();
+      assertEquals("MODIFIED", modified.type);
+      assertEquals("ms2", modified.object.getMetadata().getName());
+
+      assertTrue(stream.hasNext());
+      WatchEvent<V1Pod> error = stream.next();
+      assertEquals("ERROR", error.type);
+      assertNull(error.object);
+      assertEquals(Integer.valueOf(410), error.status.getCode());
+
+      assertFalse(stream.hasNext());
+    }
+  }
+}
@@ -0,0 +1,293 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+package oracle.kubernetes.operator.watcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import oracle.kubernetes.operator.DomainWatcher;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.Domain;
+import oracle.kubernetes.operator.domain.model.oracle.kubernetes.weblogic.domain.v1.DomainSpec;
+
+public class WatcherTest {
+
+  private static String event(String type, String name, String resourceVersion) {
+    return "{\"type\":\"" + type + "\",\"object\":{\"kind\":\"Pod\",\"metadata\":{\"name\":\"" + name
+        + "\",\"namespace\":\"ns1\",\"resourceVersion\":\"" + resourceVersion + "\"}}}\n";
+  }
+
+  private static String error(int code) {
+    return "{\"type\":\"ERROR\",\"object\":{\"kind\":\"Status\",\"status\":\"Failure\",\"code\":" + code + "}}\n";
+  }
+
+  // client that answers each watch request with the next canned response body
+  private static OkHttpClient respondWith(String... bodies) {
+    List<String> remaining = new ArrayList<>(Arrays.asList(bodies));
+    OkHttpClient client = new OkHttpClient();
+    client.interceptors().add(chain -> new Response.Builder()
+        .request(chain.request()).protocol(Protocol.HTTP_1_1).code(200)
+        .body(ResponseBody.create(MediaType.parse("application/json"), remaining.isEmpty() ? "" : remaining.remove(0)))
+        .build());
+    return client;
+  }
+
+  // client that answers each watch request with the next status code; successful responses
+  // carry a single event
+  private static OkHttpClient respondWithCodes(int... codes) {
+    List<Integer> remaining = new ArrayList<>();
+    for (int code : codes) {
+      remaining.add(code);
+    }
+    OkHttpClient client = new OkHttpClient();
+    client.interceptors().add(chain -> {
+      int code = remaining.isEmpty() ? 200 : remaining.remove(0);
+      return new Response.Builder()
+          .request(chain.request()).protocol(Protocol.HTTP_1_1).code(code).message("")
+          .body(ResponseBody.create(MediaType.parse("application/json"), code == 200 ? event("ADDED", "ms1", "11") : ""))
+          .build();
+    });
+    return client;
+  }
+
+  // records the events and relists delivered to it, and the resource versions of its requests
+  private static class RecordingWatching implements Watching<V1Pod> {
+    private final OkHttpClient client;
+    final List<String> requested = new ArrayList<>();
+    final List<String> delivered = new ArrayList<>();
+
+    RecordingWatching(OkHttpClient client) {
+      this.client = client;
+    }
+
+    @Override
+    public Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) {
+      requested.add(resourceVersion);
+      return client.newCall(new Request.Builder().url("http://localhost/watch?resourceVersion=" + resourceVersion).build());
+    }
+
+    @Override
+    public void eventCallback(WatchEvent<V1Pod> item) {
+      delivered.add(item.type + (item.object != null ? " " + item.object.getMetadata().getName() : ""));
+    }
+
+    @Override
+    public void onRelist() {
+      delivered.add("relist");
+    }
+
+    @Override
+    public boolean isStopping() {
+      return false;
+    }
+  }
+
+  private static Watcher<V1Pod> createWatcher(Watching<V1Pod> watching, Executor dispatcher) {
+    return new Watcher<>(watching, null, "", new WatchEventDecoder<>(new JSON(), V1Pod.class, V1Pod::getMetadata), dispatcher);
+  }
+
+  @Test
+  public void testComparesResourceVersionsNumerically() {
+    assertTrue(Watcher.compareResourceVersions("10", "9") > 0);
+    assertTrue(Watcher.compareResourceVersions("9", "10") < 0);
+    assertTrue(Watcher.compareResourceVersions("12345", "12345") == 0);
+    // non-numeric versions are still ordered
+    assertTrue(Watcher.compareResourceVersions("b", "a") > 0);
+  }
+
+  @Test
+  public void testWatchCycleEndsWhenStopping() {
+    Watcher<Object> watcher = new Watcher<>(new Watching<Object>() {
+      @Override
+      public void eventCallback(WatchEvent<Object> item) {
+      }
+
+      @Override
+      public boolean isStopping() {
+        return true;
+      }
+    });
+    assertEquals(-1, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+  }
+
+  @Test
+  public void testReconnectResumesFromLastResourceVersion() {
+    RecordingWatching watching = new RecordingWatching(respondWith(
+        event("ADDED", "ms1", "11") + event("MODIFIED", "ms2", "13") + event("DELETED", "ms1", "12"),
+        event("MODIFIED", "ms2", "14")));
+    Watcher<V1Pod> watcher = createWatcher(watching, null);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    // each request resumes from the highest resource version seen, whatever the order of the events
+    assertEquals(Arrays.asList("", "13", "14"), watching.requested);
+    assertEquals(Arrays.asList("ADDED ms1", "MODIFIED ms2", "DELETED ms1", "MODIFIED ms2"), watching.delivered);
+  }
+
+  @Test
+  public void testGoneErrorRelistsFromCurrentState() {
+    RecordingWatching watching = new RecordingWatching(respondWith(
+        event("ADDED", "ms1", "11") + error(410) + event("MODIFIED", "ms1", "12"),
+        event("ADDED", "ms1", "20")));
+    Watcher<V1Pod> watcher = createWatcher(watching, null);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    // the rest of the expired request is dropped and the next request lists everything again
+    assertEquals(Arrays.asList("", "", "20"), watching.requested);
+    assertEquals(Arrays.asList("ADDED ms1", "relist", "ADDED ms1"), watching.delivered);
+  }
+
+  @Test
+  public void testRelistFindsDomainsDeletedInTheGap() {
+    List<Domain> known = Arrays.asList(domain("ns1", "domain1"), domain("ns1", "domain2"), domain("ns2", "domain3"));
+    List<Domain> relisted = Arrays.asList(domain("ns1", "domain1"), domain("ns1", "domain4"));
+
+    // only known domains of the relisted namespace that are no longer listed are deleted
+    List<Domain> deleted = DomainWatcher.findDeletedDomains(known, "ns1", relisted);
+    assertEquals(1, deleted.size());
+    assertEquals("domain2", deleted.get(0).getSpec().getDomainUID());
+    assertTrue(DomainWatcher.findDeletedDomains(known, "ns3", relisted).isEmpty());
+  }
+
+  private static Domain domain(String namespace, String domainUID) {
+    return new Domain().metadata(new V1ObjectMeta().namespace(namespace).name(domainUID))
+        .spec(new DomainSpec().domainUID(domainUID));
+  }
+
+  @Test
+  public void testOtherErrorsDoNotRelist() {
+    RecordingWatching watching = new RecordingWatching(respondWith(
+        event("ADDED", "ms1", "11") + error(500) + event("MODIFIED", "ms1", "12")));
+    Watcher<V1Pod> watcher = createWatcher(watching, null);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    // the error is passed on and the watch continues from where it was
+    assertEquals(Arrays.asList("", "12"), watching.requested);
+    assertEquals(Arrays.asList("ADDED ms1", "ERROR", "MODIFIED ms1"), watching.delivered);
+  }
+
+  @Test
+  public void testGoneResponseRelistsFromCurrentState() {
+    RecordingWatching watching = new RecordingWatching(respondWithCodes(200, 410));
+    Watcher<V1Pod> watcher = createWatcher(watching, null);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    assertEquals(Arrays.asList("", "11", ""), watching.requested);
+    assertEquals(Arrays.asList("ADDED ms1", "relist", "ADDED ms1"), watching.delivered);
+  }
+
+  @Test
+  public void testOtherErrorResponsesRetryWithoutRelist() {
+    RecordingWatching watching = new RecordingWatching(respondWithCodes(200, 500));
+    Watcher<V1Pod> watcher = createWatcher(watching, null);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+    assertTrue(watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS) > 0);
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    assertEquals(Arrays.asList("", "11", "11"), watching.requested);
+    assertFalse(watching.delivered.contains("relist"));
+  }
+
+  @Test
+  public void testDispatcherDeliversEventsInOrderAfterReaderReturns() {
+    RecordingWatching watching = new RecordingWatching(respondWith(
+        event("ADDED", "ms1", "11") + event("MODIFIED", "ms1", "12") + error(410)));
+    List<Runnable> dispatched = new ArrayList<>();
+    Watcher<V1Pod> watcher = createWatcher(watching, dispatched::add);
+
+    assertEquals(0, watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS));
+
+    // the reader only handed the events over
+    assertTrue(watching.delivered.isEmpty());
+    assertEquals(1, dispatched.size());
+
+    dispatched.remove(0).run();
+    assertEquals(Arrays.asList("ADDED ms1", "MODIFIED ms1", "relist"), watching.delivered);
+    assertTrue(dispatched.isEmpty());
+  }
+
+  @Test
+  public void testStopCancelsWatchRequestInProgress() throws Exception {
+    try (ServerSocket server = new ServerSocket(0)) {
+      OkHttpClient client = new OkHttpClient();
+      CountDownLatch connected = new CountDownLatch(1);
+      Thread acceptor = new Thread(() -> {
+        // accept the watch request but never respond, like a quiet watch
+        try (Socket socket = server.accept()) {
+          connected.countDown();
+          while (socket.getInputStream().read() != -1) {
+            // hold the connection open
+          }
+        } catch (Exception e) {
+          // closed by the test
+        }
+      });
+      acceptor.setDaemon(true);
+      acceptor.start();
+
+      Watcher<V1Pod> watcher = new Watcher<>(new Watching<V1Pod>() {
+        @Override
+        public Call initiateWatchCall(Object context, String resourceVersion, int timeoutSeconds) {
+          return client.newCall(new Request.Builder().url("http://localhost:" + server.getLocalPort() + "/watch").build());
+        }
+
+        @Override
+        public void eventCallback(WatchEvent<V1Pod> item) {
+        }
+
+        @Override
+        public boolean isStopping() {
+          return false;
+        }
+      }, null, "", new WatchEventDecoder<>(new JSON(), V1Pod.class, V1Pod::getMetadata));
+
+      CountDownLatch ended = new CountDownLatch(1);
+      Thread reader = new Thread(() -> {
+        while (watcher.doWatchCycle(Watcher.WATCH_TIMEOUT_SECONDS) >= 0) {
+          // reissue, as the watch hub does
+        }
+        ended.countDown();
+      });
+      reader.setDaemon(true);
+      reader.start();
+
+      assertTrue(connected.await(5, TimeUnit.SECONDS));
+      assertFalse(ended.await(200, TimeUnit.MILLISECONDS));
+      watcher.stop();
+      assertTrue(ended.await(5, TimeUnit.SECONDS));
+    }
+  }
+}
@@ -0,0 +1,141 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.wlsconfig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import oracle.kubernetes.operator.helpers.DomainPresenceInfo;
+
+public class WlsDomainConfigCacheTest {
+  private static final String CONFIG = "{\"servers\": {\"items\": [\n"
+      + "    {\"listenAddress\": \"\", \"name\": \"AdminServer\", \"listenPort\": 8001, \"cluster\": null,"
+      + " \"networkAccessPoints\": {\"items\": []}},\n"
+      + "    {\"listenAddress\": \"\", \"name\": \"ms1\", \"listenPort\": 8011, \"cluster\": [\"clusters\", \"cluster1\"],"
+      + " \"networkAccessPoints\": {\"items\": []}}\n"
+      + "]}}";
+
+  private final Map<String, DomainPresenceInfo> domains = new ConcurrentHashMap<>();
+  private final WlsDomainConfigCache cache = WlsDomainConfigCache.getInstance();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Before
+  public void setUp() {
+    cache.setDomainPresenceLookup(domains::get);
+  }
+
+  @After
+  public void tearDown() {
+    cache.setDomainPresenceLookup(domainUID -> null);
+  }
+
+  private WlsDomainConfig load() {
+    loads.incrementAndGet();
+    return WlsDomainConfig.create().load(CONFIG);
+  }
+
+  private DomainPresenceInfo createInfo(String domainUID, DateTime lastScanTime) {
+    DomainPresenceInfo info = new DomainPresenceInfo(null);
+    info.setScan(WlsDomainConfig.create().load(CONFIG));
+    info.setLastScanTime(lastScanTime);
+    domains.put(domainUID, info);
+    return info;
+  }
+
+  @Test
+  public void testFreshScanIsServedWithoutReading() {
+    DomainPresenceInfo info = createInfo("scanned", new DateTime());
+
+    assertSame(info.getScan(), cache.get("scanned", this::load));
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  public void testReadResultIsReusedUntilInvalidated() {
+    WlsDomainConfig first = cache.get("read", this::load);
+    assertSame(first, cache.get("read", this::load));
+    assertEquals(1, loads.get());
+    assertTrue(first.getClusterConfigs().containsKey("cluster1"));
+
+    cache.invalidate("read");
+    cache.get("read", this::load);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testInvalidationHidesOlderScan() {
+    DomainPresenceInfo info = createInfo("invalidated", new DateTime().minusSeconds(1));
+    cache.invalidate("invalidated");
+
+    WlsDomainConfig config = cache.get("invalidated", this::load);
+    assertEquals(1, loads.get());
+    assertTrue(config != info.getScan());
+  }
+
+  @Test
+  public void testStaleScanIsServedWhileRefreshing() throws InterruptedException {
+    DomainPresenceInfo info = createInfo("stale", new DateTime().minusHours(1));
+    CountDownLatch refreshed = new CountDownLatch(1);
+
+    assertSame(info.getScan(), cache.get("stale", () -> {
+      WlsDomainConfig config = load();
+      refreshed.countDown();
+      return config;
+    }));
+    assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testConcurrentReadsShareOneRequest() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    List<WlsDomainConfig> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Thread t = new Thread(() -> {
+        WlsDomainConfig config = cache.get("shared", () -> {
+          started.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return load();
+        });
+        synchronized (results) {
+          results.add(config);
+        }
+      });
+      threads.add(t);
+      t.start();
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    // let the other threads join the read in progress
+    Thread.sleep(200);
+    release.countDown();
+    for (Thread t : threads) {
+      t.join(5000);
+    }
+
+    assertEquals(1, loads.get());
+    assertEquals(5, results.size());
+    for (WlsDomainConfig config : results) {
+      assertSame(results.get(0), config);
+    }
+  }
+}
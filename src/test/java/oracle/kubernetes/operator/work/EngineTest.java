@@ -0,0 +1,110 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+
+public class EngineTest {
+
+  @Test
+  public void testTimersAndFibersUseSeparateThreads() throws InterruptedException {
+    Engine engine = new Engine("EngineTest");
+    AtomicReference<Thread> timerThread = new AtomicReference<>();
+    AtomicReference<Thread> fiberThread = new AtomicReference<>();
+    Semaphore done = new Semaphore(0);
+
+    Step step = new Step(null) {
+      @Override
+      public NextAction apply(Packet packet) {
+        fiberThread.set(Thread.currentThread());
+        return doSuspend((fiber) -> {
+          engine.getExecutor().schedule(() -> {
+            timerThread.set(Thread.currentThread());
+            fiber.resume(packet);
+          }, 10, TimeUnit.MILLISECONDS);
+        });
+      }
+    };
+
+    engine.createFiber().start(step, new Packet(), new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        done.release();
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        done.release();
+      }
+    });
+
+    assertTrue(done.tryAcquire(5, TimeUnit.SECONDS));
+    assertNotSame(timerThread.get(), fiberThread.get());
+    assertTrue(timerThread.get().getName().startsWith("engine-EngineTest-timer-"));
+
+    EngineMetrics metrics = engine.getMetrics();
+    assertEquals(0, metrics.getActiveFibers());
+    assertEquals(0, metrics.getSuspendedFibers());
+    assertEquals(1, metrics.getFiberTime().getCount());
+    assertTrue(metrics.getRunTime().getCount() >= 1);
+  }
+
+  @Test
+  public void testCancellingSuspendedFiberReleasesGauges() throws InterruptedException {
+    Engine engine = new Engine("EngineTest");
+    Semaphore suspended = new Semaphore(0);
+    Semaphore completed = new Semaphore(0);
+
+    // suspends without anything to resume it, like a fiber waiting for a pod that never becomes ready
+    Step step = new Step(null) {
+      @Override
+      public NextAction apply(Packet packet) {
+        return doSuspend((fiber) -> suspended.release());
+      }
+    };
+    CompletionCallback callback = new CompletionCallback() {
+      @Override
+      public void onCompletion(Packet packet) {
+        completed.release();
+      }
+
+      @Override
+      public void onThrowable(Packet packet, Throwable throwable) {
+        completed.release();
+      }
+    };
+
+    Fiber fiber1 = engine.createFiber();
+    Fiber fiber2 = engine.createFiber();
+    fiber1.start(step, new Packet(), callback);
+    fiber2.start(step, new Packet(), callback);
+    assertTrue(suspended.tryAcquire(2, 5, TimeUnit.SECONDS));
+
+    EngineMetrics metrics = engine.getMetrics();
+    assertEquals(2, metrics.getActiveFibers());
+    assertEquals(2, metrics.getSuspendedFibers());
+
+    assertTrue(fiber1.cancel(false));
+    // no thread is in the fiber, so there is no exit callback to wait for
+    assertFalse(fiber2.cancelAndExitCallback(false, () -> { }));
+
+    assertEquals(0, metrics.getActiveFibers());
+    assertEquals(0, metrics.getSuspendedFibers());
+    assertEquals(2, metrics.getFiberTime().getCount());
+    assertTrue(fiber1.isCancelled());
+    // cancelled fibers do not invoke their completion callbacks
+    assertFalse(completed.tryAcquire(100, TimeUnit.MILLISECONDS));
+  }
+}
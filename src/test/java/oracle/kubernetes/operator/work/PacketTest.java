@@ -0,0 +1,86 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PacketTest {
+
+  @Test
+  public void testCloneIsIndependentOfOriginal() {
+    Packet p = new Packet();
+    p.put("a", 1);
+    p.put("b", 2);
+
+    Packet c = p.clone();
+    c.put("a", 10);
+    c.remove("b");
+    p.put("c", 3);
+
+    assertEquals(1, p.get("a"));
+    assertEquals(2, p.get("b"));
+    assertEquals(3, p.get("c"));
+    assertEquals(10, c.get("a"));
+    assertFalse(c.containsKey("b"));
+    assertFalse(c.containsKey("c"));
+  }
+
+  @Test
+  public void testWritesThroughEntriesDoNotAffectClones() {
+    Packet p = new Packet();
+    p.put("a", 1);
+    p.put("b", 2);
+    Packet c = p.clone();
+
+    for (Map.Entry<String, Object> e : c.entrySet()) {
+      e.setValue(0);
+    }
+    Iterator<Map.Entry<String, Object>> it = p.entrySet().iterator();
+    while (it.hasNext()) {
+      if ("a".equals(it.next().getKey())) {
+        it.remove();
+      }
+    }
+
+    assertEquals(0, c.get("a"));
+    assertEquals(0, c.get("b"));
+    assertFalse(p.containsKey("a"));
+    assertEquals(2, p.get("b"));
+  }
+
+  @Test
+  public void testSPIsFollowComponentChanges() {
+    Packet p = new Packet();
+    Object first = new Object();
+    p.getComponents().put("comp", Component.createFor(Object.class, first));
+    p.getComponents().put("other", new Component() {
+      @Override
+      public <S> S getSPI(Class<S> spiType) {
+        return spiType == String.class ? spiType.cast("other") : null;
+      }
+    });
+    assertSame(first, p.getSPI(Object.class));
+    assertEquals("other", p.getSPI(String.class));
+    assertNull(p.getSPI(Integer.class));
+
+    Packet c = p.clone();
+    Object second = new Object();
+    c.getComponents().put("comp", Component.createFor(Object.class, second));
+    assertSame(second, c.getSPI(Object.class));
+    assertSame(first, p.getSPI(Object.class));
+
+    p.getComponents().remove("comp");
+    assertNull(p.getSPI(Object.class));
+    assertTrue(c.getComponents().containsKey("comp"));
+  }
+}
@@ -0,0 +1,320 @@
+// Copyright 2018, Oracle Corporation and/or its affiliates.  All rights reserved.
+// Licensed under the Universal Permissive License v 1.0 as shown at http://oss.oracle.com/licenses/upl.
+
+package oracle.kubernetes.operator.work;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import oracle.kubernetes.operator.work.Fiber.CompletionCallback;
+
+public class RateLimitedWorkQueueTest {
+  private ScheduledExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newScheduledThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testBurstIsCollapsedToLatestValue() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore done = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          processed.add(value);
+          callback.onCompletion(null);
+          done.release();
+        }, 200, 10, 100, 1, 60000);
+
+    queue.add("domain1", "v1");
+    queue.add("domain1", "v2");
+    queue.add("domain1", "v3");
+
+    assertTrue(done.tryAcquire(5, TimeUnit.SECONDS));
+    assertFalse(done.tryAcquire(500, TimeUnit.MILLISECONDS));
+    assertEquals(Arrays.asList("v3"), processed);
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testFailedWorkIsRetried() throws InterruptedException {
+    List<Boolean> retries = Collections.synchronizedList(new ArrayList<>());
+    Semaphore done = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          retries.add(isRetry);
+          if (retries.size() < 3) {
+            callback.onThrowable(null, new RuntimeException());
+          } else {
+            callback.onCompletion(null);
+            done.release();
+          }
+        }, 0, 10, 100, 1, 60000);
+
+    queue.add("domain1", "v1");
+
+    assertTrue(done.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(false, true, true), retries);
+  }
+
+  @Test
+  public void testNewerWorkWaitsForWorkInProgress() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    List<CompletionCallback> callbacks = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          processed.add(value);
+          callbacks.add(callback);
+          started.release();
+        }, 0, 10, 100, 1, 60000);
+
+    queue.add("domain1", "v1");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    queue.add("domain1", "v2");
+    queue.add("domain1", "v3");
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+
+    // the newer values are collapsed and start once the work in progress completes
+    callbacks.get(0).onCompletion(null);
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+    assertEquals(Arrays.asList("v1", "v3"), processed);
+
+    callbacks.get(1).onCompletion(null);
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testNewerWorkSupersedesWorkThatTimesOut() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    // only one key at a time, so the newer work must not wait for the stuck work's slot
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          // never completes, like a fiber waiting for a pod that never becomes ready
+          processed.add(value);
+          started.release();
+        }, 0, 10, 100, 1, 500);
+
+    queue.add("domain1", "v1");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    queue.add("domain1", "v2");
+    assertFalse(started.tryAcquire(200, TimeUnit.MILLISECONDS));
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("v1", "v2"), processed);
+
+    // other keys still wait for a free slot
+    queue.add("domain2", "v1");
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testSupersededWorkIsNotRetried() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    List<CompletionCallback> callbacks = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          processed.add(value);
+          callbacks.add(callback);
+          started.release();
+        }, 0, 10, 100, 1, 200);
+
+    queue.add("domain1", "v1");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    queue.add("domain1", "v2");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+
+    // the superseded work is canceled; its failure does not bring back the older value
+    callbacks.get(0).onThrowable(null, new RuntimeException());
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+    assertEquals(1, queue.size());
+
+    callbacks.get(1).onCompletion(null);
+    assertEquals(0, queue.size());
+
+    // the slot is released once no work for the key is running
+    queue.add("domain2", "v1");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("v1", "v2", "v1"), processed);
+  }
+
+  @Test
+  public void testWorkThatNeverCompletesDoesNotHoldBackOtherKeys() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          // never completes, and no newer value arrives for the key
+          processed.add(key);
+          started.release();
+        }, 0, 10, 100, 2, 500);
+
+    queue.add("domain1", "v1");
+    queue.add("domain2", "v1");
+    assertTrue(started.tryAcquire(2, 5, TimeUnit.SECONDS));
+
+    queue.add("domain3", "v1");
+    assertFalse(started.tryAcquire(200, TimeUnit.MILLISECONDS));
+
+    // the stuck work releases its slots once it times out
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(3, processed.size());
+    assertEquals("domain3", processed.get(2));
+  }
+
+  @Test
+  public void testNewerWorkSupersedesInterruptibleWork() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          processed.add(value);
+          started.release();
+        }, 0, 10, 100, 1, 60000);
+
+    queue.add("domain1", "v1");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    queue.add("domain1", "v2");
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+
+    // the waiting value starts as soon as the work in progress becomes interruptible
+    queue.setInterruptible("domain1", true);
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+
+    // newer work starts out not interruptible
+    queue.add("domain1", "v3");
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+    queue.setInterruptible("domain1", true);
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+
+    queue.add("domain1", "v4");
+    assertFalse(started.tryAcquire(300, TimeUnit.MILLISECONDS));
+    assertEquals(Arrays.asList("v1", "v2", "v3"), processed);
+  }
+
+  @Test
+  public void testReplacedValuesAreMerged() throws InterruptedException {
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore started = new Semaphore(0);
+    RateLimitedWorkQueue<String, String> queue = new RateLimitedWorkQueue<>(executor,
+        (key, value, isRetry, callback) -> {
+          // never completes, so the newer value supersedes the work once it times out
+          processed.add(value);
+          started.release();
+        }, 200, 10, 100, 1, 500, (older, newer) -> older + "+" + newer);
+
+    queue.add("domain1", "v1");
+    queue.add("domain1", "v2");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    queue.add("domain1", "v3");
+    assertTrue(started.tryAcquire(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("v1+v2", "v1+v2+v3"), processed);
+  }
+
+  @Test
+  public void testSuspendedFiberIsReplacedByNewerWork() throws InterruptedException {
+    Engine engine = new Engine("RateLimitedWorkQueueTest");
+    Map<String, Fiber> fibers = new ConcurrentHashMap<>();
+    Map<Fiber, CompletionCallback> queuedWork = new ConcurrentHashMap<>();
+    List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    Semaphore suspended = new Semaphore(0);
+    Semaphore completed = new Semaphore(0);
+    AtomicReference<RateLimitedWorkQueue<String, String>> queue = new AtomicReference<>();
+    queue.set(new RateLimitedWorkQueue<String, String>(executor,
+        (key, value, isRetry, callback) -> {
+          // like domain processing: the newer fiber cancels the fiber it replaces and waits for it to exit
+          Fiber f = engine.createFiber();
+          Fiber old = fibers.put(key, f);
+          queuedWork.put(f, callback);
+          Step work = new Step(null) {
+            @Override
+            public NextAction apply(Packet packet) {
+              processed.add(value);
+              if (value.equals("v1")) {
+                // waits for something that never happens, such as a pod that never becomes ready
+                return doSuspend((fiber) -> {
+                  queue.get().setInterruptible(key, true);
+                  suspended.release();
+                });
+              }
+              return doNext(packet);
+            }
+          };
+          Step waitForOld = new Step(work) {
+            @Override
+            public NextAction apply(Packet packet) {
+              if (old == null) {
+                return doNext(packet);
+              }
+              // the cancelled fiber does not complete, so its queued work is completed here
+              CompletionCallback superseded = queuedWork.remove(old);
+              if (superseded != null) {
+                superseded.onCompletion(packet);
+              }
+              return doSuspend(next, (fiber) -> {
+                if (!old.cancelAndExitCallback(true, () -> fiber.resume(packet))) {
+                  fiber.resume(packet);
+                }
+              });
+            }
+          };
+          f.start(waitForOld, new Packet(), new CompletionCallback() {
+            @Override
+            public void onCompletion(Packet packet) {
+              fibers.remove(key, f);
+              CompletionCallback c = queuedWork.remove(f);
+              if (c != null) {
+                c.onCompletion(packet);
+              }
+              completed.release();
+            }
+
+            @Override
+            public void onThrowable(Packet packet, Throwable throwable) {
+              fibers.remove(key, f);
+              CompletionCallback c = queuedWork.remove(f);
+              if (c != null) {
+                c.onThrowable(packet, throwable);
+              }
+            }
+          });
+        }, 0, 10, 100, 1, 60000));
+
+    queue.get().add("domain1", "v1");
+    assertTrue(suspended.tryAcquire(5, TimeUnit.SECONDS));
+    Fiber first = fibers.get("domain1");
+
+    queue.get().add("domain1", "v2");
+    assertTrue(completed.tryAcquire(5, TimeUnit.SECONDS));
+    assertTrue(first.isCancelled());
+    assertEquals(Arrays.asList("v1", "v2"), processed);
+    assertEquals(0, engine.getMetrics().getActiveFibers());
+    assertEquals(0, engine.getMetrics().getSuspendedFibers());
+    assertEquals(0, queue.get().size());
+  }
+}
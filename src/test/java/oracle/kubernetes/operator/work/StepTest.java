@@ -13,9 +13,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -365,6 +368,44 @@ public class StepTest {
     assertTrue(throwables.isEmpty());
   }
 
+  @Test
+  public void testResumeRacesWithSuspend() throws InterruptedException, ExecutionException, TimeoutException {
+    ExecutorService resumers = Executors.newFixedThreadPool(4);
+    try {
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger overlaps = new AtomicInteger();
+      AtomicInteger remaining = new AtomicInteger(10000);
+
+      Step step = new Step(null) {
+        @Override
+        public NextAction apply(Packet packet) {
+          if (running.incrementAndGet() > 1) {
+            overlaps.incrementAndGet();
+          }
+          try {
+            if (remaining.decrementAndGet() <= 0) {
+              return doEnd(packet);
+            }
+            // resume from another thread, possibly before this thread has left the fiber
+            return doSuspend(this, fiber -> resumers.execute(() -> fiber.resume(packet)));
+          } finally {
+            running.decrementAndGet();
+          }
+        }
+      };
+
+      Fiber f = engine.createFiber();
+      f.start(step, new Packet(), null);
+      f.get(10, TimeUnit.SECONDS);
+
+      assertTrue(f.isDone());
+      assertEquals(0, remaining.get());
+      assertEquals(0, overlaps.get());
+    } finally {
+      resumers.shutdownNow();
+    }
+  }
+
   private abstract static class BaseStep extends Step {
     public BaseStep(Step next) {
       super(next);